@@ -17,15 +17,22 @@
 package net.devh.boot.grpc.client.autoconfigure;
 
 import static com.google.common.collect.Maps.transformValues;
+import static net.devh.boot.grpc.client.config.GrpcChannelProperties.EXECUTOR_DEFAULT;
+import static net.devh.boot.grpc.client.config.GrpcChannelProperties.EXECUTOR_DIRECT;
+import static net.devh.boot.grpc.client.config.GrpcChannelProperties.EXECUTOR_FIXED;
+import static net.devh.boot.grpc.client.config.GrpcChannelProperties.EXECUTOR_VIRTUAL;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -44,11 +51,13 @@
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
 import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactoryLifecycle;
 import net.devh.boot.grpc.client.channelfactory.InProcessChannelFactory;
 import net.devh.boot.grpc.client.channelfactory.InProcessOrAlternativeChannelFactory;
 import net.devh.boot.grpc.client.channelfactory.NettyChannelFactory;
 import net.devh.boot.grpc.client.channelfactory.ShadedNettyChannelFactory;
 import net.devh.boot.grpc.client.config.ConfigConverter;
+import net.devh.boot.grpc.client.config.GrpcChannelProperties;
 import net.devh.boot.grpc.client.config.GrpcChannelsProperties;
 import net.devh.boot.grpc.client.inject.GrpcClientBeanPostProcessor;
 import net.devh.boot.grpc.client.inject.GrpcClientConstructorInjectionBeanFactoryPostProcessor;
@@ -75,6 +84,9 @@
         value = GrpcCommonCodecAutoConfiguration.class)
 public class GrpcClientAutoConfiguration {
 
+    private static final Set<String> EXECUTOR_TYPES =
+            Set.of(EXECUTOR_DEFAULT, EXECUTOR_DIRECT, EXECUTOR_FIXED, EXECUTOR_VIRTUAL);
+
     @Bean
     static GrpcClientBeanPostProcessor grpcClientBeanPostProcessor(final ApplicationContext applicationContext) {
         return new GrpcClientBeanPostProcessor(applicationContext);
@@ -161,12 +173,49 @@ GrpcChannelConfigurer decompressionChannelConfigurer(final DecompressorRegistry
         return (builder, name) -> builder.decompressorRegistry(registry);
     }
 
+    /**
+     * Applies the {@link Executor} beans that are referenced by name in the channel's {@code executor} and
+     * {@code offload-executor} properties. The predefined executor types are handled by the channel factory itself.
+     *
+     * @param properties The channel properties to use.
+     * @param applicationContext The context used to look up the executor beans.
+     * @return The channel configurer that applies the executor beans.
+     */
+    @Bean
+    GrpcChannelConfigurer executorChannelConfigurer(final GrpcChannelsProperties properties,
+            final ApplicationContext applicationContext) {
+        return (builder, name) -> {
+            final GrpcChannelProperties channelProperties = properties.getResolvedChannel(name);
+            final String executor = channelProperties.getExecutor();
+            if (!EXECUTOR_TYPES.contains(executor)) {
+                builder.executor(applicationContext.getBean(executor, Executor.class));
+            }
+            final String offloadExecutor = channelProperties.getOffloadExecutor();
+            if (!EXECUTOR_TYPES.contains(offloadExecutor)) {
+                builder.offloadExecutor(applicationContext.getBean(offloadExecutor, Executor.class));
+            }
+        };
+    }
+
     @ConditionalOnMissingBean(GrpcChannelConfigurer.class)
     @Bean
     List<GrpcChannelConfigurer> defaultChannelConfigurers() {
         return Collections.emptyList();
     }
 
+    /**
+     * Creates the lifecycle bean that closes the channel factories asynchronously, once the grpc server has been
+     * drained.
+     *
+     * @param beanFactory The bean factory used to find the channel factories.
+     * @return The newly created GrpcChannelFactoryLifecycle bean.
+     */
+    @ConditionalOnMissingBean
+    @Bean
+    GrpcChannelFactoryLifecycle grpcChannelFactoryLifecycle(final ConfigurableListableBeanFactory beanFactory) {
+        return new GrpcChannelFactoryLifecycle(beanFactory);
+    }
+
     // First try the shaded netty channel factory
     @ConditionalOnMissingBean(GrpcChannelFactory.class)
     @ConditionalOnClass(name = {"io.grpc.netty.shaded.io.netty.channel.Channel",
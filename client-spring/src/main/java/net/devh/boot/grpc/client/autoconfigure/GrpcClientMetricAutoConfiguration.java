@@ -16,6 +16,8 @@
 
 package net.devh.boot.grpc.client.autoconfigure;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -23,16 +25,29 @@
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 
 import com.google.common.base.Stopwatch;
 
 import io.grpc.ClientInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.grpc.MetricCollectingClientInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
 import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import net.devh.boot.grpc.client.metrics.MetricsClientConnections;
 import net.devh.boot.grpc.client.metrics.MetricsClientInterceptor;
+import net.devh.boot.grpc.client.throttling.ChannelThrottle;
+import net.devh.boot.grpc.client.throttling.CircuitBreaker;
+import net.devh.boot.grpc.common.metrics.GrpcMetricsProperties;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 import net.devh.boot.grpc.common.util.InterceptorOrder;
 
 /**
@@ -40,11 +55,13 @@
  *
  * @author Daniel Theuke (daniel.theuke@heuboe.de)
  */
+@Slf4j
 @Configuration(proxyBeanMethods = false)
 @AutoConfigureAfter(CompositeMeterRegistryAutoConfiguration.class)
 @AutoConfigureBefore(GrpcClientAutoConfiguration.class)
 @ConditionalOnBean(MeterRegistry.class)
 @ConditionalOnClass(MetricCollectingClientInterceptor.class)
+@EnableConfigurationProperties(GrpcMetricsProperties.class)
 public class GrpcClientMetricAutoConfiguration {
 
     /**
@@ -64,14 +81,69 @@ public MetricCollectingClientInterceptor metricCollectingClientInterceptor(final
      * Creates a {@link ClientInterceptor} that collects metrics about client attempts and client calls.
      *
      * @param registry The registry used to create the metrics.
+     * @param metricsProperties The properties that select the calls to measure.
      * @return The newly created MetricsClientInterceptor bean.
      */
     @ConditionalOnProperty(prefix = "grpc", name = "metricsA66Enabled", matchIfMissing = true)
     @GrpcGlobalClientInterceptor
     @Order(InterceptorOrder.ORDER_TRACING_METRICS)
     @ConditionalOnMissingBean
-    public MetricsClientInterceptor metricsClientInterceptor(final MeterRegistry registry) {
-        return new MetricsClientInterceptor(registry, Stopwatch::createUnstarted);
+    public MetricsClientInterceptor metricsClientInterceptor(final MeterRegistry registry,
+            final GrpcMetricsProperties metricsProperties) {
+        return new MetricsClientInterceptor(registry, Stopwatch::createUnstarted,
+                new MetricsPolicy(metricsProperties));
+    }
+
+    /**
+     * Creates a {@link GrpcChannelConfigurer} that records connection-level metrics, such as the number of open
+     * connections and their age, for each channel.
+     *
+     * @param registry The registry used to create the metrics.
+     * @return The configurer that registers the connection metrics on the channels.
+     */
+    @ConditionalOnProperty(prefix = "grpc", name = "metricsConnectionsEnabled", matchIfMissing = true)
+    @Bean
+    GrpcChannelConfigurer connectionMetricsChannelConfigurer(final MeterRegistry registry) {
+        final MetricsClientConnections connections = new MetricsClientConnections(registry);
+        return (builder, name) -> {
+            try {
+                builder.addTransportFilter(connections.newTransportFilter(name));
+            } catch (final UnsupportedOperationException e) {
+                log.debug("Channel '{}' does not support transport filters, skipping connection metrics", name);
+            }
+        };
+    }
+
+    /**
+     * Exposes the rejection probability, the circuit breaker state and the rejected calls of each channel that uses
+     * client side throttling. The channels are bound as soon as they are created.
+     *
+     * @param registry The registry used to register the metrics.
+     * @param channelFactory The channel factory that creates the throttled channels.
+     * @return The callback that binds the throttling metrics.
+     */
+    @Bean
+    SmartInitializingSingleton grpcClientThrottlingMetricsBinder(final MeterRegistry registry,
+            final ObjectProvider<GrpcChannelFactory> channelFactory) {
+        return () -> channelFactory.ifAvailable(factory -> factory.addThrottleListener(throttle -> {
+            final Tags tags = Tags.of("channel", throttle.getName());
+            Gauge.builder("grpc.client.throttling.rejection.probability", throttle,
+                    ChannelThrottle::getRejectionProbability)
+                    .description("The probability with which the adaptive throttling rejects new calls")
+                    .tags(tags)
+                    .register(registry);
+            for (final CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("grpc.client.circuit.breaker.state", throttle,
+                        t -> t.getCircuitBreakerState() == state ? 1 : 0)
+                        .description("Whether the circuit breaker of the channel is in the given state")
+                        .tags(tags.and("state", state.name()))
+                        .register(registry);
+            }
+            FunctionCounter.builder("grpc.client.throttling.rejected", throttle, ChannelThrottle::getRejected)
+                    .description("The number of calls rejected locally by the client side throttling")
+                    .tags(tags)
+                    .register(registry);
+        }));
     }
 
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.autoconfigure;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.grpc.Status;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.channelfactory.ChannelWarmUpReport;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelWarmUp;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelWarmUp.WarmUpCall;
+import net.devh.boot.grpc.client.config.GrpcChannelsProperties;
+import net.devh.boot.grpc.client.config.GrpcChannelsProperties.ChannelWarmUp;
+
+/**
+ * Auto configuration class for Spring-Boot. This connects all configured channels in parallel during the application
+ * startup, so that the first calls don't have to pay for the connection setup.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter(GrpcClientAutoConfiguration.class)
+@ConditionalOnBean(GrpcChannelFactory.class)
+@ConditionalOnProperty(prefix = "grpc.channel-warm-up", name = "enabled", havingValue = "true")
+public class GrpcClientWarmUpAutoConfiguration {
+
+    /**
+     * Creates the GrpcChannelWarmUp used to connect the configured channels.
+     *
+     * @param channelFactory The channel factory used to create the channels.
+     * @param properties The properties used to configure the warm-up.
+     * @return The newly created GrpcChannelWarmUp bean.
+     */
+    @ConditionalOnMissingBean
+    @Bean
+    GrpcChannelWarmUp grpcChannelWarmUp(final GrpcChannelFactory channelFactory,
+            final GrpcChannelsProperties properties) {
+        final ChannelWarmUp warmUp = properties.getChannelWarmUp();
+        return new GrpcChannelWarmUp(channelFactory, warmUp.getTimeout(),
+                warmUp.isHealthCheck() ? healthCheck(warmUp.getHealthCheckService()) : null);
+    }
+
+    /**
+     * Warms up all configured channels once the application context has been refreshed. At this point all lifecycles,
+     * including the grpc server, have been started, so channels that target the application itself can connect as
+     * well. The channels are warmed up in parallel and share a single deadline.
+     *
+     * @param applicationContext The application context whose refresh triggers the warm-up.
+     * @param warmUp The warm-up used to connect the channels.
+     * @param properties The properties containing the channels to warm up.
+     * @return The listener that triggers the warm-up.
+     */
+    @Bean
+    ApplicationListener<ContextRefreshedEvent> grpcChannelWarmUpTrigger(final ApplicationContext applicationContext,
+            final ObjectProvider<GrpcChannelWarmUp> warmUp, final GrpcChannelsProperties properties) {
+        return event -> {
+            // Ignore the refreshes of child contexts
+            if (event.getApplicationContext() != applicationContext) {
+                return;
+            }
+            final Set<String> names = new LinkedHashSet<>(properties.getClient().keySet());
+            names.remove(GrpcChannelsProperties.GLOBAL_PROPERTIES_KEY);
+            if (names.isEmpty()) {
+                return;
+            }
+            final ChannelWarmUpReport report = warmUp.getObject().warmUp(names);
+            if (report.isReady()) {
+                log.info("Warmed up gRPC channels: {}", report);
+            } else if (properties.getChannelWarmUp().isFailOnError()) {
+                throw new IllegalStateException("Failed to warm up gRPC channels: " + report);
+            } else {
+                log.warn("Failed to warm up gRPC channels: {}", report);
+            }
+        };
+    }
+
+    private static WarmUpCall healthCheck(final String service) {
+        final HealthCheckRequest request = HealthCheckRequest.newBuilder()
+                .setService(service)
+                .build();
+        return (name, channel, deadline) -> Futures.transform(
+                HealthGrpc.newFutureStub(channel).withDeadline(deadline).check(request),
+                response -> {
+                    if (response.getStatus() != ServingStatus.SERVING) {
+                        throw Status.UNAVAILABLE
+                                .withDescription("Health check reported " + response.getStatus())
+                                .asRuntimeException();
+                    }
+                    return response;
+                }, MoreExecutors.directExecutor());
+    }
+
+}
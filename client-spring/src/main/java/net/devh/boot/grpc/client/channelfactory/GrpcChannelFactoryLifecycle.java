@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextClosedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lifecycle bean that closes the {@link GrpcChannelFactory channel factories} asynchronously when the application
+ * context is closed. The lifecycle stops after the grpc server and the embedded web server, so that the calls they are
+ * still draining can use the client channels until they are done. The channel factories drain in parallel to each
+ * other, calls that are already in flight are allowed to complete, only new calls will be rejected.
+ *
+ * <p>
+ * <b>Note:</b> The channel factories can't be restarted, so they are only closed, if the context is closed and not if
+ * it is just {@link org.springframework.context.ConfigurableApplicationContext#stop() stopped}.
+ * </p>
+ */
+@Slf4j
+public class GrpcChannelFactoryLifecycle implements SmartLifecycle, ApplicationListener<ContextClosedEvent> {
+
+    /**
+     * The phase of this lifecycle, which is lower than the phases of the grpc server lifecycle
+     * ({@link Integer#MAX_VALUE}) and the web server lifecycles, so that it is stopped after them.
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 4096;
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private volatile boolean running = false;
+    private volatile boolean closing = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new GrpcChannelFactoryLifecycle.
+     *
+     * @param beanFactory The bean factory used to find the channel factories that have been created.
+     */
+    public GrpcChannelFactoryLifecycle(final ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = requireNonNull(beanFactory, "beanFactory");
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextClosedEvent event) {
+        // The event is published before the lifecycle beans are stopped, but might come from a child context as well
+        if (event.getApplicationContext().getAutowireCapableBeanFactory() == this.beanFactory) {
+            this.closing = true;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!this.closed) {
+            this.running = true;
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (this.closing) {
+            closeChannelFactories().join();
+        } else {
+            this.running = false;
+        }
+    }
+
+    @Override
+    public void stop(final Runnable callback) {
+        if (!this.closing) {
+            this.running = false;
+            callback.run();
+            return;
+        }
+        closeChannelFactories().whenComplete((result, error) -> {
+            if (error != null) {
+                log.warn("Failed to close the gRPC channel factories", error);
+            }
+            callback.run();
+        });
+    }
+
+    /**
+     * Closes all channel factories that have been created. Channel factories are usually lazy, so factories that have
+     * never been used won't be created just to close them.
+     *
+     * @return The future that completes once all channels have been terminated.
+     */
+    protected CompletableFuture<Void> closeChannelFactories() {
+        this.running = false;
+        this.closed = true;
+        final List<CompletableFuture<Void>> terminations = new ArrayList<>();
+        for (final String name : this.beanFactory.getBeanNamesForType(GrpcChannelFactory.class, false, false)) {
+            if (this.beanFactory.containsSingleton(name)) {
+                log.debug("Initiating gRPC channel factory shutdown: {}", name);
+                terminations.add(this.beanFactory.getBean(name, GrpcChannelFactory.class).closeAsync());
+            }
+        }
+        return CompletableFuture.allOf(terminations.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+}
@@ -16,11 +16,15 @@
 
 package net.devh.boot.grpc.client.config;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
 
+import jakarta.annotation.PostConstruct;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -45,6 +49,13 @@ public class GrpcChannelsProperties {
     public static final String GLOBAL_PROPERTIES_KEY = "GLOBAL";
 
     private final Map<String, GrpcChannelProperties> client = new ConcurrentHashMap<>();
+    /**
+     * The fully resolved snapshots of the channel properties, so that the global properties don't have to be merged
+     * on every access.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, GrpcChannelProperties> resolvedClient = new ConcurrentHashMap<>();
 
     /**
      * Gets the configuration mapping for each client.
@@ -69,6 +80,47 @@ public GrpcChannelProperties getChannel(final String name) {
         return properties;
     }
 
+    /**
+     * Gets the fully resolved properties for the given channel. Unlike {@link #getChannel(String)} this method neither
+     * creates nor modifies the configured properties, instead it returns a snapshot that contains the channel's
+     * properties merged with the global properties. The snapshot is computed once per channel and shared, so it must
+     * not be modified. Call {@link #invalidateResolvedChannels()} after the properties have been changed.
+     *
+     * @param name The name of the channel to get the properties for.
+     * @return The resolved properties for the given channel name.
+     */
+    public GrpcChannelProperties getResolvedChannel(final String name) {
+        return this.resolvedClient.computeIfAbsent(name, this::resolveChannel);
+    }
+
+    /**
+     * Creates a new snapshot of the properties for the given channel, that is merged with the global properties.
+     *
+     * @param name The name of the channel to resolve the properties for.
+     * @return The newly created snapshot.
+     */
+    private GrpcChannelProperties resolveChannel(final String name) {
+        final GrpcChannelProperties resolved = new GrpcChannelProperties();
+        final GrpcChannelProperties raw = this.client.get(name);
+        if (raw != null) {
+            resolved.copyDefaultsFrom(raw);
+        }
+        final GrpcChannelProperties global = this.client.get(GLOBAL_PROPERTIES_KEY);
+        if (global != null) {
+            resolved.copyDefaultsFrom(global);
+        }
+        return resolved;
+    }
+
+    /**
+     * Discards the resolved snapshots of the channel properties, so that they will be computed again on the next
+     * access. This is called automatically after the properties have been (re-)bound, e.g. during a refresh.
+     */
+    @PostConstruct
+    public void invalidateResolvedChannels() {
+        this.resolvedClient.clear();
+    }
+
     /**
      * Gets the global channel properties. Global properties are used, if the channel properties don't overwrite them.
      * If neither the global nor the per client properties are set then default values will be used.
@@ -113,4 +165,160 @@ public void setDefaultScheme(String defaultScheme) {
         this.defaultScheme = defaultScheme;
     }
 
+    private int domainSocketEventLoopThreads = 0;
+
+    /**
+     * Gets the number of threads used by the event loop that is shared between all domain socket ({@code unix:})
+     * channels of a channel factory.
+     *
+     * @return The number of event loop threads or {@code 0} to use netty's default.
+     * @see #setDomainSocketEventLoopThreads(int)
+     */
+    public int getDomainSocketEventLoopThreads() {
+        return this.domainSocketEventLoopThreads;
+    }
+
+    /**
+     * Sets the number of threads used by the event loop that is shared between all domain socket ({@code unix:})
+     * channels of a channel factory. The event loop is created on first use and shut down together with the channel
+     * factory. Defaults to {@code 0}, which uses netty's default (twice the number of available processors).
+     *
+     * @param domainSocketEventLoopThreads The number of event loop threads or {@code 0} to use netty's default.
+     */
+    public void setDomainSocketEventLoopThreads(final int domainSocketEventLoopThreads) {
+        if (domainSocketEventLoopThreads < 0) {
+            throw new IllegalArgumentException("DomainSocketEventLoopThreads can't be negative");
+        }
+        this.domainSocketEventLoopThreads = domainSocketEventLoopThreads;
+    }
+
+    private final ChannelWarmUp channelWarmUp = new ChannelWarmUp();
+
+    /**
+     * Gets the properties used to warm up all configured channels during the application startup.
+     *
+     * @return The channel warm-up properties.
+     */
+    public ChannelWarmUp getChannelWarmUp() {
+        return this.channelWarmUp;
+    }
+
+    /**
+     * The properties used to eagerly connect all configured channels in parallel during the application startup.
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class ChannelWarmUp {
+
+        private boolean enabled = false;
+
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration timeout = Duration.ofSeconds(30);
+
+        private boolean failOnError = true;
+
+        private boolean healthCheck = false;
+
+        private String healthCheckService = "";
+
+        /**
+         * Whether all configured channels should be connected in parallel during the application startup.
+         *
+         * @return True, if the channels should be warmed up. False otherwise.
+         */
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        /**
+         * Sets whether all configured channels should be connected in parallel during the application startup.
+         * Defaults to {@code false}.
+         *
+         * @param enabled True, if the channels should be warmed up. False otherwise.
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the maximum time the entire warm-up may take.
+         *
+         * @return The warm-up timeout.
+         */
+        public Duration getTimeout() {
+            return this.timeout;
+        }
+
+        /**
+         * Sets the maximum time the entire warm-up may take. All channels share this deadline. If no unit is
+         * specified, seconds will be used. Defaults to {@code 30s}.
+         *
+         * @param timeout The warm-up timeout.
+         */
+        public void setTimeout(final Duration timeout) {
+            if (timeout == null || timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout can't be null or negative");
+            }
+            this.timeout = timeout;
+        }
+
+        /**
+         * Whether the application startup should fail if a channel could not be warmed up.
+         *
+         * @return True, if the startup should fail. False, if only a warning should be logged.
+         */
+        public boolean isFailOnError() {
+            return this.failOnError;
+        }
+
+        /**
+         * Sets whether the application startup should fail if a channel could not be warmed up. Defaults to
+         * {@code true}.
+         *
+         * @param failOnError True, if the startup should fail. False, if only a warning should be logged.
+         */
+        public void setFailOnError(final boolean failOnError) {
+            this.failOnError = failOnError;
+        }
+
+        /**
+         * Whether a health check should be sent over every connected channel.
+         *
+         * @return True, if a health check should be sent. False otherwise.
+         */
+        public boolean isHealthCheck() {
+            return this.healthCheck;
+        }
+
+        /**
+         * Sets whether a {@code grpc.health.v1.Health/Check} call should be sent over every connected channel. A
+         * channel only counts as ready if the server reports {@code SERVING}. Defaults to {@code false}.
+         *
+         * @param healthCheck True, if a health check should be sent. False otherwise.
+         */
+        public void setHealthCheck(final boolean healthCheck) {
+            this.healthCheck = healthCheck;
+        }
+
+        /**
+         * Gets the name of the service that should be checked by the health check.
+         *
+         * @return The name of the service to check or an empty string to check the server as a whole.
+         */
+        public String getHealthCheckService() {
+            return this.healthCheckService;
+        }
+
+        /**
+         * Sets the name of the service that should be checked by the health check. Defaults to an empty string,
+         * which checks the server as a whole.
+         *
+         * @param healthCheckService The name of the service to check.
+         */
+        public void setHealthCheckService(final String healthCheckService) {
+            this.healthCheckService = healthCheckService == null ? "" : healthCheckService;
+        }
+
+    }
+
 }
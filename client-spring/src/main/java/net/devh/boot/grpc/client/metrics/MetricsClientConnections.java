@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.Attributes;
+import io.grpc.ClientTransportFilter;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records connection-level metrics of gRPC channels, such as the number of open connections and their age. The metrics
+ * are collected using a {@link ClientTransportFilter}, so they work for all transports including the shaded and
+ * unshaded netty ones. All metrics are tagged with the name of the channel.
+ *
+ * <p>
+ * <b>Note:</b> This class uses experimental grpc-java-API features.
+ * </p>
+ */
+public final class MetricsClientConnections {
+
+    private static final Attributes.Key<Long> START_TIME_KEY = Attributes.Key.create("grpc-spring-connection-start");
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final Map<String, ChannelConnections> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new MetricsClientConnections instance.
+     *
+     * @param registry The registry used to create the metrics.
+     */
+    public MetricsClientConnections(final MeterRegistry registry) {
+        this.registry = requireNonNull(registry, "registry");
+        this.clock = registry.config().clock();
+    }
+
+    /**
+     * Creates a new transport filter that tracks the connections of the channel with the given name. Channels with the
+     * same name share their metrics.
+     *
+     * @param channelName The name of the channel.
+     * @return The transport filter to register on the channel.
+     */
+    public ClientTransportFilter newTransportFilter(final String channelName) {
+        return this.channels.computeIfAbsent(channelName, ChannelConnections::new);
+    }
+
+    private final class ChannelConnections extends ClientTransportFilter {
+
+        private final AtomicInteger open = new AtomicInteger();
+        private final Counter opened;
+        private final Counter closed;
+        private final Timer age;
+
+        ChannelConnections(final String channelName) {
+            final MeterRegistry registry = MetricsClientConnections.this.registry;
+            final Tags tags = Tags.of("channel", channelName);
+            Gauge.builder("grpc.client.connections.open", this.open, AtomicInteger::get)
+                    .description("The number of currently open connections of the channel")
+                    .tags(tags)
+                    .register(registry);
+            this.opened = Counter.builder("grpc.client.connections.opened")
+                    .description("The number of connections that have been established by the channel")
+                    .tags(tags)
+                    .register(registry);
+            this.closed = Counter.builder("grpc.client.connections.closed")
+                    .description("The number of connections of the channel that have been closed")
+                    .tags(tags)
+                    .register(registry);
+            this.age = Timer.builder("grpc.client.connection.age")
+                    .description("The time connections were open, recorded when they are closed")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        @Override
+        public Attributes transportReady(final Attributes transportAttrs) {
+            this.open.incrementAndGet();
+            this.opened.increment();
+            return transportAttrs.toBuilder()
+                    .set(START_TIME_KEY, MetricsClientConnections.this.clock.monotonicTime())
+                    .build();
+        }
+
+        @Override
+        public void transportTerminated(final Attributes transportAttrs) {
+            final Long startTime = transportAttrs.get(START_TIME_KEY);
+            if (startTime == null) {
+                // The transport was never ready
+                return;
+            }
+            this.open.decrementAndGet();
+            this.closed.increment();
+            this.age.record(MetricsClientConnections.this.clock.monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
@@ -46,6 +46,18 @@ private MetricsClientInstruments() {}
             "grpc.client.attempt.duration";
     private static final String CLIENT_CALL_DURATION =
             "grpc.client.call.duration";
+    /*
+     * Counts all completed calls, because the histograms above might only record a sample of them.
+     */
+    private static final String CLIENT_CALL_COMPLETED = "grpc.client.call.completed";
+    /*
+     * Client side metrics of the individual messages of an attempt, that are updated while the attempt is still open.
+     */
+    private static final String CLIENT_ATTEMPT_MESSAGES = "grpc.client.attempt.messages";
+    private static final String CLIENT_ATTEMPT_MESSAGE_SIZE = "grpc.client.attempt.message_size";
+    private static final String CLIENT_ATTEMPT_MESSAGE_GAP = "grpc.client.attempt.message_gap";
+    private static final String CLIENT_ATTEMPT_TIME_TO_FIRST_MESSAGE = "grpc.client.attempt.time_to_first_message";
+    private static final String MESSAGES_UNIT = "messages";
     private static final double[] DEFAULT_SIZE_BUCKETS =
             new double[] {1024d, 2048d, 4096d, 16384d, 65536d, 262144d, 1048576d,
                     4194304d, 16777216d, 67108864d, 268435456d, 1073741824d, 4294967296d};
@@ -95,6 +107,32 @@ static MetricsClientMeters newClientMetricsMeters(MeterRegistry registry) {
                 .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
                 .withRegistry(registry));
 
+        builder.setClientCallCompletedCounter(Counter.builder(CLIENT_CALL_COMPLETED)
+                .description("The total number of calls completed on the client side, including those whose "
+                        + "duration and message sizes were not sampled.")
+                .withRegistry(registry));
+
+        builder.setMessageCounter(Counter.builder(CLIENT_ATTEMPT_MESSAGES)
+                .description("The total number of messages sent or received by the client")
+                .baseUnit(MESSAGES_UNIT)
+                .withRegistry(registry));
+
+        builder.setMessageSizeDistribution(DistributionSummary.builder(CLIENT_ATTEMPT_MESSAGE_SIZE)
+                .description("Compressed bytes of each message sent or received by the client")
+                .baseUnit(BaseUnits.BYTES)
+                .serviceLevelObjectives(DEFAULT_SIZE_BUCKETS)
+                .withRegistry(registry));
+
+        builder.setMessageGap(Timer.builder(CLIENT_ATTEMPT_MESSAGE_GAP)
+                .description("Time between two consecutive messages of a call attempt in the same direction")
+                .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
+                .withRegistry(registry));
+
+        builder.setTimeToFirstMessage(Timer.builder(CLIENT_ATTEMPT_TIME_TO_FIRST_MESSAGE)
+                .description("Time from the start of a call attempt until its first message in each direction")
+                .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
+                .withRegistry(registry));
+
         return builder.build();
     }
 
@@ -30,6 +30,8 @@
 import io.grpc.MethodDescriptor;
 import io.grpc.Status;
 import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.common.metrics.MethodMetricsPolicy;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 
 /**
  * A gRPC client interceptor that collects gRPC metrics.
@@ -39,7 +41,7 @@
 public class MetricsClientInterceptor implements ClientInterceptor {
 
     private final MetricsClientMeters metricsClientMeters;
-    private final Supplier<Stopwatch> stopwatchSupplier;
+    private final MetricsClientStreamTracers tracerModule;
 
     /**
      * Creates a new gRPC client interceptor that collects metrics into the given
@@ -52,13 +54,35 @@ public MetricsClientInterceptor(MeterRegistry registry, Supplier<Stopwatch> stop
     }
 
     public MetricsClientInterceptor(MetricsClientMeters meters, Supplier<Stopwatch> stopwatchSupplier) {
+        this(meters, stopwatchSupplier, MetricsPolicy.FULL);
+    }
+
+    /**
+     * Creates a new gRPC client interceptor that collects metrics into the given
+     * {@link io.micrometer.core.instrument.MeterRegistry}, but only for the calls selected by the given policy.
+     *
+     * @param registry The MeterRegistry to use.
+     * @param stopwatchSupplier The supplier used to create the stopwatches that measure the calls.
+     * @param policy The policy that decides which calls are measured and in how much detail.
+     */
+    public MetricsClientInterceptor(MeterRegistry registry, Supplier<Stopwatch> stopwatchSupplier,
+            MetricsPolicy policy) {
+        this(MetricsClientInstruments.newClientMetricsMeters(registry), stopwatchSupplier, policy);
+    }
+
+    public MetricsClientInterceptor(MetricsClientMeters meters, Supplier<Stopwatch> stopwatchSupplier,
+            MetricsPolicy policy) {
         this.metricsClientMeters = meters;
-        this.stopwatchSupplier = stopwatchSupplier;
+        this.tracerModule = new MetricsClientStreamTracers(stopwatchSupplier, policy);
     }
 
     @Override
     public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
             MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        final MethodMetricsPolicy methodPolicy = tracerModule.getMethodPolicy(method.getFullMethodName());
+        if (!methodPolicy.isEnabled()) {
+            return next.newCall(method, callOptions);
+        }
 
         /*
          * This is a per call ClientStreamTracer.Factory which creates a new stream tracer for each attempt under the
@@ -66,9 +90,11 @@ public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
          */
         final MetricsClientStreamTracers.CallAttemptsTracerFactory tracerFactory =
                 new MetricsClientStreamTracers.CallAttemptsTracerFactory(
-                        new MetricsClientStreamTracers(stopwatchSupplier),
+                        tracerModule,
                         method.getFullMethodName(),
-                        metricsClientMeters);
+                        metricsClientMeters,
+                        methodPolicy.sampleHistograms(),
+                        methodPolicy.isMessageMetricsEnabled());
 
         ClientCall<ReqT, RespT> call =
                 next.newCall(method, callOptions.withStreamTracerFactory(tracerFactory));
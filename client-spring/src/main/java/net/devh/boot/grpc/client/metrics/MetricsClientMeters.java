@@ -16,6 +16,9 @@
 
 package net.devh.boot.grpc.client.metrics;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Meter.MeterProvider;
@@ -26,11 +29,19 @@
  */
 public class MetricsClientMeters {
 
+    private static final int MAX_CACHED_METHODS = 1000;
+
     private MeterProvider<Counter> attemptCounter;
     private MeterProvider<DistributionSummary> sentMessageSizeDistribution;
     private MeterProvider<DistributionSummary> receivedMessageSizeDistribution;
     private MeterProvider<Timer> clientAttemptDuration;
     private MeterProvider<Timer> clientCallDuration;
+    private MeterProvider<Counter> clientCallCompletedCounter;
+    private MeterProvider<Counter> messageCounter;
+    private MeterProvider<DistributionSummary> messageSizeDistribution;
+    private MeterProvider<Timer> messageGap;
+    private MeterProvider<Timer> timeToFirstMessage;
+    private final Map<String, MetricsClientMethodMeters> methodMeters = new ConcurrentHashMap<>();
 
     private MetricsClientMeters(Builder builder) {
         this.attemptCounter = builder.attemptCounter;
@@ -38,6 +49,11 @@ private MetricsClientMeters(Builder builder) {
         this.receivedMessageSizeDistribution = builder.receivedMessageSizeDistribution;
         this.clientAttemptDuration = builder.clientAttemptDuration;
         this.clientCallDuration = builder.clientCallDuration;
+        this.clientCallCompletedCounter = builder.clientCallCompletedCounter;
+        this.messageCounter = builder.messageCounter;
+        this.messageSizeDistribution = builder.messageSizeDistribution;
+        this.messageGap = builder.messageGap;
+        this.timeToFirstMessage = builder.timeToFirstMessage;
     }
 
     public MeterProvider<Counter> getAttemptCounter() {
@@ -60,6 +76,38 @@ public MeterProvider<Timer> getClientCallDuration() {
         return this.clientCallDuration;
     }
 
+    public MeterProvider<Counter> getClientCallCompletedCounter() {
+        return this.clientCallCompletedCounter;
+    }
+
+    public MeterProvider<Counter> getMessageCounter() {
+        return this.messageCounter;
+    }
+
+    public MeterProvider<DistributionSummary> getMessageSizeDistribution() {
+        return this.messageSizeDistribution;
+    }
+
+    public MeterProvider<Timer> getMessageGap() {
+        return this.messageGap;
+    }
+
+    public MeterProvider<Timer> getTimeToFirstMessage() {
+        return this.timeToFirstMessage;
+    }
+
+    MetricsClientMethodMeters getMethodMeters(String fullMethodName) {
+        final MetricsClientMethodMeters meters = this.methodMeters.get(fullMethodName);
+        if (meters != null) {
+            return meters;
+        }
+        if (this.methodMeters.size() >= MAX_CACHED_METHODS) {
+            // Don't let calls to arbitrary (e.g. generic) methods grow the cache without bounds
+            return new MetricsClientMethodMeters(this, fullMethodName);
+        }
+        return this.methodMeters.computeIfAbsent(fullMethodName, name -> new MetricsClientMethodMeters(this, name));
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -71,6 +119,11 @@ static class Builder {
         private MeterProvider<DistributionSummary> receivedMessageSizeDistribution;
         private MeterProvider<Timer> clientAttemptDuration;
         private MeterProvider<Timer> clientCallDuration;
+        private MeterProvider<Counter> clientCallCompletedCounter;
+        private MeterProvider<Counter> messageCounter;
+        private MeterProvider<DistributionSummary> messageSizeDistribution;
+        private MeterProvider<Timer> messageGap;
+        private MeterProvider<Timer> timeToFirstMessage;
 
         private Builder() {}
 
@@ -99,6 +152,31 @@ public Builder setClientCallDuration(MeterProvider<Timer> timer) {
             return this;
         }
 
+        public Builder setClientCallCompletedCounter(MeterProvider<Counter> counter) {
+            this.clientCallCompletedCounter = counter;
+            return this;
+        }
+
+        public Builder setMessageCounter(MeterProvider<Counter> counter) {
+            this.messageCounter = counter;
+            return this;
+        }
+
+        public Builder setMessageSizeDistribution(MeterProvider<DistributionSummary> distribution) {
+            this.messageSizeDistribution = distribution;
+            return this;
+        }
+
+        public Builder setMessageGap(MeterProvider<Timer> timer) {
+            this.messageGap = timer;
+            return this;
+        }
+
+        public Builder setTimeToFirstMessage(MeterProvider<Timer> timer) {
+            this.timeToFirstMessage = timer;
+            return this;
+        }
+
         public MetricsClientMeters build() {
             return new MetricsClientMeters(this);
         }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.common.util.Constants;
+
+/*
+ * The meters of a single method. The tags of the method are resolved once, and its meters are resolved on first use
+ * and then cached per status code, so that recording a call doesn't allocate once all meters have been resolved.
+ */
+final class MetricsClientMethodMeters {
+
+    private static final String INSTRUMENTATION_SOURCE_TAG_KEY = "instrumentation_source";
+    private static final String INSTRUMENTATION_VERSION_TAG_KEY = "instrumentation_version";
+    private static final String DIRECTION_TAG_KEY = "grpc.direction";
+    private static final Status.Code[] CODES = Status.Code.values();
+
+    private final MetricsClientMeters metricsClientMeters;
+    private final Tags tags;
+    private final AtomicReferenceArray<StatusMeters> statusMeters = new AtomicReferenceArray<>(CODES.length);
+    // The completed calls are counted separately, so that unsampled calls don't register empty histograms
+    private final AtomicReferenceArray<Counter> completedCounters = new AtomicReferenceArray<>(CODES.length);
+    private volatile Counter attemptCounter;
+    private volatile MessageMeters sentMessages;
+    private volatile MessageMeters receivedMessages;
+
+    MetricsClientMethodMeters(MetricsClientMeters meters, String fullMethodName) {
+        this.metricsClientMeters = meters;
+        this.tags = Tags.of("grpc.method", fullMethodName,
+                INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
+                INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION);
+    }
+
+    Counter attemptCounter() {
+        Counter counter = this.attemptCounter;
+        if (counter == null) {
+            counter = this.metricsClientMeters.getAttemptCounter().withTags(this.tags);
+            this.attemptCounter = counter;
+        }
+        return counter;
+    }
+
+    MessageMeters sentMessages() {
+        MessageMeters meters = this.sentMessages;
+        if (meters == null) {
+            meters = new MessageMeters(this.metricsClientMeters, this.tags.and(DIRECTION_TAG_KEY, "sent"));
+            this.sentMessages = meters;
+        }
+        return meters;
+    }
+
+    MessageMeters receivedMessages() {
+        MessageMeters meters = this.receivedMessages;
+        if (meters == null) {
+            meters = new MessageMeters(this.metricsClientMeters, this.tags.and(DIRECTION_TAG_KEY, "received"));
+            this.receivedMessages = meters;
+        }
+        return meters;
+    }
+
+    Counter completedCounter(Status.Code code) {
+        Counter counter = this.completedCounters.get(code.ordinal());
+        if (counter == null) {
+            counter = this.metricsClientMeters.getClientCallCompletedCounter()
+                    .withTags(this.tags.and("grpc.status", code.toString()));
+            this.completedCounters.set(code.ordinal(), counter);
+        }
+        return counter;
+    }
+
+    StatusMeters forStatus(Status.Code code) {
+        StatusMeters meters = this.statusMeters.get(code.ordinal());
+        if (meters == null) {
+            // Racing threads resolve the same meters from the registry, so it doesn't matter which one wins
+            meters = new StatusMeters(this.metricsClientMeters, this.tags.and("grpc.status", code.toString()));
+            this.statusMeters.set(code.ordinal(), meters);
+        }
+        return meters;
+    }
+
+    /*
+     * The meters of a single method and status code.
+     */
+    static final class StatusMeters {
+
+        final Timer attemptDuration;
+        final DistributionSummary sentMessageSize;
+        final DistributionSummary receivedMessageSize;
+        final Timer callDuration;
+
+        StatusMeters(MetricsClientMeters meters, Tags tags) {
+            this.attemptDuration = meters.getClientAttemptDuration().withTags(tags);
+            this.sentMessageSize = meters.getSentMessageSizeDistribution().withTags(tags);
+            this.receivedMessageSize = meters.getReceivedMessageSizeDistribution().withTags(tags);
+            this.callDuration = meters.getClientCallDuration().withTags(tags);
+        }
+
+    }
+
+    /*
+     * The meters of the messages of a single method in one direction.
+     */
+    static final class MessageMeters {
+
+        final Counter messages;
+        final DistributionSummary messageSize;
+        final Timer messageGap;
+        final Timer timeToFirstMessage;
+
+        MessageMeters(MetricsClientMeters meters, Tags tags) {
+            this.messages = meters.getMessageCounter().withTags(tags);
+            this.messageSize = meters.getMessageSizeDistribution().withTags(tags);
+            this.messageGap = meters.getMessageGap().withTags(tags);
+            this.timeToFirstMessage = meters.getTimeToFirstMessage().withTags(tags);
+        }
+
+    }
+
+}
@@ -18,10 +18,12 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import javax.annotation.concurrent.GuardedBy;
@@ -34,57 +36,88 @@
 import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.Status.Code;
-import io.micrometer.core.instrument.Tags;
-import net.devh.boot.grpc.common.util.Constants;
+import net.devh.boot.grpc.client.metrics.MetricsClientMethodMeters.MessageMeters;
+import net.devh.boot.grpc.client.metrics.MetricsClientMethodMeters.StatusMeters;
+import net.devh.boot.grpc.common.metrics.MethodMetricsPolicy;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 
 /**
  * Provides factories for {@link io.grpc.StreamTracer} that records metrics.
  *
  * <p>
  * On the client-side, a factory is created for each call, and the factory creates a stream tracer for each attempt.
+ * The tracers only store primitive timestamps and counters and record them with meters that are cached per method and
+ * status code, so that they don't allocate anything besides themselves once all meters have been resolved. If enabled
+ * by the {@link MetricsPolicy}, the tracers also measure the individual messages of each attempt while it is still
+ * open.
  *
  * <b>Note:</b> This class uses experimental grpc-java-API features.
  */
 final class MetricsClientStreamTracers {
-    private static final Supplier<Stopwatch> STOPWATCH_SUPPLIER = Stopwatch::createUnstarted;
-    private final Supplier<Stopwatch> stopwatchSupplier;
-    private static final String INSTRUMENTATION_SOURCE_TAG_KEY = "instrumentation_source";
-    private static final String INSTRUMENTATION_VERSION_TAG_KEY = "instrumentation_version";
+    private static final ClientStreamTracer NOOP_TRACER = new ClientStreamTracer() {};
+    private static final int MAX_CACHED_METHODS = 1000;
+    private final LongSupplier nanoTime;
+    private final MetricsPolicy policy;
+    private final Map<String, MethodMetricsPolicy> methodPolicies = new ConcurrentHashMap<>();
 
     MetricsClientStreamTracers() {
-        this(STOPWATCH_SUPPLIER);
+        this.nanoTime = System::nanoTime;
+        this.policy = MetricsPolicy.FULL;
     }
 
     MetricsClientStreamTracers(Supplier<Stopwatch> stopwatchSupplier) {
-        this.stopwatchSupplier = checkNotNull(stopwatchSupplier, "stopwatchSupplier");
+        this(stopwatchSupplier, MetricsPolicy.FULL);
+    }
+
+    MetricsClientStreamTracers(Supplier<Stopwatch> stopwatchSupplier, MetricsPolicy policy) {
+        checkNotNull(stopwatchSupplier, "stopwatchSupplier");
+        // Reading the elapsed time of a running stopwatch reads its ticker without allocating a new stopwatch
+        final Stopwatch stopwatch = stopwatchSupplier.get().start();
+        this.nanoTime = () -> stopwatch.elapsed(TimeUnit.NANOSECONDS);
+        this.policy = checkNotNull(policy, "policy");
+    }
+
+    /**
+     * Gets the policy that decides whether and in how much detail the calls of the given method are measured.
+     *
+     * @param fullMethodName The full name of the method.
+     * @return The policy of the method.
+     */
+    MethodMetricsPolicy getMethodPolicy(String fullMethodName) {
+        final MethodMetricsPolicy methodPolicy = this.methodPolicies.get(fullMethodName);
+        if (methodPolicy != null) {
+            return methodPolicy;
+        }
+        if (this.methodPolicies.size() >= MAX_CACHED_METHODS) {
+            return this.policy.forMethod(fullMethodName);
+        }
+        return this.methodPolicies.computeIfAbsent(fullMethodName, this.policy::forMethod);
     }
 
     private static final class ClientTracer extends ClientStreamTracer {
-        private final MetricsClientStreamTracers tracerModule;
+        private static final long NO_MESSAGE = Long.MIN_VALUE;
         private final CallAttemptsTracerFactory attemptsState;
-        private final MetricsClientMeters metricsClientMeters;
         private static final AtomicLongFieldUpdater<ClientTracer> outboundWireSizeUpdater =
                 AtomicLongFieldUpdater.newUpdater(ClientTracer.class, "outboundWireSize");
         private static final AtomicLongFieldUpdater<ClientTracer> inboundWireSizeUpdater =
                 AtomicLongFieldUpdater.newUpdater(ClientTracer.class, "inboundWireSize");
+        private static final AtomicIntegerFieldUpdater<ClientTracer> inboundReceivedOrClosedUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(ClientTracer.class, "inboundReceivedOrClosed");
         private volatile long outboundWireSize;
         private volatile long inboundWireSize;
+        private volatile int inboundReceivedOrClosed;
+        // The time of the last message per direction, messages of one direction are never reported concurrently
+        private volatile long lastOutboundMessageNanos = NO_MESSAGE;
+        private volatile long lastInboundMessageNanos = NO_MESSAGE;
         private final StreamInfo info;
-        private final String fullMethodName;
-        final AtomicBoolean inboundReceivedOrClosed = new AtomicBoolean();
-        final Stopwatch stopwatch;
+        private final long startNanos;
         Code statusCode;
         long attemptNanos;
 
-        ClientTracer(CallAttemptsTracerFactory attemptsState, MetricsClientStreamTracers tracers,
-                StreamInfo info,
-                String fullMethodName, MetricsClientMeters metricsClientMeters) {
+        ClientTracer(CallAttemptsTracerFactory attemptsState, StreamInfo info) {
             this.attemptsState = attemptsState;
-            this.tracerModule = tracers;
             this.info = info;
-            this.fullMethodName = fullMethodName;
-            this.metricsClientMeters = metricsClientMeters;
-            this.stopwatch = tracers.stopwatchSupplier.get().start();
+            this.startNanos = attemptsState.tracerModule.nanoTime.getAsLong();
         }
 
         @Override
@@ -97,18 +130,55 @@ public void inboundWireSize(long bytes) {
             inboundWireSizeUpdater.getAndAdd(this, bytes);
         }
 
+        @Override
         public void inboundMessage(int seqNo) {
-            if (inboundReceivedOrClosed.compareAndSet(false, true)) {
+            if (inboundReceivedOrClosedUpdater.compareAndSet(this, 0, 1)) {
                 // Because inboundUncompressedSize() might be called after streamClosed(),
                 // we will report stats in callEnded(). Note that this attempt is already committed.
                 attemptsState.inboundMetricTracer = this;
             }
         }
 
+        @Override
+        public void outboundMessageSent(int seqNo, long optionalWireSize, long optionalUncompressedSize) {
+            if (attemptsState.messageMetrics) {
+                lastOutboundMessageNanos = recordMessage(attemptsState.methodMeters.sentMessages(),
+                        lastOutboundMessageNanos, optionalWireSize);
+            }
+        }
+
+        @Override
+        public void inboundMessageRead(int seqNo, long optionalWireSize, long optionalUncompressedSize) {
+            if (attemptsState.messageMetrics) {
+                lastInboundMessageNanos = recordMessage(attemptsState.methodMeters.receivedMessages(),
+                        lastInboundMessageNanos, optionalWireSize);
+            }
+        }
+
+        /**
+         * Records a single message and returns its time, which has to be passed in for the next message of the same
+         * direction.
+         */
+        private long recordMessage(MessageMeters meters, long lastMessageNanos, long wireSize) {
+            meters.messages.increment();
+            if (!attemptsState.sampled) {
+                return NO_MESSAGE;
+            }
+            final long messageNanos = attemptsState.tracerModule.nanoTime.getAsLong();
+            if (lastMessageNanos == NO_MESSAGE) {
+                meters.timeToFirstMessage.record(messageNanos - startNanos, TimeUnit.NANOSECONDS);
+            } else {
+                meters.messageGap.record(messageNanos - lastMessageNanos, TimeUnit.NANOSECONDS);
+            }
+            if (wireSize >= 0) {
+                meters.messageSize.record(wireSize);
+            }
+            return messageNanos;
+        }
+
         @Override
         public void streamClosed(Status status) {
-            stopwatch.stop();
-            attemptNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+            attemptNanos = attemptsState.tracerModule.nanoTime.getAsLong() - startNanos;
             Deadline deadline = info.getCallOptions().getDeadline();
             statusCode = status.getCode();
             if (statusCode == Status.Code.CANCELLED && deadline != null) {
@@ -120,7 +190,7 @@ public void streamClosed(Status status) {
                 }
             }
             attemptsState.attemptEnded();
-            if (inboundReceivedOrClosed.compareAndSet(false, true)) {
+            if (inboundReceivedOrClosedUpdater.compareAndSet(this, 0, 1)) {
                 // Stream is closed early. So no need to record metrics for any inbound events after this
                 // point.
                 recordFinishedAttempt();
@@ -129,91 +199,97 @@ public void streamClosed(Status status) {
         }
 
         void recordFinishedAttempt() {
-            Tags attemptMetricTags =
-                    Tags.of("grpc.method", fullMethodName,
-                            "grpc.status", statusCode.toString(),
-                            INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                            INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION);
-            this.metricsClientMeters.getClientAttemptDuration()
-                    .withTags(attemptMetricTags)
-                    .record(attemptNanos, TimeUnit.NANOSECONDS);
-            this.metricsClientMeters.getSentMessageSizeDistribution()
-                    .withTags(attemptMetricTags)
-                    .record(outboundWireSize);
-            this.metricsClientMeters.getReceivedMessageSizeDistribution()
-                    .withTags(attemptMetricTags)
-                    .record(inboundWireSize);
+            attemptsState.recordAttempt(statusCode, attemptNanos, outboundWireSize, inboundWireSize);
         }
     }
 
     static final class CallAttemptsTracerFactory extends ClientStreamTracer.Factory {
+        private static final AtomicLongFieldUpdater<CallAttemptsTracerFactory> attemptsPerCallUpdater =
+                AtomicLongFieldUpdater.newUpdater(CallAttemptsTracerFactory.class, "attemptsPerCall");
         ClientTracer inboundMetricTracer;
         private final MetricsClientStreamTracers tracerModule;
-        private final MetricsClientMeters metricsClientMeters;
-        private final Stopwatch attemptStopwatch;
-        private final Stopwatch clientCallStopWatch;
-        private final String fullMethodName;
-        private final Object lock = new Object();
-        private final AtomicLong attemptsPerCall = new AtomicLong();
+        private final MetricsClientMethodMeters methodMeters;
+        private final boolean sampled;
+        private final boolean messageMetrics;
+        private final long callStartNanos;
+        private volatile long attemptsPerCall;
         private long callLatencyNanos;
         private Status status;
-        @GuardedBy("lock")
+        @GuardedBy("this")
         private boolean callEnded;
-        @GuardedBy("lock")
+        @GuardedBy("this")
         private int activeStreams;
-        @GuardedBy("lock")
+        @GuardedBy("this")
         private boolean finishedCallToBeRecorded;
 
         CallAttemptsTracerFactory(MetricsClientStreamTracers tracerModule, String fullMethodName,
                 MetricsClientMeters metricsClientMeters) {
+            this(tracerModule, fullMethodName, metricsClientMeters, true);
+        }
+
+        /**
+         * Creates a new CallAttemptsTracerFactory.
+         *
+         * @param tracerModule The module that provides the time source.
+         * @param fullMethodName The full name of the called method.
+         * @param metricsClientMeters The meters to record the metrics with.
+         * @param sampled Whether the latency and message sizes of the call should be recorded, or only the counters.
+         */
+        CallAttemptsTracerFactory(MetricsClientStreamTracers tracerModule, String fullMethodName,
+                MetricsClientMeters metricsClientMeters, boolean sampled) {
+            this(tracerModule, fullMethodName, metricsClientMeters, sampled, false);
+        }
+
+        /**
+         * Creates a new CallAttemptsTracerFactory.
+         *
+         * @param tracerModule The module that provides the time source.
+         * @param fullMethodName The full name of the called method.
+         * @param metricsClientMeters The meters to record the metrics with.
+         * @param sampled Whether the latency and message sizes of the call should be recorded, or only the counters.
+         * @param messageMetrics Whether the individual messages of the call should be measured.
+         */
+        CallAttemptsTracerFactory(MetricsClientStreamTracers tracerModule, String fullMethodName,
+                MetricsClientMeters metricsClientMeters, boolean sampled, boolean messageMetrics) {
             this.tracerModule = checkNotNull(tracerModule, "tracerModule");
-            this.fullMethodName = checkNotNull(fullMethodName, "fullMethodName");
-            this.metricsClientMeters = checkNotNull(metricsClientMeters, "metricsMeters");
-            this.attemptStopwatch = tracerModule.stopwatchSupplier.get();
-            this.clientCallStopWatch = tracerModule.stopwatchSupplier.get().start();
+            this.sampled = sampled;
+            this.messageMetrics = messageMetrics;
+            checkNotNull(fullMethodName, "fullMethodName");
+            checkNotNull(metricsClientMeters, "metricsMeters");
+            this.methodMeters = metricsClientMeters.getMethodMeters(fullMethodName);
+            this.callStartNanos = tracerModule.nanoTime.getAsLong();
 
             // Record here in case newClientStreamTracer() would never be called.
-            this.metricsClientMeters.getAttemptCounter()
-                    .withTags(Tags.of("grpc.method", fullMethodName,
-                            INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                            INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION))
-                    .increment();
+            this.methodMeters.attemptCounter().increment();
         }
 
         @Override
         public ClientStreamTracer newClientStreamTracer(StreamInfo info, Metadata metadata) {
-            synchronized (lock) {
+            synchronized (this) {
                 if (finishedCallToBeRecorded) {
                     // This can be the case when the called is cancelled but a retry attempt is created.
-                    return new ClientStreamTracer() {};
-                }
-                if (++activeStreams == 1 && attemptStopwatch.isRunning()) {
-                    attemptStopwatch.stop();
+                    return NOOP_TRACER;
                 }
+                ++activeStreams;
             }
             // Skip recording for the first time, since it is already recorded in
             // CallAttemptsTracerFactory constructor. attemptsPerCall will be non-zero after the first
             // attempt, as first attempt cannot be a transparent retry.
-            if (attemptsPerCall.get() > 0) {
-                this.metricsClientMeters.getAttemptCounter()
-                        .withTags((Tags.of("grpc.method", fullMethodName,
-                                INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                                INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION)))
-                        .increment();
+            if (attemptsPerCall > 0) {
+                this.methodMeters.attemptCounter().increment();
             }
             if (!info.isTransparentRetry()) {
-                attemptsPerCall.incrementAndGet();
+                attemptsPerCallUpdater.incrementAndGet(this);
             }
 
-            return new ClientTracer(this, tracerModule, info, fullMethodName, metricsClientMeters);
+            return new ClientTracer(this, info);
         }
 
         // Called when each attempt is ended
         void attemptEnded() {
             boolean shouldRecordFinishedCall = false;
-            synchronized (lock) {
+            synchronized (this) {
                 if (--activeStreams == 0) {
-                    attemptStopwatch.start();
                     if (callEnded && !finishedCallToBeRecorded) {
                         shouldRecordFinishedCall = true;
                         finishedCallToBeRecorded = true;
@@ -226,10 +302,10 @@ void attemptEnded() {
         }
 
         void callEnded(Status status) {
-            clientCallStopWatch.stop();
+            callLatencyNanos = tracerModule.nanoTime.getAsLong() - callStartNanos;
             this.status = status;
             boolean shouldRecordFinishedCall = false;
-            synchronized (lock) {
+            synchronized (this) {
                 if (callEnded) {
                     return;
                 }
@@ -244,26 +320,30 @@ void callEnded(Status status) {
             }
         }
 
+        void recordAttempt(Code statusCode, long attemptNanos, long outboundWireSize, long inboundWireSize) {
+            if (!sampled) {
+                return;
+            }
+            final StatusMeters meters = this.methodMeters.forStatus(statusCode);
+            meters.attemptDuration.record(attemptNanos, TimeUnit.NANOSECONDS);
+            meters.sentMessageSize.record(outboundWireSize);
+            meters.receivedMessageSize.record(inboundWireSize);
+        }
+
         void recordFinishedCall() {
-            if (attemptsPerCall.get() == 0) {
-                ClientTracer tracer = new ClientTracer(this, tracerModule, null, fullMethodName,
-                        metricsClientMeters);
-                tracer.attemptNanos = attemptStopwatch.elapsed(TimeUnit.NANOSECONDS);
-                tracer.statusCode = status.getCode();
-                tracer.recordFinishedAttempt();
+            this.methodMeters.completedCounter(status.getCode()).increment();
+            if (!sampled) {
+                return;
+            }
+            if (attemptsPerCall == 0) {
+                // No stream was ever created, so record an empty attempt with the status of the call
+                recordAttempt(status.getCode(), 0, 0, 0);
             } else if (inboundMetricTracer != null) {
                 // activeStreams has been decremented to 0 by attemptEnded(),
                 // so inboundMetricTracer.statusCode is guaranteed to be assigned already.
                 inboundMetricTracer.recordFinishedAttempt();
             }
-            callLatencyNanos = clientCallStopWatch.elapsed(TimeUnit.NANOSECONDS);
-            Tags clientCallMetricTags =
-                    Tags.of("grpc.method", this.fullMethodName,
-                            "grpc.status", status.getCode().toString(),
-                            INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                            INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION);
-            this.metricsClientMeters.getClientCallDuration()
-                    .withTags(clientCallMetricTags)
+            this.methodMeters.forStatus(status.getCode()).callDuration
                     .record(callLatencyNanos, TimeUnit.NANOSECONDS);
         }
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.autoconfigure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc.HealthImplBase;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
+import net.devh.boot.grpc.client.channelfactory.InProcessChannelFactory;
+import net.devh.boot.grpc.client.config.GrpcChannelsProperties;
+import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
+import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+
+/**
+ * Tests that the {@link GrpcClientWarmUpAutoConfiguration} warms up channels that target a server, which is only
+ * started by a lifecycle of the same application context.
+ */
+@SpringBootTest(classes = GrpcClientWarmUpAutoConfigurationTest.TestConfig.class,
+        properties = {
+                "grpc.client.warm-up-self.address=in-process:warm-up-self",
+                "grpc.channel-warm-up.enabled=true",
+                "grpc.channel-warm-up.timeout=5s",
+                "grpc.channel-warm-up.fail-on-error=true",
+                "grpc.channel-warm-up.health-check=true"})
+@ImportAutoConfiguration(GrpcClientWarmUpAutoConfiguration.class)
+@DirtiesContext
+class GrpcClientWarmUpAutoConfigurationTest {
+
+    @Autowired
+    private SelfServerLifecycle server;
+
+    @Test
+    void testWarmUpRunsAfterTheLifecyclesStarted() {
+        // The context would have failed to start, if the warm-up had run before the server was started
+        assertEquals(1, this.server.healthChecks.get());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(GrpcChannelsProperties.class)
+    static class TestConfig {
+
+        @Bean
+        GrpcChannelFactory grpcChannelFactory() {
+            return new InProcessChannelFactory(new SimpleGrpcChannelsProperties(),
+                    new GlobalClientInterceptorRegistry(Collections::emptyList, () -> (a, b) -> 0));
+        }
+
+        @Bean
+        SelfServerLifecycle selfServerLifecycle() {
+            return new SelfServerLifecycle();
+        }
+
+    }
+
+    /**
+     * Starts an in-process server in the same phase as the grpc server would be started.
+     */
+    static class SelfServerLifecycle implements SmartLifecycle {
+
+        private final AtomicInteger healthChecks = new AtomicInteger();
+        private Server server;
+
+        @Override
+        public void start() {
+            try {
+                this.server = InProcessServerBuilder.forName("warm-up-self")
+                        .addService(new HealthImplBase() {
+
+                            @Override
+                            public void check(final HealthCheckRequest request,
+                                    final StreamObserver<HealthCheckResponse> responseObserver) {
+                                SelfServerLifecycle.this.healthChecks.incrementAndGet();
+                                responseObserver.onNext(HealthCheckResponse.newBuilder()
+                                        .setStatus(ServingStatus.SERVING)
+                                        .build());
+                                responseObserver.onCompleted();
+                            }
+
+                        })
+                        .build()
+                        .start();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void stop() {
+            this.server.shutdownNow();
+            this.server = null;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return this.server != null;
+        }
+
+    }
+
+}
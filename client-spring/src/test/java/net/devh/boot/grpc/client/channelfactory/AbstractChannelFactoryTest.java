@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.health.v1.HealthGrpc.HealthImplBase;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.client.config.SimpleGrpcChannelProperties;
+import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
+import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+
+/**
+ * Tests for {@link AbstractChannelFactory}.
+ */
+class AbstractChannelFactoryTest {
+
+    private static final ClientInterceptor NOOP = new ClientInterceptor() {
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(final MethodDescriptor<ReqT, RespT> method,
+                final CallOptions callOptions, final Channel next) {
+            return next.newCall(method, callOptions);
+        }
+
+    };
+
+    private final GlobalClientInterceptorRegistry registry =
+            new GlobalClientInterceptorRegistry(Collections::emptyList, () -> (a, b) -> 0);
+    private InProcessChannelFactory factory;
+
+    @BeforeEach
+    void setup() {
+        this.factory = new InProcessChannelFactory(new SimpleGrpcChannelsProperties(), this.registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+    }
+
+    /**
+     * Tests that repeated calls with the same interceptors return the same intercepted channel.
+     */
+    @Test
+    void testInterceptedChannelsAreCached() {
+        final Channel plain = this.factory.createChannel("test");
+        assertSame(plain, this.factory.createChannel("test"));
+        assertNotSame(plain, this.factory.createChannel("other"));
+        // Sorting the global interceptors uses the general cache
+        assertSame(this.factory.createChannel("test", List.of(), true),
+                this.factory.createChannel("test", List.of(), true));
+
+        final List<ClientInterceptor> interceptors = new ArrayList<>(List.of(NOOP));
+        final Channel intercepted = this.factory.createChannel("test", interceptors);
+        assertNotSame(plain, intercepted);
+        assertSame(intercepted, this.factory.createChannel("test", List.of(NOOP)));
+        assertNotSame(intercepted, this.factory.createChannel("test", List.of(NOOP), true));
+
+        // Changes to the caller's list must not affect the cached entry
+        interceptors.clear();
+        assertSame(plain, this.factory.createChannel("test", interceptors));
+        assertSame(intercepted, this.factory.createChannel("test", List.of(NOOP)));
+    }
+
+    /**
+     * Tests that closed factories don't return cached channels.
+     */
+    @Test
+    void testCreateChannelAfterClose() {
+        this.factory.createChannel("test");
+        this.factory.close();
+        assertThrows(IllegalStateException.class, () -> this.factory.createChannel("test"));
+    }
+
+    /**
+     * Tests that all channels are closed in parallel and that repeated calls share the same termination.
+     */
+    @Test
+    void testCloseAsync() throws Exception {
+        this.factory.createChannel("first");
+        this.factory.createChannel("second");
+        assertEquals(2, this.factory.getConnectivityState().size());
+
+        final CompletableFuture<Void> termination = this.factory.closeAsync();
+        assertSame(termination, this.factory.closeAsync());
+        termination.get(5, TimeUnit.SECONDS);
+        assertEquals(0, this.factory.getConnectivityState().size());
+        assertThrows(IllegalStateException.class, () -> this.factory.createChannel("first"));
+    }
+
+    /**
+     * Tests that channels that don't terminate within their grace period are shut down forcefully and that closing the
+     * factory neither waits unbounded nor holds the factory's monitor while waiting.
+     */
+    @Test
+    void testCloseForcesShutdownAfterGracePeriod() throws Exception {
+        final SimpleGrpcChannelsProperties properties = new SimpleGrpcChannelsProperties();
+        properties.getChannel("hanging").setShutdownGracePeriod(Duration.ofMillis(500));
+        final InProcessChannelFactory closingFactory = new InProcessChannelFactory(properties, this.registry);
+        final Server server = InProcessServerBuilder.forName("hanging")
+                .addService(new HealthImplBase() {
+
+                    @Override
+                    public void check(final HealthCheckRequest request,
+                            final StreamObserver<HealthCheckResponse> responseObserver) {
+                        // Never respond
+                    }
+
+                })
+                .build()
+                .start();
+        try {
+            final ListenableFuture<HealthCheckResponse> call = HealthGrpc
+                    .newFutureStub(closingFactory.createChannel("hanging"))
+                    .check(HealthCheckRequest.getDefaultInstance());
+
+            final CompletableFuture<Void> closed = CompletableFuture.runAsync(closingFactory::close);
+            // The monitor is free while close() waits for the channel
+            assertTimeoutPreemptively(Duration.ofSeconds(1), closingFactory::closeAsync);
+            assertThrows(IllegalStateException.class, () -> closingFactory.createChannel("other"));
+            assertFalse(closed.isDone());
+
+            closed.get(5, TimeUnit.SECONDS);
+            assertEquals(Status.Code.UNAVAILABLE,
+                    Status.fromThrowable(assertThrows(ExecutionException.class, call::get)).getCode());
+            assertEquals(0, closingFactory.getConnectivityState().size());
+        } finally {
+            server.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the sub-channels of a pooled channel share the same executor, which is shut down once all of them
+     * have been terminated.
+     */
+    @Test
+    void testPooledChannelsShareExecutor() throws Exception {
+        final SimpleGrpcChannelsProperties properties = new SimpleGrpcChannelsProperties();
+        final SimpleGrpcChannelProperties channelProperties = properties.getChannel("pooled");
+        channelProperties.setPoolSize(3);
+        channelProperties.setExecutor(SimpleGrpcChannelProperties.EXECUTOR_FIXED);
+        channelProperties.setExecutorThreads(1);
+        final List<InProcessChannelBuilder> builders = new CopyOnWriteArrayList<>();
+        final InProcessChannelFactory pooledFactory = new InProcessChannelFactory(properties, this.registry) {
+
+            @Override
+            protected InProcessChannelBuilder newChannelBuilder(final String name) {
+                final InProcessChannelBuilder builder = spy(super.newChannelBuilder(name));
+                builders.add(builder);
+                return builder;
+            }
+
+        };
+
+        pooledFactory.createChannel("pooled");
+        assertEquals(3, builders.size());
+        final ArgumentCaptor<Executor> executors = ArgumentCaptor.forClass(Executor.class);
+        for (final InProcessChannelBuilder builder : builders) {
+            verify(builder).executor(executors.capture());
+        }
+        final Executor executor = executors.getAllValues().get(0);
+        for (final Executor other : executors.getAllValues()) {
+            assertSame(executor, other);
+        }
+
+        pooledFactory.closeAsync().get(5, TimeUnit.SECONDS);
+        assertTrue(((ExecutorService) executor).isShutdown());
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
+import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+
+/**
+ * Tests for {@link GrpcChannelFactoryLifecycle}.
+ */
+class GrpcChannelFactoryLifecycleTest {
+
+    private final GenericApplicationContext context = new GenericApplicationContext();
+    private InProcessChannelFactory factory;
+    private GrpcChannelFactoryLifecycle lifecycle;
+
+    @BeforeEach
+    void setup() {
+        final GlobalClientInterceptorRegistry registry =
+                new GlobalClientInterceptorRegistry(Collections::emptyList, () -> (a, b) -> 0);
+        this.factory = new InProcessChannelFactory(new SimpleGrpcChannelsProperties(), registry);
+        this.context.getBeanFactory().registerSingleton("channelFactory", this.factory);
+        this.context.refresh();
+        this.lifecycle = new GrpcChannelFactoryLifecycle(this.context.getBeanFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+        this.context.close();
+    }
+
+    /**
+     * Tests that stopping the context doesn't close the channel factories, since they can't be restarted.
+     */
+    @Test
+    void testStopAndStartKeepsChannelFactories() {
+        this.lifecycle.start();
+        this.lifecycle.stop();
+        assertFalse(this.lifecycle.isRunning());
+
+        this.lifecycle.start();
+        assertTrue(this.lifecycle.isRunning());
+        assertNotNull(this.factory.createChannel("test"));
+    }
+
+    /**
+     * Tests that the channel factories are closed, once the context is closed.
+     */
+    @Test
+    void testCloseClosesChannelFactories() {
+        this.lifecycle.start();
+        this.factory.createChannel("test");
+
+        this.lifecycle.onApplicationEvent(new ContextClosedEvent(this.context));
+        this.lifecycle.stop();
+        assertFalse(this.lifecycle.isRunning());
+        assertThrows(IllegalStateException.class, () -> this.factory.createChannel("test"));
+
+        this.lifecycle.start();
+        assertFalse(this.lifecycle.isRunning());
+    }
+
+}
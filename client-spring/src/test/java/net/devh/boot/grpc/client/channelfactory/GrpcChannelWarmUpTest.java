@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.util.concurrent.Futures;
+
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+
+/**
+ * Tests for {@link GrpcChannelWarmUp}.
+ */
+class GrpcChannelWarmUpTest {
+
+    @Test
+    void testWarmUpReportsEveryChannel() {
+        final GrpcChannelFactory factory = mock(GrpcChannelFactory.class);
+        doReturn(CompletableFuture.completedFuture(null)).when(factory).connect("ready");
+        doReturn(CompletableFuture.failedFuture(Status.UNAVAILABLE.asRuntimeException()))
+                .when(factory).connect("failed");
+        doReturn(new CompletableFuture<>()).when(factory).connect("pending");
+        doReturn(Map.of("pending", ConnectivityState.CONNECTING)).when(factory).getConnectivityState();
+
+        final ChannelWarmUpReport report = new GrpcChannelWarmUp(factory, Duration.ofMillis(100), null)
+                .warmUp(List.of("ready", "failed", "pending"));
+
+        assertFalse(report.isReady());
+        assertEquals(Status.Code.OK, report.getResults().get("ready").getCode());
+        assertEquals(Status.Code.UNAVAILABLE, report.getResults().get("failed").getCode());
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, report.getResults().get("pending").getCode());
+        assertEquals(2, report.getFailures().size());
+    }
+
+    @Test
+    void testWarmUpCall() {
+        final GrpcChannelFactory factory = mock(GrpcChannelFactory.class);
+        doReturn(CompletableFuture.completedFuture(null)).when(factory).connect("ok");
+        doReturn(CompletableFuture.completedFuture(null)).when(factory).connect("bad");
+        doReturn(mock(ManagedChannel.class)).when(factory).createChannel("ok");
+        doReturn(mock(ManagedChannel.class)).when(factory).createChannel("bad");
+
+        final ChannelWarmUpReport report = new GrpcChannelWarmUp(factory, Duration.ofSeconds(1),
+                (name, channel, deadline) -> "ok".equals(name)
+                        ? Futures.immediateFuture(name)
+                        : Futures.immediateFailedFuture(Status.NOT_FOUND.asRuntimeException()))
+                .warmUp(List.of("ok", "bad"));
+
+        assertEquals(Status.Code.OK, report.getResults().get("ok").getCode());
+        assertEquals(Status.Code.NOT_FOUND, report.getResults().get("bad").getCode());
+        assertTrue(report.getFailures().containsKey("bad"));
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import net.devh.boot.grpc.client.config.ChannelPoolStrategy;
+
+/**
+ * Tests for {@link PooledManagedChannel}.
+ */
+class PooledManagedChannelTest {
+
+    @SuppressWarnings("unchecked")
+    private static final MethodDescriptor<Object, Object> METHOD = mock(MethodDescriptor.class);
+
+    @Test
+    void testRoundRobin() {
+        final ManagedChannel first = newChannel();
+        final ManagedChannel second = newChannel();
+        final PooledManagedChannel pool =
+                new PooledManagedChannel(List.of(first, second), ChannelPoolStrategy.ROUND_ROBIN);
+
+        for (int i = 0; i < 4; i++) {
+            pool.newCall(METHOD, CallOptions.DEFAULT);
+        }
+
+        verify(first, times(2)).newCall(METHOD, CallOptions.DEFAULT);
+        verify(second, times(2)).newCall(METHOD, CallOptions.DEFAULT);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLeastActive() {
+        final ManagedChannel first = newChannel();
+        final ManagedChannel second = newChannel();
+        final ClientCall<Object, Object> firstCall = mock(ClientCall.class);
+        doReturn(firstCall).when(first).newCall(METHOD, CallOptions.DEFAULT);
+        final PooledManagedChannel pool =
+                new PooledManagedChannel(List.of(first, second), ChannelPoolStrategy.LEAST_ACTIVE);
+
+        // Occupy the first channel
+        pool.newCall(METHOD, CallOptions.DEFAULT).start(mock(ClientCall.Listener.class), new Metadata());
+        final ArgumentCaptor<ClientCall.Listener<Object>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(firstCall).start(listener.capture(), any());
+
+        // All following calls should use the second channel, regardless of the rotating offset
+        for (int i = 0; i < 3; i++) {
+            pool.newCall(METHOD, CallOptions.DEFAULT);
+        }
+        verify(first, times(1)).newCall(METHOD, CallOptions.DEFAULT);
+        verify(second, times(3)).newCall(METHOD, CallOptions.DEFAULT);
+
+        // Once the call completes, the first channel can be used again
+        listener.getValue().onClose(Status.OK, new Metadata());
+        pool.newCall(METHOD, CallOptions.DEFAULT);
+        pool.newCall(METHOD, CallOptions.DEFAULT);
+        verify(first, times(2)).newCall(METHOD, CallOptions.DEFAULT);
+    }
+
+    @Test
+    void testAggregatedState() {
+        final ManagedChannel first = newChannel();
+        final ManagedChannel second = newChannel();
+        final PooledManagedChannel pool =
+                new PooledManagedChannel(List.of(first, second), ChannelPoolStrategy.ROUND_ROBIN);
+
+        doReturn(ConnectivityState.TRANSIENT_FAILURE).when(first).getState(false);
+        doReturn(ConnectivityState.IDLE).when(second).getState(false);
+        assertEquals(ConnectivityState.IDLE, pool.getState(false));
+
+        doReturn(ConnectivityState.READY).when(first).getState(false);
+        assertEquals(ConnectivityState.READY, pool.getState(false));
+
+        doReturn(ConnectivityState.SHUTDOWN).when(first).getState(false);
+        doReturn(ConnectivityState.SHUTDOWN).when(second).getState(false);
+        assertEquals(ConnectivityState.SHUTDOWN, pool.getState(false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ManagedChannel newChannel() {
+        final ManagedChannel channel = mock(ManagedChannel.class);
+        doReturn(mock(ClientCall.class)).when(channel).newCall(any(), any());
+        return channel;
+    }
+
+}
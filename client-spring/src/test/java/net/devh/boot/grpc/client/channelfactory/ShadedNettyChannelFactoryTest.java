@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
+import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+import net.devh.boot.grpc.common.util.ReferenceCountedResource;
+
+/**
+ * Tests for {@link ShadedNettyChannelFactory}.
+ */
+class ShadedNettyChannelFactoryTest {
+
+    private final GlobalClientInterceptorRegistry registry =
+            new GlobalClientInterceptorRegistry(Collections::emptyList, () -> (a, b) -> 0);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that all domain socket channels of a factory share a single event loop group, which is shut down once the
+     * factory is closed.
+     */
+    @Test
+    void testDomainSocketChannelsShareEventLoopGroup() {
+        assumeTrue(Epoll.isAvailable(), "Domain sockets require epoll");
+        final SimpleGrpcChannelsProperties properties = new SimpleGrpcChannelsProperties();
+        properties.getChannel("first").setAddress("unix:" + this.tempDir.resolve("first.sock"));
+        properties.getChannel("second").setAddress("unix:" + this.tempDir.resolve("second.sock"));
+        properties.getChannel("second").setPoolSize(2);
+        final ShadedNettyChannelFactory factory =
+                new ShadedNettyChannelFactory(properties, this.registry, emptyList());
+        final ShadedNettyChannelFactory otherFactory =
+                new ShadedNettyChannelFactory(properties, this.registry, emptyList());
+        try {
+            factory.createChannel("first");
+            factory.createChannel("second");
+            otherFactory.createChannel("first");
+
+            final ReferenceCountedResource<EventLoopGroup> shared = domainSocketEventLoopGroup(factory);
+            final ReferenceCountedResource<EventLoopGroup> otherShared = domainSocketEventLoopGroup(otherFactory);
+            // One reference per (sub-)channel
+            assertEquals(3, shared.getReferenceCount());
+            assertEquals(1, otherShared.getReferenceCount());
+            final EventLoopGroup group = shared.retain();
+            shared.release();
+            final EventLoopGroup otherGroup = otherShared.retain();
+            otherShared.release();
+            assertNotSame(group, otherGroup);
+
+            factory.close();
+            assertTrue(group.isShuttingDown());
+            assertFalse(otherGroup.isShuttingDown());
+            assertThrows(IllegalStateException.class, shared::retain);
+        } finally {
+            factory.close();
+            otherFactory.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ReferenceCountedResource<EventLoopGroup> domainSocketEventLoopGroup(
+            final ShadedNettyChannelFactory factory) {
+        return (ReferenceCountedResource<EventLoopGroup>) ReflectionTestUtils.getField(factory,
+                "domainSocketEventLoopGroup");
+    }
+
+}
@@ -18,8 +18,11 @@
 
 import static org.junit.Assert.assertSame;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.time.Duration;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +31,8 @@
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.util.unit.DataSize;
 
+import io.grpc.Status;
+
 /**
  * Tests whether the global property fallback works.
  */
@@ -37,6 +42,16 @@
         "grpc.client.GLOBAL.keepAliveTimeout=31s",
         "grpc.client.GLOBAL.maxInboundMessageSize=5MB",
         "grpc.client.GLOBAL.maxInboundMetadataSize=3MB",
+        "grpc.client.GLOBAL.flowControlWindow=4MB",
+        "grpc.client.GLOBAL.executor=fixed",
+        "grpc.client.GLOBAL.executorThreads=4",
+        "grpc.client.test.offloadExecutor=virtual",
+        "grpc.client.GLOBAL.retryPolicy.maxAttempts=3",
+        "grpc.client.GLOBAL.retryPolicy.initialBackoff=50",
+        "grpc.client.test.retryPolicy.retryableStatusCodes=UNAVAILABLE,ABORTED",
+        "grpc.client.test.methods[0].service=my.package.MyService",
+        "grpc.client.test.methods[0].hedgingPolicy.maxAttempts=2",
+        "grpc.client.test.methods[0].hedgingPolicy.hedgingDelay=20ms",
         "grpc.client.test.keepAliveTime=42m"})
 class GrpcChannelPropertiesGlobalTest {
 
@@ -61,5 +76,44 @@ void testCopyDefaults() {
                 this.grpcChannelsProperties.getChannel("test").getMaxInboundMessageSize());
         assertEquals(DataSize.ofMegabytes(3),
                 this.grpcChannelsProperties.getChannel("test").getMaxInboundMetadataSize());
+        assertEquals(DataSize.ofMegabytes(4),
+                this.grpcChannelsProperties.getChannel("test").getFlowControlWindow());
+        assertEquals(DataSize.ofMegabytes(1),
+                this.grpcChannelsProperties.getChannel("test").getInitialFlowControlWindow());
+    }
+
+    @Test
+    void testExecutors() {
+        final GrpcChannelProperties test = this.grpcChannelsProperties.getChannel("test");
+        assertEquals(GrpcChannelProperties.EXECUTOR_FIXED, test.getExecutor());
+        assertEquals(4, test.getExecutorThreads());
+        assertEquals(GrpcChannelProperties.EXECUTOR_VIRTUAL, test.getOffloadExecutor());
+        assertEquals(GrpcChannelProperties.EXECUTOR_DEFAULT,
+                this.grpcChannelsProperties.getChannel("other").getOffloadExecutor());
+    }
+
+    @Test
+    void testRetryPolicies() {
+        final GrpcChannelProperties test = this.grpcChannelsProperties.getChannel("test");
+        assertEquals(3, test.getRetryPolicy().getMaxAttempts());
+        assertEquals(Duration.ofMillis(50), test.getRetryPolicy().getInitialBackoff());
+        assertEquals(Arrays.asList(Status.Code.UNAVAILABLE, Status.Code.ABORTED),
+                test.getRetryPolicy().getRetryableStatusCodes());
+        assertEquals(1, test.getMethods().size());
+        assertEquals("my.package.MyService", test.getMethods().get(0).getService());
+        assertEquals(2, test.getMethods().get(0).getHedgingPolicy().getMaxAttempts());
+        assertEquals(Duration.ofMillis(20), test.getMethods().get(0).getHedgingPolicy().getHedgingDelay());
+    }
+
+    @Test
+    void testResolvedChannel() {
+        final GrpcChannelProperties resolved = this.grpcChannelsProperties.getResolvedChannel("resolved");
+        assertSame(resolved, this.grpcChannelsProperties.getResolvedChannel("resolved"));
+        assertEquals(Duration.ofMinutes(23), resolved.getKeepAliveTime());
+        // The configured properties must not be touched
+        assertNull(this.grpcChannelsProperties.getClient().get("resolved"));
+
+        this.grpcChannelsProperties.invalidateResolvedChannels();
+        assertNotSame(resolved, this.grpcChannelsProperties.getResolvedChannel("resolved"));
     }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.health.v1.HealthGrpc.HealthImplBase;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Tests for {@link ServiceConfigConverter}.
+ */
+class ServiceConfigConverterTest {
+
+    @Test
+    void testNoPolicies() {
+        assertNull(ServiceConfigConverter.toServiceConfig(new SimpleGrpcChannelProperties()));
+    }
+
+    @Test
+    void testRetryAndHedgingPolicies() {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getRetryPolicy().setMaxAttempts(4);
+        properties.getRetryPolicy().setInitialBackoff(Duration.ofMillis(100));
+        properties.getRetryPolicy().setRetryableStatusCodes(
+                Arrays.asList(Status.Code.UNAVAILABLE, Status.Code.RESOURCE_EXHAUSTED));
+
+        final SimpleGrpcChannelProperties.MethodConfig method = new SimpleGrpcChannelProperties.MethodConfig();
+        method.setService("my.package.MyService");
+        method.setMethod("Read");
+        method.getHedgingPolicy().setMaxAttempts(3);
+        method.getHedgingPolicy().setHedgingDelay(Duration.ofMillis(15));
+        properties.setMethods(Collections.singletonList(method));
+
+        final Map<String, ?> serviceConfig = ServiceConfigConverter.toServiceConfig(properties);
+        final List<?> methodConfigs = (List<?>) serviceConfig.get("methodConfig");
+        assertEquals(2, methodConfigs.size());
+
+        final Map<?, ?> hedged = (Map<?, ?>) methodConfigs.get(0);
+        assertEquals(Collections.singletonList(Map.of("service", "my.package.MyService", "method", "Read")),
+                hedged.get("name"));
+        final Map<?, ?> hedgingPolicy = (Map<?, ?>) hedged.get("hedgingPolicy");
+        assertEquals(3.0, hedgingPolicy.get("maxAttempts"));
+        assertEquals("0.015s", hedgingPolicy.get("hedgingDelay"));
+        assertEquals(Collections.emptyList(), hedgingPolicy.get("nonFatalStatusCodes"));
+
+        final Map<?, ?> retried = (Map<?, ?>) methodConfigs.get(1);
+        assertEquals(Collections.singletonList(Collections.emptyMap()), retried.get("name"));
+        final Map<?, ?> retryPolicy = (Map<?, ?>) retried.get("retryPolicy");
+        assertEquals(4.0, retryPolicy.get("maxAttempts"));
+        assertEquals("0.1s", retryPolicy.get("initialBackoff"));
+        assertEquals("1s", retryPolicy.get("maxBackoff"));
+        assertEquals(2.0, retryPolicy.get("backoffMultiplier"));
+        assertEquals(Arrays.asList("UNAVAILABLE", "RESOURCE_EXHAUSTED"), retryPolicy.get("retryableStatusCodes"));
+    }
+
+    @Test
+    void testRetryPolicyIsAcceptedByGrpc() throws IOException {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getRetryPolicy().setMaxAttempts(3);
+        properties.getRetryPolicy().setInitialBackoff(Duration.ofMillis(10));
+
+        final FailingHealthService service = new FailingHealthService(1);
+        assertAcceptedByGrpc(ServiceConfigConverter.toServiceConfig(properties), service);
+        // The first attempt failed with UNAVAILABLE, so grpc must have retried the call
+        assertEquals(2, service.attempts.get());
+    }
+
+    @Test
+    void testHedgingPolicyIsAcceptedByGrpc() throws IOException {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        final SimpleGrpcChannelProperties.MethodConfig method = new SimpleGrpcChannelProperties.MethodConfig();
+        method.setService(HealthGrpc.SERVICE_NAME);
+        method.setMethod("Check");
+        method.getHedgingPolicy().setMaxAttempts(3);
+        method.getHedgingPolicy().setHedgingDelay(Duration.ofSeconds(1));
+        properties.setMethods(Collections.singletonList(method));
+
+        assertAcceptedByGrpc(ServiceConfigConverter.toServiceConfig(properties), new FailingHealthService(0));
+    }
+
+    @Test
+    void testRetryAndHedgingCantBeCombined() {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getRetryPolicy().setMaxAttempts(2);
+        properties.getHedgingPolicy().setMaxAttempts(2);
+        assertThrows(IllegalStateException.class, () -> ServiceConfigConverter.toServiceConfig(properties));
+    }
+
+    @Test
+    void testOutlierDetectionWrapsDefaultPolicy() {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getOutlierDetection().setEnabled(true);
+        properties.getOutlierDetection().setFailurePercentageEnforcementPercentage(100);
+
+        final Map<String, ?> serviceConfig = ServiceConfigConverter.toServiceConfig(properties);
+        assertNull(serviceConfig.get("methodConfig"));
+        final List<?> loadBalancingConfig = (List<?>) serviceConfig.get("loadBalancingConfig");
+        assertEquals(1, loadBalancingConfig.size());
+        final Map<?, ?> outlierDetection = (Map<?, ?>) ((Map<?, ?>) loadBalancingConfig.get(0))
+                .get(ServiceConfigConverter.OUTLIER_DETECTION_POLICY);
+        assertEquals("10s", outlierDetection.get("interval"));
+        assertEquals(10.0, outlierDetection.get("maxEjectionPercent"));
+        final Map<?, ?> failurePercentageEjection = (Map<?, ?>) outlierDetection.get("failurePercentageEjection");
+        assertEquals(100.0, failurePercentageEjection.get("enforcementPercentage"));
+        assertEquals(Collections.singletonList(Map.of("round_robin", Collections.emptyMap())),
+                outlierDetection.get("childPolicy"));
+    }
+
+    @Test
+    void testWeightedRoundRobin() {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getWeightedRoundRobin().setEnabled(true);
+        properties.getWeightedRoundRobin().setBlackoutPeriod(Duration.ofSeconds(5));
+
+        final Map<String, ?> serviceConfig = ServiceConfigConverter.toServiceConfig(properties);
+        final List<?> loadBalancingConfig = (List<?>) serviceConfig.get("loadBalancingConfig");
+        final Map<?, ?> weightedRoundRobin = (Map<?, ?>) ((Map<?, ?>) loadBalancingConfig.get(0))
+                .get(ServiceConfigConverter.WEIGHTED_ROUND_ROBIN_POLICY);
+        assertEquals(false, weightedRoundRobin.get("enableOobLoadReport"));
+        assertEquals("5s", weightedRoundRobin.get("blackoutPeriod"));
+        assertEquals("180s", weightedRoundRobin.get("weightExpirationPeriod"));
+        assertEquals("1.0", weightedRoundRobin.get("errorUtilizationPenalty"));
+    }
+
+    @Test
+    void testOutlierDetectionIsAcceptedByGrpc() throws IOException {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.setDefaultLoadBalancingPolicy("round_robin");
+        properties.getOutlierDetection().setEnabled(true);
+        properties.getOutlierDetection().setFailurePercentageEnforcementPercentage(100);
+
+        assertAcceptedByGrpc(ServiceConfigConverter.toServiceConfig(properties), new FailingHealthService(0));
+    }
+
+    @Test
+    void testWeightedRoundRobinIsAcceptedByGrpc() throws IOException {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getWeightedRoundRobin().setEnabled(true);
+        properties.getWeightedRoundRobin().setBlackoutPeriod(Duration.ofSeconds(5));
+
+        assertAcceptedByGrpc(ServiceConfigConverter.toServiceConfig(properties), new FailingHealthService(0));
+    }
+
+    @Test
+    void testOutlierDetectionWithWeightedRoundRobinIsAcceptedByGrpc() throws IOException {
+        final SimpleGrpcChannelProperties properties = new SimpleGrpcChannelProperties();
+        properties.getWeightedRoundRobin().setEnabled(true);
+        properties.getOutlierDetection().setEnabled(true);
+
+        assertAcceptedByGrpc(ServiceConfigConverter.toServiceConfig(properties), new FailingHealthService(0));
+    }
+
+    @Test
+    void testDurationString() {
+        assertEquals("0s", ServiceConfigConverter.toDurationString(Duration.ZERO));
+        assertEquals("1.5s", ServiceConfigConverter.toDurationString(Duration.ofMillis(1500)));
+        assertEquals("0.000000001s", ServiceConfigConverter.toDurationString(Duration.ofNanos(1)));
+    }
+
+    /**
+     * Uses the given service config as default service config of an in-process channel and performs a call with it.
+     * This ensures that the service config is accepted by grpc's own service config parser.
+     *
+     * @param serviceConfig The service config to verify.
+     * @param service The service that should handle the call.
+     * @throws IOException If the server could not be started.
+     */
+    private static void assertAcceptedByGrpc(final Map<String, ?> serviceConfig, final HealthImplBase service)
+            throws IOException {
+        final String name = "service-config-" + UUID.randomUUID();
+        final Server server = InProcessServerBuilder.forName(name)
+                .addService(service)
+                .build()
+                .start();
+        // Fails with an IllegalStateException, if grpc can't parse the service config
+        final ManagedChannel channel = InProcessChannelBuilder.forName(name)
+                .defaultServiceConfig(serviceConfig)
+                .enableRetry()
+                .build();
+        try {
+            final HealthCheckResponse response = HealthGrpc.newBlockingStub(channel)
+                    .withDeadlineAfter(5, TimeUnit.SECONDS)
+                    .check(HealthCheckRequest.getDefaultInstance());
+            assertEquals(ServingStatus.SERVING, response.getStatus());
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    /**
+     * A health service that fails the first calls with {@link Status#UNAVAILABLE}.
+     */
+    private static final class FailingHealthService extends HealthImplBase {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final int failures;
+
+        FailingHealthService(final int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void check(final HealthCheckRequest request,
+                final StreamObserver<HealthCheckResponse> responseObserver) {
+            if (this.attempts.incrementAndGet() <= this.failures) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+            } else {
+                responseObserver.onNext(HealthCheckResponse.newBuilder()
+                        .setStatus(ServingStatus.SERVING)
+                        .build());
+                responseObserver.onCompleted();
+            }
+        }
+
+    }
+
+}
@@ -59,7 +59,13 @@ class MetricsClientStreamTracersTest {
             "grpc.client.attempt.duration";
     private static final String CLIENT_CALL_DURATION =
             "grpc.client.call.duration";
+    private static final String CLIENT_CALL_COMPLETED = "grpc.client.call.completed";
+    private static final String CLIENT_ATTEMPT_MESSAGES = "grpc.client.attempt.messages";
+    private static final String CLIENT_ATTEMPT_MESSAGE_SIZE = "grpc.client.attempt.message_size";
+    private static final String CLIENT_ATTEMPT_MESSAGE_GAP = "grpc.client.attempt.message_gap";
+    private static final String CLIENT_ATTEMPT_TIME_TO_FIRST_MESSAGE = "grpc.client.attempt.time_to_first_message";
     private static final String GRPC_METHOD_TAG_KEY = "grpc.method";
+    private static final String GRPC_DIRECTION_TAG_KEY = "grpc.direction";
     private static final String GRPC_STATUS_TAG_KEY = "grpc.status";
     private static final String FULL_METHOD_NAME = "package1.service1/method1";
     private static final String INSTRUMENTATION_SOURCE_TAG_KEY = "instrumentation_source";
@@ -459,6 +465,127 @@ void clientStreamNeverCreatedStillRecordMetrics() {
                 new CountAtBucket(5.0E9, 1));
     }
 
+    @Test
+    void clientMetricsReuseMetersAcrossCalls() {
+        MetricsClientStreamTracers module =
+                new MetricsClientStreamTracers(fakeClock.getStopwatchSupplier());
+        MetricsClientMeters clientMeters = MetricsClientInstruments.newClientMetricsMeters(meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            CallAttemptsTracerFactory callAttemptsTracerFactory =
+                    new CallAttemptsTracerFactory(module, method.getFullMethodName(), clientMeters);
+            ClientStreamTracer tracer =
+                    callAttemptsTracerFactory.newClientStreamTracer(STREAM_INFO, new Metadata());
+            tracer.outboundWireSize(10);
+            fakeClock.forwardTime(10, MILLISECONDS);
+            tracer.streamClosed(Status.OK);
+            callAttemptsTracerFactory.callEnded(Status.OK);
+        }
+        int meters = meterRegistry.getMeters().size();
+
+        CallAttemptsTracerFactory callAttemptsTracerFactory =
+                new CallAttemptsTracerFactory(module, method.getFullMethodName(), clientMeters);
+        ClientStreamTracer tracer = callAttemptsTracerFactory.newClientStreamTracer(STREAM_INFO, new Metadata());
+        tracer.streamClosed(Status.OK);
+        callAttemptsTracerFactory.callEnded(Status.OK);
+
+        assertThat(meterRegistry.getMeters()).hasSize(meters);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_STARTED)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .counter()
+                .count()).isEqualTo(4);
+        assertThat(meterRegistry.get(CLIENT_CALL_DURATION)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.OK.toString())
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(30);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_SENT_COMPRESSED_MESSAGE_SIZE)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.OK.toString())
+                .summary()
+                .totalAmount()).isEqualTo(30);
+    }
+
+    @Test
+    void clientCompletedCallsAreCountedWithoutSampling() {
+        MetricsClientStreamTracers module =
+                new MetricsClientStreamTracers(fakeClock.getStopwatchSupplier());
+        MetricsClientMeters clientMeters = MetricsClientInstruments.newClientMetricsMeters(meterRegistry);
+
+        CallAttemptsTracerFactory callAttemptsTracerFactory =
+                new CallAttemptsTracerFactory(module, method.getFullMethodName(), clientMeters, false);
+        ClientStreamTracer tracer = callAttemptsTracerFactory.newClientStreamTracer(STREAM_INFO, new Metadata());
+        fakeClock.forwardTime(10, MILLISECONDS);
+        tracer.streamClosed(Status.UNAVAILABLE);
+        callAttemptsTracerFactory.callEnded(Status.UNAVAILABLE);
+
+        assertThat(meterRegistry.get(CLIENT_CALL_COMPLETED)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.UNAVAILABLE.toString())
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find(CLIENT_CALL_DURATION).timers()).isEmpty();
+        assertThat(meterRegistry.find(CLIENT_ATTEMPT_DURATION).timers()).isEmpty();
+    }
+
+    @Test
+    void clientMessageMetricsAreRecordedWhileStreaming() {
+        MetricsClientStreamTracers module =
+                new MetricsClientStreamTracers(fakeClock.getStopwatchSupplier());
+        MetricsClientMeters clientMeters = MetricsClientInstruments.newClientMetricsMeters(meterRegistry);
+        CallAttemptsTracerFactory callAttemptsTracerFactory =
+                new CallAttemptsTracerFactory(module, method.getFullMethodName(), clientMeters, true, true);
+        ClientStreamTracer tracer = callAttemptsTracerFactory.newClientStreamTracer(STREAM_INFO, new Metadata());
+
+        tracer.outboundMessageSent(0, 20, 20);
+        fakeClock.forwardTime(30, MILLISECONDS);
+        tracer.inboundMessageRead(0, 100, 100);
+        fakeClock.forwardTime(10, MILLISECONDS);
+        tracer.inboundMessageRead(1, 300, 300);
+
+        // Recorded before the stream has been closed
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_MESSAGES)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_DIRECTION_TAG_KEY, "received")
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_MESSAGES)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_MESSAGE_SIZE)
+                .tag(GRPC_DIRECTION_TAG_KEY, "received")
+                .summary()
+                .totalAmount()).isEqualTo(400);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_TIME_TO_FIRST_MESSAGE)
+                .tag(GRPC_DIRECTION_TAG_KEY, "received")
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(30);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_MESSAGE_GAP)
+                .tag(GRPC_DIRECTION_TAG_KEY, "received")
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(10);
+        assertThat(meterRegistry.get(CLIENT_ATTEMPT_MESSAGE_GAP)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .timer()
+                .count()).isEqualTo(0);
+    }
+
+    @Test
+    void clientMessageMetricsAreDisabledByDefault() {
+        MetricsClientStreamTracers module =
+                new MetricsClientStreamTracers(fakeClock.getStopwatchSupplier());
+        MetricsClientMeters clientMeters = MetricsClientInstruments.newClientMetricsMeters(meterRegistry);
+        CallAttemptsTracerFactory callAttemptsTracerFactory =
+                new CallAttemptsTracerFactory(module, method.getFullMethodName(), clientMeters);
+        ClientStreamTracer tracer = callAttemptsTracerFactory.newClientStreamTracer(STREAM_INFO, new Metadata());
+
+        tracer.outboundMessageSent(0, 20, 20);
+        tracer.inboundMessageRead(0, 100, 100);
+
+        assertThat(meterRegistry.find(CLIENT_ATTEMPT_MESSAGES).counters()).isEmpty();
+    }
+
     static void verifyHistogramSnapshot(boolean isTimer, HistogramSnapshot actual, HistogramSnapshot expected,
             CountAtBucket expectedHistogramBucketWithValue) {
         if (isTimer) {
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.Status;
+import net.devh.boot.grpc.client.throttling.CircuitBreaker.State;
+
+/**
+ * Tests for {@link ThrottlingClientInterceptor}.
+ */
+class ThrottlingClientInterceptorTest {
+
+    @SuppressWarnings("unchecked")
+    private static final Marshaller<String> MARSHALLER = mock(Marshaller.class);
+    private static final MethodDescriptor<String, String> METHOD = MethodDescriptor.<String, String>newBuilder()
+            .setType(MethodType.UNARY)
+            .setFullMethodName("package1.service1/method1")
+            .setRequestMarshaller(MARSHALLER)
+            .setResponseMarshaller(MARSHALLER)
+            .build();
+
+    private final AtomicLong ticker = new AtomicLong();
+    // A fixed random value rejects all calls once the rejection probability exceeds it
+    private final DoubleSupplier random = () -> 0.5;
+    // The rejection probability is always below 1, so this admits all calls to test the circuit breaker in isolation
+    private final DoubleSupplier neverReject = () -> Math.nextDown(1.0);
+    private final List<ClientCall.Listener<String>> sentCalls = new ArrayList<>();
+    private final Channel channel = new Channel() {
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(final MethodDescriptor<ReqT, RespT> method,
+                final CallOptions callOptions) {
+            return new ClientCall<ReqT, RespT>() {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public void start(final Listener<RespT> responseListener, final Metadata headers) {
+                    ThrottlingClientInterceptorTest.this.sentCalls.add((Listener<String>) responseListener);
+                }
+
+                @Override
+                public void request(final int numMessages) {}
+
+                @Override
+                public void cancel(final String message, final Throwable cause) {}
+
+                @Override
+                public void halfClose() {}
+
+                @Override
+                public void sendMessage(final ReqT message) {}
+
+            };
+        }
+
+        @Override
+        public String authority() {
+            return "localhost";
+        }
+
+    };
+
+    @BeforeEach
+    void beforeEach() {
+        this.ticker.set(0);
+        this.sentCalls.clear();
+    }
+
+    @Test
+    void testCircuitBreakerOpensAndRecovers() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), 1, this.ticker::get);
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(1000, Duration.ofMinutes(1), this.ticker::get, this.neverReject), circuitBreaker);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        assertThat(call(interceptor)).isNull();
+        assertThat(call(interceptor)).isNull();
+        closeSentCalls(Status.UNAVAILABLE);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.OPEN);
+
+        // Rejected locally without reaching the channel
+        final Status rejected = call(interceptor);
+        assertThat(rejected.getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(this.sentCalls).isEmpty();
+        assertThat(throttle.getRejected()).isEqualTo(1);
+
+        // Half-open admits a single probe call
+        this.ticker.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(call(interceptor)).isNull();
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.HALF_OPEN);
+        assertThat(call(interceptor).getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(this.sentCalls).hasSize(1);
+
+        closeSentCalls(Status.OK);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.CLOSED);
+        assertThat(call(interceptor)).isNull();
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailure() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), 1, this.ticker::get);
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(1000, Duration.ofMinutes(1), this.ticker::get, this.neverReject), circuitBreaker);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        assertThat(call(interceptor)).isNull();
+        closeSentCalls(Status.RESOURCE_EXHAUSTED);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.OPEN);
+
+        this.ticker.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(call(interceptor)).isNull();
+        closeSentCalls(Status.DEADLINE_EXCEEDED);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.OPEN);
+        assertThat(call(interceptor)).isNotNull();
+    }
+
+    @Test
+    void testCancelledProbeReleasesPermit() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO, 1, this.ticker::get);
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(1000, Duration.ofMinutes(1), this.ticker::get, this.neverReject), circuitBreaker);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        assertThat(call(interceptor)).isNull();
+        closeSentCalls(Status.UNAVAILABLE);
+        assertThat(call(interceptor)).isNull();
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.HALF_OPEN);
+        closeSentCalls(Status.CANCELLED);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.HALF_OPEN);
+        assertThat(call(interceptor)).isNull();
+    }
+
+    @Test
+    void testNeverStartedCallDoesNotAcquirePermit() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO, 1, this.ticker::get);
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(1000, Duration.ofMinutes(1), this.ticker::get, this.neverReject), circuitBreaker);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        assertThat(call(interceptor)).isNull();
+        closeSentCalls(Status.UNAVAILABLE);
+
+        // Calls that are created, but never started, don't take the single half-open permit
+        interceptor.interceptCall(METHOD, CallOptions.DEFAULT, this.channel);
+        interceptor.interceptCall(METHOD, CallOptions.DEFAULT, this.channel).cancel("Not needed", null);
+        assertThat(call(interceptor)).isNull();
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.HALF_OPEN);
+        closeSentCalls(Status.OK);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.CLOSED);
+        assertThat(throttle.getRejected()).isZero();
+    }
+
+    @Test
+    void testAdaptiveThrottleAdmitsColdStartBurst() {
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(2, Duration.ofMinutes(1), this.ticker::get, this.random), null);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        // Calls that are still in flight don't count towards the rejection probability
+        for (int i = 0; i < 100; i++) {
+            assertThat(call(interceptor)).isNull();
+        }
+        assertThat(this.sentCalls).hasSize(100);
+        assertThat(throttle.getRejected()).isZero();
+    }
+
+    @Test
+    void testAdaptiveThrottleRejectsWhileServerRejects() {
+        final ChannelThrottle throttle = new ChannelThrottle("test",
+                new AdaptiveThrottle(2, Duration.ofMinutes(1), this.ticker::get, this.random), null);
+        final ThrottlingClientInterceptor interceptor = new ThrottlingClientInterceptor(throttle);
+
+        for (int i = 0; i < 100; i++) {
+            call(interceptor);
+            closeSentCalls(Status.OK);
+        }
+        assertThat(throttle.getRejectionProbability()).isZero();
+        assertThat(throttle.getRejected()).isZero();
+
+        for (int i = 0; i < 1000; i++) {
+            call(interceptor);
+            closeSentCalls(Status.UNAVAILABLE);
+        }
+        // requests ~= 1100, accepts = 100 => (1100 - 200) / 1101
+        assertThat(throttle.getRejectionProbability()).isBetween(0.8, 0.82);
+        // The probability exceeds the fixed random value once 302 calls have failed: (402 - 200) / 403
+        assertThat(throttle.getRejected()).isEqualTo(698);
+        assertThat(throttle.getCircuitBreakerState()).isEqualTo(State.CLOSED);
+
+        // The window slides and forgets the failures
+        this.ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(throttle.getRejectionProbability()).isZero();
+    }
+
+    /**
+     * Starts a new call using the given interceptor.
+     *
+     * @param interceptor The interceptor to use.
+     * @return The status, if the call was rejected locally, or null, if it was sent.
+     */
+    private Status call(final ThrottlingClientInterceptor interceptor) {
+        final Status[] result = new Status[1];
+        final ClientCall<String, String> call = interceptor.interceptCall(METHOD, CallOptions.DEFAULT, this.channel);
+        call.start(new ClientCall.Listener<String>() {
+
+            @Override
+            public void onClose(final Status status, final Metadata trailers) {
+                result[0] = status;
+            }
+
+        }, new Metadata());
+        return result[0];
+    }
+
+    private void closeSentCalls(final Status status) {
+        for (final ClientCall.Listener<String> listener : this.sentCalls) {
+            listener.onClose(status, new Metadata());
+        }
+        this.sentCalls.clear();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReferenceCountedResource}.
+ */
+class ReferenceCountedResourceTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final List<Integer> released = new ArrayList<>();
+    private final ReferenceCountedResource<Integer> resource =
+            new ReferenceCountedResource<>(this.created::incrementAndGet, this.released::add);
+
+    @Test
+    void testSharedUntilLastRelease() {
+        assertEquals(0, this.created.get());
+
+        final Integer first = this.resource.retain();
+        assertSame(first, this.resource.retain());
+        assertEquals(1, this.created.get());
+        assertEquals(2, this.resource.getReferenceCount());
+
+        this.resource.release();
+        assertEquals(List.of(), this.released);
+        this.resource.release();
+        assertEquals(List.of(first), this.released);
+        assertEquals(0, this.resource.getReferenceCount());
+        assertThrows(IllegalStateException.class, this.resource::release);
+
+        // A released resource is created again on demand
+        assertEquals(2, this.resource.retain());
+        this.resource.release();
+        assertEquals(List.of(1, 2), this.released);
+    }
+
+    @Test
+    void testClose() {
+        final Integer instance = this.resource.retain();
+        this.resource.retain();
+
+        this.resource.close();
+        assertEquals(List.of(instance), this.released);
+        assertEquals(0, this.resource.getReferenceCount());
+
+        // Late releases are ignored and the resource can't be retained again
+        this.resource.release();
+        assertEquals(List.of(instance), this.released);
+        assertThrows(IllegalStateException.class, this.resource::retain);
+
+        this.resource.close();
+        assertEquals(List.of(instance), this.released);
+    }
+
+    @Test
+    void testCloseUnused() {
+        this.resource.close();
+        assertEquals(0, this.created.get());
+        assertEquals(List.of(), this.released);
+    }
+
+}
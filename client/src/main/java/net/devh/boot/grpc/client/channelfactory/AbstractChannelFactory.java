@@ -16,7 +16,6 @@
 
 package net.devh.boot.grpc.client.channelfactory;
 
-import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -26,26 +25,43 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
-import javax.annotation.concurrent.GuardedBy;
-
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import io.grpc.Channel;
 import io.grpc.ClientInterceptor;
 import io.grpc.ClientInterceptors;
 import io.grpc.ConnectivityState;
+import io.grpc.LoadBalancerRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.config.NegotiationType;
+import net.devh.boot.grpc.client.config.ServiceConfigConverter;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelProperties;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
 import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
+import net.devh.boot.grpc.client.throttling.AdaptiveThrottle;
+import net.devh.boot.grpc.client.throttling.ChannelThrottle;
+import net.devh.boot.grpc.client.throttling.CircuitBreaker;
+import net.devh.boot.grpc.client.throttling.ThrottlingClientInterceptor;
+import net.devh.boot.grpc.common.util.ExecutorUtils;
 
 /**
  * This abstract channel factory contains some shared code for other {@link GrpcChannelFactory}s. This class utilizes
@@ -60,6 +76,16 @@
 @Slf4j
 public abstract class AbstractChannelFactory<T extends ManagedChannelBuilder<T>> implements GrpcChannelFactory {
 
+    /**
+     * The maximum number of intercepted channels that will be cached by this factory.
+     */
+    private static final int MAX_CACHED_INTERCEPTED_CHANNELS = 1024;
+    /**
+     * The time to wait for a channel to terminate after it has been forcefully shut down, before its resources are
+     * released anyway. This is also added to the grace period when {@link #close() closing} the factory.
+     */
+    private static final long FORCED_TERMINATION_TIMEOUT_MILLIS = 5000;
+
     private final SimpleGrpcChannelsProperties properties;
     protected final GlobalClientInterceptorRegistry globalClientInterceptorRegistry;
     protected final List<GrpcChannelConfigurer> channelConfigurers;
@@ -67,10 +93,32 @@
      * According to <a href="https://groups.google.com/forum/#!topic/grpc-io/-jA_JCiugM8">Thread safety in Grpc java
      * clients</a>: {@link ManagedChannel}s should be reused to allow connection reuse.
      */
-    @GuardedBy("this")
     private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    /**
+     * The intercepted channels that were returned by {@link #createChannel(String, List, boolean)}, so that repeated
+     * requests for the same channel and interceptors don't have to intercept the channel again.
+     */
+    private final Map<InterceptedChannelKey, Channel> interceptedChannels = new ConcurrentHashMap<>();
+    /**
+     * The intercepted channels without custom interceptors by their name. This is the most common case, that can be
+     * looked up without creating a key for the {@link #interceptedChannels}.
+     */
+    private final Map<String, Channel> defaultInterceptedChannels = new ConcurrentHashMap<>();
     private final Map<String, ConnectivityState> channelStates = new ConcurrentHashMap<>();
-    private boolean shutdown = false;
+    /**
+     * The throttling interceptors of the channels that use client side throttling. The throttling state is shared by
+     * all intercepted channels with the same name.
+     */
+    private final Map<String, ThrottlingClientInterceptor> throttlingInterceptors = new ConcurrentHashMap<>();
+    private final List<Consumer<? super ChannelThrottle>> throttleListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The executors that were created for the individual channels, keyed by the channel name and the kind of the
+     * executor. They are shared by all sub-channels of a pooled channel and have to be shut down together with them.
+     */
+    private final Map<String, Map<String, ExecutorService>> channelExecutors = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+    private CompletableFuture<Void> termination;
+    private volatile long closeTimeoutMillis = -1;
 
     /**
      * Creates a new AbstractChannelFactory with eager initialized references.
@@ -96,20 +144,126 @@ public final Channel createChannel(final String name) {
     @Override
     public Channel createChannel(final String name, final List<ClientInterceptor> customInterceptors,
             final boolean sortInterceptors) {
-        final Channel channel;
-        synchronized (this) {
-            if (this.shutdown) {
-                throw new IllegalStateException("GrpcChannelFactory is already closed!");
+        if (this.shutdown) {
+            throw new IllegalStateException("GrpcChannelFactory is already closed!");
+        }
+        final boolean defaultInterceptors = customInterceptors.isEmpty() && !sortInterceptors;
+        final InterceptedChannelKey key;
+        if (defaultInterceptors) {
+            key = null;
+            final Channel cached = this.defaultInterceptedChannels.get(name);
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            key = new InterceptedChannelKey(name, customInterceptors, sortInterceptors);
+            final Channel cached = this.interceptedChannels.get(key);
+            if (cached != null) {
+                return cached;
             }
-            channel = this.channels.computeIfAbsent(name, this::newManagedChannel);
         }
+
+        final Channel channel = throttle(name, getOrCreateManagedChannel(name));
         final List<ClientInterceptor> interceptors =
                 Lists.newArrayList(this.globalClientInterceptorRegistry.getClientInterceptors());
         interceptors.addAll(customInterceptors);
         if (sortInterceptors) {
             this.globalClientInterceptorRegistry.sortInterceptors(interceptors);
         }
-        return ClientInterceptors.interceptForward(channel, interceptors);
+        final Channel intercepted = ClientInterceptors.interceptForward(channel, interceptors);
+        if (defaultInterceptors) {
+            final Channel existing = this.defaultInterceptedChannels.putIfAbsent(name, intercepted);
+            return existing != null ? existing : intercepted;
+        }
+        // Don't let callers that create new interceptor instances for every call fill up the cache
+        if (this.interceptedChannels.size() < MAX_CACHED_INTERCEPTED_CHANNELS) {
+            final Channel existing = this.interceptedChannels.putIfAbsent(key.snapshot(), intercepted);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return intercepted;
+    }
+
+    /**
+     * Applies the client side throttling to the given channel, if it is enabled for the channel. The throttling is
+     * applied before any other interceptor, so that locally rejected calls are still visible to them.
+     *
+     * @param name The name of the channel.
+     * @param channel The channel to throttle.
+     * @return The throttled channel or the given channel, if throttling is disabled.
+     */
+    private Channel throttle(final String name, final Channel channel) {
+        final ThrottlingClientInterceptor interceptor = getOrCreateThrottlingInterceptor(name);
+        return interceptor == null ? channel : ClientInterceptors.intercept(channel, interceptor);
+    }
+
+    private ThrottlingClientInterceptor getOrCreateThrottlingInterceptor(final String name) {
+        final ThrottlingClientInterceptor interceptor = this.throttlingInterceptors.get(name);
+        if (interceptor != null) {
+            return interceptor;
+        }
+        final SimpleGrpcChannelProperties.Throttling properties = getPropertiesFor(name).getThrottling();
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        synchronized (this.throttleListeners) {
+            return this.throttlingInterceptors.computeIfAbsent(name, key -> {
+                final ChannelThrottle throttle = newChannelThrottle(key, properties);
+                for (final Consumer<? super ChannelThrottle> listener : this.throttleListeners) {
+                    listener.accept(throttle);
+                }
+                return new ThrottlingClientInterceptor(throttle);
+            });
+        }
+    }
+
+    /**
+     * Creates the throttling state for the channel with the given name.
+     *
+     * @param name The name of the channel.
+     * @param properties The throttling properties of the channel.
+     * @return The newly created channel throttle.
+     */
+    protected ChannelThrottle newChannelThrottle(final String name,
+            final SimpleGrpcChannelProperties.Throttling properties) {
+        final AdaptiveThrottle throttle =
+                new AdaptiveThrottle(properties.getAcceptsMultiplier(), properties.getWindow());
+        final int failureThreshold = properties.getFailureThreshold();
+        final CircuitBreaker circuitBreaker = failureThreshold <= 0 ? null
+                : new CircuitBreaker(failureThreshold, properties.getOpenDuration(), properties.getHalfOpenCalls());
+        return new ChannelThrottle(name, throttle, circuitBreaker);
+    }
+
+    @Override
+    public void addThrottleListener(final Consumer<? super ChannelThrottle> listener) {
+        requireNonNull(listener, "listener");
+        synchronized (this.throttleListeners) {
+            this.throttleListeners.add(listener);
+            for (final ThrottlingClientInterceptor interceptor : this.throttlingInterceptors.values()) {
+                listener.accept(interceptor.getThrottle());
+            }
+        }
+    }
+
+    /**
+     * Gets or creates the managed channel for the given client name. The lookup of existing channels does not require
+     * any locks.
+     *
+     * @param name The name of the channel.
+     * @return The managed channel for the given name.
+     */
+    private ManagedChannel getOrCreateManagedChannel(final String name) {
+        final ManagedChannel channel = this.channels.get(name);
+        if (channel != null) {
+            return channel;
+        }
+        synchronized (this) {
+            if (this.shutdown) {
+                throw new IllegalStateException("GrpcChannelFactory is already closed!");
+            }
+            return this.channels.computeIfAbsent(name, this::newManagedChannel);
+        }
     }
 
     /**
@@ -123,33 +277,67 @@ public Channel createChannel(final String name, final List<ClientInterceptor> cu
     /**
      * Creates a new {@link ManagedChannel} for the given client name. The name will be used to determine the properties
      * for the new channel. The calling method is responsible for lifecycle management of the created channel.
-     * ManagedChannels should be reused if possible to allow connection reuse.
+     * ManagedChannels should be reused if possible to allow connection reuse. If the channel's pool size is greater
+     * than one, then the returned channel will be a {@link PooledManagedChannel}.
      *
      * @param name The name to create the channel for.
      * @return The newly created channel.
-     * @see #newChannelBuilder(String)
-     * @see #configure(ManagedChannelBuilder, String)
+     * @see #newSubChannel(String)
      */
     protected ManagedChannel newManagedChannel(final String name) {
-        final T builder = newChannelBuilder(name);
-        configure(builder, name);
-        final ManagedChannel channel = builder.build();
-        final Duration timeout = this.properties.getChannel(name).getImmediateConnectTimeout();
+        final ManagedChannel channel = newUnconnectedManagedChannel(name);
+        final Duration timeout = getPropertiesFor(name).getImmediateConnectTimeout();
         if (!timeout.isZero()) {
             connectOnStartup(name, channel, timeout);
         }
+        return channel;
+    }
+
+    /**
+     * Creates a new {@link ManagedChannel} for the given client name without waiting for it to connect.
+     *
+     * @param name The name to create the channel for.
+     * @return The newly created channel.
+     */
+    private ManagedChannel newUnconnectedManagedChannel(final String name) {
+        final SimpleGrpcChannelProperties properties = getPropertiesFor(name);
+        final int poolSize = properties.getPoolSize();
+        final ManagedChannel channel;
+        if (poolSize > 1) {
+            final List<ManagedChannel> subChannels = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                subChannels.add(newSubChannel(name));
+            }
+            channel = new PooledManagedChannel(subChannels, properties.getPoolStrategy());
+        } else {
+            channel = newSubChannel(name);
+        }
         watchConnectivityState(name, channel);
         return channel;
     }
 
     /**
-     * Gets the channel properties for the given client name.
+     * Creates and configures a single new {@link ManagedChannel} for the given client name. If the channel is pooled,
+     * then this method will be called once for each sub-channel.
+     *
+     * @param name The name to create the channel for.
+     * @return The newly created channel.
+     */
+    protected ManagedChannel newSubChannel(final String name) {
+        final T builder = newChannelBuilder(name);
+        configure(builder, name);
+        return builder.build();
+    }
+
+    /**
+     * Gets the resolved channel properties for the given client name. The returned instance is shared and must not be
+     * modified.
      *
      * @param name The client name to use.
      * @return The properties for the given client name.
      */
     protected final SimpleGrpcChannelProperties getPropertiesFor(final String name) {
-        return this.properties.getChannel(name);
+        return this.properties.getResolvedChannel(name);
     }
 
     /**
@@ -179,6 +367,8 @@ protected void configure(final T builder, final String name) {
         configureSecurity(builder, name);
         configureLimits(builder, name);
         configureUserAgent(builder, name);
+        configureExecutors(builder, name);
+        configureServiceConfig(builder, name);
         for (final GrpcChannelConfigurer channelConfigurer : this.channelConfigurers) {
             channelConfigurer.accept(builder, name);
         }
@@ -261,6 +451,121 @@ protected void configureUserAgent(final T builder, final String name) {
         }
     }
 
+    /**
+     * Configures the retry, hedging and load balancing options that should be used by the channel. The options are
+     * applied as the channel's default service config, which is only used if the name resolver doesn't provide a
+     * service config.
+     *
+     * @param builder The channel builder to configure.
+     * @param name The name of the client to configure.
+     * @see ServiceConfigConverter
+     */
+    protected void configureServiceConfig(final T builder, final String name) {
+        final SimpleGrpcChannelProperties properties = getPropertiesFor(name);
+        if (properties.getWeightedRoundRobin().isEnabled()) {
+            requireLoadBalancer(ServiceConfigConverter.WEIGHTED_ROUND_ROBIN_POLICY, "grpc-xds");
+        }
+        final Map<String, ?> serviceConfig = ServiceConfigConverter.toServiceConfig(properties);
+        if (serviceConfig != null) {
+            builder.defaultServiceConfig(serviceConfig)
+                    .enableRetry();
+        }
+        final Long retryBufferSize = properties.getRetryBufferSize();
+        if (retryBufferSize != null) {
+            builder.retryBufferSize(retryBufferSize);
+        }
+        final Long perRpcBufferLimit = properties.getPerRpcBufferLimit();
+        if (perRpcBufferLimit != null) {
+            builder.perRpcBufferLimit(perRpcBufferLimit);
+        }
+    }
+
+    /**
+     * Checks whether the load balancing policy with the given name is available.
+     *
+     * @param policy The name of the load balancing policy.
+     * @param library The library that provides the load balancing policy.
+     * @throws IllegalStateException If the load balancing policy is not available.
+     */
+    private void requireLoadBalancer(final String policy, final String library) {
+        if (LoadBalancerRegistry.getDefaultRegistry().getProvider(policy) == null) {
+            throw new IllegalStateException(
+                    "The load balancing policy '" + policy + "' is not available, please add " + library
+                            + " to the classpath");
+        }
+    }
+
+    /**
+     * Configures the executors that should be used by the channel. Executor names other than the predefined types are
+     * considered to be bean names and have to be applied by a {@link GrpcChannelConfigurer}.
+     *
+     * @param builder The channel builder to configure.
+     * @param name The name of the client to configure.
+     */
+    protected void configureExecutors(final T builder, final String name) {
+        final SimpleGrpcChannelProperties properties = getPropertiesFor(name);
+        final Executor executor = newExecutor(name, properties.getExecutor(), properties, "executor");
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        final Executor offloadExecutor =
+                newExecutor(name, properties.getOffloadExecutor(), properties, "offload-executor");
+        if (offloadExecutor != null) {
+            builder.offloadExecutor(offloadExecutor);
+        }
+    }
+
+    /**
+     * Creates the executor of the given type for the given channel or returns the one that was already created for
+     * another sub-channel with the same name. Executors created by this method are shut down together with the channel.
+     *
+     * @param name The name of the client.
+     * @param type The type of the executor.
+     * @param properties The properties of the client.
+     * @param kind The kind of the executor, used for the thread names.
+     * @return The newly created executor or null, if grpc's default should be used or the type refers to a bean.
+     */
+    private Executor newExecutor(final String name, final String type, final SimpleGrpcChannelProperties properties,
+            final String kind) {
+        switch (type) {
+            case SimpleGrpcChannelProperties.EXECUTOR_DEFAULT:
+                return null;
+            case SimpleGrpcChannelProperties.EXECUTOR_DIRECT:
+                return MoreExecutors.directExecutor();
+            case SimpleGrpcChannelProperties.EXECUTOR_FIXED:
+            case SimpleGrpcChannelProperties.EXECUTOR_VIRTUAL:
+                return this.channelExecutors.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(kind, key -> newExecutorService(name, type, properties, kind));
+            default:
+                log.debug("Using custom {} '{}' for channel {}", kind, type, name);
+                return null;
+        }
+    }
+
+    /**
+     * Creates a new executor service of the given type for the given channel.
+     *
+     * @param name The name of the client.
+     * @param type The type of the executor, either {@link SimpleGrpcChannelProperties#EXECUTOR_FIXED fixed} or
+     *        {@link SimpleGrpcChannelProperties#EXECUTOR_VIRTUAL virtual}.
+     * @param properties The properties of the client.
+     * @param kind The kind of the executor, used for the thread names.
+     * @return The newly created executor service.
+     */
+    private static ExecutorService newExecutorService(final String name, final String type,
+            final SimpleGrpcChannelProperties properties, final String kind) {
+        if (SimpleGrpcChannelProperties.EXECUTOR_VIRTUAL.equals(type)) {
+            return ExecutorUtils.newVirtualThreadPerTaskExecutor();
+        }
+        final Integer threads = properties.getExecutorThreads();
+        final Integer queueCapacity = properties.getExecutorQueueCapacity();
+        return ExecutorUtils.newFixedThreadPool(
+                threads == null ? Runtime.getRuntime().availableProcessors() : threads,
+                queueCapacity == null ? 0 : queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy(),
+                "grpc-client-" + name + "-" + kind);
+    }
+
     @Override
     public Map<String, ConnectivityState> getConnectivityState() {
         return Collections.unmodifiableMap(this.channelStates);
@@ -282,17 +587,17 @@ protected void watchConnectivityState(final String name, final ManagedChannel ch
 
     private void connectOnStartup(final String name, final ManagedChannel channel, final Duration timeout) {
         log.debug("Initiating connection to channel {}", name);
-        channel.getState(true);
-
-        final CountDownLatch readyLatch = new CountDownLatch(1);
-        waitForReady(channel, readyLatch);
+        final CompletableFuture<Void> ready = awaitReady(channel);
         boolean connected;
         try {
             log.debug("Waiting for connection to channel {}", name);
-            connected = readyLatch.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            ready.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            connected = true;
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
             connected = false;
+        } catch (final ExecutionException | TimeoutException e) {
+            connected = false;
         }
         if (!connected) {
             throw new IllegalStateException("Can't connect to channel " + name);
@@ -300,75 +605,255 @@ private void connectOnStartup(final String name, final ManagedChannel channel, f
         log.info("Successfully connected to channel {}", name);
     }
 
-    private void waitForReady(final ManagedChannel channel, final CountDownLatch readySignal) {
+    /**
+     * Creates the channel with the given name, if it does not exist yet, and initiates the connection without waiting
+     * for it. Unlike {@link #createChannel(String)} this method never blocks on the channel's
+     * {@link SimpleGrpcChannelProperties#getImmediateConnectTimeout() immediate connect timeout}.
+     */
+    @Override
+    public CompletableFuture<Void> connect(final String name) {
+        if (this.shutdown) {
+            throw new IllegalStateException("GrpcChannelFactory is already closed!");
+        }
+        ManagedChannel channel = this.channels.get(name);
+        if (channel == null) {
+            synchronized (this) {
+                if (this.shutdown) {
+                    throw new IllegalStateException("GrpcChannelFactory is already closed!");
+                }
+                channel = this.channels.computeIfAbsent(name, this::newUnconnectedManagedChannel);
+            }
+        }
+        log.debug("Initiating connection to channel {}", name);
+        return awaitReady(channel);
+    }
+
+    /**
+     * Requests the given channel to connect and returns a future that completes once it is ready. The future completes
+     * exceptionally, if the channel is shut down before it becomes ready.
+     *
+     * @param channel The channel to connect.
+     * @return The future that completes once the channel is ready.
+     */
+    private CompletableFuture<Void> awaitReady(final ManagedChannel channel) {
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+        channel.getState(true);
+        waitForReady(channel, ready);
+        return ready;
+    }
+
+    private void waitForReady(final ManagedChannel channel, final CompletableFuture<Void> ready) {
         final ConnectivityState state = channel.getState(false);
         log.debug("Waiting for ready state. Currently in {}", state);
         if (state == ConnectivityState.READY) {
-            readySignal.countDown();
+            ready.complete(null);
+        } else if (state == ConnectivityState.SHUTDOWN) {
+            ready.completeExceptionally(new IllegalStateException("Channel has been shut down"));
         } else {
-            channel.notifyWhenStateChanged(state, () -> waitForReady(channel, readySignal));
+            channel.notifyWhenStateChanged(state, () -> waitForReady(channel, ready));
         }
     }
 
     /**
-     * Closes this channel factory and the channels created by this instance. The shutdown happens in two phases, first
-     * an orderly shutdown is initiated on all channels and then the method waits for all channels to terminate. If the
-     * channels don't have terminated after 60 seconds then they will be forcefully shutdown.
+     * Closes this channel factory and the channels created by this instance. This method initiates an orderly shutdown
+     * on all channels at once and then waits for all of them to terminate. Each channel is forcefully shut down, if it
+     * hasn't terminated within its {@link SimpleGrpcChannelProperties#getShutdownGracePeriod() grace period}. This
+     * method waits at most for the longest grace period plus a small margin and doesn't block the creation of channels
+     * from failing fast while waiting.
+     *
+     * @see #closeAsync()
      */
     @Override
     @PreDestroy
-    public synchronized void close() {
-        if (this.shutdown) {
-            return;
+    public void close() {
+        final CompletableFuture<Void> localTermination = closeAsync();
+        final long timeout = this.closeTimeoutMillis;
+        try {
+            if (timeout < 0) {
+                localTermination.get();
+            } else {
+                localTermination.get(timeout, MILLISECONDS);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("We got interrupted - Speeding up shutdown process");
+            shutdownNow();
+        } catch (final TimeoutException e) {
+            log.warn("GrpcChannelFactory didn't terminate within {}ms - Giving up", timeout);
+            shutdownNow();
+        } catch (final ExecutionException e) {
+            log.warn("Failed to close the GrpcChannelFactory", e.getCause());
+        }
+    }
+
+    /**
+     * Forcefully shuts down all channels that haven't been released yet.
+     */
+    private void shutdownNow() {
+        for (final ManagedChannel channel : this.channels.values()) {
+            channel.shutdownNow();
+        }
+    }
+
+    /**
+     * Initiates an orderly shutdown on all channels created by this instance at once. The channels drain in parallel
+     * and each channel is forcefully shut down, if it hasn't terminated within its
+     * {@link SimpleGrpcChannelProperties#getShutdownGracePeriod() grace period}. Subsequent calls return the same
+     * future.
+     */
+    @Override
+    public synchronized CompletableFuture<Void> closeAsync() {
+        if (this.termination != null) {
+            return this.termination;
         }
         this.shutdown = true;
         final List<ShutdownRecord> shutdownEntries = new ArrayList<>();
+        long longestGracePeriod = 0;
         for (final Entry<String, ManagedChannel> entry : this.channels.entrySet()) {
             final ManagedChannel channel = entry.getValue();
             channel.shutdown();
-            final long gracePeriod = this.properties.getChannel(entry.getKey()).getShutdownGracePeriod().toMillis();
+            final long gracePeriod = getPropertiesFor(entry.getKey()).getShutdownGracePeriod().toMillis();
             shutdownEntries.add(new ShutdownRecord(entry.getKey(), channel, gracePeriod));
+            longestGracePeriod = gracePeriod < 0 || longestGracePeriod < 0 ? -1
+                    : Math.max(longestGracePeriod, gracePeriod);
         }
-        try {
-            final long start = System.currentTimeMillis();
-            shutdownEntries.sort(comparingLong(ShutdownRecord::getGracePeriod));
-
-            for (final ShutdownRecord entry : shutdownEntries) {
-                if (!entry.channel.isTerminated()) {
-                    log.debug("Awaiting channel termination: {}", entry.name);
-
-                    final long waitedTime = System.currentTimeMillis() - start;
-                    final long waitTime = entry.gracePeriod - waitedTime;
-
-                    if (waitTime > 0) {
-                        entry.channel.awaitTermination(waitTime, MILLISECONDS);
-                    }
-                    entry.channel.shutdownNow();
-                }
-                log.debug("Completed channel termination: {}", entry.name);
+        this.closeTimeoutMillis = longestGracePeriod < 0 ? -1 : longestGracePeriod + FORCED_TERMINATION_TIMEOUT_MILLIS;
+        final CompletableFuture<Void> localTermination = new CompletableFuture<>();
+        this.termination = localTermination;
+
+        // A single latch that is counted down by the termination callback of each channel
+        final AtomicInteger remaining = new AtomicInteger(shutdownEntries.size() + 1);
+        final Runnable countDown = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                completeShutdown();
+                localTermination.complete(null);
             }
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.debug("We got interrupted - Speeding up shutdown process");
-        } finally {
-            for (final ManagedChannel channel : this.channels.values()) {
-                if (!channel.isTerminated()) {
-                    log.debug("Channel not terminated yet - force shutdown now: {} ", channel);
-                    channel.shutdownNow();
-                }
+        };
+        boolean pending = false;
+        for (final ShutdownRecord entry : shutdownEntries) {
+            // Release the channel's resources as soon as all of its sub-channels have been terminated
+            entry.onTerminated(() -> {
+                releaseChannelResources(entry.name);
+                countDown.run();
+            });
+            if (entry.channel.isTerminated()) {
+                entry.terminated();
+            } else {
+                pending = true;
+            }
+        }
+        if (pending) {
+            // Each channel awaits its termination independently, so that a slow channel doesn't delay the others
+            final ExecutorService offloadExecutor =
+                    Executors.newCachedThreadPool(ExecutorUtils.newThreadFactory("grpc-channel-factory-shutdown"));
+            for (final ShutdownRecord entry : shutdownEntries) {
+                entry.watch(offloadExecutor);
             }
+            localTermination.whenComplete((result, error) -> offloadExecutor.shutdown());
         }
+        countDown.run();
+        return localTermination;
+    }
+
+    /**
+     * Clears the references to all channels once they have been terminated.
+     */
+    private void completeShutdown() {
         final int channelCount = this.channels.size();
         this.channels.clear();
+        this.interceptedChannels.clear();
+        this.defaultInterceptedChannels.clear();
         this.channelStates.clear();
         log.debug("GrpcChannelFactory closed (including {} channels)", channelCount);
     }
 
+    /**
+     * Releases the resources that were acquired while building the channel with the given name. This method is called
+     * once for each channel after it and all of its sub-channels have been terminated and can be overwritten to
+     * release shared resources such as event loops. Implementations must call the super method to release the
+     * channel's executors.
+     *
+     * @param name The name of the channel whose resources should be released.
+     */
+    protected void releaseChannelResources(final String name) {
+        final Map<String, ExecutorService> executors = this.channelExecutors.remove(name);
+        if (executors != null) {
+            for (final ExecutorService executor : executors.values()) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The cache key for intercepted channels. Interceptors are compared by identity, because interceptors usually
+     * don't implement equals and two instances of the same interceptor might be configured differently.
+     */
+    private static final class InterceptedChannelKey {
+
+        private final String name;
+        private final List<ClientInterceptor> interceptors;
+        private final boolean sortInterceptors;
+        private final int hashCode;
+
+        InterceptedChannelKey(final String name, final List<ClientInterceptor> interceptors,
+                final boolean sortInterceptors) {
+            this.name = name;
+            this.interceptors = interceptors;
+            this.sortInterceptors = sortInterceptors;
+            int hash = 31 * name.hashCode() + Boolean.hashCode(sortInterceptors);
+            for (final ClientInterceptor interceptor : interceptors) {
+                hash = 31 * hash + System.identityHashCode(interceptor);
+            }
+            this.hashCode = hash;
+        }
+
+        /**
+         * Creates a copy of this key that is no longer affected by changes to the caller's interceptor list.
+         *
+         * @return The key that can be stored in the cache.
+         */
+        InterceptedChannelKey snapshot() {
+            return new InterceptedChannelKey(this.name, ImmutableList.copyOf(this.interceptors),
+                    this.sortInterceptors);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InterceptedChannelKey)) {
+                return false;
+            }
+            final InterceptedChannelKey other = (InterceptedChannelKey) obj;
+            if (this.hashCode != other.hashCode
+                    || this.sortInterceptors != other.sortInterceptors
+                    || !this.name.equals(other.name)
+                    || this.interceptors.size() != other.interceptors.size()) {
+                return false;
+            }
+            for (int i = 0; i < this.interceptors.size(); i++) {
+                if (this.interceptors.get(i) != other.interceptors.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
     private static class ShutdownRecord {
 
         private final String name;
         private final ManagedChannel channel;
         private final long gracePeriod;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private Runnable callback;
 
         public ShutdownRecord(final String name, final ManagedChannel channel, final long gracePeriod) {
             this.name = name;
@@ -377,8 +862,65 @@ public ShutdownRecord(final String name, final ManagedChannel channel, final lon
             this.gracePeriod = gracePeriod < 0 ? Long.MAX_VALUE : gracePeriod;
         }
 
-        long getGracePeriod() {
-            return this.gracePeriod;
+        void onTerminated(final Runnable callback) {
+            this.callback = callback;
+        }
+
+        /**
+         * Watches the channel until it has been terminated and forcefully shuts it down, if it exceeds its grace
+         * period. The channel's state is observed until it reports {@link ConnectivityState#SHUTDOWN SHUTDOWN}, then
+         * the termination is awaited on the given executor, since grpc-java doesn't provide a callback for it.
+         *
+         * @param offloadExecutor The executor used to await the channel's termination.
+         */
+        void watch(final Executor offloadExecutor) {
+            if (this.terminated.get()) {
+                return;
+            }
+            log.debug("Awaiting channel termination: {}", this.name);
+            awaitShutdownState(offloadExecutor);
+        }
+
+        private void awaitShutdownState(final Executor offloadExecutor) {
+            ConnectivityState state;
+            try {
+                state = this.channel.getState(false);
+            } catch (final UnsupportedOperationException e) {
+                state = ConnectivityState.SHUTDOWN;
+            }
+            if (state == ConnectivityState.SHUTDOWN) {
+                offloadExecutor.execute(this::awaitTermination);
+            } else {
+                final ConnectivityState source = state;
+                this.channel.notifyWhenStateChanged(source, () -> awaitShutdownState(offloadExecutor));
+            }
+        }
+
+        private void awaitTermination() {
+            try {
+                if (!this.channel.awaitTermination(this.gracePeriod, MILLISECONDS)) {
+                    log.debug("Channel not terminated yet - force shutdown now: {} ", this.name);
+                    this.channel.shutdownNow();
+                    if (!this.channel.awaitTermination(FORCED_TERMINATION_TIMEOUT_MILLIS, MILLISECONDS)) {
+                        log.warn("Channel didn't terminate after a forced shutdown - Releasing it anyway: {}",
+                                this.name);
+                    }
+                }
+                log.debug("Completed channel termination: {}", this.name);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.channel.shutdownNow();
+            }
+            terminated();
+        }
+
+        /**
+         * Marks the channel as terminated and notifies the callback exactly once.
+         */
+        void terminated() {
+            if (this.terminated.compareAndSet(false, true)) {
+                this.callback.run();
+            }
         }
 
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import io.grpc.Status;
+
+/**
+ * The result of a channel warm-up that contains the outcome for every channel that was warmed up.
+ *
+ * @see GrpcChannelWarmUp
+ */
+public final class ChannelWarmUpReport {
+
+    private final Map<String, Status> results;
+    private final Duration duration;
+
+    /**
+     * Creates a new ChannelWarmUpReport.
+     *
+     * @param results The outcome of the warm-up per channel name.
+     * @param duration The time the entire warm-up took.
+     */
+    public ChannelWarmUpReport(final Map<String, Status> results, final Duration duration) {
+        this.results = ImmutableMap.copyOf(results);
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the outcome of the warm-up per channel name. Channels that are ready have an {@link Status#isOk() ok}
+     * status.
+     *
+     * @return The outcome of the warm-up per channel name.
+     */
+    public Map<String, Status> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Gets the channels that failed to warm up.
+     *
+     * @return The outcome of the warm-up for the failed channels.
+     */
+    public Map<String, Status> getFailures() {
+        return Maps.filterValues(this.results, status -> !status.isOk());
+    }
+
+    /**
+     * Gets the time the entire warm-up took.
+     *
+     * @return The duration of the warm-up.
+     */
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * Checks whether all channels were warmed up successfully.
+     *
+     * @return True, if all channels are ready. False otherwise.
+     */
+    public boolean isReady() {
+        return getFailures().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(this.results.size() - getFailures().size()).append('/').append(this.results.size())
+                .append(" channels ready after ").append(this.duration.toMillis()).append("ms");
+        for (final Entry<String, Status> entry : this.results.entrySet()) {
+            final Status status = entry.getValue();
+            sb.append("\n- ").append(entry.getKey()).append(": ").append(status.getCode());
+            if (status.getDescription() != null) {
+                sb.append(" (").append(status.getDescription()).append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -19,12 +19,15 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import io.grpc.Channel;
 import io.grpc.ClientInterceptor;
 import io.grpc.ClientInterceptors;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
+import net.devh.boot.grpc.client.throttling.ChannelThrottle;
 
 /**
  * This factory creates grpc {@link Channel}s for a given service name. Implementations are encouraged to utilize
@@ -101,6 +104,44 @@ default Map<String, ConnectivityState> getConnectivityState() {
         return Collections.emptyMap();
     }
 
+    /**
+     * Registers a listener that is notified about the {@link ChannelThrottle} of every channel that uses client side
+     * throttling, including those that have already been created. This can be used to export the state of the
+     * throttles. The default implementation does nothing, if the feature is not supported.
+     *
+     * @param listener The listener to notify.
+     */
+    default void addThrottleListener(final Consumer<? super ChannelThrottle> listener) {
+        // Not supported
+    }
+
+    /**
+     * Creates the channel for the given service name, if it does not exist yet, and initiates the connection without
+     * waiting for it. This can be used to connect multiple channels in parallel during startup. The default
+     * implementation only creates the channel and returns a completed future, if the feature is not supported.
+     *
+     * @param name The name of the service.
+     * @return A future that completes once the channel is ready to be used.
+     * @see GrpcChannelWarmUp
+     */
+    default CompletableFuture<Void> connect(final String name) {
+        createChannel(name);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Initiates an orderly shutdown of this factory and all channels created by it without waiting for them to
+     * terminate. This allows the channels to drain in parallel with other shutdown tasks such as the server drain. The
+     * default implementation closes the factory synchronously.
+     *
+     * @return A future that completes once all channels have been terminated.
+     * @see #close()
+     */
+    default CompletableFuture<Void> closeAsync() {
+        close();
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     void close();
 
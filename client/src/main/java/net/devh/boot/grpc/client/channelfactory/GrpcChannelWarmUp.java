@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.grpc.Channel;
+import io.grpc.ConnectivityState;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connects multiple channels in parallel and waits for all of them against a single shared deadline. Optionally, a
+ * warm-up call such as a health check can be sent over every connected channel to prime TLS sessions and the JIT.
+ * Unlike the {@link net.devh.boot.grpc.client.config.SimpleGrpcChannelProperties#getImmediateConnectTimeout()
+ * immediate connect timeout}, a warm-up does not stop at the first failure, but reports the outcome for every channel.
+ */
+@Slf4j
+public class GrpcChannelWarmUp {
+
+    /**
+     * A call that is sent over a channel once it is connected.
+     */
+    @FunctionalInterface
+    public interface WarmUpCall {
+
+        /**
+         * Sends the warm-up call over the given channel.
+         *
+         * @param name The name of the channel.
+         * @param channel The channel to send the call over.
+         * @param deadline The deadline of the entire warm-up.
+         * @return The future that completes once the call completed successfully.
+         */
+        ListenableFuture<?> call(String name, Channel channel, Deadline deadline);
+
+    }
+
+    private final GrpcChannelFactory channelFactory;
+    private final Duration timeout;
+    private final WarmUpCall warmUpCall;
+
+    /**
+     * Creates a new GrpcChannelWarmUp.
+     *
+     * @param channelFactory The channel factory used to create the channels.
+     * @param timeout The maximum time the entire warm-up may take.
+     * @param warmUpCall The call that should be sent over every connected channel or null to only connect.
+     */
+    public GrpcChannelWarmUp(final GrpcChannelFactory channelFactory, final Duration timeout,
+            final WarmUpCall warmUpCall) {
+        this.channelFactory = requireNonNull(channelFactory, "channelFactory");
+        this.timeout = requireNonNull(timeout, "timeout");
+        this.warmUpCall = warmUpCall;
+    }
+
+    /**
+     * Warms up the channels with the given names. This method blocks until all channels are ready or the timeout has
+     * been reached.
+     *
+     * @param names The names of the channels to warm up.
+     * @return The report containing the outcome for every channel.
+     */
+    public ChannelWarmUpReport warmUp(final Collection<String> names) {
+        final long start = System.nanoTime();
+        final Deadline deadline = Deadline.after(this.timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        final Map<String, CompletableFuture<Status>> pending = new LinkedHashMap<>();
+        for (final String name : names) {
+            pending.put(name, warmUp(name, deadline));
+        }
+
+        final Map<String, Status> results = new LinkedHashMap<>();
+        for (final Entry<String, CompletableFuture<Status>> entry : pending.entrySet()) {
+            results.put(entry.getKey(), await(entry.getKey(), entry.getValue(), deadline));
+        }
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        final ChannelWarmUpReport report = new ChannelWarmUpReport(results, duration);
+        log.debug("Channel warm-up completed: {}", report);
+        return report;
+    }
+
+    private CompletableFuture<Status> warmUp(final String name, final Deadline deadline) {
+        try {
+            final CompletableFuture<Void> connected = this.channelFactory.connect(name);
+            if (this.warmUpCall == null) {
+                return connected.thenApply(v -> Status.OK)
+                        .exceptionally(Status::fromThrowable);
+            }
+            return connected.thenCompose(v -> call(name, deadline))
+                    .exceptionally(Status::fromThrowable);
+        } catch (final RuntimeException e) {
+            return CompletableFuture.completedFuture(Status.fromThrowable(e));
+        }
+    }
+
+    private CompletableFuture<Status> call(final String name, final Deadline deadline) {
+        final CompletableFuture<Status> result = new CompletableFuture<>();
+        final ListenableFuture<?> call = this.warmUpCall.call(name, this.channelFactory.createChannel(name), deadline);
+        Futures.addCallback(call, new FutureCallback<Object>() {
+
+            @Override
+            public void onSuccess(final Object response) {
+                result.complete(Status.OK);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                result.complete(Status.fromThrowable(t));
+            }
+
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private Status await(final String name, final CompletableFuture<Status> future, final Deadline deadline) {
+        try {
+            return future.get(Math.max(deadline.timeRemaining(TimeUnit.NANOSECONDS), 0), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Status.CANCELLED.withDescription("Interrupted during warm-up");
+        } catch (final ExecutionException e) {
+            return Status.fromThrowable(e.getCause());
+        } catch (final TimeoutException e) {
+            final ConnectivityState state = this.channelFactory.getConnectivityState().get(name);
+            return Status.DEADLINE_EXCEEDED
+                    .withDescription("Not ready after " + this.timeout.toMillis() + "ms, state: " + state);
+        }
+    }
+
+}
@@ -21,6 +21,9 @@
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -28,6 +31,7 @@
 import io.grpc.ClientInterceptor;
 import io.grpc.ConnectivityState;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
+import net.devh.boot.grpc.client.throttling.ChannelThrottle;
 
 /**
  * This channel factory is a switch between the {@link InProcessChannelFactory} and an alternative implementation. All
@@ -74,15 +78,32 @@ public InProcessOrAlternativeChannelFactory(final SimpleGrpcChannelsProperties p
     @Override
     public Channel createChannel(final String name, final List<ClientInterceptor> interceptors,
             boolean sortInterceptors) {
-        final URI address = this.properties.getChannel(name).getAddress();
+        return route(name, (factory, channelName) -> factory.createChannel(channelName, interceptors,
+                sortInterceptors));
+    }
+
+    @Override
+    public CompletableFuture<Void> connect(final String name) {
+        return route(name, GrpcChannelFactory::connect);
+    }
+
+    /**
+     * Applies the given action to the channel factory that is responsible for the given channel name.
+     *
+     * @param <R> The result type of the action.
+     * @param name The name of the channel.
+     * @param action The action that will be called with the responsible factory and the translated channel name.
+     * @return The result of the action.
+     */
+    private <R> R route(final String name, final BiFunction<GrpcChannelFactory, String, R> action) {
+        final URI address = this.properties.getResolvedChannel(name).getAddress();
         final String defaultScheme = this.properties.getDefaultScheme();
         if (address != null && IN_PROCESS_SCHEME.equals(address.getScheme())) {
-            return this.inProcessChannelFactory.createChannel(address.getSchemeSpecificPart(), interceptors,
-                    sortInterceptors);
+            return action.apply(this.inProcessChannelFactory, address.getSchemeSpecificPart());
         } else if (address == null && defaultScheme != null && defaultScheme.startsWith(IN_PROCESS_SCHEME)) {
-            return this.inProcessChannelFactory.createChannel(name, interceptors, sortInterceptors);
+            return action.apply(this.inProcessChannelFactory, name);
         }
-        return this.alternativeChannelFactory.createChannel(name, interceptors, sortInterceptors);
+        return action.apply(this.alternativeChannelFactory, name);
     }
 
     @Override
@@ -93,12 +114,26 @@ public Map<String, ConnectivityState> getConnectivityState() {
                 .build();
     }
 
+    @Override
+    public void addThrottleListener(final Consumer<? super ChannelThrottle> listener) {
+        this.inProcessChannelFactory.addThrottleListener(listener);
+        this.alternativeChannelFactory.addThrottleListener(listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+        return CompletableFuture.allOf(
+                this.inProcessChannelFactory.closeAsync(),
+                this.alternativeChannelFactory.closeAsync());
+    }
+
     @Override
     public void close() {
         try {
-            this.inProcessChannelFactory.close();
+            this.inProcessChannelFactory.closeAsync();
         } finally {
             this.alternativeChannelFactory.close();
+            this.inProcessChannelFactory.close();
         }
     }
 
@@ -31,18 +31,24 @@
 
 import org.apache.commons.io.FileUtils;
 
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import net.devh.boot.grpc.client.config.NegotiationType;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelProperties;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
 import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
 import net.devh.boot.grpc.common.security.KeyStoreUtils;
 import net.devh.boot.grpc.common.util.GrpcUtils;
+import net.devh.boot.grpc.common.util.ReferenceCountedResource;
 
 /**
  * This channel factory creates and manages netty based {@link GrpcChannelFactory}s.
@@ -57,6 +63,15 @@
 // Keep this file in sync with ShadedNettyChannelFactory
 public class NettyChannelFactory extends AbstractChannelFactory<NettyChannelBuilder> {
 
+    /**
+     * The event loop that is shared between all domain socket channels of this factory.
+     */
+    private final ReferenceCountedResource<EventLoopGroup> domainSocketEventLoopGroup;
+    /**
+     * The names of the channels that hold a reference to the {@link #domainSocketEventLoopGroup}.
+     */
+    private final Multiset<String> domainSocketChannels = ConcurrentHashMultiset.create();
+
     /**
      * Creates a new GrpcChannelFactory for netty with the given options.
      *
@@ -68,6 +83,10 @@ public NettyChannelFactory(final SimpleGrpcChannelsProperties properties,
             final GlobalClientInterceptorRegistry globalClientInterceptorRegistry,
             final List<GrpcChannelConfigurer> channelConfigurers) {
         super(properties, globalClientInterceptorRegistry, channelConfigurers);
+        final int eventLoopThreads = properties.getDomainSocketEventLoopThreads();
+        this.domainSocketEventLoopGroup = new ReferenceCountedResource<>(
+                () -> new EpollEventLoopGroup(eventLoopThreads, new DefaultThreadFactory("grpc-client-uds", true)),
+                EventLoopGroup::shutdownGracefully);
     }
 
     @Override
@@ -84,15 +103,51 @@ protected NettyChannelBuilder newChannelBuilder(final String name) {
         }
         if (DOMAIN_SOCKET_ADDRESS_SCHEME.equals(address.getScheme())) {
             final String path = GrpcUtils.extractDomainSocketAddressPath(address.toString());
+            final EventLoopGroup eventLoopGroup = this.domainSocketEventLoopGroup.retain();
+            this.domainSocketChannels.add(name);
             return NettyChannelBuilder.forAddress(new DomainSocketAddress(path))
                     .channelType(EpollDomainSocketChannel.class)
-                    .eventLoopGroup(new EpollEventLoopGroup());
+                    .eventLoopGroup(eventLoopGroup);
         } else {
             return NettyChannelBuilder.forTarget(address.toString())
                     .defaultLoadBalancingPolicy(properties.getDefaultLoadBalancingPolicy());
         }
     }
 
+    @Override
+    // Keep this in sync with ShadedNettyChannelFactory#releaseChannelResources
+    protected void releaseChannelResources(final String name) {
+        super.releaseChannelResources(name);
+        // Pooled channels retain the event loop once per sub-channel
+        while (this.domainSocketChannels.remove(name)) {
+            this.domainSocketEventLoopGroup.release();
+        }
+    }
+
+    @Override
+    // Keep this in sync with ShadedNettyChannelFactory#close
+    public void close() {
+        try {
+            super.close();
+        } finally {
+            this.domainSocketEventLoopGroup.close();
+        }
+    }
+
+    @Override
+    // Keep this in sync with ShadedNettyChannelFactory#configureLimits
+    protected void configureLimits(final NettyChannelBuilder builder, final String name) {
+        super.configureLimits(builder, name);
+        final SimpleGrpcChannelProperties properties = getPropertiesFor(name);
+        final Integer flowControlWindow = properties.getFlowControlWindow();
+        if (flowControlWindow != null) {
+            builder.flowControlWindow(flowControlWindow);
+        } else {
+            // Enables the BDP based auto-tuning
+            builder.initialFlowControlWindow(properties.getInitialFlowControlWindow());
+        }
+    }
+
     @Override
     // Keep this in sync with ShadedNettyChannelFactory#configureSecurity
     protected void configureSecurity(final NettyChannelBuilder builder, final String name) {
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.channelfactory;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.google.common.collect.ImmutableList;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall.SimpleForwardingClientCall;
+import io.grpc.ForwardingClientCallListener.SimpleForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import net.devh.boot.grpc.client.config.ChannelPoolStrategy;
+
+/**
+ * A {@link ManagedChannel} that spreads its calls across multiple sub-channels to the same target. Since every
+ * sub-channel uses its own connections, this allows a client to use more than one HTTP/2 connection per backend and
+ * thus to exceed the {@code MAX_CONCURRENT_STREAMS} limit of a single connection.
+ *
+ * <p>
+ * The connectivity state of the pool is the "best" state of its sub-channels. So the pool is {@code READY} as long as
+ * at least one of its sub-channels is {@code READY}.
+ * </p>
+ */
+public class PooledManagedChannel extends ManagedChannel {
+
+    private final List<ManagedChannel> channels;
+    private final ChannelPoolStrategy strategy;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicIntegerArray activeCalls;
+
+    /**
+     * Creates a new PooledManagedChannel.
+     *
+     * @param channels The sub-channels that should be used by the pool.
+     * @param strategy The strategy used to select the sub-channel for a new call.
+     */
+    public PooledManagedChannel(final List<ManagedChannel> channels, final ChannelPoolStrategy strategy) {
+        this.channels = ImmutableList.copyOf(channels);
+        if (this.channels.isEmpty()) {
+            throw new IllegalArgumentException("The pool requires at least one channel");
+        }
+        this.strategy = requireNonNull(strategy, "strategy");
+        this.activeCalls = new AtomicIntegerArray(this.channels.size());
+    }
+
+    /**
+     * Gets the sub-channels of this pool.
+     *
+     * @return The sub-channels of this pool.
+     */
+    public List<ManagedChannel> getChannels() {
+        return this.channels;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(final MethodDescriptor<ReqT, RespT> methodDescriptor,
+            final CallOptions callOptions) {
+        if (this.strategy == ChannelPoolStrategy.ROUND_ROBIN) {
+            final int index = Math.floorMod(this.nextIndex.getAndIncrement(), this.channels.size());
+            return this.channels.get(index).newCall(methodDescriptor, callOptions);
+        }
+        final int index = leastActiveIndex();
+        return new ActiveCallCountingClientCall<>(
+                this.channels.get(index).newCall(methodDescriptor, callOptions), index);
+    }
+
+    private int leastActiveIndex() {
+        // Start at a rotating offset, so that idle pools don't always use the first channel
+        final int size = this.channels.size();
+        final int offset = Math.floorMod(this.nextIndex.getAndIncrement(), size);
+        int bestIndex = offset;
+        int bestCount = this.activeCalls.get(offset);
+        for (int i = 1; i < size && bestCount > 0; i++) {
+            final int index = (offset + i) % size;
+            final int count = this.activeCalls.get(index);
+            if (count < bestCount) {
+                bestIndex = index;
+                bestCount = count;
+            }
+        }
+        return bestIndex;
+    }
+
+    @Override
+    public String authority() {
+        return this.channels.get(0).authority();
+    }
+
+    @Override
+    public ConnectivityState getState(final boolean requestConnection) {
+        ConnectivityState best = ConnectivityState.SHUTDOWN;
+        for (final ManagedChannel channel : this.channels) {
+            final ConnectivityState state = channel.getState(requestConnection);
+            if (rank(state) < rank(best)) {
+                best = state;
+            }
+        }
+        return best;
+    }
+
+    private static int rank(final ConnectivityState state) {
+        switch (state) {
+            case READY:
+                return 0;
+            case CONNECTING:
+                return 1;
+            case IDLE:
+                return 2;
+            case TRANSIENT_FAILURE:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    @Override
+    public void notifyWhenStateChanged(final ConnectivityState source, final Runnable callback) {
+        final AtomicBoolean notified = new AtomicBoolean();
+        for (final ManagedChannel channel : this.channels) {
+            watchSubChannel(channel, source, callback, notified);
+        }
+    }
+
+    private void watchSubChannel(final ManagedChannel channel, final ConnectivityState source,
+            final Runnable callback, final AtomicBoolean notified) {
+        final ConnectivityState current = channel.getState(false);
+        if (current == ConnectivityState.SHUTDOWN) {
+            if (getState(false) != source && notified.compareAndSet(false, true)) {
+                callback.run();
+            }
+            return;
+        }
+        channel.notifyWhenStateChanged(current, () -> {
+            if (notified.get()) {
+                return;
+            }
+            if (getState(false) != source) {
+                if (notified.compareAndSet(false, true)) {
+                    callback.run();
+                }
+            } else {
+                watchSubChannel(channel, source, callback, notified);
+            }
+        });
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        for (final ManagedChannel channel : this.channels) {
+            channel.resetConnectBackoff();
+        }
+    }
+
+    @Override
+    public void enterIdle() {
+        for (final ManagedChannel channel : this.channels) {
+            channel.enterIdle();
+        }
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        for (final ManagedChannel channel : this.channels) {
+            channel.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        for (final ManagedChannel channel : this.channels) {
+            channel.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (final ManagedChannel channel : this.channels) {
+            if (!channel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (final ManagedChannel channel : this.channels) {
+            if (!channel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (final ManagedChannel channel : this.channels) {
+            final long remaining = deadline - System.nanoTime();
+            if (!channel.awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PooledManagedChannel [strategy=" + this.strategy + ", channels=" + this.channels + "]";
+    }
+
+    /**
+     * A client call that keeps track of the number of active calls per sub-channel.
+     *
+     * @param <ReqT> The type of the request.
+     * @param <RespT> The type of the response.
+     */
+    private final class ActiveCallCountingClientCall<ReqT, RespT> extends SimpleForwardingClientCall<ReqT, RespT> {
+
+        private final int index;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ActiveCallCountingClientCall(final ClientCall<ReqT, RespT> delegate, final int index) {
+            super(delegate);
+            this.index = index;
+        }
+
+        @Override
+        public void start(final Listener<RespT> responseListener, final Metadata headers) {
+            PooledManagedChannel.this.activeCalls.incrementAndGet(this.index);
+            try {
+                super.start(new SimpleForwardingClientCallListener<RespT>(responseListener) {
+
+                    @Override
+                    public void onClose(final Status status, final Metadata trailers) {
+                        callClosed();
+                        super.onClose(status, trailers);
+                    }
+
+                }, headers);
+            } catch (final RuntimeException e) {
+                callClosed();
+                throw e;
+            }
+        }
+
+        private void callClosed() {
+            if (this.closed.compareAndSet(false, true)) {
+                PooledManagedChannel.this.activeCalls.decrementAndGet(this.index);
+            }
+        }
+
+    }
+
+}
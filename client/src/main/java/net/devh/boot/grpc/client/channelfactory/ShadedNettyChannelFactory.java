@@ -29,18 +29,24 @@
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+
 import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
 import io.grpc.netty.shaded.io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
 import io.grpc.netty.shaded.io.netty.channel.unix.DomainSocketAddress;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
 import net.devh.boot.grpc.client.config.NegotiationType;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelProperties;
 import net.devh.boot.grpc.client.config.SimpleGrpcChannelsProperties;
 import net.devh.boot.grpc.client.interceptor.GlobalClientInterceptorRegistry;
 import net.devh.boot.grpc.common.security.KeyStoreUtils;
 import net.devh.boot.grpc.common.util.GrpcUtils;
+import net.devh.boot.grpc.common.util.ReferenceCountedResource;
 
 /**
  * This channel factory creates and manages shaded netty based {@link GrpcChannelFactory}s.
@@ -54,6 +60,15 @@
 // Keep this file in sync with NettyChannelFactory
 public class ShadedNettyChannelFactory extends AbstractChannelFactory<NettyChannelBuilder> {
 
+    /**
+     * The event loop that is shared between all domain socket channels of this factory.
+     */
+    private final ReferenceCountedResource<EventLoopGroup> domainSocketEventLoopGroup;
+    /**
+     * The names of the channels that hold a reference to the {@link #domainSocketEventLoopGroup}.
+     */
+    private final Multiset<String> domainSocketChannels = ConcurrentHashMultiset.create();
+
     /**
      * Creates a new GrpcChannelFactory for shaded netty with the given options.
      *
@@ -65,6 +80,10 @@ public ShadedNettyChannelFactory(final SimpleGrpcChannelsProperties properties,
             final GlobalClientInterceptorRegistry globalClientInterceptorRegistry,
             final List<GrpcChannelConfigurer> channelConfigurers) {
         super(properties, globalClientInterceptorRegistry, channelConfigurers);
+        final int eventLoopThreads = properties.getDomainSocketEventLoopThreads();
+        this.domainSocketEventLoopGroup = new ReferenceCountedResource<>(
+                () -> new EpollEventLoopGroup(eventLoopThreads, new DefaultThreadFactory("grpc-client-uds", true)),
+                EventLoopGroup::shutdownGracefully);
     }
 
     @Override
@@ -81,9 +100,11 @@ protected NettyChannelBuilder newChannelBuilder(final String name) {
         }
         if (DOMAIN_SOCKET_ADDRESS_SCHEME.equals(address.getScheme())) {
             final String path = GrpcUtils.extractDomainSocketAddressPath(address.toString());
+            final EventLoopGroup eventLoopGroup = this.domainSocketEventLoopGroup.retain();
+            this.domainSocketChannels.add(name);
             return NettyChannelBuilder.forAddress(new DomainSocketAddress(path))
                     .channelType(EpollDomainSocketChannel.class)
-                    .eventLoopGroup(new EpollEventLoopGroup());
+                    .eventLoopGroup(eventLoopGroup);
         } else {
             return NettyChannelBuilder.forTarget(address.toString())
                     .defaultLoadBalancingPolicy(properties.getDefaultLoadBalancingPolicy());
@@ -91,6 +112,40 @@ protected NettyChannelBuilder newChannelBuilder(final String name) {
     }
 
 
+    @Override
+    // Keep this in sync with NettyChannelFactory#releaseChannelResources
+    protected void releaseChannelResources(final String name) {
+        super.releaseChannelResources(name);
+        // Pooled channels retain the event loop once per sub-channel
+        while (this.domainSocketChannels.remove(name)) {
+            this.domainSocketEventLoopGroup.release();
+        }
+    }
+
+    @Override
+    // Keep this in sync with NettyChannelFactory#close
+    public void close() {
+        try {
+            super.close();
+        } finally {
+            this.domainSocketEventLoopGroup.close();
+        }
+    }
+
+    @Override
+    // Keep this in sync with NettyChannelFactory#configureLimits
+    protected void configureLimits(final NettyChannelBuilder builder, final String name) {
+        super.configureLimits(builder, name);
+        final SimpleGrpcChannelProperties properties = getPropertiesFor(name);
+        final Integer flowControlWindow = properties.getFlowControlWindow();
+        if (flowControlWindow != null) {
+            builder.flowControlWindow(flowControlWindow);
+        } else {
+            // Enables the BDP based auto-tuning
+            builder.initialFlowControlWindow(properties.getInitialFlowControlWindow());
+        }
+    }
+
     @Override
     // Keep this in sync with NettyChannelFactory#configureSecurity
     protected void configureSecurity(final NettyChannelBuilder builder, final String name) {
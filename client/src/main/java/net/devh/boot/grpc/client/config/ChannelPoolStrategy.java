@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.client.config;
+
+/**
+ * The strategy used to spread the calls of a pooled channel across its sub-channels.
+ */
+public enum ChannelPoolStrategy {
+
+    /**
+     * Uses the sub-channels one after another.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Uses the sub-channel with the fewest active calls.
+     */
+    LEAST_ACTIVE;
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+
+/**
+ * Converts the retry, hedging and load balancing options of the {@link SimpleGrpcChannelProperties} into a service
+ * config, that can be used as {@link ManagedChannelBuilder#defaultServiceConfig(Map) default service config} of a
+ * channel.
+ *
+ * @see <a href="https://github.com/grpc/grpc/blob/master/doc/service_config.md">Service Config in gRPC</a>
+ */
+public final class ServiceConfigConverter {
+
+    /**
+     * The name of grpc's outlier detection load balancing policy.
+     */
+    public static final String OUTLIER_DETECTION_POLICY = "outlier_detection_experimental";
+    /**
+     * The name of grpc's weighted round robin load balancing policy, which is provided by {@code grpc-xds}.
+     */
+    public static final String WEIGHTED_ROUND_ROBIN_POLICY = "weighted_round_robin";
+
+    /**
+     * Creates the default service config for the given channel properties.
+     *
+     * @param properties The properties of the channel.
+     * @return The service config in its json map representation or null, if the properties don't require a service
+     *         config.
+     * @throws IllegalStateException If the properties contain an invalid combination of policies.
+     */
+    public static Map<String, ?> toServiceConfig(final SimpleGrpcChannelProperties properties) {
+        final List<Map<String, ?>> methodConfigs = new ArrayList<>();
+        for (final SimpleGrpcChannelProperties.MethodConfig method : properties.getMethods()) {
+            final String service = method.getService();
+            if (service == null || service.trim().isEmpty()) {
+                throw new IllegalStateException("The service of a method config must not be empty");
+            }
+            final Map<String, Object> name = new LinkedHashMap<>();
+            name.put("service", service);
+            if (method.getMethod() != null) {
+                name.put("method", method.getMethod());
+            }
+            addMethodConfig(methodConfigs, name, method.getRetryPolicy(), method.getHedgingPolicy());
+        }
+        // An empty name matches all methods that don't have a more specific config
+        addMethodConfig(methodConfigs, Collections.emptyMap(), properties.getRetryPolicy(),
+                properties.getHedgingPolicy());
+
+        final Map<String, ?> loadBalancingConfig = toLoadBalancingConfig(properties);
+
+        if (methodConfigs.isEmpty() && loadBalancingConfig == null) {
+            return null;
+        }
+        final Map<String, Object> serviceConfig = new LinkedHashMap<>();
+        if (loadBalancingConfig != null) {
+            serviceConfig.put("loadBalancingConfig", Collections.singletonList(loadBalancingConfig));
+        }
+        if (!methodConfigs.isEmpty()) {
+            serviceConfig.put("methodConfig", methodConfigs);
+        }
+        return serviceConfig;
+    }
+
+    /**
+     * Creates the load balancing config for the given channel properties. If outlier detection is enabled, it wraps the
+     * weighted round robin or the default load balancing policy of the channel.
+     *
+     * @param properties The properties of the channel.
+     * @return The load balancing config or null, if the channel's default load balancing policy should be used as is.
+     */
+    private static Map<String, ?> toLoadBalancingConfig(final SimpleGrpcChannelProperties properties) {
+        final SimpleGrpcChannelProperties.WeightedRoundRobin weightedRoundRobin = properties.getWeightedRoundRobin();
+        final SimpleGrpcChannelProperties.OutlierDetection outlierDetection = properties.getOutlierDetection();
+        final Map<String, ?> policy;
+        if (weightedRoundRobin.isEnabled()) {
+            policy = Collections.singletonMap(WEIGHTED_ROUND_ROBIN_POLICY, toWeightedRoundRobin(weightedRoundRobin));
+        } else if (outlierDetection.isEnabled()) {
+            policy = Collections.singletonMap(properties.getDefaultLoadBalancingPolicy(), Collections.emptyMap());
+        } else {
+            return null;
+        }
+        if (outlierDetection.isEnabled()) {
+            return Collections.singletonMap(OUTLIER_DETECTION_POLICY, toOutlierDetection(outlierDetection, policy));
+        }
+        return policy;
+    }
+
+    private static Map<String, ?> toOutlierDetection(final SimpleGrpcChannelProperties.OutlierDetection options,
+            final Map<String, ?> childPolicy) {
+        final Map<String, Object> successRateEjection = new LinkedHashMap<>();
+        successRateEjection.put("stdevFactor", (double) options.getSuccessRateStdevFactor());
+        successRateEjection.put("enforcementPercentage", (double) options.getSuccessRateEnforcementPercentage());
+        successRateEjection.put("minimumHosts", (double) options.getSuccessRateMinimumHosts());
+        successRateEjection.put("requestVolume", (double) options.getSuccessRateRequestVolume());
+
+        final Map<String, Object> failurePercentageEjection = new LinkedHashMap<>();
+        failurePercentageEjection.put("threshold", (double) options.getFailurePercentageThreshold());
+        failurePercentageEjection.put("enforcementPercentage",
+                (double) options.getFailurePercentageEnforcementPercentage());
+        failurePercentageEjection.put("minimumHosts", (double) options.getFailurePercentageMinimumHosts());
+        failurePercentageEjection.put("requestVolume", (double) options.getFailurePercentageRequestVolume());
+
+        final Map<String, Object> config = new LinkedHashMap<>();
+        config.put("interval", toDurationString(options.getInterval()));
+        config.put("baseEjectionTime", toDurationString(options.getBaseEjectionTime()));
+        config.put("maxEjectionTime", toDurationString(options.getMaxEjectionTime()));
+        config.put("maxEjectionPercent", (double) options.getMaxEjectionPercent());
+        config.put("successRateEjection", successRateEjection);
+        config.put("failurePercentageEjection", failurePercentageEjection);
+        config.put("childPolicy", Collections.singletonList(childPolicy));
+        return config;
+    }
+
+    private static Map<String, ?> toWeightedRoundRobin(final SimpleGrpcChannelProperties.WeightedRoundRobin options) {
+        final Map<String, Object> config = new LinkedHashMap<>();
+        config.put("enableOobLoadReport", options.isEnableOobLoadReport());
+        config.put("oobReportingPeriod", toDurationString(options.getOobReportingPeriod()));
+        config.put("blackoutPeriod", toDurationString(options.getBlackoutPeriod()));
+        config.put("weightExpirationPeriod", toDurationString(options.getWeightExpirationPeriod()));
+        config.put("weightUpdatePeriod", toDurationString(options.getWeightUpdatePeriod()));
+        // grpc's parser only accepts floats or strings for this key, but the builder doesn't accept floats
+        config.put("errorUtilizationPenalty", String.valueOf(options.getErrorUtilizationPenalty()));
+        return config;
+    }
+
+    private static void addMethodConfig(final List<Map<String, ?>> methodConfigs, final Map<String, ?> name,
+            final SimpleGrpcChannelProperties.RetryPolicy retryPolicy,
+            final SimpleGrpcChannelProperties.HedgingPolicy hedgingPolicy) {
+        if (retryPolicy.isEnabled() && hedgingPolicy.isEnabled()) {
+            throw new IllegalStateException("Retries and hedging can't be combined for the same method: " + name);
+        }
+        final Map<String, Object> methodConfig = new LinkedHashMap<>();
+        if (retryPolicy.isEnabled()) {
+            methodConfig.put("retryPolicy", toRetryPolicy(retryPolicy));
+        } else if (hedgingPolicy.isEnabled()) {
+            methodConfig.put("hedgingPolicy", toHedgingPolicy(hedgingPolicy));
+        } else {
+            return;
+        }
+        methodConfig.put("name", Collections.singletonList(name));
+        methodConfigs.add(methodConfig);
+    }
+
+    private static Map<String, ?> toRetryPolicy(final SimpleGrpcChannelProperties.RetryPolicy retryPolicy) {
+        final Map<String, Object> policy = new LinkedHashMap<>();
+        policy.put("maxAttempts", (double) retryPolicy.getMaxAttempts());
+        policy.put("initialBackoff", toDurationString(retryPolicy.getInitialBackoff()));
+        policy.put("maxBackoff", toDurationString(retryPolicy.getMaxBackoff()));
+        policy.put("backoffMultiplier", retryPolicy.getBackoffMultiplier());
+        policy.put("retryableStatusCodes", toStatusCodeNames(retryPolicy.getRetryableStatusCodes()));
+        return policy;
+    }
+
+    private static Map<String, ?> toHedgingPolicy(final SimpleGrpcChannelProperties.HedgingPolicy hedgingPolicy) {
+        final Map<String, Object> policy = new LinkedHashMap<>();
+        policy.put("maxAttempts", (double) hedgingPolicy.getMaxAttempts());
+        policy.put("hedgingDelay", toDurationString(hedgingPolicy.getHedgingDelay()));
+        policy.put("nonFatalStatusCodes", toStatusCodeNames(hedgingPolicy.getNonFatalStatusCodes()));
+        return policy;
+    }
+
+    /**
+     * Converts the given duration into the json representation of a protobuf duration, e.g. {@code 0.100s}.
+     *
+     * @param duration The duration to convert.
+     * @return The string representation of the duration.
+     */
+    static String toDurationString(final Duration duration) {
+        final BigDecimal seconds = BigDecimal.valueOf(duration.getSeconds())
+                .add(BigDecimal.valueOf(duration.getNano(), 9));
+        return seconds.stripTrailingZeros().toPlainString() + "s";
+    }
+
+    private static List<String> toStatusCodeNames(final List<Status.Code> codes) {
+        final List<String> names = new ArrayList<>(codes.size());
+        for (final Status.Code code : codes) {
+            names.add(code.name());
+        }
+        return names;
+    }
+
+    private ServiceConfigConverter() {}
+
+}
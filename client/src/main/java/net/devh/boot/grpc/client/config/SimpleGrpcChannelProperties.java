@@ -22,11 +22,14 @@
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import io.grpc.LoadBalancerRegistry;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
 import lombok.EqualsAndHashCode;
@@ -67,6 +70,7 @@ public class SimpleGrpcChannelProperties {
     private static final NegotiationType DEFAULT_NEGOTIATION_TYPE = NegotiationType.TLS;
     private static final Duration DEFAULT_IMMEDIATE_CONNECT = Duration.ZERO;
     private final Security security = new Security();
+    private final Throttling throttling = new Throttling();
     @Getter
     @Setter
     private URI address = null;
@@ -306,6 +310,373 @@ public void setUserAgent(final String userAgent) {
         this.userAgent = userAgent;
     }
 
+    // --------------------------------------------------
+
+    /**
+     * The name of the executor that uses grpc-java's shared default executor.
+     */
+    public static final String EXECUTOR_DEFAULT = "default";
+    /**
+     * The name of the executor that runs the tasks directly on the calling thread.
+     */
+    public static final String EXECUTOR_DIRECT = "direct";
+    /**
+     * The name of the executor that uses a dedicated thread pool with a fixed number of threads.
+     */
+    public static final String EXECUTOR_FIXED = "fixed";
+    /**
+     * The name of the executor that starts a new virtual thread for each task. Requires Java 21 or later.
+     */
+    public static final String EXECUTOR_VIRTUAL = "virtual";
+
+    private String executor;
+    private String offloadExecutor;
+    private Integer executorThreads;
+    private Integer executorQueueCapacity;
+
+    /**
+     * Gets the executor that should be used to run the callbacks of the channel's calls.
+     *
+     * @return The executor type or bean name to use.
+     * @see #setExecutor(String)
+     */
+    public String getExecutor() {
+        return this.executor == null ? EXECUTOR_DEFAULT : this.executor;
+    }
+
+    /**
+     * Sets the executor that should be used to run the callbacks of the channel's calls. Supported values are
+     * {@code default}, {@code direct}, {@code fixed}, {@code virtual} or the name of an {@link Executor} bean. Defaults
+     * to {@code default}, which uses grpc-java's shared cached thread pool.
+     *
+     * @param executor The executor type or bean name to use or null to use the fallback.
+     * @see ManagedChannelBuilder#executor(Executor)
+     */
+    public void setExecutor(final String executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the executor that should be used for potentially blocking tasks of the channel such as name resolution.
+     *
+     * @return The executor type or bean name to use.
+     * @see #setOffloadExecutor(String)
+     */
+    public String getOffloadExecutor() {
+        return this.offloadExecutor == null ? EXECUTOR_DEFAULT : this.offloadExecutor;
+    }
+
+    /**
+     * Sets the executor that should be used for potentially blocking tasks of the channel such as name resolution.
+     * Supports the same values as {@link #setExecutor(String)}. Defaults to {@code default}, which uses grpc-java's
+     * shared cached thread pool.
+     *
+     * @param offloadExecutor The executor type or bean name to use or null to use the fallback.
+     * @see ManagedChannelBuilder#offloadExecutor(Executor)
+     */
+    public void setOffloadExecutor(final String offloadExecutor) {
+        this.offloadExecutor = offloadExecutor;
+    }
+
+    /**
+     * Gets the number of threads of {@code fixed} executors.
+     *
+     * @return The number of threads or null to use the number of available processors.
+     */
+    public Integer getExecutorThreads() {
+        return this.executorThreads;
+    }
+
+    /**
+     * Sets the number of threads of {@code fixed} executors. Defaults to the number of available processors.
+     *
+     * @param executorThreads The number of threads or null to use the fallback.
+     */
+    public void setExecutorThreads(final Integer executorThreads) {
+        if (executorThreads != null && executorThreads <= 0) {
+            throw new IllegalArgumentException("ExecutorThreads must be positive");
+        }
+        this.executorThreads = executorThreads;
+    }
+
+    /**
+     * Gets the maximum number of tasks that may wait for execution in {@code fixed} executors.
+     *
+     * @return The capacity of the queue or null for an unbounded queue.
+     */
+    public Integer getExecutorQueueCapacity() {
+        return this.executorQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of tasks that may wait for execution in {@code fixed} executors. If the queue is full,
+     * the task will be run on the calling thread instead. Defaults to an unbounded queue.
+     *
+     * @param executorQueueCapacity The capacity of the queue or null for an unbounded queue.
+     */
+    public void setExecutorQueueCapacity(final Integer executorQueueCapacity) {
+        if (executorQueueCapacity != null && executorQueueCapacity < 0) {
+            throw new IllegalArgumentException("ExecutorQueueCapacity can't be negative");
+        }
+        this.executorQueueCapacity = executorQueueCapacity;
+    }
+
+    // --------------------------------------------------
+
+    private Integer poolSize;
+    private static final int DEFAULT_POOL_SIZE = 1;
+
+    /**
+     * Gets the number of sub-channels that are used for this channel.
+     *
+     * @return The number of sub-channels.
+     * @see #setPoolSize(Integer)
+     */
+    public int getPoolSize() {
+        return this.poolSize == null ? DEFAULT_POOL_SIZE : this.poolSize;
+    }
+
+    /**
+     * Sets the number of sub-channels that are used for this channel. Each sub-channel uses its own connections, so
+     * setting this to a value greater than {@code 1} allows the client to use more than one HTTP/2 connection per
+     * backend. Defaults to {@code 1}.
+     *
+     * @param poolSize The number of sub-channels or null to use the fallback.
+     */
+    public void setPoolSize(final Integer poolSize) {
+        if (poolSize != null && poolSize <= 0) {
+            throw new IllegalArgumentException("PoolSize must be positive");
+        }
+        this.poolSize = poolSize;
+    }
+
+    // --------------------------------------------------
+
+    private ChannelPoolStrategy poolStrategy;
+    private static final ChannelPoolStrategy DEFAULT_POOL_STRATEGY = ChannelPoolStrategy.ROUND_ROBIN;
+
+    /**
+     * Gets the strategy used to spread the calls across the sub-channels of a pooled channel.
+     *
+     * @return The strategy used to select the sub-channel for a call.
+     * @see #setPoolStrategy(ChannelPoolStrategy)
+     */
+    public ChannelPoolStrategy getPoolStrategy() {
+        return this.poolStrategy == null ? DEFAULT_POOL_STRATEGY : this.poolStrategy;
+    }
+
+    /**
+     * Sets the strategy used to spread the calls across the sub-channels of a pooled channel. Only used if the
+     * {@link #setPoolSize(Integer) pool size} is greater than {@code 1}. Defaults to
+     * {@link ChannelPoolStrategy#ROUND_ROBIN ROUND_ROBIN}.
+     *
+     * @param poolStrategy The strategy to use or null to use the fallback.
+     */
+    public void setPoolStrategy(final ChannelPoolStrategy poolStrategy) {
+        this.poolStrategy = poolStrategy;
+    }
+
+    // --------------------------------------------------
+
+    private Integer flowControlWindow;
+
+    /**
+     * Gets the fixed HTTP/2 flow control window in bytes.
+     *
+     * @return The fixed flow control window or null if the window is tuned automatically.
+     * @see #setFlowControlWindow(Integer)
+     */
+    public Integer getFlowControlWindow() {
+        return this.flowControlWindow;
+    }
+
+    /**
+     * Sets a fixed HTTP/2 flow control window in bytes. Setting this disables the BDP based auto-tuning of the flow
+     * control window and takes precedence over the {@link #setInitialFlowControlWindow(Integer) initial flow control
+     * window}. If not set ({@code null}) the window will be tuned automatically.
+     *
+     * @param flowControlWindow The fixed flow control window or null to use auto-tuning.
+     * @see NettyChannelBuilder#flowControlWindow(int)
+     */
+    public void setFlowControlWindow(final Integer flowControlWindow) {
+        if (flowControlWindow != null && flowControlWindow <= 0) {
+            throw new IllegalArgumentException("FlowControlWindow must be positive");
+        }
+        this.flowControlWindow = flowControlWindow;
+    }
+
+    // --------------------------------------------------
+
+    private Integer initialFlowControlWindow;
+    private static final int DEFAULT_INITIAL_FLOW_CONTROL_WINDOW = 1024 * 1024;
+
+    /**
+     * Gets the initial HTTP/2 flow control window in bytes, that will be tuned automatically afterwards.
+     *
+     * @return The initial flow control window.
+     * @see #setInitialFlowControlWindow(Integer)
+     */
+    public int getInitialFlowControlWindow() {
+        return this.initialFlowControlWindow == null ? DEFAULT_INITIAL_FLOW_CONTROL_WINDOW
+                : this.initialFlowControlWindow;
+    }
+
+    /**
+     * Sets the initial HTTP/2 flow control window in bytes. The window will be tuned automatically based on the
+     * bandwidth-delay product (BDP) of the connection, unless a fixed {@link #setFlowControlWindow(Integer) flow
+     * control window} is set. Defaults to {@code 1 MiB}.
+     *
+     * @param initialFlowControlWindow The initial flow control window or null to use the fallback.
+     * @see NettyChannelBuilder#initialFlowControlWindow(int)
+     */
+    public void setInitialFlowControlWindow(final Integer initialFlowControlWindow) {
+        if (initialFlowControlWindow != null && initialFlowControlWindow <= 0) {
+            throw new IllegalArgumentException("InitialFlowControlWindow must be positive");
+        }
+        this.initialFlowControlWindow = initialFlowControlWindow;
+    }
+
+    // --------------------------------------------------
+
+    private final RetryPolicy retryPolicy = new RetryPolicy();
+
+    /**
+     * Gets the retry policy that is used for all methods of the channel, unless a {@link #getMethods() method specific}
+     * policy is configured.
+     *
+     * @return The retry policy of the channel.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return this.retryPolicy;
+    }
+
+    // --------------------------------------------------
+
+    private final HedgingPolicy hedgingPolicy = new HedgingPolicy();
+
+    /**
+     * Gets the hedging policy that is used for all methods of the channel, unless a
+     * {@link #getMethods() method specific} policy is configured. Hedging and retries can't be combined for the same
+     * method.
+     *
+     * @return The hedging policy of the channel.
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return this.hedgingPolicy;
+    }
+
+    // --------------------------------------------------
+
+    private List<MethodConfig> methods;
+
+    /**
+     * Gets the method specific retry and hedging policies.
+     *
+     * @return The method specific policies.
+     * @see #setMethods(List)
+     */
+    public List<MethodConfig> getMethods() {
+        return this.methods == null ? Collections.emptyList() : this.methods;
+    }
+
+    /**
+     * Sets the method specific retry and hedging policies. They take precedence over the policies of the channel.
+     * Defaults to no method specific policies.
+     *
+     * @param methods The method specific policies or null to use the fallback.
+     */
+    public void setMethods(final List<MethodConfig> methods) {
+        this.methods = methods;
+    }
+
+    // --------------------------------------------------
+
+    private Long retryBufferSize;
+
+    /**
+     * Gets the maximum amount of memory in bytes that is used to buffer the messages of all calls of the channel, that
+     * might have to be retried or hedged.
+     *
+     * @return The retry buffer size or null to use grpc's default.
+     * @see #setRetryBufferSize(Long)
+     */
+    public Long getRetryBufferSize() {
+        return this.retryBufferSize;
+    }
+
+    /**
+     * Sets the maximum amount of memory in bytes that is used to buffer the messages of all calls of the channel, that
+     * might have to be retried or hedged. Calls that exceed the buffer can no longer be retried. If not set
+     * ({@code null}) grpc's default ({@code 16MiB}) will be used.
+     *
+     * @param retryBufferSize The retry buffer size or null to use grpc's default.
+     * @see ManagedChannelBuilder#retryBufferSize(long)
+     */
+    public void setRetryBufferSize(final Long retryBufferSize) {
+        if (retryBufferSize != null && retryBufferSize <= 0) {
+            throw new IllegalArgumentException("RetryBufferSize must be positive");
+        }
+        this.retryBufferSize = retryBufferSize;
+    }
+
+    // --------------------------------------------------
+
+    private Long perRpcBufferLimit;
+
+    /**
+     * Gets the maximum amount of memory in bytes that is used to buffer the messages of a single call, that might have
+     * to be retried or hedged.
+     *
+     * @return The per call buffer limit or null to use grpc's default.
+     * @see #setPerRpcBufferLimit(Long)
+     */
+    public Long getPerRpcBufferLimit() {
+        return this.perRpcBufferLimit;
+    }
+
+    /**
+     * Sets the maximum amount of memory in bytes that is used to buffer the messages of a single call, that might have
+     * to be retried or hedged. Calls that exceed the limit can no longer be retried. If not set ({@code null}) grpc's
+     * default ({@code 1MiB}) will be used.
+     *
+     * @param perRpcBufferLimit The per call buffer limit or null to use grpc's default.
+     * @see ManagedChannelBuilder#perRpcBufferLimit(long)
+     */
+    public void setPerRpcBufferLimit(final Long perRpcBufferLimit) {
+        if (perRpcBufferLimit != null && perRpcBufferLimit <= 0) {
+            throw new IllegalArgumentException("PerRpcBufferLimit must be positive");
+        }
+        this.perRpcBufferLimit = perRpcBufferLimit;
+    }
+
+    // --------------------------------------------------
+
+    private final OutlierDetection outlierDetection = new OutlierDetection();
+
+    /**
+     * Gets the options for the outlier detection of the channel's backends.
+     *
+     * @return The options for the outlier detection of the channel's backends.
+     */
+    public OutlierDetection getOutlierDetection() {
+        return this.outlierDetection;
+    }
+
+    // --------------------------------------------------
+
+    private final WeightedRoundRobin weightedRoundRobin = new WeightedRoundRobin();
+
+    /**
+     * Gets the options for the weighted round robin load balancing of the channel.
+     *
+     * @return The options for the weighted round robin load balancing of the channel.
+     */
+    public WeightedRoundRobin getWeightedRoundRobin() {
+        return this.weightedRoundRobin;
+    }
+
+    // --------------------------------------------------
+
     /**
      * Gets the options for transport security.
      *
@@ -315,6 +686,15 @@ public Security getSecurity() {
         return this.security;
     }
 
+    /**
+     * Gets the options for the client side throttling of the channel's calls.
+     *
+     * @return The options for client side throttling.
+     */
+    public Throttling getThrottling() {
+        return this.throttling;
+    }
+
     /**
      * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please note
      * that the getters might return fallback values instead.
@@ -361,7 +741,45 @@ public void copyDefaultsFrom(final SimpleGrpcChannelProperties config) {
         if (this.userAgent == null) {
             this.userAgent = config.userAgent;
         }
+        if (this.executor == null) {
+            this.executor = config.executor;
+        }
+        if (this.offloadExecutor == null) {
+            this.offloadExecutor = config.offloadExecutor;
+        }
+        if (this.executorThreads == null) {
+            this.executorThreads = config.executorThreads;
+        }
+        if (this.executorQueueCapacity == null) {
+            this.executorQueueCapacity = config.executorQueueCapacity;
+        }
+        if (this.poolSize == null) {
+            this.poolSize = config.poolSize;
+        }
+        if (this.poolStrategy == null) {
+            this.poolStrategy = config.poolStrategy;
+        }
+        if (this.flowControlWindow == null) {
+            this.flowControlWindow = config.flowControlWindow;
+        }
+        if (this.initialFlowControlWindow == null) {
+            this.initialFlowControlWindow = config.initialFlowControlWindow;
+        }
         this.security.copyDefaultsFrom(config.security);
+        this.throttling.copyDefaultsFrom(config.throttling);
+        this.retryPolicy.copyDefaultsFrom(config.retryPolicy);
+        this.hedgingPolicy.copyDefaultsFrom(config.hedgingPolicy);
+        if (this.methods == null) {
+            this.methods = config.methods;
+        }
+        if (this.retryBufferSize == null) {
+            this.retryBufferSize = config.retryBufferSize;
+        }
+        if (this.perRpcBufferLimit == null) {
+            this.perRpcBufferLimit = config.perRpcBufferLimit;
+        }
+        this.outlierDetection.copyDefaultsFrom(config.outlierDetection);
+        this.weightedRoundRobin.copyDefaultsFrom(config.weightedRoundRobin);
     }
 
     /**
@@ -713,4 +1131,1289 @@ public void copyDefaultsFrom(final Security config) {
 
     }
 
+    /**
+     * A container with options for the client side throttling of the channel's calls.
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class Throttling {
+
+        private Boolean enabled;
+        private static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * Gets whether the calls of the channel are throttled on the client side, while the server is overloaded or
+         * unavailable.
+         *
+         * @return True, if client side throttling is enabled. False otherwise.
+         * @see #setEnabled(Boolean)
+         */
+        public boolean isEnabled() {
+            return this.enabled == null ? DEFAULT_ENABLED : this.enabled;
+        }
+
+        /**
+         * Sets whether the calls of the channel are throttled on the client side, while the server is overloaded or
+         * unavailable. Throttled calls fail immediately with {@code UNAVAILABLE} without being sent to the server.
+         * Defaults to {@code false}.
+         *
+         * @param enabled Whether client side throttling is enabled or null to use the fallback.
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        // --------------------------------------------------
+
+        private Double acceptsMultiplier;
+        private static final double DEFAULT_ACCEPTS_MULTIPLIER = 2.0;
+
+        /**
+         * Gets the multiplier for the calls accepted by the server, that is used by the adaptive throttling.
+         *
+         * @return The accepts multiplier.
+         * @see #setAcceptsMultiplier(Double)
+         */
+        public double getAcceptsMultiplier() {
+            return this.acceptsMultiplier == null ? DEFAULT_ACCEPTS_MULTIPLIER : this.acceptsMultiplier;
+        }
+
+        /**
+         * Sets the multiplier for the calls accepted by the server, that is used by the adaptive throttling. Calls are
+         * rejected locally with a probability of {@code (requests - multiplier * accepts) / (requests + 1)}. Lower
+         * values reject calls more aggressively. Defaults to {@code 2.0}.
+         *
+         * @param acceptsMultiplier The accepts multiplier or null to use the fallback.
+         */
+        public void setAcceptsMultiplier(final Double acceptsMultiplier) {
+            if (acceptsMultiplier != null && acceptsMultiplier < 1) {
+                throw new IllegalArgumentException("AcceptsMultiplier must be at least 1");
+            }
+            this.acceptsMultiplier = acceptsMultiplier;
+        }
+
+        // --------------------------------------------------
+
+        private Duration window;
+        private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(2);
+
+        /**
+         * Gets the duration of the sliding window in which the adaptive throttling counts the calls.
+         *
+         * @return The duration of the sliding window.
+         * @see #setWindow(Duration)
+         */
+        public Duration getWindow() {
+            return this.window == null ? DEFAULT_WINDOW : this.window;
+        }
+
+        /**
+         * Sets the duration of the sliding window in which the adaptive throttling counts the calls. Defaults to
+         * {@code 2m}.
+         *
+         * @param window The duration of the sliding window or null to use the fallback.
+         */
+        public void setWindow(final Duration window) {
+            if (window != null && (window.isNegative() || window.isZero())) {
+                throw new IllegalArgumentException("Window must be positive");
+            }
+            this.window = window;
+        }
+
+        // --------------------------------------------------
+
+        private Integer failureThreshold;
+        private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+        /**
+         * Gets the number of consecutive failed calls after which the circuit breaker opens.
+         *
+         * @return The failure threshold or {@code 0} if the circuit breaker is disabled.
+         * @see #setFailureThreshold(Integer)
+         */
+        public int getFailureThreshold() {
+            return this.failureThreshold == null ? DEFAULT_FAILURE_THRESHOLD : this.failureThreshold;
+        }
+
+        /**
+         * Sets the number of consecutive failed calls after which the circuit breaker opens. Calls count as failed, if
+         * they fail with {@code UNAVAILABLE}, {@code RESOURCE_EXHAUSTED} or {@code DEADLINE_EXCEEDED}. Set to
+         * {@code 0} to disable the circuit breaker. Defaults to {@code 5}.
+         *
+         * @param failureThreshold The failure threshold or null to use the fallback.
+         */
+        public void setFailureThreshold(final Integer failureThreshold) {
+            if (failureThreshold != null && failureThreshold < 0) {
+                throw new IllegalArgumentException("FailureThreshold must not be negative");
+            }
+            this.failureThreshold = failureThreshold;
+        }
+
+        // --------------------------------------------------
+
+        private Duration openDuration;
+        private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(10);
+
+        /**
+         * Gets the duration the circuit breaker stays open before it admits probe calls.
+         *
+         * @return The duration the circuit breaker stays open.
+         * @see #setOpenDuration(Duration)
+         */
+        public Duration getOpenDuration() {
+            return this.openDuration == null ? DEFAULT_OPEN_DURATION : this.openDuration;
+        }
+
+        /**
+         * Sets the duration the circuit breaker stays open before it becomes half-open and admits probe calls.
+         * Defaults to {@code 10s}.
+         *
+         * @param openDuration The duration the circuit breaker stays open or null to use the fallback.
+         */
+        public void setOpenDuration(final Duration openDuration) {
+            if (openDuration != null && openDuration.isNegative()) {
+                throw new IllegalArgumentException("OpenDuration must not be negative");
+            }
+            this.openDuration = openDuration;
+        }
+
+        // --------------------------------------------------
+
+        private Integer halfOpenCalls;
+        private static final int DEFAULT_HALF_OPEN_CALLS = 1;
+
+        /**
+         * Gets the number of probe calls that have to succeed to close the half-open circuit breaker again.
+         *
+         * @return The number of probe calls.
+         * @see #setHalfOpenCalls(Integer)
+         */
+        public int getHalfOpenCalls() {
+            return this.halfOpenCalls == null ? DEFAULT_HALF_OPEN_CALLS : this.halfOpenCalls;
+        }
+
+        /**
+         * Sets the number of probe calls that have to succeed to close the half-open circuit breaker again. If any of
+         * the probe calls fails, the circuit breaker opens again. Defaults to {@code 1}.
+         *
+         * @param halfOpenCalls The number of probe calls or null to use the fallback.
+         */
+        public void setHalfOpenCalls(final Integer halfOpenCalls) {
+            if (halfOpenCalls != null && halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("HalfOpenCalls must be positive");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        // --------------------------------------------------
+
+        /**
+         * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please
+         * note that the getters might return fallback values instead.
+         *
+         * @param config The config to copy the defaults from.
+         */
+        public void copyDefaultsFrom(final Throttling config) {
+            if (this == config) {
+                return;
+            }
+            if (this.enabled == null) {
+                this.enabled = config.enabled;
+            }
+            if (this.acceptsMultiplier == null) {
+                this.acceptsMultiplier = config.acceptsMultiplier;
+            }
+            if (this.window == null) {
+                this.window = config.window;
+            }
+            if (this.failureThreshold == null) {
+                this.failureThreshold = config.failureThreshold;
+            }
+            if (this.openDuration == null) {
+                this.openDuration = config.openDuration;
+            }
+            if (this.halfOpenCalls == null) {
+                this.halfOpenCalls = config.halfOpenCalls;
+            }
+        }
+
+    }
+
+    /**
+     * A container with options for retrying failed calls. Retries are enabled by setting the
+     * {@link #setMaxAttempts(Integer) max attempts} to at least {@code 2}.
+     *
+     * @see <a href="https://github.com/grpc/proposal/blob/master/A6-client-retries.md">gRFC A6: gRPC Retry
+     *      Design</a>
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class RetryPolicy {
+
+        private Integer maxAttempts;
+        private static final int DEFAULT_MAX_ATTEMPTS = 0;
+
+        /**
+         * Gets the maximum number of attempts for a call, including the original attempt.
+         *
+         * @return The maximum number of attempts.
+         * @see #setMaxAttempts(Integer)
+         */
+        public int getMaxAttempts() {
+            return this.maxAttempts == null ? DEFAULT_MAX_ATTEMPTS : this.maxAttempts;
+        }
+
+        /**
+         * Sets the maximum number of attempts for a call, including the original attempt. Values greater than {@code 5}
+         * are limited to {@code 5} by grpc. Defaults to {@code 0}, which disables retries.
+         *
+         * @param maxAttempts The maximum number of attempts or null to use the fallback.
+         */
+        public void setMaxAttempts(final Integer maxAttempts) {
+            if (maxAttempts != null && maxAttempts < 0) {
+                throw new IllegalArgumentException("MaxAttempts must not be negative");
+            }
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * Gets whether this retry policy is enabled.
+         *
+         * @return True, if the max attempts are greater than {@code 1}. False otherwise.
+         */
+        public boolean isEnabled() {
+            return getMaxAttempts() > 1;
+        }
+
+        // --------------------------------------------------
+
+        private Duration initialBackoff;
+        private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+
+        /**
+         * Gets the upper bound of the randomized delay before the first retry.
+         *
+         * @return The initial backoff.
+         * @see #setInitialBackoff(Duration)
+         */
+        public Duration getInitialBackoff() {
+            return this.initialBackoff == null ? DEFAULT_INITIAL_BACKOFF : this.initialBackoff;
+        }
+
+        /**
+         * Sets the upper bound of the randomized delay before the first retry. Defaults to {@code 100ms}.
+         *
+         * @param initialBackoff The initial backoff or null to use the fallback.
+         */
+        public void setInitialBackoff(final Duration initialBackoff) {
+            if (initialBackoff != null && (initialBackoff.isNegative() || initialBackoff.isZero())) {
+                throw new IllegalArgumentException("InitialBackoff must be positive");
+            }
+            this.initialBackoff = initialBackoff;
+        }
+
+        // --------------------------------------------------
+
+        private Duration maxBackoff;
+        private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(1);
+
+        /**
+         * Gets the upper bound for the randomized delay between retries.
+         *
+         * @return The maximum backoff.
+         * @see #setMaxBackoff(Duration)
+         */
+        public Duration getMaxBackoff() {
+            return this.maxBackoff == null ? DEFAULT_MAX_BACKOFF : this.maxBackoff;
+        }
+
+        /**
+         * Sets the upper bound for the randomized delay between retries. Defaults to {@code 1s}.
+         *
+         * @param maxBackoff The maximum backoff or null to use the fallback.
+         */
+        public void setMaxBackoff(final Duration maxBackoff) {
+            if (maxBackoff != null && (maxBackoff.isNegative() || maxBackoff.isZero())) {
+                throw new IllegalArgumentException("MaxBackoff must be positive");
+            }
+            this.maxBackoff = maxBackoff;
+        }
+
+        // --------------------------------------------------
+
+        private Double backoffMultiplier;
+        private static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+
+        /**
+         * Gets the factor by which the backoff grows after each retry.
+         *
+         * @return The backoff multiplier.
+         * @see #setBackoffMultiplier(Double)
+         */
+        public double getBackoffMultiplier() {
+            return this.backoffMultiplier == null ? DEFAULT_BACKOFF_MULTIPLIER : this.backoffMultiplier;
+        }
+
+        /**
+         * Sets the factor by which the backoff grows after each retry. Defaults to {@code 2.0}.
+         *
+         * @param backoffMultiplier The backoff multiplier or null to use the fallback.
+         */
+        public void setBackoffMultiplier(final Double backoffMultiplier) {
+            if (backoffMultiplier != null && backoffMultiplier <= 0) {
+                throw new IllegalArgumentException("BackoffMultiplier must be positive");
+            }
+            this.backoffMultiplier = backoffMultiplier;
+        }
+
+        // --------------------------------------------------
+
+        private List<Status.Code> retryableStatusCodes;
+        private static final List<Status.Code> DEFAULT_RETRYABLE_STATUS_CODES =
+                Collections.singletonList(Status.Code.UNAVAILABLE);
+
+        /**
+         * Gets the status codes of failed calls that should be retried.
+         *
+         * @return The retryable status codes.
+         * @see #setRetryableStatusCodes(List)
+         */
+        public List<Status.Code> getRetryableStatusCodes() {
+            return this.retryableStatusCodes == null ? DEFAULT_RETRYABLE_STATUS_CODES : this.retryableStatusCodes;
+        }
+
+        /**
+         * Sets the status codes of failed calls that should be retried. Defaults to {@code UNAVAILABLE}.
+         *
+         * @param retryableStatusCodes The retryable status codes or null to use the fallback.
+         */
+        public void setRetryableStatusCodes(final List<Status.Code> retryableStatusCodes) {
+            this.retryableStatusCodes = retryableStatusCodes;
+        }
+
+        // --------------------------------------------------
+
+        /**
+         * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please
+         * note that the getters might return fallback values instead.
+         *
+         * @param config The config to copy the defaults from.
+         */
+        public void copyDefaultsFrom(final RetryPolicy config) {
+            if (this == config) {
+                return;
+            }
+            if (this.maxAttempts == null) {
+                this.maxAttempts = config.maxAttempts;
+            }
+            if (this.initialBackoff == null) {
+                this.initialBackoff = config.initialBackoff;
+            }
+            if (this.maxBackoff == null) {
+                this.maxBackoff = config.maxBackoff;
+            }
+            if (this.backoffMultiplier == null) {
+                this.backoffMultiplier = config.backoffMultiplier;
+            }
+            if (this.retryableStatusCodes == null) {
+                this.retryableStatusCodes = config.retryableStatusCodes;
+            }
+        }
+
+    }
+
+    /**
+     * A container with options for hedging calls. Hedging sends additional copies of a call, if the server doesn't
+     * respond in time, and uses the first response that arrives. Hedging is enabled by setting the
+     * {@link #setMaxAttempts(Integer) max attempts} to at least {@code 2}. Only idempotent methods should be hedged.
+     *
+     * @see <a href="https://github.com/grpc/proposal/blob/master/A6-client-retries.md">gRFC A6: gRPC Retry
+     *      Design</a>
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class HedgingPolicy {
+
+        private Integer maxAttempts;
+        private static final int DEFAULT_MAX_ATTEMPTS = 0;
+
+        /**
+         * Gets the maximum number of copies of a call that are sent, including the original call.
+         *
+         * @return The maximum number of attempts.
+         * @see #setMaxAttempts(Integer)
+         */
+        public int getMaxAttempts() {
+            return this.maxAttempts == null ? DEFAULT_MAX_ATTEMPTS : this.maxAttempts;
+        }
+
+        /**
+         * Sets the maximum number of copies of a call that are sent, including the original call. Values greater than
+         * {@code 5} are limited to {@code 5} by grpc. Defaults to {@code 0}, which disables hedging.
+         *
+         * @param maxAttempts The maximum number of attempts or null to use the fallback.
+         */
+        public void setMaxAttempts(final Integer maxAttempts) {
+            if (maxAttempts != null && maxAttempts < 0) {
+                throw new IllegalArgumentException("MaxAttempts must not be negative");
+            }
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * Gets whether this hedging policy is enabled.
+         *
+         * @return True, if the max attempts are greater than {@code 1}. False otherwise.
+         */
+        public boolean isEnabled() {
+            return getMaxAttempts() > 1;
+        }
+
+        // --------------------------------------------------
+
+        private Duration hedgingDelay;
+        private static final Duration DEFAULT_HEDGING_DELAY = Duration.ZERO;
+
+        /**
+         * Gets the delay after which the next copy of a call is sent, if no response has been received yet.
+         *
+         * @return The hedging delay.
+         * @see #setHedgingDelay(Duration)
+         */
+        public Duration getHedgingDelay() {
+            return this.hedgingDelay == null ? DEFAULT_HEDGING_DELAY : this.hedgingDelay;
+        }
+
+        /**
+         * Sets the delay after which the next copy of a call is sent, if no response has been received yet. A delay of
+         * zero sends all copies at once. Defaults to {@code 0}.
+         *
+         * @param hedgingDelay The hedging delay or null to use the fallback.
+         */
+        public void setHedgingDelay(final Duration hedgingDelay) {
+            if (hedgingDelay != null && hedgingDelay.isNegative()) {
+                throw new IllegalArgumentException("HedgingDelay must not be negative");
+            }
+            this.hedgingDelay = hedgingDelay;
+        }
+
+        // --------------------------------------------------
+
+        private List<Status.Code> nonFatalStatusCodes;
+
+        /**
+         * Gets the status codes of failed calls that don't cancel the other copies of the call.
+         *
+         * @return The non fatal status codes.
+         * @see #setNonFatalStatusCodes(List)
+         */
+        public List<Status.Code> getNonFatalStatusCodes() {
+            return this.nonFatalStatusCodes == null ? Collections.emptyList() : this.nonFatalStatusCodes;
+        }
+
+        /**
+         * Sets the status codes of failed calls that don't cancel the other copies of the call. If a copy fails with
+         * any other status code, all other copies are cancelled and the status is returned to the caller. Defaults to
+         * no status codes.
+         *
+         * @param nonFatalStatusCodes The non fatal status codes or null to use the fallback.
+         */
+        public void setNonFatalStatusCodes(final List<Status.Code> nonFatalStatusCodes) {
+            this.nonFatalStatusCodes = nonFatalStatusCodes;
+        }
+
+        // --------------------------------------------------
+
+        /**
+         * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please
+         * note that the getters might return fallback values instead.
+         *
+         * @param config The config to copy the defaults from.
+         */
+        public void copyDefaultsFrom(final HedgingPolicy config) {
+            if (this == config) {
+                return;
+            }
+            if (this.maxAttempts == null) {
+                this.maxAttempts = config.maxAttempts;
+            }
+            if (this.hedgingDelay == null) {
+                this.hedgingDelay = config.hedgingDelay;
+            }
+            if (this.nonFatalStatusCodes == null) {
+                this.nonFatalStatusCodes = config.nonFatalStatusCodes;
+            }
+        }
+
+    }
+
+    /**
+     * A container with the retry and hedging policies for a single service or method.
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class MethodConfig {
+
+        private String service;
+
+        /**
+         * Gets the full name of the service the policies apply to.
+         *
+         * @return The full name of the service.
+         * @see #setService(String)
+         */
+        public String getService() {
+            return this.service;
+        }
+
+        /**
+         * Sets the full name of the service the policies apply to, e.g. {@code my.package.MyService}.
+         *
+         * @param service The full name of the service.
+         */
+        public void setService(final String service) {
+            this.service = service;
+        }
+
+        // --------------------------------------------------
+
+        private String method;
+
+        /**
+         * Gets the name of the method the policies apply to.
+         *
+         * @return The name of the method or null, if the policies apply to all methods of the service.
+         * @see #setMethod(String)
+         */
+        public String getMethod() {
+            return this.method;
+        }
+
+        /**
+         * Sets the name of the method the policies apply to, e.g. {@code MyMethod}. If not set ({@code null}) the
+         * policies apply to all methods of the service.
+         *
+         * @param method The name of the method or null to apply the policies to all methods of the service.
+         */
+        public void setMethod(final String method) {
+            this.method = method;
+        }
+
+        // --------------------------------------------------
+
+        private final RetryPolicy retryPolicy = new RetryPolicy();
+
+        /**
+         * Gets the retry policy for the service or method.
+         *
+         * @return The retry policy.
+         */
+        public RetryPolicy getRetryPolicy() {
+            return this.retryPolicy;
+        }
+
+        // --------------------------------------------------
+
+        private final HedgingPolicy hedgingPolicy = new HedgingPolicy();
+
+        /**
+         * Gets the hedging policy for the service or method. Hedging and retries can't be combined for the same method.
+         *
+         * @return The hedging policy.
+         */
+        public HedgingPolicy getHedgingPolicy() {
+            return this.hedgingPolicy;
+        }
+
+    }
+
+    /**
+     * A container with options for the outlier detection, which temporarily ejects backends with a high error rate from
+     * the load balancing.
+     *
+     * @see <a href="https://github.com/grpc/proposal/blob/master/A50-xds-outlier-detection.md">gRFC A50</a>
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class OutlierDetection {
+
+        private Boolean enabled;
+        private static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * Gets whether outlier detection is enabled.
+         *
+         * @return Whether outlier detection is enabled.
+         * @see #setEnabled(Boolean)
+         */
+        public boolean isEnabled() {
+            return this.enabled == null ? DEFAULT_ENABLED : this.enabled;
+        }
+
+        /**
+         * Sets whether outlier detection is enabled. Outlier detection wraps the channel's load balancing policy and
+         * temporarily ejects backends with a high error rate. Defaults to {@code false}.
+         *
+         * @param enabled Whether outlier detection is enabled or null to use the fallback.
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        // --------------------------------------------------
+
+        private Duration interval;
+        private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+
+        /**
+         * Gets the interval between two ejection analysis sweeps.
+         *
+         * @return The interval between two ejection analysis sweeps.
+         * @see #setInterval(Duration)
+         */
+        public Duration getInterval() {
+            return this.interval == null ? DEFAULT_INTERVAL : this.interval;
+        }
+
+        /**
+         * Sets the interval between two ejection analysis sweeps. Defaults to {@code 10s}.
+         *
+         * @param interval The interval between two ejection analysis sweeps or null to use the fallback.
+         */
+        public void setInterval(final Duration interval) {
+            if (interval != null && (interval.isNegative() || interval.isZero())) {
+                throw new IllegalArgumentException("Interval must be positive");
+            }
+            this.interval = interval;
+        }
+
+        // --------------------------------------------------
+
+        private Duration baseEjectionTime;
+        private static final Duration DEFAULT_BASE_EJECTION_TIME = Duration.ofSeconds(30);
+
+        /**
+         * Gets the base time a backend is ejected for.
+         *
+         * @return The base time a backend is ejected for.
+         * @see #setBaseEjectionTime(Duration)
+         */
+        public Duration getBaseEjectionTime() {
+            return this.baseEjectionTime == null ? DEFAULT_BASE_EJECTION_TIME : this.baseEjectionTime;
+        }
+
+        /**
+         * Sets the base time a backend is ejected for. The actual time is multiplied by the number of times the backend
+         * has been ejected. Defaults to {@code 30s}.
+         *
+         * @param baseEjectionTime The base time a backend is ejected for or null to use the fallback.
+         */
+        public void setBaseEjectionTime(final Duration baseEjectionTime) {
+            if (baseEjectionTime != null && baseEjectionTime.isNegative()) {
+                throw new IllegalArgumentException("BaseEjectionTime must not be negative");
+            }
+            this.baseEjectionTime = baseEjectionTime;
+        }
+
+        // --------------------------------------------------
+
+        private Duration maxEjectionTime;
+        private static final Duration DEFAULT_MAX_EJECTION_TIME = Duration.ofMinutes(5);
+
+        /**
+         * Gets the maximum time a backend is ejected for.
+         *
+         * @return The maximum time a backend is ejected for.
+         * @see #setMaxEjectionTime(Duration)
+         */
+        public Duration getMaxEjectionTime() {
+            return this.maxEjectionTime == null ? DEFAULT_MAX_EJECTION_TIME : this.maxEjectionTime;
+        }
+
+        /**
+         * Sets the maximum time a backend is ejected for. Defaults to {@code 300s}.
+         *
+         * @param maxEjectionTime The maximum time a backend is ejected for or null to use the fallback.
+         */
+        public void setMaxEjectionTime(final Duration maxEjectionTime) {
+            if (maxEjectionTime != null && maxEjectionTime.isNegative()) {
+                throw new IllegalArgumentException("MaxEjectionTime must not be negative");
+            }
+            this.maxEjectionTime = maxEjectionTime;
+        }
+
+        // --------------------------------------------------
+
+        private Integer maxEjectionPercent;
+        private static final int DEFAULT_MAX_EJECTION_PERCENT = 10;
+
+        /**
+         * Gets the maximum percentage of backends that can be ejected at the same time.
+         *
+         * @return The maximum percentage of backends that can be ejected at the same time.
+         * @see #setMaxEjectionPercent(Integer)
+         */
+        public int getMaxEjectionPercent() {
+            return this.maxEjectionPercent == null ? DEFAULT_MAX_EJECTION_PERCENT : this.maxEjectionPercent;
+        }
+
+        /**
+         * Sets the maximum percentage of backends that can be ejected at the same time. Defaults to {@code 10}.
+         *
+         * @param maxEjectionPercent The maximum percentage of backends that can be ejected at the same time or null to
+         *        use the fallback.
+         */
+        public void setMaxEjectionPercent(final Integer maxEjectionPercent) {
+            if (maxEjectionPercent != null && (maxEjectionPercent < 0 || maxEjectionPercent > 100)) {
+                throw new IllegalArgumentException("MaxEjectionPercent must be between 0 and 100");
+            }
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+
+        // --------------------------------------------------
+
+        private Integer successRateStdevFactor;
+        private static final int DEFAULT_SUCCESS_RATE_STDEV_FACTOR = 1900;
+
+        /**
+         * Gets the factor for the success rate ejection, divided by 1000.
+         *
+         * @return The factor for the success rate ejection, divided by 1000.
+         * @see #setSuccessRateStdevFactor(Integer)
+         */
+        public int getSuccessRateStdevFactor() {
+            return this.successRateStdevFactor == null ? DEFAULT_SUCCESS_RATE_STDEV_FACTOR
+                    : this.successRateStdevFactor;
+        }
+
+        /**
+         * Sets the factor for the success rate ejection, divided by 1000. Backends whose success rate is lower than the
+         * mean success rate minus the standard deviation times this factor are ejected. Defaults to {@code 1900}.
+         *
+         * @param successRateStdevFactor The factor for the success rate ejection, divided by 1000 or null to use the
+         *        fallback.
+         */
+        public void setSuccessRateStdevFactor(final Integer successRateStdevFactor) {
+            if (successRateStdevFactor != null && successRateStdevFactor < 0) {
+                throw new IllegalArgumentException("SuccessRateStdevFactor must not be negative");
+            }
+            this.successRateStdevFactor = successRateStdevFactor;
+        }
+
+        // --------------------------------------------------
+
+        private Integer successRateEnforcementPercentage;
+        private static final int DEFAULT_SUCCESS_RATE_ENFORCEMENT_PERCENTAGE = 100;
+
+        /**
+         * Gets the probability in percent with which a backend is ejected by the success rate ejection.
+         *
+         * @return The probability in percent with which a backend is ejected by the success rate ejection.
+         * @see #setSuccessRateEnforcementPercentage(Integer)
+         */
+        public int getSuccessRateEnforcementPercentage() {
+            return this.successRateEnforcementPercentage == null ? DEFAULT_SUCCESS_RATE_ENFORCEMENT_PERCENTAGE
+                    : this.successRateEnforcementPercentage;
+        }
+
+        /**
+         * Sets the probability in percent with which a backend, that is considered an outlier by the success rate
+         * ejection, is actually ejected. Set to {@code 0} to disable the success rate ejection. Defaults to
+         * {@code 100}.
+         *
+         * @param successRateEnforcementPercentage The probability in percent with which a backend is ejected by the
+         *        success rate ejection or null to use the fallback.
+         */
+        public void setSuccessRateEnforcementPercentage(final Integer successRateEnforcementPercentage) {
+            if (successRateEnforcementPercentage != null
+                    && (successRateEnforcementPercentage < 0 || successRateEnforcementPercentage > 100)) {
+                throw new IllegalArgumentException("SuccessRateEnforcementPercentage must be between 0 and 100");
+            }
+            this.successRateEnforcementPercentage = successRateEnforcementPercentage;
+        }
+
+        // --------------------------------------------------
+
+        private Integer successRateMinimumHosts;
+        private static final int DEFAULT_SUCCESS_RATE_MINIMUM_HOSTS = 5;
+
+        /**
+         * Gets the minimum number of backends with enough calls for the success rate ejection.
+         *
+         * @return The minimum number of backends with enough calls for the success rate ejection.
+         * @see #setSuccessRateMinimumHosts(Integer)
+         */
+        public int getSuccessRateMinimumHosts() {
+            return this.successRateMinimumHosts == null ? DEFAULT_SUCCESS_RATE_MINIMUM_HOSTS
+                    : this.successRateMinimumHosts;
+        }
+
+        /**
+         * Sets the minimum number of backends with enough calls that are required to perform the success rate ejection.
+         * Defaults to {@code 5}.
+         *
+         * @param successRateMinimumHosts The minimum number of backends with enough calls for the success rate ejection
+         *        or null to use the fallback.
+         */
+        public void setSuccessRateMinimumHosts(final Integer successRateMinimumHosts) {
+            if (successRateMinimumHosts != null && successRateMinimumHosts < 0) {
+                throw new IllegalArgumentException("SuccessRateMinimumHosts must not be negative");
+            }
+            this.successRateMinimumHosts = successRateMinimumHosts;
+        }
+
+        // --------------------------------------------------
+
+        private Integer successRateRequestVolume;
+        private static final int DEFAULT_SUCCESS_RATE_REQUEST_VOLUME = 100;
+
+        /**
+         * Gets the minimum number of calls per interval for a backend to be considered by the success rate ejection.
+         *
+         * @return The minimum number of calls per interval for a backend to be considered by the success rate ejection.
+         * @see #setSuccessRateRequestVolume(Integer)
+         */
+        public int getSuccessRateRequestVolume() {
+            return this.successRateRequestVolume == null ? DEFAULT_SUCCESS_RATE_REQUEST_VOLUME
+                    : this.successRateRequestVolume;
+        }
+
+        /**
+         * Sets the minimum number of calls per interval for a backend to be considered by the success rate ejection.
+         * Defaults to {@code 100}.
+         *
+         * @param successRateRequestVolume The minimum number of calls per interval for a backend to be considered by
+         *        the success rate ejection or null to use the fallback.
+         */
+        public void setSuccessRateRequestVolume(final Integer successRateRequestVolume) {
+            if (successRateRequestVolume != null && successRateRequestVolume < 0) {
+                throw new IllegalArgumentException("SuccessRateRequestVolume must not be negative");
+            }
+            this.successRateRequestVolume = successRateRequestVolume;
+        }
+
+        // --------------------------------------------------
+
+        private Integer failurePercentageThreshold;
+        private static final int DEFAULT_FAILURE_PERCENTAGE_THRESHOLD = 85;
+
+        /**
+         * Gets the failure percentage above which a backend is ejected by the failure percentage ejection.
+         *
+         * @return The failure percentage above which a backend is ejected by the failure percentage ejection.
+         * @see #setFailurePercentageThreshold(Integer)
+         */
+        public int getFailurePercentageThreshold() {
+            return this.failurePercentageThreshold == null ? DEFAULT_FAILURE_PERCENTAGE_THRESHOLD
+                    : this.failurePercentageThreshold;
+        }
+
+        /**
+         * Sets the failure percentage above which a backend is ejected by the failure percentage ejection. Defaults to
+         * {@code 85}.
+         *
+         * @param failurePercentageThreshold The failure percentage above which a backend is ejected by the failure
+         *        percentage ejection or null to use the fallback.
+         */
+        public void setFailurePercentageThreshold(final Integer failurePercentageThreshold) {
+            if (failurePercentageThreshold != null
+                    && (failurePercentageThreshold < 0 || failurePercentageThreshold > 100)) {
+                throw new IllegalArgumentException("FailurePercentageThreshold must be between 0 and 100");
+            }
+            this.failurePercentageThreshold = failurePercentageThreshold;
+        }
+
+        // --------------------------------------------------
+
+        private Integer failurePercentageEnforcementPercentage;
+        private static final int DEFAULT_FAILURE_PERCENTAGE_ENFORCEMENT_PERCENTAGE = 0;
+
+        /**
+         * Gets the probability in percent with which a backend is ejected by the failure percentage ejection.
+         *
+         * @return The probability in percent with which a backend is ejected by the failure percentage ejection.
+         * @see #setFailurePercentageEnforcementPercentage(Integer)
+         */
+        public int getFailurePercentageEnforcementPercentage() {
+            return this.failurePercentageEnforcementPercentage == null
+                    ? DEFAULT_FAILURE_PERCENTAGE_ENFORCEMENT_PERCENTAGE
+                    : this.failurePercentageEnforcementPercentage;
+        }
+
+        /**
+         * Sets the probability in percent with which a backend, that exceeds the failure percentage threshold, is
+         * actually ejected. The failure percentage ejection is disabled by default. Defaults to {@code 0}.
+         *
+         * @param failurePercentageEnforcementPercentage The probability in percent with which a backend is ejected by
+         *        the failure percentage ejection or null to use the fallback.
+         */
+        public void setFailurePercentageEnforcementPercentage(final Integer failurePercentageEnforcementPercentage) {
+            if (failurePercentageEnforcementPercentage != null
+                    && (failurePercentageEnforcementPercentage < 0 || failurePercentageEnforcementPercentage > 100)) {
+                throw new IllegalArgumentException("FailurePercentageEnforcementPercentage must be between 0 and 100");
+            }
+            this.failurePercentageEnforcementPercentage = failurePercentageEnforcementPercentage;
+        }
+
+        // --------------------------------------------------
+
+        private Integer failurePercentageMinimumHosts;
+        private static final int DEFAULT_FAILURE_PERCENTAGE_MINIMUM_HOSTS = 5;
+
+        /**
+         * Gets the minimum number of backends with enough calls for the failure percentage ejection.
+         *
+         * @return The minimum number of backends with enough calls for the failure percentage ejection.
+         * @see #setFailurePercentageMinimumHosts(Integer)
+         */
+        public int getFailurePercentageMinimumHosts() {
+            return this.failurePercentageMinimumHosts == null ? DEFAULT_FAILURE_PERCENTAGE_MINIMUM_HOSTS
+                    : this.failurePercentageMinimumHosts;
+        }
+
+        /**
+         * Sets the minimum number of backends with enough calls that are required to perform the failure percentage
+         * ejection. Defaults to {@code 5}.
+         *
+         * @param failurePercentageMinimumHosts The minimum number of backends with enough calls for the failure
+         *        percentage ejection or null to use the fallback.
+         */
+        public void setFailurePercentageMinimumHosts(final Integer failurePercentageMinimumHosts) {
+            if (failurePercentageMinimumHosts != null && failurePercentageMinimumHosts < 0) {
+                throw new IllegalArgumentException("FailurePercentageMinimumHosts must not be negative");
+            }
+            this.failurePercentageMinimumHosts = failurePercentageMinimumHosts;
+        }
+
+        // --------------------------------------------------
+
+        private Integer failurePercentageRequestVolume;
+        private static final int DEFAULT_FAILURE_PERCENTAGE_REQUEST_VOLUME = 50;
+
+        /**
+         * Gets the minimum number of calls per interval for a backend to be considered by the failure percentage
+         * ejection.
+         *
+         * @return The minimum number of calls per interval for a backend to be considered by the failure percentage
+         *         ejection.
+         * @see #setFailurePercentageRequestVolume(Integer)
+         */
+        public int getFailurePercentageRequestVolume() {
+            return this.failurePercentageRequestVolume == null ? DEFAULT_FAILURE_PERCENTAGE_REQUEST_VOLUME
+                    : this.failurePercentageRequestVolume;
+        }
+
+        /**
+         * Sets the minimum number of calls per interval for a backend to be considered by the failure percentage
+         * ejection. Defaults to {@code 50}.
+         *
+         * @param failurePercentageRequestVolume The minimum number of calls per interval for a backend to be considered
+         *        by the failure percentage ejection or null to use the fallback.
+         */
+        public void setFailurePercentageRequestVolume(final Integer failurePercentageRequestVolume) {
+            if (failurePercentageRequestVolume != null && failurePercentageRequestVolume < 0) {
+                throw new IllegalArgumentException("FailurePercentageRequestVolume must not be negative");
+            }
+            this.failurePercentageRequestVolume = failurePercentageRequestVolume;
+        }
+
+        // --------------------------------------------------
+
+        /**
+         * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please
+         * note that the getters might return fallback values instead.
+         *
+         * @param config The config to copy the defaults from.
+         */
+        public void copyDefaultsFrom(final OutlierDetection config) {
+            if (this == config) {
+                return;
+            }
+            if (this.enabled == null) {
+                this.enabled = config.enabled;
+            }
+            if (this.interval == null) {
+                this.interval = config.interval;
+            }
+            if (this.baseEjectionTime == null) {
+                this.baseEjectionTime = config.baseEjectionTime;
+            }
+            if (this.maxEjectionTime == null) {
+                this.maxEjectionTime = config.maxEjectionTime;
+            }
+            if (this.maxEjectionPercent == null) {
+                this.maxEjectionPercent = config.maxEjectionPercent;
+            }
+            if (this.successRateStdevFactor == null) {
+                this.successRateStdevFactor = config.successRateStdevFactor;
+            }
+            if (this.successRateEnforcementPercentage == null) {
+                this.successRateEnforcementPercentage = config.successRateEnforcementPercentage;
+            }
+            if (this.successRateMinimumHosts == null) {
+                this.successRateMinimumHosts = config.successRateMinimumHosts;
+            }
+            if (this.successRateRequestVolume == null) {
+                this.successRateRequestVolume = config.successRateRequestVolume;
+            }
+            if (this.failurePercentageThreshold == null) {
+                this.failurePercentageThreshold = config.failurePercentageThreshold;
+            }
+            if (this.failurePercentageEnforcementPercentage == null) {
+                this.failurePercentageEnforcementPercentage = config.failurePercentageEnforcementPercentage;
+            }
+            if (this.failurePercentageMinimumHosts == null) {
+                this.failurePercentageMinimumHosts = config.failurePercentageMinimumHosts;
+            }
+            if (this.failurePercentageRequestVolume == null) {
+                this.failurePercentageRequestVolume = config.failurePercentageRequestVolume;
+            }
+        }
+
+    }
+
+    /**
+     * A container with options for the weighted round robin load balancing, which weights the backends based on the
+     * load they report using ORCA.
+     *
+     * @see <a href="https://github.com/grpc/proposal/blob/master/A58-client-side-weighted-round-robin-lb-policy.md">gRFC A58</a>
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class WeightedRoundRobin {
+
+        private Boolean enabled;
+        private static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * Gets whether the weighted round robin load balancing policy is used.
+         *
+         * @return Whether the weighted round robin load balancing policy is used.
+         * @see #setEnabled(Boolean)
+         */
+        public boolean isEnabled() {
+            return this.enabled == null ? DEFAULT_ENABLED : this.enabled;
+        }
+
+        /**
+         * Sets whether the {@code weighted_round_robin} load balancing policy is used instead of the
+         * {@link SimpleGrpcChannelProperties#setDefaultLoadBalancingPolicy(String) default load balancing policy}. The
+         * policy weights the backends based on the utilization and call rates they report using ORCA. Requires
+         * {@code grpc-xds} on the classpath. Defaults to {@code false}.
+         *
+         * @param enabled Whether the weighted round robin load balancing policy is used or null to use the fallback.
+         */
+        public void setEnabled(final Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        // --------------------------------------------------
+
+        private Boolean enableOobLoadReport;
+        private static final boolean DEFAULT_ENABLE_OOB_LOAD_REPORT = false;
+
+        /**
+         * Gets whether the backends' load is reported out-of-band instead of per call.
+         *
+         * @return Whether the backends' load is reported out-of-band instead of per call.
+         * @see #setEnableOobLoadReport(Boolean)
+         */
+        public boolean isEnableOobLoadReport() {
+            return this.enableOobLoadReport == null ? DEFAULT_ENABLE_OOB_LOAD_REPORT : this.enableOobLoadReport;
+        }
+
+        /**
+         * Sets whether the backends' load is reported periodically using a separate out-of-band stream instead of with
+         * each call's trailers. Defaults to {@code false}.
+         *
+         * @param enableOobLoadReport Whether the backends' load is reported out-of-band instead of per call or null to
+         *        use the fallback.
+         */
+        public void setEnableOobLoadReport(final Boolean enableOobLoadReport) {
+            this.enableOobLoadReport = enableOobLoadReport;
+        }
+
+        // --------------------------------------------------
+
+        private Duration oobReportingPeriod;
+        private static final Duration DEFAULT_OOB_REPORTING_PERIOD = Duration.ofSeconds(10);
+
+        /**
+         * Gets the interval in which the backends report their load out-of-band.
+         *
+         * @return The interval in which the backends report their load out-of-band.
+         * @see #setOobReportingPeriod(Duration)
+         */
+        public Duration getOobReportingPeriod() {
+            return this.oobReportingPeriod == null ? DEFAULT_OOB_REPORTING_PERIOD : this.oobReportingPeriod;
+        }
+
+        /**
+         * Sets the interval in which the backends report their load out-of-band. Only used if the out-of-band load
+         * report is enabled. Defaults to {@code 10s}.
+         *
+         * @param oobReportingPeriod The interval in which the backends report their load out-of-band or null to use the
+         *        fallback.
+         */
+        public void setOobReportingPeriod(final Duration oobReportingPeriod) {
+            if (oobReportingPeriod != null && (oobReportingPeriod.isNegative() || oobReportingPeriod.isZero())) {
+                throw new IllegalArgumentException("OobReportingPeriod must be positive");
+            }
+            this.oobReportingPeriod = oobReportingPeriod;
+        }
+
+        // --------------------------------------------------
+
+        private Duration blackoutPeriod;
+        private static final Duration DEFAULT_BLACKOUT_PERIOD = Duration.ofSeconds(10);
+
+        /**
+         * Gets the time a backend has to report its load before its weight is used.
+         *
+         * @return The time a backend has to report its load before its weight is used.
+         * @see #setBlackoutPeriod(Duration)
+         */
+        public Duration getBlackoutPeriod() {
+            return this.blackoutPeriod == null ? DEFAULT_BLACKOUT_PERIOD : this.blackoutPeriod;
+        }
+
+        /**
+         * Sets the time a backend has to report its load before its weight is used. Backends without a weight receive
+         * the mean weight. Defaults to {@code 10s}.
+         *
+         * @param blackoutPeriod The time a backend has to report its load before its weight is used or null to use the
+         *        fallback.
+         */
+        public void setBlackoutPeriod(final Duration blackoutPeriod) {
+            if (blackoutPeriod != null && blackoutPeriod.isNegative()) {
+                throw new IllegalArgumentException("BlackoutPeriod must not be negative");
+            }
+            this.blackoutPeriod = blackoutPeriod;
+        }
+
+        // --------------------------------------------------
+
+        private Duration weightExpirationPeriod;
+        private static final Duration DEFAULT_WEIGHT_EXPIRATION_PERIOD = Duration.ofMinutes(3);
+
+        /**
+         * Gets the time after which the weight of a backend expires, if it doesn't report its load anymore.
+         *
+         * @return The time after which the weight of a backend expires, if it doesn't report its load anymore.
+         * @see #setWeightExpirationPeriod(Duration)
+         */
+        public Duration getWeightExpirationPeriod() {
+            return this.weightExpirationPeriod == null ? DEFAULT_WEIGHT_EXPIRATION_PERIOD : this.weightExpirationPeriod;
+        }
+
+        /**
+         * Sets the time after which the weight of a backend expires, if it doesn't report its load anymore. Defaults to
+         * {@code 3m}.
+         *
+         * @param weightExpirationPeriod The time after which the weight of a backend expires, if it doesn't report its
+         *        load anymore or null to use the fallback.
+         */
+        public void setWeightExpirationPeriod(final Duration weightExpirationPeriod) {
+            if (weightExpirationPeriod != null
+                    && (weightExpirationPeriod.isNegative() || weightExpirationPeriod.isZero())) {
+                throw new IllegalArgumentException("WeightExpirationPeriod must be positive");
+            }
+            this.weightExpirationPeriod = weightExpirationPeriod;
+        }
+
+        // --------------------------------------------------
+
+        private Duration weightUpdatePeriod;
+        private static final Duration DEFAULT_WEIGHT_UPDATE_PERIOD = Duration.ofSeconds(1);
+
+        /**
+         * Gets the interval in which the weights of the backends are recalculated.
+         *
+         * @return The interval in which the weights of the backends are recalculated.
+         * @see #setWeightUpdatePeriod(Duration)
+         */
+        public Duration getWeightUpdatePeriod() {
+            return this.weightUpdatePeriod == null ? DEFAULT_WEIGHT_UPDATE_PERIOD : this.weightUpdatePeriod;
+        }
+
+        /**
+         * Sets the interval in which the weights of the backends are recalculated. Defaults to {@code 1s}.
+         *
+         * @param weightUpdatePeriod The interval in which the weights of the backends are recalculated or null to use
+         *        the fallback.
+         */
+        public void setWeightUpdatePeriod(final Duration weightUpdatePeriod) {
+            if (weightUpdatePeriod != null && (weightUpdatePeriod.isNegative() || weightUpdatePeriod.isZero())) {
+                throw new IllegalArgumentException("WeightUpdatePeriod must be positive");
+            }
+            this.weightUpdatePeriod = weightUpdatePeriod;
+        }
+
+        // --------------------------------------------------
+
+        private Double errorUtilizationPenalty;
+        private static final double DEFAULT_ERROR_UTILIZATION_PENALTY = 1.0;
+
+        /**
+         * Gets the penalty for the error rate of a backend when calculating its weight.
+         *
+         * @return The penalty for the error rate of a backend when calculating its weight.
+         * @see #setErrorUtilizationPenalty(Double)
+         */
+        public double getErrorUtilizationPenalty() {
+            return this.errorUtilizationPenalty == null ? DEFAULT_ERROR_UTILIZATION_PENALTY
+                    : this.errorUtilizationPenalty;
+        }
+
+        /**
+         * Sets the penalty for the error rate of a backend when calculating its weight. The weight is calculated as
+         * {@code qps / (utilization + eps / qps * errorUtilizationPenalty)}. Defaults to {@code 1.0}.
+         *
+         * @param errorUtilizationPenalty The penalty for the error rate of a backend when calculating its weight or
+         *        null to use the fallback.
+         */
+        public void setErrorUtilizationPenalty(final Double errorUtilizationPenalty) {
+            if (errorUtilizationPenalty != null && errorUtilizationPenalty < 0) {
+                throw new IllegalArgumentException("ErrorUtilizationPenalty must not be negative");
+            }
+            this.errorUtilizationPenalty = errorUtilizationPenalty;
+        }
+
+        // --------------------------------------------------
+
+        /**
+         * Copies the defaults from the given configuration. Values are considered "default" if they are null. Please
+         * note that the getters might return fallback values instead.
+         *
+         * @param config The config to copy the defaults from.
+         */
+        public void copyDefaultsFrom(final WeightedRoundRobin config) {
+            if (this == config) {
+                return;
+            }
+            if (this.enabled == null) {
+                this.enabled = config.enabled;
+            }
+            if (this.enableOobLoadReport == null) {
+                this.enableOobLoadReport = config.enableOobLoadReport;
+            }
+            if (this.oobReportingPeriod == null) {
+                this.oobReportingPeriod = config.oobReportingPeriod;
+            }
+            if (this.blackoutPeriod == null) {
+                this.blackoutPeriod = config.blackoutPeriod;
+            }
+            if (this.weightExpirationPeriod == null) {
+                this.weightExpirationPeriod = config.weightExpirationPeriod;
+            }
+            if (this.weightUpdatePeriod == null) {
+                this.weightUpdatePeriod = config.weightUpdatePeriod;
+            }
+            if (this.errorUtilizationPenalty == null) {
+                this.errorUtilizationPenalty = config.errorUtilizationPenalty;
+            }
+        }
+
+    }
+
 }
@@ -42,6 +42,13 @@ public class SimpleGrpcChannelsProperties {
     public static final String GLOBAL_PROPERTIES_KEY = "GLOBAL";
 
     private final Map<String, SimpleGrpcChannelProperties> client = new ConcurrentHashMap<>();
+    /**
+     * The fully resolved snapshots of the channel properties, so that the global properties don't have to be merged
+     * on every access.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, SimpleGrpcChannelProperties> resolvedClient = new ConcurrentHashMap<>();
 
     /**
      * Gets the configuration mapping for each client.
@@ -66,6 +73,46 @@ public SimpleGrpcChannelProperties getChannel(final String name) {
         return properties;
     }
 
+    /**
+     * Gets the fully resolved properties for the given channel. Unlike {@link #getChannel(String)} this method neither
+     * creates nor modifies the configured properties, instead it returns a snapshot that contains the channel's
+     * properties merged with the global properties. The snapshot is computed once per channel and shared, so it must
+     * not be modified. Call {@link #invalidateResolvedChannels()} after the properties have been changed.
+     *
+     * @param name The name of the channel to get the properties for.
+     * @return The resolved properties for the given channel name.
+     */
+    public SimpleGrpcChannelProperties getResolvedChannel(final String name) {
+        return this.resolvedClient.computeIfAbsent(name, this::resolveChannel);
+    }
+
+    /**
+     * Creates a new snapshot of the properties for the given channel, that is merged with the global properties.
+     *
+     * @param name The name of the channel to resolve the properties for.
+     * @return The newly created snapshot.
+     */
+    private SimpleGrpcChannelProperties resolveChannel(final String name) {
+        final SimpleGrpcChannelProperties resolved = new SimpleGrpcChannelProperties();
+        final SimpleGrpcChannelProperties raw = this.client.get(name);
+        if (raw != null) {
+            resolved.copyDefaultsFrom(raw);
+        }
+        final SimpleGrpcChannelProperties global = this.client.get(GLOBAL_PROPERTIES_KEY);
+        if (global != null) {
+            resolved.copyDefaultsFrom(global);
+        }
+        return resolved;
+    }
+
+    /**
+     * Discards the resolved snapshots of the channel properties, so that they will be computed again on the next
+     * access. This has to be called whenever the channel properties change.
+     */
+    public void invalidateResolvedChannels() {
+        this.resolvedClient.clear();
+    }
+
     /**
      * Gets the global channel properties. Global properties are used, if the channel properties don't overwrite them.
      * If neither the global nor the per client properties are set then default values will be used.
@@ -110,4 +157,31 @@ public void setDefaultScheme(String defaultScheme) {
         this.defaultScheme = defaultScheme;
     }
 
+    private int domainSocketEventLoopThreads = 0;
+
+    /**
+     * Gets the number of threads used by the event loop that is shared between all domain socket ({@code unix:})
+     * channels of a channel factory.
+     *
+     * @return The number of event loop threads or {@code 0} to use netty's default.
+     * @see #setDomainSocketEventLoopThreads(int)
+     */
+    public int getDomainSocketEventLoopThreads() {
+        return this.domainSocketEventLoopThreads;
+    }
+
+    /**
+     * Sets the number of threads used by the event loop that is shared between all domain socket ({@code unix:})
+     * channels of a channel factory. The event loop is created on first use and shut down together with the channel
+     * factory. Defaults to {@code 0}, which uses netty's default (twice the number of available processors).
+     *
+     * @param domainSocketEventLoopThreads The number of event loop threads or {@code 0} to use netty's default.
+     */
+    public void setDomainSocketEventLoopThreads(final int domainSocketEventLoopThreads) {
+        if (domainSocketEventLoopThreads < 0) {
+            throw new IllegalArgumentException("DomainSocketEventLoopThreads can't be negative");
+        }
+        this.domainSocketEventLoopThreads = domainSocketEventLoopThreads;
+    }
+
 }
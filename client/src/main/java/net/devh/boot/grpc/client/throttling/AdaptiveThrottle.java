@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.throttling;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * A client side adaptive throttle as described in the "Handling Overload" chapter of the Google SRE book. The throttle
+ * tracks the number of requests and the number of requests accepted by the server within a sliding window and rejects
+ * new requests locally with a probability of {@code max(0, (requests - multiplier * accepts) / (requests + 1))}.
+ * Requests are only counted once they are completed or rejected locally, so that requests that are still in flight
+ * (e.g. during a cold start burst) don't increase the rejection probability.
+ *
+ * <p>
+ * As long as the server accepts all requests, no request will be rejected. If the server starts to reject requests,
+ * the client will reject a growing share of the requests on its own, until the requests that are actually sent match
+ * the capacity of the server again.
+ * </p>
+ */
+public final class AdaptiveThrottle {
+
+    private static final int BUCKETS = 16;
+
+    private final double multiplier;
+    private final long bucketNanos;
+    private final LongSupplier ticker;
+    private final DoubleSupplier random;
+
+    private final long[] bucketIds = new long[BUCKETS];
+    private final long[] requests = new long[BUCKETS];
+    private final long[] accepts = new long[BUCKETS];
+
+    /**
+     * Creates a new AdaptiveThrottle.
+     *
+     * @param multiplier The multiplier for the accepted requests. Lower values reject requests more aggressively.
+     * @param window The duration of the sliding window.
+     */
+    public AdaptiveThrottle(final double multiplier, final Duration window) {
+        this(multiplier, window, System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Creates a new AdaptiveThrottle.
+     *
+     * @param multiplier The multiplier for the accepted requests. Lower values reject requests more aggressively.
+     * @param window The duration of the sliding window.
+     * @param ticker The source of the current time in nanoseconds.
+     * @param random The source of the random numbers between {@code 0} (inclusive) and {@code 1} (exclusive), that
+     *        decide whether a request is rejected.
+     */
+    AdaptiveThrottle(final double multiplier, final Duration window, final LongSupplier ticker,
+            final DoubleSupplier random) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.multiplier = multiplier;
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.ticker = ticker;
+        this.random = random;
+        // Mark all buckets as outdated
+        for (int i = 0; i < BUCKETS; i++) {
+            this.bucketIds[i] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Decides whether a new request should be rejected locally. Rejected requests are counted as requests immediately,
+     * so that the rejection probability doesn't drop as soon as the client starts to reject requests. Admitted requests
+     * have to be reported using either {@link #onAccept()} or {@link #onReject()} once they complete.
+     *
+     * @return True, if the request may be sent to the server. False, if it should be rejected locally.
+     */
+    public synchronized boolean tryAcquire() {
+        final long bucketId = currentBucketId();
+        final double probability = rejectionProbability(bucketId);
+        if (probability <= 0 || this.random.getAsDouble() >= probability) {
+            return true;
+        }
+        this.requests[bucketIndex(bucketId)]++;
+        return false;
+    }
+
+    /**
+     * Records that a request has been accepted by the server.
+     */
+    public synchronized void onAccept() {
+        final int index = bucketIndex(currentBucketId());
+        this.requests[index]++;
+        this.accepts[index]++;
+    }
+
+    /**
+     * Records that a request has been rejected by the server.
+     */
+    public synchronized void onReject() {
+        this.requests[bucketIndex(currentBucketId())]++;
+    }
+
+    /**
+     * Gets the probability with which new requests are currently rejected.
+     *
+     * @return The rejection probability between {@code 0} and {@code 1}.
+     */
+    public synchronized double getRejectionProbability() {
+        return rejectionProbability(currentBucketId());
+    }
+
+    /**
+     * Gets the id of the bucket for the current time and clears the bucket, if it still contains data from a previous
+     * window.
+     *
+     * @return The id of the current bucket.
+     */
+    private long currentBucketId() {
+        final long bucketId = this.ticker.getAsLong() / this.bucketNanos;
+        final int index = bucketIndex(bucketId);
+        if (this.bucketIds[index] != bucketId) {
+            this.bucketIds[index] = bucketId;
+            this.requests[index] = 0;
+            this.accepts[index] = 0;
+        }
+        return bucketId;
+    }
+
+    private static int bucketIndex(final long bucketId) {
+        return (int) Math.floorMod(bucketId, (long) BUCKETS);
+    }
+
+    private double rejectionProbability(final long currentBucketId) {
+        final long oldestBucketId = currentBucketId - BUCKETS;
+        long totalRequests = 0;
+        long totalAccepts = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (this.bucketIds[i] > oldestBucketId) {
+                totalRequests += this.requests[i];
+                totalAccepts += this.accepts[i];
+            }
+        }
+        return Math.max(0, (totalRequests - this.multiplier * totalAccepts) / (totalRequests + 1));
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveThrottle [multiplier=" + this.multiplier + ", rejectionProbability="
+                + getRejectionProbability() + "]";
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.throttling;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+
+/**
+ * The throttling state of a single client channel. It combines an {@link AdaptiveThrottle} with an optional
+ * {@link CircuitBreaker} and counts the calls that have been rejected locally.
+ *
+ * <p>
+ * Calls that fail with {@link Code#UNAVAILABLE UNAVAILABLE}, {@link Code#RESOURCE_EXHAUSTED RESOURCE_EXHAUSTED} or
+ * {@link Code#DEADLINE_EXCEEDED DEADLINE_EXCEEDED} are considered as not accepted by the server. Calls that are
+ * {@link Code#CANCELLED cancelled} by the client are ignored by both the adaptive throttle and the circuit breaker. All
+ * other calls are considered as accepted, because the server was able to handle them, even if it responded with an
+ * error.
+ * </p>
+ */
+public final class ChannelThrottle {
+
+    private final String name;
+    private final AdaptiveThrottle throttle;
+    private final CircuitBreaker circuitBreaker;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a new ChannelThrottle.
+     *
+     * @param name The name of the channel.
+     * @param throttle The adaptive throttle to use.
+     * @param circuitBreaker The circuit breaker to use or null to disable circuit breaking.
+     */
+    public ChannelThrottle(final String name, final AdaptiveThrottle throttle, final CircuitBreaker circuitBreaker) {
+        this.name = requireNonNull(name, "name");
+        this.throttle = requireNonNull(throttle, "throttle");
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Tries to admit a new call.
+     *
+     * @return Null, if the call is admitted, or the status the call should be failed with locally.
+     */
+    Status tryAcquire() {
+        if (this.circuitBreaker != null && !this.circuitBreaker.tryAcquire()) {
+            this.rejected.increment();
+            return Status.UNAVAILABLE
+                    .withDescription("Call rejected locally, because the circuit breaker of channel '"
+                            + this.name + "' is open");
+        }
+        if (!this.throttle.tryAcquire()) {
+            // Don't block the half-open circuit breaker with a call that never reached the server
+            if (this.circuitBreaker != null) {
+                this.circuitBreaker.onIgnored();
+            }
+            this.rejected.increment();
+            return Status.UNAVAILABLE
+                    .withDescription("Call rejected locally by the adaptive throttling of channel '"
+                            + this.name + "'");
+        }
+        return null;
+    }
+
+    /**
+     * Records the result of a previously admitted call.
+     *
+     * @param status The status the call completed with.
+     */
+    void release(final Status status) {
+        switch (status.getCode()) {
+            case UNAVAILABLE:
+            case RESOURCE_EXHAUSTED:
+            case DEADLINE_EXCEEDED:
+                this.throttle.onReject();
+                if (this.circuitBreaker != null) {
+                    this.circuitBreaker.onFailure();
+                }
+                break;
+            case CANCELLED:
+                if (this.circuitBreaker != null) {
+                    this.circuitBreaker.onIgnored();
+                }
+                break;
+            default:
+                this.throttle.onAccept();
+                if (this.circuitBreaker != null) {
+                    this.circuitBreaker.onSuccess();
+                }
+                break;
+        }
+    }
+
+    /**
+     * Gets the name of the channel this throttle is responsible for.
+     *
+     * @return The name of the channel.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the probability with which the adaptive throttle currently rejects new calls.
+     *
+     * @return The rejection probability between {@code 0} and {@code 1}.
+     */
+    public double getRejectionProbability() {
+        return this.throttle.getRejectionProbability();
+    }
+
+    /**
+     * Gets the current state of the circuit breaker.
+     *
+     * @return The state of the circuit breaker. Always {@link CircuitBreaker.State#CLOSED CLOSED}, if circuit breaking
+     *         is disabled.
+     */
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return this.circuitBreaker == null ? CircuitBreaker.State.CLOSED : this.circuitBreaker.getState();
+    }
+
+    /**
+     * Gets the total number of calls that have been rejected locally.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelThrottle [name=" + this.name + ", throttle=" + this.throttle + ", circuitBreaker="
+                + this.circuitBreaker + ", rejected=" + getRejected() + "]";
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.throttling;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker that opens after a number of consecutive failures. While open, all calls are rejected locally.
+ * After the open duration has passed, the circuit breaker becomes half-open and admits a limited number of probe
+ * calls. If all of them succeed, the circuit breaker closes again, otherwise it reopens.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * All calls are admitted.
+         */
+        CLOSED,
+
+        /**
+         * All calls are rejected.
+         */
+        OPEN,
+
+        /**
+         * A limited number of probe calls is admitted to test whether the server has recovered.
+         */
+        HALF_OPEN;
+
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier ticker;
+
+    private volatile State state = State.CLOSED;
+    private volatile int consecutiveFailures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * Creates a new CircuitBreaker.
+     *
+     * @param failureThreshold The number of consecutive failures after which the circuit breaker opens.
+     * @param openDuration The duration the circuit breaker stays open before it admits probe calls.
+     * @param halfOpenCalls The number of probe calls that have to succeed to close the circuit breaker again.
+     */
+    public CircuitBreaker(final int failureThreshold, final Duration openDuration, final int halfOpenCalls) {
+        this(failureThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    /**
+     * Creates a new CircuitBreaker.
+     *
+     * @param failureThreshold The number of consecutive failures after which the circuit breaker opens.
+     * @param openDuration The duration the circuit breaker stays open before it admits probe calls.
+     * @param halfOpenCalls The number of probe calls that have to succeed to close the circuit breaker again.
+     * @param ticker The source of the current time in nanoseconds.
+     */
+    CircuitBreaker(final int failureThreshold, final Duration openDuration, final int halfOpenCalls,
+            final LongSupplier ticker) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("FailureThreshold must be positive");
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("OpenDuration must not be negative");
+        }
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("HalfOpenCalls must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Checks whether a new call may be sent to the server. Every admitted call must be completed using
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return True, if the call is admitted. False, if it should be rejected locally.
+     */
+    public boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            switch (this.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (this.ticker.getAsLong() - this.openedAt < this.openNanos) {
+                        return false;
+                    }
+                    this.state = State.HALF_OPEN;
+                    this.halfOpenPermits = this.halfOpenCalls - 1;
+                    this.halfOpenSuccesses = 0;
+                    return true;
+                case HALF_OPEN:
+                    if (this.halfOpenPermits > 0) {
+                        this.halfOpenPermits--;
+                        return true;
+                    }
+                    return false;
+                default:
+                    throw new IllegalStateException("Unknown state: " + this.state);
+            }
+        }
+    }
+
+    /**
+     * Records that an admitted call was handled by the server.
+     */
+    public void onSuccess() {
+        if (this.state == State.CLOSED && this.consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (this.state == State.HALF_OPEN) {
+                if (++this.halfOpenSuccesses >= this.halfOpenCalls) {
+                    this.state = State.CLOSED;
+                    this.consecutiveFailures = 0;
+                }
+            } else if (this.state == State.CLOSED) {
+                this.consecutiveFailures = 0;
+            }
+        }
+    }
+
+    /**
+     * Records that an admitted call failed, because the server was overloaded or unavailable.
+     */
+    public synchronized void onFailure() {
+        if (this.state == State.HALF_OPEN) {
+            open();
+        } else if (this.state == State.CLOSED && ++this.consecutiveFailures >= this.failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Records that an admitted call completed without telling anything about the health of the server, e.g. because
+     * it was cancelled by the client.
+     */
+    public void onIgnored() {
+        if (this.state != State.HALF_OPEN) {
+            return;
+        }
+        synchronized (this) {
+            if (this.state == State.HALF_OPEN && this.halfOpenPermits + this.halfOpenSuccesses < this.halfOpenCalls) {
+                this.halfOpenPermits++;
+            }
+        }
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAt = this.ticker.getAsLong();
+        this.halfOpenPermits = 0;
+    }
+
+    /**
+     * Gets the current state of the circuit breaker. An open circuit breaker will only become half-open once the next
+     * call is attempted.
+     *
+     * @return The current state.
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker [state=" + this.state + ", consecutiveFailures=" + this.consecutiveFailures + "]";
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.client.throttling;
+
+import static java.util.Objects.requireNonNull;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall.SimpleForwardingClientCall;
+import io.grpc.ForwardingClientCallListener.SimpleForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * A client interceptor that rejects calls locally with {@link Status#UNAVAILABLE UNAVAILABLE}, while the
+ * {@link ChannelThrottle} of the channel does not admit them. Rejected calls fail immediately without being sent to
+ * the server.
+ */
+public class ThrottlingClientInterceptor implements ClientInterceptor {
+
+    private final ChannelThrottle throttle;
+
+    /**
+     * Creates a new ThrottlingClientInterceptor.
+     *
+     * @param throttle The throttle that decides whether calls are admitted.
+     */
+    public ThrottlingClientInterceptor(final ChannelThrottle throttle) {
+        this.throttle = requireNonNull(throttle, "throttle");
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(final MethodDescriptor<ReqT, RespT> method,
+            final CallOptions callOptions, final Channel next) {
+
+        return new ThrottledClientCall<>(next.newCall(method, callOptions));
+    }
+
+    /**
+     * Gets the throttle used by this interceptor.
+     *
+     * @return The throttle used by this interceptor.
+     */
+    public ChannelThrottle getThrottle() {
+        return this.throttle;
+    }
+
+    /**
+     * A client call that acquires a permit from the throttle when it is started and releases it once it is closed.
+     * Calls that are never started don't acquire a permit, so they can't leak one either. Rejected calls fail
+     * immediately without being started.
+     *
+     * @param <ReqT> The type of the request.
+     * @param <RespT> The type of the response.
+     */
+    private final class ThrottledClientCall<ReqT, RespT> extends SimpleForwardingClientCall<ReqT, RespT> {
+
+        private volatile boolean rejected = false;
+
+        ThrottledClientCall(final ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void start(final Listener<RespT> responseListener, final Metadata headers) {
+            final ChannelThrottle localThrottle = ThrottlingClientInterceptor.this.throttle;
+            final Status rejection = localThrottle.tryAcquire();
+            if (rejection != null) {
+                this.rejected = true;
+                responseListener.onClose(rejection, new Metadata());
+                return;
+            }
+            try {
+                super.start(new SimpleForwardingClientCallListener<RespT>(responseListener) {
+
+                    @Override
+                    public void onClose(final Status status, final Metadata trailers) {
+                        localThrottle.release(status);
+                        super.onClose(status, trailers);
+                    }
+
+                }, headers);
+            } catch (final RuntimeException e) {
+                localThrottle.release(Status.CANCELLED);
+                throw e;
+            }
+        }
+
+        @Override
+        public void request(final int numMessages) {
+            if (!this.rejected) {
+                super.request(numMessages);
+            }
+        }
+
+        @Override
+        public void cancel(final String message, final Throwable cause) {
+            if (!this.rejected) {
+                super.cancel(message, cause);
+            }
+        }
+
+        @Override
+        public void halfClose() {
+            if (!this.rejected) {
+                super.halfClose();
+            }
+        }
+
+        @Override
+        public void sendMessage(final ReqT message) {
+            if (!this.rejected) {
+                super.sendMessage(message);
+            }
+        }
+
+    }
+
+}
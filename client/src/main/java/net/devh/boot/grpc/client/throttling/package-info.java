@@ -0,0 +1,5 @@
+/**
+ * Classes related to throttling the calls of a client channel, while the server is overloaded or unavailable.
+ */
+
+package net.devh.boot.grpc.client.throttling;
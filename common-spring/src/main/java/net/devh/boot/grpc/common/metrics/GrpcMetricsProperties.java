@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * The properties that control which gRPC calls are measured by the (A66) metrics of the server and the client.
+ *
+ * <p>
+ * Methods are referenced by patterns, that are either a full method name ({@code package.Service/Method}), a service
+ * name ({@code package.Service} or {@code package.Service/*}) or {@code *} for all methods. Since the patterns contain
+ * dots, they have to be escaped when used as map keys, e.g. {@code grpc.metrics.methods[package.Service/Method]}.
+ * </p>
+ */
+@Data
+@ConfigurationProperties("grpc.metrics")
+public class GrpcMetricsProperties {
+
+    /**
+     * The level of detail of the metrics of all methods, that don't have a level of their own. Defaults to
+     * {@link MetricsLevel#FULL FULL}.
+     *
+     * @param level The default level of the metrics.
+     * @return The default level of the metrics.
+     */
+    private MetricsLevel level = MetricsLevel.FULL;
+
+    /**
+     * The fraction of calls whose latency and message sizes are recorded, for all methods that don't have a sample
+     * rate of their own. The counters are always recorded for all calls, including the per status counters of the
+     * completed calls, which should be used instead of the counts of the sampled histograms. Defaults to {@code 1.0},
+     * which records all calls.
+     *
+     * @param sampleRate The default fraction of calls to record in the histograms.
+     * @return The default fraction of calls to record in the histograms.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Whether the messages of all methods, that don't have an option of their own, should be measured individually.
+     * This records the number, the size and the gaps between the messages of each stream as well as the time to the
+     * first message while the stream is still open, which is mostly useful for long-lived streams. Defaults to
+     * {@code false}, because it adds some overhead to each message.
+     *
+     * @param messageMetrics Whether the individual messages should be measured.
+     * @return True, if the individual messages should be measured. False otherwise.
+     */
+    private boolean messageMetrics = false;
+
+    /**
+     * The patterns of the methods that should be measured. If empty, all methods that aren't excluded are measured.
+     *
+     * @param include The patterns of the methods to measure.
+     * @return The patterns of the methods to measure.
+     */
+    private List<String> include = new ArrayList<>();
+
+    /**
+     * The patterns of the methods that should not be measured. Exclusions take precedence over inclusions.
+     *
+     * @param exclude The patterns of the methods to skip.
+     * @return The patterns of the methods to skip.
+     */
+    private List<String> exclude = new ArrayList<>();
+
+    /**
+     * The options for individual methods or services, keyed by their pattern. Full method names take precedence over
+     * service names.
+     *
+     * @param methods The options for individual methods.
+     * @return The options for individual methods.
+     */
+    private Map<String, MethodMetrics> methods = new LinkedHashMap<>();
+
+    /**
+     * The metrics options of a single method or service. Options that aren't set are taken from the global options.
+     */
+    @Data
+    public static class MethodMetrics {
+
+        /**
+         * The level of detail of the metrics of the method.
+         *
+         * @param level The level of the metrics or null to use the global level.
+         * @return The level of the metrics or null to use the global level.
+         */
+        private MetricsLevel level;
+
+        /**
+         * The fraction of calls of the method whose latency and message sizes are recorded.
+         *
+         * @param sampleRate The fraction of calls to record or null to use the global sample rate.
+         * @return The fraction of calls to record or null to use the global sample rate.
+         */
+        private Double sampleRate;
+
+        /**
+         * Whether the messages of the method should be measured individually.
+         *
+         * @param messageMetrics Whether to measure the messages or null to use the global option.
+         * @return Whether to measure the messages or null to use the global option.
+         */
+        private Boolean messageMetrics;
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which calls of a single method are measured and in how much detail.
+ */
+public final class MethodMetricsPolicy {
+
+    /**
+     * The policy that records all metrics of all calls.
+     */
+    public static final MethodMetricsPolicy FULL = new MethodMetricsPolicy(MetricsLevel.FULL, 1.0);
+
+    /**
+     * The policy that does not record any metrics.
+     */
+    public static final MethodMetricsPolicy NONE = new MethodMetricsPolicy(MetricsLevel.NONE, 1.0);
+
+    private final MetricsLevel level;
+    private final double sampleRate;
+    private final boolean messageMetrics;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * Creates a new MethodMetricsPolicy, that doesn't measure the individual messages.
+     *
+     * @param level The level of detail of the metrics.
+     * @param sampleRate The fraction of calls to record in the histograms, in the range {@code [0, 1]}.
+     */
+    public MethodMetricsPolicy(final MetricsLevel level, final double sampleRate) {
+        this(level, sampleRate, false);
+    }
+
+    /**
+     * Creates a new MethodMetricsPolicy.
+     *
+     * @param level The level of detail of the metrics.
+     * @param sampleRate The fraction of calls to record in the histograms, in the range {@code [0, 1]}.
+     * @param messageMetrics Whether the individual messages of the calls should be measured.
+     */
+    public MethodMetricsPolicy(final MetricsLevel level, final double sampleRate, final boolean messageMetrics) {
+        checkSampleRate(sampleRate);
+        this.level = level;
+        this.sampleRate = level == MetricsLevel.FULL ? sampleRate : 0;
+        this.messageMetrics = messageMetrics && level != MetricsLevel.NONE;
+    }
+
+    /**
+     * Gets the level of detail of the metrics.
+     *
+     * @return The level of the metrics.
+     */
+    public MetricsLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Checks whether any metrics should be recorded for the method.
+     *
+     * @return True, if the counters should be recorded. False otherwise.
+     */
+    public boolean isEnabled() {
+        return this.level != MetricsLevel.NONE;
+    }
+
+    /**
+     * Checks whether the individual messages should be measured. The messages are counted for all calls, but their
+     * sizes and timings are only recorded for the calls whose histograms are {@link #sampleHistograms() sampled}.
+     *
+     * @return True, if the messages should be measured. False otherwise.
+     */
+    public boolean isMessageMetricsEnabled() {
+        return this.messageMetrics;
+    }
+
+    /**
+     * Gets the fraction of calls whose latency and message sizes are recorded.
+     *
+     * @return The sample rate in the range {@code [0, 1]}, which is always {@code 0} unless the level is
+     *         {@link MetricsLevel#FULL FULL}.
+     */
+    public double getSampleRate() {
+        return this.sampleRate;
+    }
+
+    /**
+     * Checks whether the latency and message sizes of the next call should be recorded. Calls are sampled
+     * deterministically by accumulating the sample rate, so that exactly {@code floor(n * sampleRate)} of the first
+     * {@code n} calls are recorded, e.g. with a sample rate of {@code 0.4} two out of every five calls are recorded.
+     * This method must be called exactly once per call.
+     *
+     * @return True, if the histograms should be recorded for the call. False otherwise.
+     */
+    public boolean sampleHistograms() {
+        if (this.sampleRate >= 1 || this.sampleRate <= 0) {
+            return this.sampleRate >= 1;
+        }
+        final long call = this.calls.getAndIncrement();
+        return (long) ((call + 1) * this.sampleRate) != (long) (call * this.sampleRate);
+    }
+
+    /**
+     * Checks that the given sample rate is in the range {@code [0, 1]}.
+     *
+     * @param sampleRate The sample rate to check.
+     * @throws IllegalArgumentException If the sample rate is outside of the range.
+     */
+    static void checkSampleRate(final double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("SampleRate must be between 0 and 1, but was " + sampleRate);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.metrics;
+
+/**
+ * The level of detail of the metrics that are recorded for a method.
+ */
+public enum MetricsLevel {
+
+    /**
+     * Records the counters as well as the latency and message size histograms.
+     */
+    FULL,
+
+    /**
+     * Only records the counters, but skips the histograms. The legacy processing duration is still recorded, because
+     * existing dashboards and alerts rely on it.
+     */
+    COUNTERS_ONLY,
+
+    /**
+     * Does not record any metrics.
+     */
+    NONE;
+
+}
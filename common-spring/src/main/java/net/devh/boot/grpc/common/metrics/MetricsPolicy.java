@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+
+import net.devh.boot.grpc.common.metrics.GrpcMetricsProperties.MethodMetrics;
+
+/**
+ * Resolves the {@link MethodMetricsPolicy} of the individual methods from the {@link GrpcMetricsProperties}.
+ *
+ * <p>
+ * <b>Note:</b> Each call to {@link #forMethod(String)} creates a new policy with its own sampling state, so the
+ * callers should cache the policies per method.
+ * </p>
+ */
+public final class MetricsPolicy {
+
+    /**
+     * The policy that records all metrics of all methods.
+     */
+    public static final MetricsPolicy FULL = new MetricsPolicy(new GrpcMetricsProperties());
+
+    private final GrpcMetricsProperties properties;
+    private final boolean full;
+
+    /**
+     * Creates a new MetricsPolicy.
+     *
+     * @param properties The properties to derive the method policies from.
+     */
+    public MetricsPolicy(final GrpcMetricsProperties properties) {
+        this.properties = requireNonNull(properties, "properties");
+        this.full = properties.getLevel() == MetricsLevel.FULL && properties.getSampleRate() >= 1
+                && properties.getInclude().isEmpty() && properties.getExclude().isEmpty()
+                && properties.getMethods().isEmpty() && !properties.isMessageMetrics();
+        MethodMetricsPolicy.checkSampleRate(properties.getSampleRate());
+        for (final MethodMetrics method : properties.getMethods().values()) {
+            if (method.getSampleRate() != null) {
+                MethodMetricsPolicy.checkSampleRate(method.getSampleRate());
+            }
+        }
+    }
+
+    /**
+     * Creates the policy for the method with the given name.
+     *
+     * @param fullMethodName The full name of the method, e.g. {@code package.Service/Method}.
+     * @return The policy for the method.
+     */
+    public MethodMetricsPolicy forMethod(final String fullMethodName) {
+        if (this.full) {
+            return MethodMetricsPolicy.FULL;
+        }
+        if (!isIncluded(fullMethodName)) {
+            return MethodMetricsPolicy.NONE;
+        }
+        MetricsLevel level = this.properties.getLevel();
+        double sampleRate = this.properties.getSampleRate();
+        boolean messageMetrics = this.properties.isMessageMetrics();
+        final MethodMetrics method = findMethod(fullMethodName);
+        if (method != null) {
+            if (method.getLevel() != null) {
+                level = method.getLevel();
+            }
+            if (method.getSampleRate() != null) {
+                sampleRate = method.getSampleRate();
+            }
+            if (method.getMessageMetrics() != null) {
+                messageMetrics = method.getMessageMetrics();
+            }
+        }
+        if (level == MetricsLevel.NONE) {
+            return MethodMetricsPolicy.NONE;
+        }
+        if (level == MetricsLevel.FULL && sampleRate >= 1 && !messageMetrics) {
+            return MethodMetricsPolicy.FULL;
+        }
+        return new MethodMetricsPolicy(level, sampleRate, messageMetrics);
+    }
+
+    private boolean isIncluded(final String fullMethodName) {
+        final List<String> include = this.properties.getInclude();
+        if (!include.isEmpty() && include.stream().noneMatch(pattern -> matches(pattern, fullMethodName))) {
+            return false;
+        }
+        return this.properties.getExclude().stream().noneMatch(pattern -> matches(pattern, fullMethodName));
+    }
+
+    private MethodMetrics findMethod(final String fullMethodName) {
+        MethodMetrics bestMatch = null;
+        int bestLength = -1;
+        for (final Map.Entry<String, MethodMetrics> entry : this.properties.getMethods().entrySet()) {
+            final String pattern = entry.getKey();
+            if (matches(pattern, fullMethodName) && pattern.length() > bestLength) {
+                bestMatch = entry.getValue();
+                bestLength = pattern.length();
+            }
+        }
+        return bestMatch;
+    }
+
+    /**
+     * Checks whether the given pattern matches the given method.
+     *
+     * @param pattern The pattern to check, that is either a full method name, a service name optionally followed by
+     *        {@code /*}, or {@code *}.
+     * @param fullMethodName The full name of the method.
+     * @return True, if the pattern matches the method. False otherwise.
+     */
+    static boolean matches(final String pattern, final String fullMethodName) {
+        if ("*".equals(pattern) || pattern.equals(fullMethodName)) {
+            return true;
+        }
+        final String servicePrefix = pattern.endsWith("/*")
+                ? pattern.substring(0, pattern.length() - 1)
+                : pattern + "/";
+        return fullMethodName.startsWith(servicePrefix);
+    }
+
+}
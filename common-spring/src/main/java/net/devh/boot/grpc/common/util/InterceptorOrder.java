@@ -42,6 +42,16 @@ public final class InterceptorOrder {
      * {@link Ordered#HIGHEST_PRECEDENCE}.
      */
     public static final int ORDER_FIRST = Ordered.HIGHEST_PRECEDENCE;
+    /**
+     * The order value for interceptors that reject calls whose deadline is too short to complete them. They are
+     * executed before the concurrency limit, so that doomed calls don't occupy any capacity.
+     */
+    public static final int ORDER_DEADLINE_CHECK = ORDER_FIRST + 500;
+    /**
+     * The order value for interceptors that limit the number of concurrent calls. They are executed right after the
+     * first interceptors, so that rejected calls are as cheap as possible.
+     */
+    public static final int ORDER_CONCURRENCY_LIMIT = ORDER_FIRST + 1000;
     /**
      * The order value for global exception handling interceptors.
      */
@@ -50,6 +60,10 @@ public final class InterceptorOrder {
      * The order value for tracing and metrics collecting interceptors.
      */
     public static final int ORDER_TRACING_METRICS = 2500;
+    /**
+     * The order value for interceptors that attach backend metric reports (ORCA) to the trailers of a call.
+     */
+    public static final int ORDER_BACKEND_METRICS = 2600;
     /**
      * The order value for interceptors related security exception handling.
      */
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Utility class that contains methods to create the executors used for grpc servers and channels.
+ */
+public final class ExecutorUtils {
+
+    /**
+     * Creates a new thread pool with a fixed number of daemon threads.
+     *
+     * @param threads The number of threads to use.
+     * @param queueCapacity The capacity of the task queue or {@code 0} for an unbounded queue.
+     * @param rejectionHandler The handler used for tasks that exceed the queue capacity.
+     * @param threadNamePrefix The prefix for the thread names.
+     * @return The newly created thread pool.
+     */
+    public static ThreadPoolExecutor newFixedThreadPool(final int threads, final int queueCapacity,
+            final RejectedExecutionHandler rejectionHandler, final String threadNamePrefix) {
+        final BlockingQueue<Runnable> queue =
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                newThreadFactory(threadNamePrefix), rejectionHandler);
+    }
+
+    /**
+     * Creates a new work-stealing fork join pool using daemon threads. The pool uses FIFO scheduling for tasks that are
+     * never joined.
+     *
+     * @param parallelism The parallelism level of the pool.
+     * @param threadNamePrefix The prefix for the thread names.
+     * @return The newly created fork join pool.
+     */
+    public static ForkJoinPool newForkJoinPool(final int parallelism, final String threadNamePrefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
+    /**
+     * Creates a new executor that starts a new virtual thread for each task. Virtual threads are only available on Java
+     * 21 or later.
+     *
+     * @return The newly created executor.
+     * @throws IllegalStateException If virtual threads are not supported by the current JVM.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, but running on Java "
+                    + System.getProperty("java.version"), e);
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Creates a new thread factory for daemon threads with the given name prefix.
+     *
+     * @param threadNamePrefix The prefix for the thread names.
+     * @return The newly created thread factory.
+     */
+    public static ThreadFactory newThreadFactory(final String threadNamePrefix) {
+        return new ThreadFactoryBuilder()
+                .setNameFormat(threadNamePrefix + "-%d")
+                .setDaemon(true)
+                .build();
+    }
+
+    private ExecutorUtils() {}
+
+}
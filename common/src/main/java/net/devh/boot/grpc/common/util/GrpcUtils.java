@@ -35,6 +35,16 @@ public final class GrpcUtils {
      */
     public static final String DOMAIN_SOCKET_ADDRESS_PREFIX = DOMAIN_SOCKET_ADDRESS_SCHEME + ":";
 
+    /**
+     * A constant that defines, the scheme of an in-process address.
+     */
+    public static final String IN_PROCESS_ADDRESS_SCHEME = "in-process";
+
+    /**
+     * A constant that defines, the scheme prefix of an in-process address.
+     */
+    public static final String IN_PROCESS_ADDRESS_PREFIX = IN_PROCESS_ADDRESS_SCHEME + ":";
+
     /**
      * The cloud discovery metadata key used to identify the grpc port.
      */
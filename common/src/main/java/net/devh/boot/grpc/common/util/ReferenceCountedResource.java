@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.common.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A lazily created resource that is shared by multiple users. The resource is created when it is retained for the
+ * first time and released as soon as the last user releases it again.
+ *
+ * <p>
+ * <b>Note:</b> Once {@link #close() closed}, the resource can no longer be retained.
+ * </p>
+ *
+ * @param <T> The type of the shared resource.
+ */
+public final class ReferenceCountedResource<T> {
+
+    private final Supplier<? extends T> factory;
+    private final Consumer<? super T> releaser;
+
+    private T instance;
+    private int references;
+    private boolean closed;
+
+    /**
+     * Creates a new ReferenceCountedResource.
+     *
+     * @param factory The factory used to create the resource on first use.
+     * @param releaser The callback used to release the resource once it is no longer used.
+     */
+    public ReferenceCountedResource(final Supplier<? extends T> factory, final Consumer<? super T> releaser) {
+        this.factory = requireNonNull(factory, "factory");
+        this.releaser = requireNonNull(releaser, "releaser");
+    }
+
+    /**
+     * Gets the shared resource and increments the reference count. If the resource does not exist yet, it will be
+     * created.
+     *
+     * @return The shared resource.
+     * @throws IllegalStateException If this resource holder has already been closed.
+     */
+    public synchronized T retain() {
+        if (this.closed) {
+            throw new IllegalStateException("The shared resource has already been closed");
+        }
+        if (this.instance == null) {
+            this.instance = requireNonNull(this.factory.get(), "instance");
+        }
+        this.references++;
+        return this.instance;
+    }
+
+    /**
+     * Decrements the reference count and releases the resource if it is no longer used. Calling this method after
+     * {@link #close()} has no effect.
+     */
+    public synchronized void release() {
+        if (this.closed) {
+            return;
+        }
+        if (this.references <= 0) {
+            throw new IllegalStateException("The shared resource is not retained");
+        }
+        if (--this.references == 0) {
+            releaseInstance();
+        }
+    }
+
+    /**
+     * Gets the number of outstanding references to the shared resource.
+     *
+     * @return The current reference count.
+     */
+    public synchronized int getReferenceCount() {
+        return this.references;
+    }
+
+    /**
+     * Releases the shared resource regardless of any outstanding references and prevents it from being retained again.
+     */
+    public synchronized void close() {
+        this.closed = true;
+        this.references = 0;
+        releaseInstance();
+    }
+
+    private void releaseInstance() {
+        final T localInstance = this.instance;
+        this.instance = null;
+        if (localInstance != null) {
+            this.releaser.accept(localInstance);
+        }
+    }
+
+}
@@ -16,15 +16,25 @@
 
 package net.devh.boot.grpc.server.autoconfigure;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import io.grpc.BindableService;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
 import io.grpc.protobuf.services.HealthStatusManager;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent.Phase;
+import net.devh.boot.grpc.server.event.GrpcServerLifecycleEvent;
+import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
 import net.devh.boot.grpc.server.service.GrpcService;
 
 /**
@@ -55,4 +65,35 @@ BindableService grpcHealthService(final HealthStatusManager healthStatusManager)
         return healthStatusManager.getHealthService();
     }
 
+    /**
+     * Reports all services as {@code NOT_SERVING} as soon as the server starts to drain, so that load balancers and
+     * health checking clients stop sending new calls to this instance before it stops accepting them. The services are
+     * reported as {@code SERVING} again, if the server is restarted afterwards.
+     *
+     * @param healthStatusManager The health status manager to update.
+     * @return The listener that updates the health status.
+     */
+    @Bean
+    ApplicationListener<GrpcServerLifecycleEvent> grpcHealthServiceDrainListener(
+            final HealthStatusManager healthStatusManager) {
+        final Set<String> drainedServices = ConcurrentHashMap.newKeySet();
+        return event -> {
+            if (event instanceof GrpcServerStartedEvent) {
+                for (final String service : drainedServices) {
+                    healthStatusManager.setStatus(service, ServingStatus.SERVING);
+                }
+                drainedServices.clear();
+            } else if (event instanceof GrpcServerDrainEvent
+                    && ((GrpcServerDrainEvent) event).getPhase() == Phase.NOT_SERVING) {
+                drainedServices.add(HealthStatusManager.SERVICE_NAME_ALL_SERVICES);
+                for (final ServerServiceDefinition service : event.getServer().getServices()) {
+                    drainedServices.add(service.getServiceDescriptor().getName());
+                }
+                for (final String service : drainedServices) {
+                    healthStatusManager.setStatus(service, ServingStatus.NOT_SERVING);
+                }
+            }
+        };
+    }
+
 }
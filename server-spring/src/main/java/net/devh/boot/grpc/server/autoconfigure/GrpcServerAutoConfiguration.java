@@ -19,6 +19,7 @@
 import java.util.Collections;
 import java.util.List;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -43,6 +44,7 @@
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerFactory;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerLifecycle;
+import net.devh.boot.grpc.server.serverfactory.InFlightCallCounter;
 import net.devh.boot.grpc.server.service.AnnotationGrpcServiceDiscoverer;
 import net.devh.boot.grpc.server.service.GrpcServiceDiscoverer;
 
@@ -119,6 +121,24 @@ public GrpcServerConfigurer decompressionServerConfigurer(final DecompressorRegi
         return builder -> builder.decompressorRegistry(registry);
     }
 
+    /**
+     * Creates the counter for the calls that are in flight, which is used to report the progress of the server's drain
+     * during shutdown.
+     *
+     * @return The newly created in flight call counter.
+     */
+    @ConditionalOnMissingBean
+    @Bean
+    public InFlightCallCounter inFlightCallCounter() {
+        return new InFlightCallCounter();
+    }
+
+    @ConditionalOnBean(InFlightCallCounter.class)
+    @Bean
+    public GrpcServerConfigurer inFlightCallCounterServerConfigurer(final InFlightCallCounter counter) {
+        return builder -> builder.addStreamTracerFactory(counter);
+    }
+
     @ConditionalOnMissingBean(GrpcServerConfigurer.class)
     @Bean
     public List<GrpcServerConfigurer> defaultServerConfigurers() {
@@ -131,8 +151,12 @@ public List<GrpcServerConfigurer> defaultServerConfigurers() {
     public GrpcServerLifecycle grpcServerLifecycle(
             final GrpcServerFactory factory,
             final GrpcServerProperties properties,
+            final ObjectProvider<InFlightCallCounter> inFlightCallCounter,
             final ApplicationEventPublisher eventPublisher) {
-        return new GrpcServerLifecycle(factory, properties.getShutdownGracePeriod(), eventPublisher);
+        return new GrpcServerLifecycle(factory, properties.isAsyncStartup(),
+                properties.getDrain().getPropagationDelay(),
+                properties.getShutdownGracePeriod(), properties.getDrain().getTerminationTimeout(),
+                inFlightCallCounter.getIfAvailable(), eventPublisher);
     }
 
 }
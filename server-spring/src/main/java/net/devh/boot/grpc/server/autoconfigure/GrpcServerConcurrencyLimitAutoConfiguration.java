@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.autoconfigure;
+
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.limit.AimdLimit;
+import net.devh.boot.grpc.server.limit.ConcurrencyLimit;
+import net.devh.boot.grpc.server.limit.ConcurrencyLimitingServerInterceptor;
+import net.devh.boot.grpc.server.limit.GradientLimit;
+import net.devh.boot.grpc.server.limit.VegasLimit;
+
+/**
+ * The auto configuration that limits the number of calls the server processes concurrently, if
+ * {@code grpc.server.concurrency-limit.enabled} is set.
+ *
+ * @see ConcurrencyLimitingServerInterceptor
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "grpc.server.concurrency-limit", name = "enabled")
+@AutoConfigureBefore(GrpcServerFactoryAutoConfiguration.class)
+public class GrpcServerConcurrencyLimitAutoConfiguration {
+
+    @GrpcGlobalServerInterceptor
+    @Order(InterceptorOrder.ORDER_CONCURRENCY_LIMIT)
+    @ConditionalOnMissingBean
+    public ConcurrencyLimitingServerInterceptor concurrencyLimitingServerInterceptor(
+            final GrpcServerProperties properties) {
+        final GrpcServerProperties.ConcurrencyLimit options = properties.getConcurrencyLimit();
+        return new ConcurrencyLimitingServerInterceptor(options.getPartitioning(), newLimitFactory(options),
+                options.getRetryPushback());
+    }
+
+    private static Supplier<ConcurrencyLimit> newLimitFactory(final GrpcServerProperties.ConcurrencyLimit options) {
+        final int initial = options.getInitialLimit();
+        final int min = options.getMinLimit();
+        final int max = options.getMaxLimit();
+        switch (options.getAlgorithm()) {
+            case AIMD:
+                return () -> new AimdLimit(initial, min, max);
+            case VEGAS:
+                return () -> new VegasLimit(initial, min, max);
+            default:
+                return () -> new GradientLimit(initial, min, max);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.autoconfigure;
+
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.limit.DeadlineCheckingServerInterceptor;
+
+/**
+ * The auto configuration that rejects calls whose remaining deadline is too short to complete them, if
+ * {@code grpc.server.deadline-check.enabled} is set.
+ *
+ * @see DeadlineCheckingServerInterceptor
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "grpc.server.deadline-check", name = "enabled")
+@AutoConfigureBefore(GrpcServerFactoryAutoConfiguration.class)
+public class GrpcServerDeadlineCheckAutoConfiguration {
+
+    @GrpcGlobalServerInterceptor
+    @Order(InterceptorOrder.ORDER_DEADLINE_CHECK)
+    @ConditionalOnMissingBean
+    public DeadlineCheckingServerInterceptor deadlineCheckingServerInterceptor(
+            final GrpcServerProperties properties) {
+        final GrpcServerProperties.DeadlineCheck options = properties.getDeadlineCheck();
+        return new DeadlineCheckingServerInterceptor(options.getThreshold(), options.isLatencyAware(),
+                options.getMinSamples());
+    }
+
+}
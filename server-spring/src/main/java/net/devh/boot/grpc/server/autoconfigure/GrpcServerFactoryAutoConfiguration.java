@@ -18,6 +18,7 @@
 
 import java.util.List;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -35,6 +36,7 @@
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerFactory;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerLifecycle;
+import net.devh.boot.grpc.server.serverfactory.InFlightCallCounter;
 import net.devh.boot.grpc.server.serverfactory.InProcessGrpcServerFactory;
 import net.devh.boot.grpc.server.serverfactory.NettyGrpcServerFactory;
 import net.devh.boot.grpc.server.serverfactory.ShadedNettyGrpcServerFactory;
@@ -85,6 +87,7 @@ public ShadedNettyGrpcServerFactory shadedNettyGrpcServerFactory(
      *
      * @param factory The factory used to create the lifecycle.
      * @param properties The server properties to use.
+     * @param inFlightCallCounter The counter used to report the calls in flight during the drain.
      * @param eventPublisher The event publisher to use.
      * @return The inter-process server lifecycle bean.
      */
@@ -93,9 +96,13 @@ public ShadedNettyGrpcServerFactory shadedNettyGrpcServerFactory(
     public GrpcServerLifecycle shadedNettyGrpcServerLifecycle(
             final ShadedNettyGrpcServerFactory factory,
             final GrpcServerProperties properties,
+            final ObjectProvider<InFlightCallCounter> inFlightCallCounter,
             ApplicationEventPublisher eventPublisher) {
 
-        return new GrpcServerLifecycle(factory, properties.getShutdownGracePeriod(), eventPublisher);
+        return new GrpcServerLifecycle(factory, properties.isAsyncStartup(),
+                properties.getDrain().getPropagationDelay(),
+                properties.getShutdownGracePeriod(), properties.getDrain().getTerminationTimeout(),
+                inFlightCallCounter.getIfAvailable(), eventPublisher);
     }
 
     // Then try the normal netty server
@@ -130,6 +137,7 @@ public NettyGrpcServerFactory nettyGrpcServerFactory(
      *
      * @param factory The factory used to create the lifecycle.
      * @param properties The server properties to use.
+     * @param inFlightCallCounter The counter used to report the calls in flight during the drain.
      * @param eventPublisher The event publisher to use.
      * @return The inter-process server lifecycle bean.
      */
@@ -138,9 +146,13 @@ public NettyGrpcServerFactory nettyGrpcServerFactory(
     public GrpcServerLifecycle nettyGrpcServerLifecycle(
             final NettyGrpcServerFactory factory,
             final GrpcServerProperties properties,
+            final ObjectProvider<InFlightCallCounter> inFlightCallCounter,
             ApplicationEventPublisher eventPublisher) {
 
-        return new GrpcServerLifecycle(factory, properties.getShutdownGracePeriod(), eventPublisher);
+        return new GrpcServerLifecycle(factory, properties.isAsyncStartup(),
+                properties.getDrain().getPropagationDelay(),
+                properties.getShutdownGracePeriod(), properties.getDrain().getTerminationTimeout(),
+                inFlightCallCounter.getIfAvailable(), eventPublisher);
     }
 
     /**
@@ -171,6 +183,7 @@ public InProcessGrpcServerFactory inProcessGrpcServerFactory(
      *
      * @param factory The factory used to create the lifecycle.
      * @param properties The server properties to use.
+     * @param inFlightCallCounter The counter used to report the calls in flight during the drain.
      * @param eventPublisher The event publisher to use.
      * @return The in-process server lifecycle bean.
      */
@@ -179,9 +192,13 @@ public InProcessGrpcServerFactory inProcessGrpcServerFactory(
     public GrpcServerLifecycle inProcessGrpcServerLifecycle(
             final InProcessGrpcServerFactory factory,
             final GrpcServerProperties properties,
+            final ObjectProvider<InFlightCallCounter> inFlightCallCounter,
             ApplicationEventPublisher eventPublisher) {
 
-        return new GrpcServerLifecycle(factory, properties.getShutdownGracePeriod(), eventPublisher);
+        return new GrpcServerLifecycle(factory, properties.isAsyncStartup(),
+                properties.getDrain().getPropagationDelay(),
+                properties.getShutdownGracePeriod(), properties.getDrain().getTerminationTimeout(),
+                inFlightCallCounter.getIfAvailable(), eventPublisher);
     }
 
 }
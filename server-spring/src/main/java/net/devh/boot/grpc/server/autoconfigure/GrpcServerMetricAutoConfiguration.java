@@ -23,8 +23,15 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
 import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.actuate.info.SimpleInfoContributor;
@@ -32,26 +39,43 @@
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 
 import com.google.common.base.Stopwatch;
 
 import io.grpc.BindableService;
 import io.grpc.MethodDescriptor;
 import io.grpc.ServiceDescriptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.micrometer.core.instrument.binder.grpc.MetricCollectingServerInterceptor;
 import lombok.extern.slf4j.Slf4j;
-import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.common.metrics.GrpcMetricsProperties;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 import net.devh.boot.grpc.server.config.GrpcServerProperties;
-import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.config.MetricsConvention;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent.Phase;
+import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
+import net.devh.boot.grpc.server.limit.ConcurrencyLimiter;
+import net.devh.boot.grpc.server.limit.ConcurrencyLimitingServerInterceptor;
+import net.devh.boot.grpc.server.limit.DeadlineCheckingServerInterceptor;
+import net.devh.boot.grpc.server.metrics.MetricsServerConnections;
+import net.devh.boot.grpc.server.metrics.MetricsServerInstruments;
+import net.devh.boot.grpc.server.metrics.MetricsServerMeters;
 import net.devh.boot.grpc.server.metrics.MetricsServerStreamTracers;
+import net.devh.boot.grpc.server.serverfactory.AbstractGrpcServerFactory;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerFactory;
 
 /**
  * Auto configuration class for Spring-Boot. This allows zero config server metrics for gRPC services.
@@ -64,29 +88,177 @@
 @AutoConfigureBefore(GrpcServerAutoConfiguration.class)
 @ConditionalOnBean(MeterRegistry.class)
 @ConditionalOnClass(MetricCollectingServerInterceptor.class)
+@EnableConfigurationProperties(GrpcMetricsProperties.class)
 public class GrpcServerMetricAutoConfiguration {
 
-    @GrpcGlobalServerInterceptor
-    @Order(InterceptorOrder.ORDER_TRACING_METRICS)
-    @ConditionalOnMissingBean
-    public MetricCollectingServerInterceptor metricCollectingServerInterceptor(final MeterRegistry registry,
+    private static final String EXECUTOR_METRICS_NAME = "grpc-server";
+    private static final String EXECUTOR_METRICS_FACTORY_TAG = "factory";
+
+    /**
+     * Records the call metrics of the selected conventions using a single stream tracer. The legacy metrics are
+     * skipped, if the application registers its own {@link MetricCollectingServerInterceptor}, so that they aren't
+     * recorded twice.
+     *
+     * @param registry The registry used to create the metrics.
+     * @param serverProperties The properties used to select the metric conventions.
+     * @param metricsProperties The properties used to select the calls that are measured.
+     * @param environment The environment used to check whether the A66 metrics are enabled.
+     * @param legacyInterceptors The custom legacy metric interceptors, if any.
+     * @param services The services whose legacy metrics should be registered in advance.
+     * @return The configurer that registers the stream tracer on the server.
+     */
+    @Bean
+    public GrpcServerConfigurer streamTracerFactoryConfigurer(final MeterRegistry registry,
+            final GrpcServerProperties serverProperties, final GrpcMetricsProperties metricsProperties,
+            final Environment environment,
+            final ObjectProvider<MetricCollectingServerInterceptor> legacyInterceptors,
             final Collection<BindableService> services) {
-        final MetricCollectingServerInterceptor metricCollector = new MetricCollectingServerInterceptor(registry);
-        log.debug("Pre-Registering service metrics");
-        for (final BindableService service : services) {
-            log.debug("- {}", service);
-            metricCollector.preregisterService(service);
+        final Set<MetricsConvention> conventions = serverProperties.getMetrics().getConventions();
+        final boolean a66 = conventions.contains(MetricsConvention.A66)
+                && environment.getProperty("grpc.metricsA66Enabled", Boolean.class, true);
+        final boolean legacy = conventions.contains(MetricsConvention.LEGACY)
+                && legacyInterceptors.getIfAvailable() == null;
+        final MetricsServerMeters meters = MetricsServerInstruments.newServerMetricsMeters(registry, a66, legacy);
+        final MetricsServerStreamTracers metricsServerStreamTracers = new MetricsServerStreamTracers(
+                Stopwatch::createUnstarted, new MetricsPolicy(metricsProperties));
+        if (legacy) {
+            log.debug("Pre-Registering service metrics");
+            for (final BindableService service : services) {
+                log.debug("- {}", service);
+                metricsServerStreamTracers.preregisterService(meters, service.bindService().getServiceDescriptor());
+            }
         }
-        return metricCollector;
+        return builder -> builder
+                .addStreamTracerFactory(metricsServerStreamTracers.getMetricsServerTracerFactory(meters));
     }
 
-    @ConditionalOnProperty(prefix = "grpc", name = "metricsA66Enabled", matchIfMissing = true)
+    /**
+     * Records connection-level metrics, such as the number of open connections, their age and the number of concurrent
+     * streams per connection.
+     *
+     * @param registry The registry used to create the metrics.
+     * @return The configurer that registers the connection metrics on the server.
+     */
+    @ConditionalOnProperty(prefix = "grpc", name = "metricsConnectionsEnabled", matchIfMissing = true)
     @Bean
-    public GrpcServerConfigurer streamTracerFactoryConfigurer(final MeterRegistry registry) {
-        MetricsServerStreamTracers metricsServerStreamTracers = new MetricsServerStreamTracers(
-                Stopwatch::createUnstarted);
+    public GrpcServerConfigurer connectionMetricsServerConfigurer(final MeterRegistry registry) {
+        final MetricsServerConnections connections = new MetricsServerConnections(registry);
         return builder -> builder
-                .addStreamTracerFactory(metricsServerStreamTracers.getMetricsServerTracerFactory(registry));
+                .addTransportFilter(connections.getTransportFilter())
+                .addStreamTracerFactory(connections.getStreamTracerFactory());
+    }
+
+    /**
+     * Exposes the queue depth, active count and other metrics of the executors managed by the server factories. The
+     * metrics are bound once the server has been started, because the executor is created together with the server.
+     * The meters of each factory are tagged with the factory's bean name. Each executor is only bound once, even if
+     * the server is restarted. If the factory has been closed and created a new executor, the metrics of the old
+     * executor are replaced.
+     *
+     * @param registry The registry used to register the metrics.
+     * @param beanFactory The bean factory used to look up the server factories whose executors should be monitored.
+     * @return The listener that binds the executor metrics.
+     */
+    @Bean
+    ApplicationListener<GrpcServerStartedEvent> grpcServerExecutorMetricsBinder(final MeterRegistry registry,
+            final ListableBeanFactory beanFactory) {
+        final Map<String, ExecutorService> boundExecutors = new ConcurrentHashMap<>();
+        return event -> beanFactory.getBeansOfType(GrpcServerFactory.class).forEach((beanName, factory) -> {
+            if (!(factory instanceof AbstractGrpcServerFactory)) {
+                return;
+            }
+            final ExecutorService executor = ((AbstractGrpcServerFactory<?>) factory).getExecutor();
+            if (executor != null) {
+                final ExecutorService previous = boundExecutors.put(beanName, executor);
+                if (previous != executor) {
+                    final Tags tags = Tags.of(EXECUTOR_METRICS_FACTORY_TAG, beanName);
+                    if (previous != null) {
+                        removeExecutorMetrics(registry, tags);
+                    }
+                    new ExecutorServiceMetrics(executor, EXECUTOR_METRICS_NAME, tags).bindTo(registry);
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the executor metrics of a single factory, so that they can be bound to a new executor. Otherwise the
+     * registry would keep the meters that observe the old executor.
+     *
+     * @param registry The registry to remove the metrics from.
+     * @param tags The tags that identify the factory whose metrics should be removed.
+     */
+    private static void removeExecutorMetrics(final MeterRegistry registry, final Tags tags) {
+        registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("executor")
+                        && EXECUTOR_METRICS_NAME.equals(meter.getId().getTag("name"))
+                        && tags.stream().allMatch(tag -> tag.getValue().equals(meter.getId().getTag(tag.getKey()))))
+                .forEach(registry::remove);
+    }
+
+    /**
+     * Records the number of calls that were still in flight, when the server entered the individual phases of its
+     * drain during shutdown.
+     *
+     * @param registry The registry used to register the metrics.
+     * @return The listener that records the drain metrics.
+     */
+    @Bean
+    ApplicationListener<GrpcServerDrainEvent> grpcServerDrainMetricsBinder(final MeterRegistry registry) {
+        final Map<Phase, AtomicInteger> inFlightCalls = new ConcurrentHashMap<>();
+        return event -> {
+            if (event.getInFlightCalls() < 0) {
+                return;
+            }
+            inFlightCalls.computeIfAbsent(event.getPhase(),
+                    phase -> registry.gauge("grpc.server.drain.calls.in.flight", Tags.of("phase", phase.name()),
+                            new AtomicInteger()))
+                    .set(event.getInFlightCalls());
+        };
+    }
+
+    /**
+     * Exposes the limit, the calls in flight and the rejected calls of each partition of the concurrency limit. The
+     * partitions are bound as soon as they are created.
+     *
+     * @param registry The registry used to register the metrics.
+     * @param interceptors The concurrency limiting interceptors to monitor.
+     * @return The callback that binds the concurrency limit metrics.
+     */
+    @Bean
+    SmartInitializingSingleton grpcServerConcurrencyLimitMetricsBinder(final MeterRegistry registry,
+            final ObjectProvider<ConcurrencyLimitingServerInterceptor> interceptors) {
+        return () -> interceptors.ifAvailable(interceptor -> interceptor.addLimiterListener(limiter -> {
+            final Tags tags = Tags.of("partition", limiter.getName());
+            Gauge.builder("grpc.server.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("The current concurrency limit of the partition")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("grpc.server.concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("The number of calls in flight of the partition")
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder("grpc.server.concurrency.rejected", limiter, ConcurrencyLimiter::getRejected)
+                    .description("The number of calls rejected because the concurrency limit was exceeded")
+                    .tags(tags)
+                    .register(registry);
+        }));
+    }
+
+    /**
+     * Exposes the number of calls that have been rejected, because their remaining deadline was too short.
+     *
+     * @param registry The registry used to register the metrics.
+     * @param interceptors The deadline checking interceptors to monitor.
+     * @return The callback that binds the deadline check metrics.
+     */
+    @Bean
+    SmartInitializingSingleton grpcServerDeadlineCheckMetricsBinder(final MeterRegistry registry,
+            final ObjectProvider<DeadlineCheckingServerInterceptor> interceptors) {
+        return () -> interceptors.ifAvailable(interceptor -> FunctionCounter
+                .builder("grpc.server.deadline.rejected", interceptor, DeadlineCheckingServerInterceptor::getRejected)
+                .description("The number of calls rejected because their remaining deadline was too short")
+                .register(registry));
     }
 
     @Bean
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.autoconfigure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import io.grpc.BindableService;
+import io.grpc.xds.orca.OrcaMetricReportingServerInterceptor;
+import io.grpc.xds.orca.OrcaServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.orca.BackendMetricsRecorder;
+import net.devh.boot.grpc.server.orca.BackendMetricsScheduler;
+import net.devh.boot.grpc.server.orca.MicrometerBackendMetricsUpdater;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+/**
+ * The auto configuration that reports the backend metrics of the server to clients (ORCA), if
+ * {@code grpc.server.orca.enabled} is set. The metrics are attached to the trailers of each call and, unless disabled,
+ * also reported out-of-band via the {@code OpenRcaService}. Clients can use these reports for load balancing, e.g.
+ * with the {@code weighted_round_robin} policy.
+ *
+ * @see BackendMetricsRecorder
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(OrcaMetricReportingServerInterceptor.class)
+@ConditionalOnProperty(prefix = "grpc.server.orca", name = "enabled")
+@AutoConfigureAfter(CompositeMeterRegistryAutoConfiguration.class)
+@AutoConfigureBefore(GrpcServerFactoryAutoConfiguration.class)
+public class GrpcServerOrcaAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BackendMetricsRecorder backendMetricsRecorder() {
+        return new BackendMetricsRecorder();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BackendMetricsScheduler backendMetricsScheduler() {
+        return new BackendMetricsScheduler();
+    }
+
+    @GrpcGlobalServerInterceptor
+    @Order(InterceptorOrder.ORDER_BACKEND_METRICS)
+    @ConditionalOnMissingBean
+    public OrcaMetricReportingServerInterceptor orcaMetricReportingServerInterceptor(
+            final BackendMetricsRecorder recorder) {
+        return OrcaMetricReportingServerInterceptor.create(recorder.getMetricRecorder());
+    }
+
+    @Bean
+    @GrpcService
+    @ConditionalOnProperty(prefix = "grpc.server.orca", name = "oob-enabled", matchIfMissing = true)
+    BindableService grpcOrcaService(final GrpcServerProperties properties, final BackendMetricsRecorder recorder,
+            final BackendMetricsScheduler scheduler) {
+        return OrcaServiceImpl.createService(scheduler.getExecutor(), recorder.getMetricRecorder(),
+                properties.getOrca().getMinReportingInterval().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Periodically updates the cpu and memory utilization and the qps of the server from the system meters.
+     *
+     * @param properties The properties used to determine the update interval.
+     * @param registry The registry to read the system meters from.
+     * @param recorder The recorder to update.
+     * @param scheduler The scheduler used to run the updates.
+     * @return The newly created and scheduled updater.
+     */
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnMissingBean
+    public MicrometerBackendMetricsUpdater micrometerBackendMetricsUpdater(final GrpcServerProperties properties,
+            final MeterRegistry registry, final BackendMetricsRecorder recorder,
+            final BackendMetricsScheduler scheduler) {
+        final MicrometerBackendMetricsUpdater updater =
+                new MicrometerBackendMetricsUpdater(registry, recorder.getMetricRecorder());
+        scheduler.scheduleAtFixedRate(updater, properties.getOrca().getUpdateInterval());
+        return updater;
+    }
+
+}
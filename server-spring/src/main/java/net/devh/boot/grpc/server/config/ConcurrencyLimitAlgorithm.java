@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The algorithm that is used to adapt the concurrency limit of the server.
+ */
+public enum ConcurrencyLimitAlgorithm {
+
+    /**
+     * Additive increase, multiplicative decrease. Grows the limit by one for each successful call and backs off
+     * whenever calls exceed their deadline or are rejected.
+     */
+    AIMD,
+
+    /**
+     * Compares the long term average latency with the latency of the most recent calls and reduces the limit
+     * proportionally, if the latency increases.
+     */
+    GRADIENT,
+
+    /**
+     * Estimates the queue size from the ratio between the minimum observed latency and the latency of each call,
+     * similar to TCP Vegas.
+     */
+    VEGAS;
+
+}
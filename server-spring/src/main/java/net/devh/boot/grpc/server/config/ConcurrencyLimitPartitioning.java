@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The partitioning that determines which calls share a concurrency limit.
+ */
+public enum ConcurrencyLimitPartitioning {
+
+    /**
+     * All calls of the server share a single limit. The limit is updated by the completed calls one at a time, so the
+     * samples of concurrently completing calls are partially skipped.
+     */
+    SERVER,
+
+    /**
+     * Each service has its own limit, so that a slow service cannot exhaust the capacity of the others.
+     */
+    SERVICE,
+
+    /**
+     * Each method has its own limit.
+     */
+    METHOD;
+
+}
@@ -23,8 +23,11 @@
 import java.security.KeyStore;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -110,6 +113,18 @@ public class GrpcServerProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration shutdownGracePeriod = Duration.of(30, ChronoUnit.SECONDS);
 
+    /**
+     * Whether the server should be created asynchronously. If enabled, the transport security and the servers for the
+     * additional listen addresses are prepared in parallel on a dedicated startup pool as soon as all singletons have
+     * been instantiated, while the remaining singletons are initialized and the lifecycle beans with a lower phase are
+     * started. The server still binds its addresses when its lifecycle is started and failures abort the context's
+     * startup. Defaults to {@code false}.
+     *
+     * @param asyncStartup Whether the server should be started asynchronously.
+     * @return True, if the server should be started asynchronously. False otherwise.
+     */
+    private boolean asyncStartup = false;
+
     /**
      * Setting to enable keepAlive. Default to {@code false}.
      *
@@ -220,6 +235,43 @@ public class GrpcServerProperties {
     @DataSizeUnit(DataUnit.BYTES)
     private DataSize maxInboundMetadataSize = null;
 
+    /**
+     * The maximum number of concurrent calls permitted for each incoming connection. If not set ({@code null}) then
+     * there is no limit.
+     *
+     * @see NettyServerBuilder#maxConcurrentCallsPerConnection(int)
+     *
+     * @param maxConcurrentCallsPerConnection The maximum number of concurrent calls per connection.
+     * @return The maximum number of concurrent calls per connection.
+     */
+    private Integer maxConcurrentCallsPerConnection = null;
+
+    /**
+     * A fixed HTTP/2 flow control window. Setting this disables the BDP based auto-tuning of the flow control window
+     * and takes precedence over the {@link #initialFlowControlWindow initial flow control window}. If not set
+     * ({@code null}) the window will be tuned automatically. If no unit is specified, bytes will be used.
+     *
+     * @see NettyServerBuilder#flowControlWindow(int)
+     *
+     * @param flowControlWindow The fixed flow control window or null to use auto-tuning.
+     * @return The fixed flow control window or null if the window is tuned automatically.
+     */
+    @DataSizeUnit(DataUnit.BYTES)
+    private DataSize flowControlWindow = null;
+
+    /**
+     * The initial HTTP/2 flow control window. The window will be tuned automatically based on the bandwidth-delay
+     * product (BDP) of the connection, unless a fixed {@link #flowControlWindow flow control window} is set. Only used
+     * by netty based servers. If no unit is specified, bytes will be used. Defaults to {@code 1MB}.
+     *
+     * @see NettyServerBuilder#initialFlowControlWindow(int)
+     *
+     * @param initialFlowControlWindow The initial flow control window.
+     * @return The initial flow control window.
+     */
+    @DataSizeUnit(DataUnit.BYTES)
+    private DataSize initialFlowControlWindow = DataSize.ofMegabytes(1);
+
     /**
      * Whether gRPC health service is enabled or not. Defaults to {@code true}.
      *
@@ -243,6 +295,65 @@ public class GrpcServerProperties {
      */
     private final Security security = new Security();
 
+    /**
+     * Options for the server's transport such as the event loops used by netty based servers.
+     *
+     * @return The options for the server's transport.
+     */
+    private final Transport transport = new Transport();
+
+    /**
+     * Options for the executor that runs the application code such as the service implementations and interceptors.
+     *
+     * @return The options for the server's executor.
+     */
+    private final Executor executor = new Executor();
+
+    /**
+     * Additional addresses the server should listen on, for example a domain socket for local callers in addition to
+     * the TCP port for remote callers. All addresses are served by the same services and executor, but each address
+     * can use its own transport security and connection limits.
+     *
+     * @return The additional addresses the server should listen on.
+     */
+    private final List<Listen> listen = new ArrayList<>();
+
+    /**
+     * Options for the phased drain of the server during shutdown.
+     *
+     * @return The options for the server's drain.
+     */
+    private final Drain drain = new Drain();
+
+    /**
+     * Options for the adaptive concurrency limit, that rejects calls early if the server is overloaded.
+     *
+     * @return The options for the concurrency limit.
+     */
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    /**
+     * Options for the early rejection of calls whose remaining deadline is too short to complete them.
+     *
+     * @return The options for the deadline check.
+     */
+    private final DeadlineCheck deadlineCheck = new DeadlineCheck();
+
+    /**
+     * Options for reporting the backend metrics of the server to clients (ORCA), that can be used for client side load
+     * balancing.
+     *
+     * @return The options for the backend metrics reporting.
+     */
+    private final Orca orca = new Orca();
+
+    /**
+     * Options for the metrics that are recorded for each call.
+     *
+     * @return The options for the call metrics.
+     */
+    private final Metrics metrics = new Metrics();
+
     /**
      * The security configuration for the gRPC server.
      */
@@ -415,6 +526,404 @@ public void setProtocols(final String protocols) {
 
     }
 
+    /**
+     * The transport configuration for the gRPC server.
+     */
+    @Data
+    public static class Transport {
+
+        /**
+         * The netty transport used for the server's event loops. Defaults to {@link TransportType#NIO NIO}. If the
+         * transport is {@code NIO} and neither thread counts nor thread name prefixes are configured, then grpc-java's
+         * shared default event loops will be used. Domain socket ({@code unix:}) addresses always use
+         * {@link TransportType#EPOLL EPOLL}.
+         *
+         * @param type The netty transport to use.
+         * @return The netty transport to use.
+         */
+        private TransportType type = TransportType.NIO;
+
+        /**
+         * The number of threads of the boss event loop that accepts new connections. If not set ({@code null}) then a
+         * single thread will be used.
+         *
+         * @param bossThreads The number of boss threads or null to use the default.
+         * @return The number of boss threads or null to use the default.
+         */
+        private Integer bossThreads = null;
+
+        /**
+         * The number of threads of the worker event loop that handles the accepted connections. If not set
+         * ({@code null}) or set to {@code 0}, then netty's default (twice the number of available processors) will be
+         * used.
+         *
+         * @param workerThreads The number of worker threads or null to use the default.
+         * @return The number of worker threads or null to use the default.
+         */
+        private Integer workerThreads = null;
+
+        /**
+         * The name prefix for the threads of the boss event loop. If not set ({@code null}) then
+         * {@code grpc-server-boss} will be used.
+         *
+         * @param bossThreadNamePrefix The name prefix for the boss threads.
+         * @return The name prefix for the boss threads or null to use the default.
+         */
+        private String bossThreadNamePrefix = null;
+
+        /**
+         * The name prefix for the threads of the worker event loop. If not set ({@code null}) then
+         * {@code grpc-server-worker} will be used.
+         *
+         * @param workerThreadNamePrefix The name prefix for the worker threads.
+         * @return The name prefix for the worker threads or null to use the default.
+         */
+        private String workerThreadNamePrefix = null;
+
+    }
+
+    /**
+     * The executor configuration for the gRPC server.
+     */
+    @Data
+    public static class Executor {
+
+        /**
+         * The type of executor used to run the application code. Defaults to {@link ExecutorType#DEFAULT DEFAULT},
+         * which uses grpc-java's shared and unbounded cached thread pool.
+         *
+         * @param type The type of executor to use.
+         * @return The type of executor to use.
+         */
+        private ExecutorType type = ExecutorType.DEFAULT;
+
+        /**
+         * The number of threads of {@link ExecutorType#FIXED FIXED} executors or the parallelism of
+         * {@link ExecutorType#FORKJOIN FORKJOIN} executors. If not set ({@code null}) then the number of available
+         * processors will be used.
+         *
+         * @param threads The number of threads or null to use the default.
+         * @return The number of threads or null to use the default.
+         */
+        private Integer threads = null;
+
+        /**
+         * The maximum number of tasks that may wait for execution in a {@link ExecutorType#FIXED FIXED} executor. If
+         * not set ({@code null}) or set to {@code 0}, then the queue is unbounded.
+         *
+         * @param queueCapacity The capacity of the queue or null for an unbounded queue.
+         * @return The capacity of the queue or null for an unbounded queue.
+         */
+        private Integer queueCapacity = null;
+
+        /**
+         * The policy used if the queue of a {@link ExecutorType#FIXED FIXED} executor is full. Defaults to
+         * {@link RejectionPolicy#ABORT ABORT}.
+         *
+         * @param rejectionPolicy The policy to use for rejected tasks.
+         * @return The policy to use for rejected tasks.
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+        /**
+         * The name prefix for the threads of the executor. If not set ({@code null}) then {@code grpc-server-executor}
+         * will be used.
+         *
+         * @param threadNamePrefix The name prefix for the executor threads.
+         * @return The name prefix for the executor threads or null to use the default.
+         */
+        private String threadNamePrefix = null;
+
+    }
+
+    /**
+     * An additional address the gRPC server should listen on.
+     */
+    @Data
+    public static class Listen {
+
+        /**
+         * The address to listen on. Supports the same formats as the server's address, including domain socket
+         * addresses with the {@link GrpcUtils#DOMAIN_SOCKET_ADDRESS_PREFIX unix:} prefix. Additionally, in-process
+         * servers can be started using the {@link GrpcUtils#IN_PROCESS_ADDRESS_PREFIX in-process:} prefix.
+         *
+         * @param address The address to listen on.
+         * @return The address to listen on.
+         */
+        private String address;
+
+        /**
+         * The port to listen on. Only used for IP addresses. If not set ({@code null}) then the server's port will be
+         * used.
+         *
+         * @param port The port to listen on or null to use the server's port.
+         * @return The port to listen on or null to use the server's port.
+         */
+        private Integer port = null;
+
+        /**
+         * The transport security for this address. Defaults to disabled, regardless of the server's security.
+         *
+         * @return The security options for this address.
+         */
+        private final Security security = new Security();
+
+        /**
+         * The maximum time a connection may stay idle. If not set ({@code null}) then the server's setting will be
+         * used.
+         *
+         * @param maxConnectionIdle The connection idle time or null to use the server's setting.
+         * @return The connection idle time or null to use the server's setting.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration maxConnectionIdle = null;
+
+        /**
+         * The maximum time a connection may exist. If not set ({@code null}) then the server's setting will be used.
+         *
+         * @param maxConnectionAge The max connection age or null to use the server's setting.
+         * @return The max connection age or null to use the server's setting.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration maxConnectionAge = null;
+
+        /**
+         * The grace time for the graceful connection termination. If not set ({@code null}) then the server's setting
+         * will be used.
+         *
+         * @param maxConnectionAgeGrace The max connection age grace time or null to use the server's setting.
+         * @return The max connection age grace time or null to use the server's setting.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration maxConnectionAgeGrace = null;
+
+        /**
+         * The maximum number of concurrent calls permitted for each incoming connection. If not set ({@code null})
+         * then the server's setting will be used.
+         *
+         * @param maxConcurrentCallsPerConnection The maximum number of calls or null to use the server's setting.
+         * @return The maximum number of calls or null to use the server's setting.
+         */
+        private Integer maxConcurrentCallsPerConnection = null;
+
+    }
+
+    /**
+     * The drain configuration for the gRPC server. The server is drained in phases: First the health service reports
+     * {@code NOT_SERVING} for all services, then the server waits for the {@link Drain#getPropagationDelay()
+     * propagation delay}, before it stops accepting new calls (sending GOAWAY) and waits for the in-flight calls to
+     * complete within the {@link #getShutdownGracePeriod() shutdown grace period}. Finally, all remaining calls are
+     * cancelled.
+     */
+    @Data
+    public static class Drain {
+
+        /**
+         * The time to wait after the health service reported {@code NOT_SERVING} and before the server stops
+         * accepting new calls. This gives load balancers and health checking clients the chance to route new calls to
+         * other instances. Defaults to {@code 0s}. Default unit {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param propagationDelay The time to wait for the health status to propagate.
+         * @return The time to wait for the health status to propagate.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration propagationDelay = Duration.ZERO;
+
+        /**
+         * The time to wait for the server to terminate after the remaining calls have been cancelled. If set to a
+         * negative value, the server waits forever. Defaults to {@code 0s}, which does not wait at all. Default unit
+         * {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param terminationTimeout The time to wait for the server's termination.
+         * @return The time to wait for the server's termination.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration terminationTimeout = Duration.ZERO;
+
+    }
+
+    /**
+     * The concurrency limit configuration for the gRPC server. If enabled, calls that exceed the limit are rejected
+     * immediately with {@code RESOURCE_EXHAUSTED}, instead of queuing up until their deadlines expire. Only unary and
+     * client streaming calls are limited, server and bidi streaming calls are never rejected.
+     */
+    @Data
+    public static class ConcurrencyLimit {
+
+        /**
+         * Whether the concurrency limit should be enabled. Defaults to {@code false}.
+         *
+         * @param enabled Whether the concurrency limit should be enabled.
+         * @return True, if the concurrency limit should be enabled. False otherwise.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The algorithm used to adapt the limit to the observed latencies. Defaults to
+         * {@link ConcurrencyLimitAlgorithm#GRADIENT GRADIENT}.
+         *
+         * @param algorithm The algorithm to use.
+         * @return The algorithm to use.
+         */
+        private ConcurrencyLimitAlgorithm algorithm = ConcurrencyLimitAlgorithm.GRADIENT;
+
+        /**
+         * The partitioning that determines which calls share a limit. Defaults to
+         * {@link ConcurrencyLimitPartitioning#SERVER SERVER}.
+         *
+         * @param partitioning The partitioning to use.
+         * @return The partitioning to use.
+         */
+        private ConcurrencyLimitPartitioning partitioning = ConcurrencyLimitPartitioning.SERVER;
+
+        /**
+         * The initial limit of each partition. Defaults to {@code 20}.
+         *
+         * @param initialLimit The initial limit.
+         * @return The initial limit.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * The minimum limit of each partition. Defaults to {@code 1}.
+         *
+         * @param minLimit The minimum limit.
+         * @return The minimum limit.
+         */
+        private int minLimit = 1;
+
+        /**
+         * The maximum limit of each partition. Defaults to {@code 1000}.
+         *
+         * @param maxLimit The maximum limit.
+         * @return The maximum limit.
+         */
+        private int maxLimit = 1000;
+
+        /**
+         * The time clients should wait before retrying a rejected call. It is sent using the
+         * {@code grpc-retry-pushback-ms} trailer. If set to a negative value, no pushback will be sent. Defaults to
+         * {@code 1s}. Default unit {@link ChronoUnit#MILLIS MILLIS}.
+         *
+         * @param retryPushback The time clients should wait before retrying.
+         * @return The time clients should wait before retrying.
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration retryPushback = Duration.ofSeconds(1);
+
+    }
+
+    /**
+     * The deadline check configuration for the gRPC server. If enabled, calls are rejected with
+     * {@code DEADLINE_EXCEEDED} before any authentication or application code runs, if their remaining deadline is too
+     * short to complete them.
+     */
+    @Data
+    public static class DeadlineCheck {
+
+        /**
+         * Whether the deadline check should be enabled. Defaults to {@code false}.
+         *
+         * @param enabled Whether the deadline check should be enabled.
+         * @return True, if the deadline check should be enabled. False otherwise.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The minimum remaining time a call must have to be processed. Defaults to {@code 5ms}. Default unit
+         * {@link ChronoUnit#MILLIS MILLIS}.
+         *
+         * @param threshold The minimum remaining time.
+         * @return The minimum remaining time.
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration threshold = Duration.ofMillis(5);
+
+        /**
+         * Whether calls should also be rejected, if their remaining time is below the observed median (p50) latency of
+         * their method. Defaults to {@code true}.
+         *
+         * @param latencyAware Whether the observed latency should be taken into account.
+         * @return True, if the observed latency should be taken into account. False otherwise.
+         */
+        private boolean latencyAware = true;
+
+        /**
+         * The number of successful calls that have to be observed for a method, before its median latency is used.
+         * Defaults to {@code 100}.
+         *
+         * @param minSamples The number of calls to observe.
+         * @return The number of calls to observe.
+         */
+        private int minSamples = 100;
+
+    }
+
+    /**
+     * The backend metrics reporting configuration for the gRPC server. If enabled, the server attaches its utilization
+     * to the trailers of each call and optionally reports it out-of-band via the {@code OpenRcaService}. Requires
+     * {@code io.grpc:grpc-xds} on the classpath.
+     */
+    @Data
+    public static class Orca {
+
+        /**
+         * Whether the backend metrics reporting should be enabled. Defaults to {@code false}.
+         *
+         * @param enabled Whether the backend metrics reporting should be enabled.
+         * @return True, if the backend metrics reporting should be enabled. False otherwise.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Whether the out-of-band reporting service should be registered. Defaults to {@code true}.
+         *
+         * @param oobEnabled Whether the out-of-band reporting service should be registered.
+         * @return True, if the out-of-band reporting service should be registered. False otherwise.
+         */
+        private boolean oobEnabled = true;
+
+        /**
+         * The minimum interval between two out-of-band reports, regardless of the interval requested by the clients.
+         * Defaults to {@code 30s}. Default unit {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param minReportingInterval The minimum interval between two reports.
+         * @return The minimum interval between two reports.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration minReportingInterval = Duration.ofSeconds(30);
+
+        /**
+         * The interval in which the cpu and memory utilization and the qps are updated from the system meters.
+         * Defaults to {@code 5s}. Default unit {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param updateInterval The interval in which the metrics are updated.
+         * @return The interval in which the metrics are updated.
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration updateInterval = Duration.ofSeconds(5);
+
+    }
+
+    /**
+     * The call metrics configuration for the gRPC server. All conventions are recorded by a single stream tracer, so
+     * selecting multiple conventions doesn't instrument the calls multiple times.
+     */
+    @Data
+    public static class Metrics {
+
+        /**
+         * The naming conventions of the metrics that should be recorded. Defaults to all conventions, so that both the
+         * legacy and the A66 metrics are available. The A66 metrics can also be disabled using
+         * {@code grpc.metricsA66Enabled=false}.
+         *
+         * @param conventions The naming conventions of the metrics to record.
+         * @return The naming conventions of the metrics to record.
+         */
+        private Set<MetricsConvention> conventions = EnumSet.allOf(MetricsConvention.class);
+
+    }
+
     /**
      * Gets the port the server should listen on. Defaults to {@code 9090}. If set to {@code 0} a random available port
      * will be selected and used.
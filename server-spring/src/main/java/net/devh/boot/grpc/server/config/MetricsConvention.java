@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The naming conventions of the server metrics, that are recorded for each call.
+ */
+public enum MetricsConvention {
+
+    /**
+     * The metrics of micrometer's {@code MetricCollectingServerInterceptor}, such as
+     * {@code grpc.server.processing.duration}, which are used by many existing dashboards.
+     */
+    LEGACY,
+
+    /**
+     * The metrics defined in <a href="https://github.com/grpc/proposal/blob/master/A66-otel-stats.md">gRFC A66</a>,
+     * such as {@code grpc.server.call.duration}.
+     */
+    A66;
+
+}
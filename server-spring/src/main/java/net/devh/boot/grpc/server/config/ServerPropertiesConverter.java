@@ -26,9 +26,46 @@ public class ServerPropertiesConverter {
 
     public static SimpleGrpcServerProperties toSimple(GrpcServerProperties properties) {
         SimpleGrpcServerProperties simpleGrpcServerProperties = getSimpleGrpcServerProperties(properties);
-        SimpleGrpcServerProperties.Security simpleSecurity = simpleGrpcServerProperties.getSecurity();
+        copySecurity(properties.getSecurity(), simpleGrpcServerProperties.getSecurity());
 
-        GrpcServerProperties.Security security = properties.getSecurity();
+        SimpleGrpcServerProperties.Transport simpleTransport = simpleGrpcServerProperties.getTransport();
+        GrpcServerProperties.Transport transport = properties.getTransport();
+        simpleTransport.setType(transport.getType());
+        simpleTransport.setBossThreads(transport.getBossThreads());
+        simpleTransport.setWorkerThreads(transport.getWorkerThreads());
+        simpleTransport.setBossThreadNamePrefix(transport.getBossThreadNamePrefix());
+        simpleTransport.setWorkerThreadNamePrefix(transport.getWorkerThreadNamePrefix());
+
+        SimpleGrpcServerProperties.Executor simpleExecutor = simpleGrpcServerProperties.getExecutor();
+        GrpcServerProperties.Executor executor = properties.getExecutor();
+        simpleExecutor.setType(executor.getType());
+        simpleExecutor.setThreads(executor.getThreads());
+        simpleExecutor.setQueueCapacity(executor.getQueueCapacity());
+        simpleExecutor.setRejectionPolicy(executor.getRejectionPolicy());
+        simpleExecutor.setThreadNamePrefix(executor.getThreadNamePrefix());
+
+        for (GrpcServerProperties.Listen listen : properties.getListen()) {
+            SimpleGrpcServerProperties.Listen simpleListen = new SimpleGrpcServerProperties.Listen();
+            simpleListen.setAddress(listen.getAddress());
+            simpleListen.setPort(listen.getPort());
+            simpleListen.setMaxConnectionIdle(listen.getMaxConnectionIdle());
+            simpleListen.setMaxConnectionAge(listen.getMaxConnectionAge());
+            simpleListen.setMaxConnectionAgeGrace(listen.getMaxConnectionAgeGrace());
+            simpleListen.setMaxConcurrentCallsPerConnection(listen.getMaxConcurrentCallsPerConnection());
+            copySecurity(listen.getSecurity(), simpleListen.getSecurity());
+            simpleGrpcServerProperties.getListen().add(simpleListen);
+        }
+
+        SimpleGrpcServerProperties.Drain simpleDrain = simpleGrpcServerProperties.getDrain();
+        GrpcServerProperties.Drain drain = properties.getDrain();
+        simpleDrain.setPropagationDelay(drain.getPropagationDelay());
+        simpleDrain.setTerminationTimeout(drain.getTerminationTimeout());
+
+        return simpleGrpcServerProperties;
+    }
+
+    private static void copySecurity(GrpcServerProperties.Security security,
+            SimpleGrpcServerProperties.Security simpleSecurity) {
         simpleSecurity.setCiphers(security.getCiphers());
         simpleSecurity.setProtocols(security.getProtocols());
         simpleSecurity.setEnabled(security.isEnabled());
@@ -43,18 +80,20 @@ public static SimpleGrpcServerProperties toSimple(GrpcServerProperties propertie
         simpleSecurity.setTrustStoreFormat(security.getTrustStoreFormat());
         simpleSecurity.setTrustStore(getFileFromResource(security.getTrustStore()));
         simpleSecurity.setTrustStorePassword(security.getTrustStorePassword());
-
-        return simpleGrpcServerProperties;
     }
 
     private static SimpleGrpcServerProperties getSimpleGrpcServerProperties(GrpcServerProperties properties) {
         SimpleGrpcServerProperties simpleGrpcServerProperties = new SimpleGrpcServerProperties();
         simpleGrpcServerProperties.setMaxInboundMessageSize(toInteger(properties.getMaxInboundMessageSize()));
         simpleGrpcServerProperties.setMaxInboundMetadataSize(toInteger(properties.getMaxInboundMetadataSize()));
+        simpleGrpcServerProperties.setMaxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection());
+        simpleGrpcServerProperties.setFlowControlWindow(toInteger(properties.getFlowControlWindow()));
+        simpleGrpcServerProperties.setInitialFlowControlWindow(toInteger(properties.getInitialFlowControlWindow()));
         simpleGrpcServerProperties.setAddress(properties.getAddress());
         simpleGrpcServerProperties.setPort(properties.getPort());
         simpleGrpcServerProperties.setInProcessName(properties.getInProcessName());
         simpleGrpcServerProperties.setShutdownGracePeriod(properties.getShutdownGracePeriod());
+        simpleGrpcServerProperties.setAsyncStartup(properties.isAsyncStartup());
         simpleGrpcServerProperties.setEnableKeepAlive(properties.isEnableKeepAlive());
         simpleGrpcServerProperties.setKeepAliveTime(properties.getKeepAliveTime());
         simpleGrpcServerProperties.setKeepAliveTimeout(properties.getKeepAliveTimeout());
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.event;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+
+import io.grpc.Server;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerLifecycle;
+
+/**
+ * This event will be fired whenever the shutdown of the server enters a new drain {@link Phase phase}. It is fired
+ * synchronously, so listeners can act before the server proceeds with the next phase, for example by changing the
+ * health status of the services.
+ *
+ * @see GrpcServerShutdownEvent
+ * @see GrpcServerTerminatedEvent
+ */
+public class GrpcServerDrainEvent extends GrpcServerLifecycleEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Phase phase;
+    private final int inFlightCalls;
+
+    /**
+     * Creates a new GrpcServerDrainEvent.
+     *
+     * @param lifecyle The lifecycle that caused this event.
+     * @param clock The clock used to determine the timestamp.
+     * @param server The server related to this event.
+     * @param phase The drain phase that the server is about to enter.
+     * @param inFlightCalls The number of calls in flight or {@code -1} if unknown.
+     */
+    public GrpcServerDrainEvent(
+            final GrpcServerLifecycle lifecyle,
+            final Clock clock,
+            final Server server,
+            final Phase phase,
+            final int inFlightCalls) {
+
+        super(lifecyle, clock, server);
+        this.phase = requireNonNull(phase, "phase");
+        this.inFlightCalls = inFlightCalls;
+    }
+
+    /**
+     * Creates a new GrpcServerDrainEvent.
+     *
+     * @param lifecyle The lifecycle that caused this event.
+     * @param server The server related to this event.
+     * @param phase The drain phase that the server is about to enter.
+     * @param inFlightCalls The number of calls in flight or {@code -1} if unknown.
+     */
+    public GrpcServerDrainEvent(
+            final GrpcServerLifecycle lifecyle,
+            final Server server,
+            final Phase phase,
+            final int inFlightCalls) {
+
+        super(lifecyle, server);
+        this.phase = requireNonNull(phase, "phase");
+        this.inFlightCalls = inFlightCalls;
+    }
+
+    /**
+     * Gets the drain phase that the server is about to enter.
+     *
+     * @return The drain phase.
+     */
+    public Phase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Gets the number of calls that were in flight when the phase was entered.
+     *
+     * @return The number of calls in flight or {@code -1} if unknown.
+     */
+    public int getInFlightCalls() {
+        return this.inFlightCalls;
+    }
+
+    /**
+     * The phases of the server's drain in the order they are executed.
+     */
+    public enum Phase {
+
+        /**
+         * The services should be reported as {@code NOT_SERVING}, while the server still accepts new calls.
+         */
+        NOT_SERVING,
+
+        /**
+         * The server stops accepting new calls and sends GOAWAY to its clients, while the in-flight calls may still
+         * complete.
+         */
+        GOAWAY,
+
+        /**
+         * The server cancels all calls that didn't complete within the shutdown grace period.
+         */
+        FORCE_SHUTDOWN;
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+/**
+ * A concurrency limit that uses an additive increase, multiplicative decrease (AIMD) strategy. The limit grows by one
+ * for each successful call while the limit is used to a reasonable degree and is reduced by the backoff ratio whenever
+ * a call is dropped.
+ */
+public final class AimdLimit implements ConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+
+    /**
+     * Creates a new AimdLimit.
+     *
+     * @param initialLimit The initial limit.
+     * @param minLimit The minimum limit.
+     * @param maxLimit The maximum limit.
+     */
+    public AimdLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return this.limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        final int currentLimit = this.limit;
+        if (dropped) {
+            this.limit = Math.max(this.minLimit, (int) (currentLimit * BACKOFF_RATIO));
+        } else if (inFlight * 2 >= currentLimit) {
+            // Only grow if the limit is actually used, otherwise the limit would grow unbounded while idle
+            this.limit = Math.min(this.maxLimit, currentLimit + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit [limit=" + this.limit + "]";
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+/**
+ * An algorithm that adapts the number of calls that may be processed concurrently based on the observed latencies and
+ * failures of the completed calls.
+ *
+ * <p>
+ * <b>Note:</b> Implementations must be thread-safe.
+ * </p>
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * Gets the current number of calls that may be processed concurrently.
+     *
+     * @return The current concurrency limit.
+     */
+    int getLimit();
+
+    /**
+     * Updates the limit based on a completed call.
+     *
+     * @param rttNanos The time it took to process the call in nanoseconds.
+     * @param inFlight The number of calls that were in flight, when the call started.
+     * @param dropped Whether the call failed because the server was overloaded, for example, because it exceeded its
+     *        deadline.
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+}
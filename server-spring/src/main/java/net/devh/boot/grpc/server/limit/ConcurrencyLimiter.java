@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.devh.boot.grpc.server.config.ConcurrencyLimitPartitioning;
+
+/**
+ * Tracks the calls in flight of a single partition and admits new calls as long as the partition's
+ * {@link ConcurrencyLimit} isn't exceeded.
+ *
+ * <p>
+ * Only one completed call at a time updates the limit. Samples of successful calls that complete while another sample
+ * is being processed are skipped instead of waiting for it, so that the limit doesn't become a point of contention
+ * for partitions with many concurrent calls, such as the {@link ConcurrencyLimitPartitioning#SERVER server} partition.
+ * Samples of dropped calls are never skipped, so that the limit always backs off under overload.
+ * </p>
+ */
+public final class ConcurrencyLimiter {
+
+    private final String name;
+    private final ConcurrencyLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicBoolean sampling = new AtomicBoolean();
+
+    /**
+     * Creates a new ConcurrencyLimiter.
+     *
+     * @param name The name of the partition.
+     * @param limit The algorithm used to determine the limit.
+     */
+    ConcurrencyLimiter(final String name, final ConcurrencyLimit limit) {
+        this.name = requireNonNull(name, "name");
+        this.limit = requireNonNull(limit, "limit");
+    }
+
+    /**
+     * Tries to admit a new call.
+     *
+     * @return The number of calls in flight including the admitted call or {@code -1}, if the call was rejected.
+     */
+    int tryAcquire() {
+        final int currentLimit = this.limit.getLimit();
+        int current;
+        do {
+            current = this.inFlight.get();
+            if (current >= currentLimit) {
+                this.rejected.increment();
+                return -1;
+            }
+        } while (!this.inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    /**
+     * Releases a previously admitted call and updates the limit accordingly.
+     *
+     * @param startNanos The time the call was admitted.
+     * @param inFlight The number of calls in flight when the call was admitted.
+     * @param dropped Whether the call failed because the server was overloaded.
+     */
+    void release(final long startNanos, final int inFlight, final boolean dropped) {
+        this.inFlight.decrementAndGet();
+        final long rttNanos = System.nanoTime() - startNanos;
+        if (dropped) {
+            this.limit.onSample(rttNanos, inFlight, true);
+        } else if (this.sampling.compareAndSet(false, true)) {
+            try {
+                this.limit.onSample(rttNanos, inFlight, false);
+            } finally {
+                this.sampling.set(false);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the partition this limiter is responsible for.
+     *
+     * @return The name of the partition.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return The current limit.
+     */
+    public int getLimit() {
+        return this.limit.getLimit();
+    }
+
+    /**
+     * Gets the number of calls currently in flight.
+     *
+     * @return The number of calls in flight.
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Gets the total number of calls that have been rejected.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimiter [name=" + this.name + ", limit=" + getLimit() + ", inFlight=" + getInFlight()
+                + ", rejected=" + getRejected() + "]";
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import net.devh.boot.grpc.server.config.ConcurrencyLimitPartitioning;
+
+/**
+ * A server interceptor that limits the number of calls that are processed concurrently. Calls that exceed the limit
+ * are rejected immediately with {@link Status#RESOURCE_EXHAUSTED RESOURCE_EXHAUSTED}, instead of queuing up in the
+ * executor until their deadlines expire. The limits adapt to the observed latencies and are tracked per
+ * {@link ConcurrencyLimitPartitioning partition}.
+ *
+ * <p>
+ * Only calls of methods with a single response, i.e. unary and client streaming methods, are limited. Server streaming
+ * and bidi streaming calls usually stay open for much longer than it takes to process them, so they would occupy the
+ * limit and spoil the latency samples for their whole lifetime. They are passed through without being limited.
+ * </p>
+ *
+ * <p>
+ * <b>Note:</b> This interceptor should be executed before any other interceptor, so that rejected calls are as cheap
+ * as possible.
+ * </p>
+ */
+public class ConcurrencyLimitingServerInterceptor implements ServerInterceptor {
+
+    /**
+     * The trailer used to tell the client how long it should wait before retrying a rejected call. This trailer is
+     * honored by grpc's built-in retry support.
+     */
+    public static final Metadata.Key<String> RETRY_PUSHBACK_KEY =
+            Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String SERVER_PARTITION = "server";
+
+    private final ConcurrencyLimitPartitioning partitioning;
+    private final Supplier<? extends ConcurrencyLimit> limitFactory;
+    private final String retryPushback;
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final List<Consumer<? super ConcurrencyLimiter>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new ConcurrencyLimitingServerInterceptor.
+     *
+     * @param partitioning The partitioning used to assign calls to limiters.
+     * @param limitFactory The factory used to create the limit algorithm for each partition.
+     * @param retryPushback The time clients should wait before retrying rejected calls or null to let them decide.
+     */
+    public ConcurrencyLimitingServerInterceptor(final ConcurrencyLimitPartitioning partitioning,
+            final Supplier<? extends ConcurrencyLimit> limitFactory, final Duration retryPushback) {
+        this.partitioning = requireNonNull(partitioning, "partitioning");
+        this.limitFactory = requireNonNull(limitFactory, "limitFactory");
+        this.retryPushback = retryPushback == null || retryPushback.isNegative() ? null
+                : Long.toString(retryPushback.toMillis());
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(final ServerCall<ReqT, RespT> call,
+            final Metadata headers, final ServerCallHandler<ReqT, RespT> next) {
+
+        final MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        if (!method.getType().serverSendsOneMessage()) {
+            return next.startCall(call, headers);
+        }
+        final ConcurrencyLimiter limiter = getLimiter(method);
+        final int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            final Metadata trailers = new Metadata();
+            if (this.retryPushback != null) {
+                trailers.put(RETRY_PUSHBACK_KEY, this.retryPushback);
+            }
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Concurrency limit exceeded"), trailers);
+            return new ServerCall.Listener<ReqT>() {};
+        }
+
+        final LimitReleasingServerCall<ReqT, RespT> limitedCall =
+                new LimitReleasingServerCall<>(call, limiter, inFlight);
+        try {
+            return new SimpleForwardingServerCallListener<ReqT>(next.startCall(limitedCall, headers)) {
+
+                @Override
+                public void onCancel() {
+                    final Deadline deadline = Context.current().getDeadline();
+                    limitedCall.release(deadline != null && deadline.isExpired());
+                    super.onCancel();
+                }
+
+            };
+        } catch (final RuntimeException e) {
+            limitedCall.release(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a listener that is notified about every limiter this interceptor uses, including those that have
+     * already been created. This can be used to export the state of the limiters.
+     *
+     * @param listener The listener to notify.
+     */
+    public synchronized void addLimiterListener(final Consumer<? super ConcurrencyLimiter> listener) {
+        this.listeners.add(requireNonNull(listener, "listener"));
+        this.limiters.values().forEach(listener);
+    }
+
+    /**
+     * Gets the limiter responsible for the given method.
+     *
+     * @param method The method to get the limiter for.
+     * @return The limiter responsible for the method.
+     */
+    protected ConcurrencyLimiter getLimiter(final MethodDescriptor<?, ?> method) {
+        final String partition;
+        switch (this.partitioning) {
+            case SERVICE:
+                partition = method.getServiceName();
+                break;
+            case METHOD:
+                partition = method.getFullMethodName();
+                break;
+            default:
+                partition = SERVER_PARTITION;
+                break;
+        }
+        final ConcurrencyLimiter limiter = this.limiters.get(partition);
+        return limiter != null ? limiter : createLimiter(partition);
+    }
+
+    private synchronized ConcurrencyLimiter createLimiter(final String partition) {
+        ConcurrencyLimiter limiter = this.limiters.get(partition);
+        if (limiter == null) {
+            limiter = new ConcurrencyLimiter(partition, this.limitFactory.get());
+            this.limiters.put(partition, limiter);
+            for (final Consumer<? super ConcurrencyLimiter> listener : this.listeners) {
+                listener.accept(limiter);
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * A server call that releases its admission, once the call is closed.
+     *
+     * @param <ReqT> The type of the request.
+     * @param <RespT> The type of the response.
+     */
+    private static final class LimitReleasingServerCall<ReqT, RespT>
+            extends SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final ConcurrencyLimiter limiter;
+        private final int inFlight;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        LimitReleasingServerCall(final ServerCall<ReqT, RespT> delegate, final ConcurrencyLimiter limiter,
+                final int inFlight) {
+            super(delegate);
+            this.limiter = limiter;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void close(final Status status, final Metadata trailers) {
+            final Code code = status.getCode();
+            release(code == Code.DEADLINE_EXCEEDED || code == Code.RESOURCE_EXHAUSTED);
+            super.close(status, trailers);
+        }
+
+        void release(final boolean dropped) {
+            if (this.released.compareAndSet(false, true)) {
+                this.limiter.release(this.startNanos, this.inFlight, dropped);
+            }
+        }
+
+    }
+
+}
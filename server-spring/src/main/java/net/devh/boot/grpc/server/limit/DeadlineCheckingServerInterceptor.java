@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * A server interceptor that rejects calls with {@link Status#DEADLINE_EXCEEDED DEADLINE_EXCEEDED}, if their remaining
+ * deadline is too short to complete them. A call is considered doomed, if its remaining time is below the configured
+ * threshold or, once enough calls have been observed, below the median latency of its method.
+ *
+ * <p>
+ * <b>Note:</b> This interceptor should be executed before the security interceptors and the concurrency limit, so that
+ * doomed calls don't consume any resources.
+ * </p>
+ */
+public class DeadlineCheckingServerInterceptor implements ServerInterceptor {
+
+    private final long thresholdNanos;
+    private final int minSamples;
+    private final Map<String, LatencyEstimator> latencies;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a new DeadlineCheckingServerInterceptor.
+     *
+     * @param threshold The minimum remaining time a call must have to be processed.
+     * @param latencyAware Whether calls should also be rejected if their remaining time is below the observed median
+     *        latency of their method.
+     * @param minSamples The number of successful calls that have to be observed for a method, before its median latency
+     *        is used.
+     */
+    public DeadlineCheckingServerInterceptor(final Duration threshold, final boolean latencyAware,
+            final int minSamples) {
+        this.thresholdNanos = threshold.toNanos();
+        this.minSamples = minSamples;
+        this.latencies = latencyAware ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(final ServerCall<ReqT, RespT> call,
+            final Metadata headers, final ServerCallHandler<ReqT, RespT> next) {
+
+        final LatencyEstimator latency = this.latencies == null ? null
+                : this.latencies.computeIfAbsent(call.getMethodDescriptor().getFullMethodName(),
+                        name -> new LatencyEstimator());
+
+        final Deadline deadline = Context.current().getDeadline();
+        if (deadline != null) {
+            final long remainingNanos = deadline.timeRemaining(NANOSECONDS);
+            final long requiredNanos = latency == null || latency.getSamples() < this.minSamples
+                    ? this.thresholdNanos
+                    : Math.max(this.thresholdNanos, latency.getMedianNanos());
+            if (remainingNanos < requiredNanos) {
+                this.rejected.increment();
+                call.close(Status.DEADLINE_EXCEEDED.withDescription(
+                        "Insufficient time to process the call: " + Math.max(0, remainingNanos) + "ns remaining, "
+                                + requiredNanos + "ns required"),
+                        new Metadata());
+                return new ServerCall.Listener<ReqT>() {};
+            }
+        }
+
+        if (latency == null) {
+            return next.startCall(call, headers);
+        }
+        final long startNanos = System.nanoTime();
+        return next.startCall(new SimpleForwardingServerCall<ReqT, RespT>(call) {
+
+            @Override
+            public void close(final Status status, final Metadata trailers) {
+                if (status.isOk()) {
+                    latency.record(System.nanoTime() - startNanos);
+                }
+                super.close(status, trailers);
+            }
+
+        }, headers);
+    }
+
+    /**
+     * Gets the total number of calls that have been rejected, because their remaining deadline was too short.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * A streaming estimator for the median latency of a method. It moves the estimate towards each sample by a small
+     * fraction of the estimate, which converges to the median without storing any samples.
+     */
+    private static final class LatencyEstimator {
+
+        private static final int STEP_DIVISOR = 32;
+
+        private final AtomicLong medianNanos = new AtomicLong();
+        private final LongAdder samples = new LongAdder();
+
+        void record(final long latencyNanos) {
+            this.samples.increment();
+            this.medianNanos.accumulateAndGet(latencyNanos, (estimate, sample) -> {
+                if (estimate == 0) {
+                    return sample;
+                }
+                final long step = Math.max(1, estimate / STEP_DIVISOR);
+                return sample > estimate ? estimate + step : sample < estimate ? estimate - step : estimate;
+            });
+        }
+
+        long getMedianNanos() {
+            return this.medianNanos.get();
+        }
+
+        long getSamples() {
+            return this.samples.sum();
+        }
+
+    }
+
+}
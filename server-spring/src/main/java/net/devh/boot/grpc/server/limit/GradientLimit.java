@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+/**
+ * A concurrency limit that compares the long term average latency with the latency of the most recent calls. As long
+ * as the recent latency is not higher than the average, the limit grows by a queue size of {@code sqrt(limit)}. If the
+ * recent latency increases, the limit is reduced proportionally to the gradient between both latencies.
+ */
+public final class GradientLimit implements ConcurrencyLimit {
+
+    private static final double LONG_WINDOW_SMOOTHING = 2.0 / (600 + 1);
+    private static final double SHORT_WINDOW_SMOOTHING = 2.0 / (10 + 1);
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+
+    /**
+     * Creates a new GradientLimit.
+     *
+     * @param initialLimit The initial limit.
+     * @param minLimit The minimum limit.
+     * @param maxLimit The maximum limit.
+     */
+    public GradientLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = this.limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return this.limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (this.longRtt == 0) {
+            this.longRtt = rttNanos;
+            this.shortRtt = rttNanos;
+            return;
+        }
+        this.longRtt += (rttNanos - this.longRtt) * LONG_WINDOW_SMOOTHING;
+        this.shortRtt += (rttNanos - this.shortRtt) * SHORT_WINDOW_SMOOTHING;
+
+        // Don't grow the limit if it isn't used, because the latencies don't tell anything about a higher limit
+        if (!dropped && inFlight < this.estimatedLimit / 2) {
+            return;
+        }
+
+        final double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, this.longRtt / this.shortRtt));
+        final double queueSize = Math.sqrt(this.estimatedLimit);
+        final double newLimit = dropped ? this.estimatedLimit * MIN_GRADIENT
+                : this.estimatedLimit * gradient + queueSize;
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit,
+                this.estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING));
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "GradientLimit [limit=" + this.limit + "]";
+    }
+
+}
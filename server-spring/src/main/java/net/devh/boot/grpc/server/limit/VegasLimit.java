@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+/**
+ * A concurrency limit based on TCP Vegas. The limit is adjusted based on the estimated queue size, which is derived
+ * from the ratio between the minimum observed latency (no load) and the latency of the completed call. Small queues
+ * grow the limit, large queues reduce it.
+ */
+public final class VegasLimit implements ConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+    private long rttNoLoad;
+
+    /**
+     * Creates a new VegasLimit.
+     *
+     * @param initialLimit The initial limit.
+     * @param minLimit The minimum limit.
+     * @param maxLimit The maximum limit.
+     */
+    public VegasLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return this.limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (this.rttNoLoad == 0 || rttNanos < this.rttNoLoad) {
+            this.rttNoLoad = rttNanos;
+            return;
+        }
+
+        final int currentLimit = this.limit;
+        final double log = Math.max(1, Math.log10(currentLimit));
+        final int newLimit;
+        if (dropped) {
+            newLimit = (int) (currentLimit - log);
+        } else if (inFlight * 2 < currentLimit) {
+            // Don't grow the limit if it isn't used
+            return;
+        } else {
+            final double queueSize = Math.ceil(currentLimit * (1 - (double) this.rttNoLoad / rttNanos));
+            if (queueSize <= log) {
+                newLimit = (int) (currentLimit + 6 * log);
+            } else if (queueSize < 3 * log) {
+                newLimit = (int) (currentLimit + log);
+            } else if (queueSize > 6 * log) {
+                newLimit = (int) (currentLimit - log);
+            } else {
+                return;
+            }
+        }
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+    }
+
+    @Override
+    public String toString() {
+        return "VegasLimit [limit=" + this.limit + "]";
+    }
+
+}
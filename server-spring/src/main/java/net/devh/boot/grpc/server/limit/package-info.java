@@ -0,0 +1,5 @@
+/**
+ * Classes related to limiting the number of concurrent calls served by the gRPC server.
+ */
+
+package net.devh.boot.grpc.server.limit;
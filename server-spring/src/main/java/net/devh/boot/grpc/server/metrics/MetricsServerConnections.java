@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+import io.grpc.ServerTransportFilter;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records connection-level metrics of a gRPC server, such as the number of open connections, their age and the number
+ * of concurrent streams per connection. The metrics are collected using a {@link ServerTransportFilter} and a
+ * {@link ServerStreamTracer.Factory}, so they work for all transports including the shaded and unshaded netty ones.
+ *
+ * <p>
+ * <b>Note:</b> This class uses experimental grpc-java-API features.
+ * </p>
+ */
+public final class MetricsServerConnections {
+
+    private static final Attributes.Key<Connection> CONNECTION_KEY =
+            Attributes.Key.create("grpc-spring-server-connection");
+
+    private final Clock clock;
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter opened;
+    private final Counter closed;
+    private final Timer age;
+    private final DistributionSummary activeStreams;
+    private final DistributionSummary streams;
+
+    /**
+     * Creates a new MetricsServerConnections instance and registers its meters.
+     *
+     * @param registry The registry used to create the metrics.
+     */
+    public MetricsServerConnections(final MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        this.clock = registry.config().clock();
+        Gauge.builder("grpc.server.connections.open", this.open, AtomicInteger::get)
+                .description("The number of currently open connections")
+                .register(registry);
+        this.opened = Counter.builder("grpc.server.connections.opened")
+                .description("The number of connections that have been established")
+                .register(registry);
+        this.closed = Counter.builder("grpc.server.connections.closed")
+                .description("The number of connections that have been closed")
+                .register(registry);
+        this.age = Timer.builder("grpc.server.connection.age")
+                .description("The time connections were open, recorded when they are closed")
+                .register(registry);
+        this.activeStreams = DistributionSummary.builder("grpc.server.connection.active.streams")
+                .description("The number of active streams on a connection, recorded whenever a new stream starts")
+                .register(registry);
+        this.streams = DistributionSummary.builder("grpc.server.connection.streams")
+                .description("The total number of streams served by a connection, recorded when it is closed")
+                .register(registry);
+    }
+
+    /**
+     * Gets the transport filter that tracks the connections. It has to be registered together with the
+     * {@link #getStreamTracerFactory() stream tracer factory}.
+     *
+     * @return The transport filter to register on the server.
+     */
+    public ServerTransportFilter getTransportFilter() {
+        return new ConnectionTransportFilter();
+    }
+
+    /**
+     * Gets the stream tracer factory that tracks the streams per connection.
+     *
+     * @return The stream tracer factory to register on the server.
+     */
+    public ServerStreamTracer.Factory getStreamTracerFactory() {
+        return new ConnectionStreamTracerFactory();
+    }
+
+    private static final class Connection {
+
+        private final long startTime;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger total = new AtomicInteger();
+
+        Connection(final long startTime) {
+            this.startTime = startTime;
+        }
+
+    }
+
+    private final class ConnectionTransportFilter extends ServerTransportFilter {
+
+        @Override
+        public Attributes transportReady(final Attributes transportAttrs) {
+            MetricsServerConnections.this.open.incrementAndGet();
+            MetricsServerConnections.this.opened.increment();
+            return transportAttrs.toBuilder()
+                    .set(CONNECTION_KEY, new Connection(MetricsServerConnections.this.clock.monotonicTime()))
+                    .build();
+        }
+
+        @Override
+        public void transportTerminated(final Attributes transportAttrs) {
+            final Connection connection = transportAttrs.get(CONNECTION_KEY);
+            if (connection == null) {
+                // The transport was never ready
+                return;
+            }
+            MetricsServerConnections.this.open.decrementAndGet();
+            MetricsServerConnections.this.closed.increment();
+            MetricsServerConnections.this.age.record(
+                    MetricsServerConnections.this.clock.monotonicTime() - connection.startTime, TimeUnit.NANOSECONDS);
+            MetricsServerConnections.this.streams.record(connection.total.get());
+        }
+
+    }
+
+    private final class ConnectionStreamTracerFactory extends ServerStreamTracer.Factory {
+
+        @Override
+        public ServerStreamTracer newServerStreamTracer(final String fullMethodName, final Metadata headers) {
+            return new ConnectionStreamTracer();
+        }
+
+    }
+
+    private final class ConnectionStreamTracer extends ServerStreamTracer {
+
+        private volatile Connection connection;
+
+        @Override
+        public void serverCallStarted(final ServerCallInfo<?, ?> callInfo) {
+            final Connection current = callInfo.getAttributes().get(CONNECTION_KEY);
+            if (current == null) {
+                return;
+            }
+            this.connection = current;
+            current.total.incrementAndGet();
+            MetricsServerConnections.this.activeStreams.record(current.active.incrementAndGet());
+        }
+
+        @Override
+        public void streamClosed(final Status status) {
+            final Connection current = this.connection;
+            if (current != null) {
+                this.connection = null;
+                current.active.decrementAndGet();
+            }
+        }
+
+    }
+
+}
@@ -44,6 +44,25 @@ private MetricsServerInstruments() {}
             "grpc.server.call.rcvd_total_compressed_message_size";
     private static final String SERVER_CALL_DURATION =
             "grpc.server.call.duration";
+    /*
+     * Counts all completed calls, because the histograms above might only record a sample of them.
+     */
+    private static final String SERVER_CALL_COMPLETED = "grpc.server.call.completed";
+    /*
+     * Server side metrics of micrometer's MetricCollectingServerInterceptor, which are kept for the compatibility with
+     * existing dashboards and alerts.
+     */
+    private static final String LEGACY_REQUESTS_RECEIVED = "grpc.server.requests.received";
+    private static final String LEGACY_RESPONSES_SENT = "grpc.server.responses.sent";
+    private static final String LEGACY_PROCESSING_DURATION = "grpc.server.processing.duration";
+    private static final String MESSAGES_UNIT = "messages";
+    /*
+     * Server side metrics of the individual messages of a call, that are updated while the call is still open.
+     */
+    private static final String SERVER_CALL_MESSAGES = "grpc.server.call.messages";
+    private static final String SERVER_CALL_MESSAGE_SIZE = "grpc.server.call.message_size";
+    private static final String SERVER_CALL_MESSAGE_GAP = "grpc.server.call.message_gap";
+    private static final String SERVER_CALL_TIME_TO_FIRST_MESSAGE = "grpc.server.call.time_to_first_message";
     private static final double[] DEFAULT_SIZE_BUCKETS =
             new double[] {1024d, 2048d, 4096d, 16384d, 65536d, 262144d, 1048576d,
                     4194304d, 16777216d, 67108864d, 268435456d, 1073741824d, 4294967296d};
@@ -61,8 +80,25 @@ private MetricsServerInstruments() {}
                     Duration.ofSeconds(20), Duration.ofSeconds(50), Duration.ofSeconds(100)};
 
     static MetricsServerMeters newServerMetricsMeters(MeterRegistry registry) {
+        return newServerMetricsMeters(registry, true, false);
+    }
+
+    /*
+     * Creates the server meters of the selected conventions, that are all recorded by the same stream tracer.
+     */
+    public static MetricsServerMeters newServerMetricsMeters(MeterRegistry registry, boolean a66, boolean legacy) {
         MetricsServerMeters.Builder builder = MetricsServerMeters.newBuilder();
+        if (a66) {
+            addA66Meters(builder, registry);
+        }
+        if (legacy) {
+            addLegacyMeters(builder, registry);
+        }
+        addMessageMeters(builder, registry);
+        return builder.build();
+    }
 
+    private static void addA66Meters(MetricsServerMeters.Builder builder, MeterRegistry registry) {
         builder.setServerCallCounter(Counter.builder(SERVER_CALL_STARTED)
                 .description("The total number of RPC attempts started from the server side, including "
                         + "those that have not completed.")
@@ -87,6 +123,48 @@ static MetricsServerMeters newServerMetricsMeters(MeterRegistry registry) {
                 .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
                 .withRegistry(registry));
 
-        return builder.build();
+        builder.setServerCallCompletedCounter(Counter.builder(SERVER_CALL_COMPLETED)
+                .description("The total number of calls completed on the server side, including those whose "
+                        + "duration and message sizes were not sampled.")
+                .withRegistry(registry));
+    }
+
+    private static void addLegacyMeters(MetricsServerMeters.Builder builder, MeterRegistry registry) {
+        builder.setLegacyRequestCounter(Counter.builder(LEGACY_REQUESTS_RECEIVED)
+                .description("The total number of requests received")
+                .baseUnit(MESSAGES_UNIT)
+                .withRegistry(registry));
+
+        builder.setLegacyResponseCounter(Counter.builder(LEGACY_RESPONSES_SENT)
+                .description("The total number of responses sent")
+                .baseUnit(MESSAGES_UNIT)
+                .withRegistry(registry));
+
+        builder.setLegacyProcessingDuration(Timer.builder(LEGACY_PROCESSING_DURATION)
+                .description("The total time taken for the server to complete the call")
+                .withRegistry(registry));
+    }
+
+    private static void addMessageMeters(MetricsServerMeters.Builder builder, MeterRegistry registry) {
+        builder.setMessageCounter(Counter.builder(SERVER_CALL_MESSAGES)
+                .description("The total number of messages sent or received by the server")
+                .baseUnit(MESSAGES_UNIT)
+                .withRegistry(registry));
+
+        builder.setMessageSizeDistribution(DistributionSummary.builder(SERVER_CALL_MESSAGE_SIZE)
+                .description("Compressed bytes of each message sent or received by the server")
+                .baseUnit(BaseUnits.BYTES)
+                .serviceLevelObjectives(DEFAULT_SIZE_BUCKETS)
+                .withRegistry(registry));
+
+        builder.setMessageGap(Timer.builder(SERVER_CALL_MESSAGE_GAP)
+                .description("Time between two consecutive messages of a server call in the same direction")
+                .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
+                .withRegistry(registry));
+
+        builder.setTimeToFirstMessage(Timer.builder(SERVER_CALL_TIME_TO_FIRST_MESSAGE)
+                .description("Time from the start of a server call until its first message in each direction")
+                .serviceLevelObjectives(DEFAULT_LATENCY_BUCKETS)
+                .withRegistry(registry));
     }
 }
@@ -22,7 +22,8 @@
 import io.micrometer.core.instrument.Timer;
 
 /*
- * Collection of server metrics meters.
+ * Collection of server metrics meters. The A66 and the legacy meters are optional, if either of them is not set, the
+ * metrics of that convention are not recorded.
  */
 public class MetricsServerMeters {
 
@@ -30,12 +31,42 @@ public class MetricsServerMeters {
     private MeterProvider<DistributionSummary> sentMessageSizeDistribution;
     private MeterProvider<DistributionSummary> receivedMessageSizeDistribution;
     private MeterProvider<Timer> serverCallDuration;
+    private MeterProvider<Counter> serverCallCompletedCounter;
+    private MeterProvider<Counter> legacyRequestCounter;
+    private MeterProvider<Counter> legacyResponseCounter;
+    private MeterProvider<Timer> legacyProcessingDuration;
+    private MeterProvider<Counter> messageCounter;
+    private MeterProvider<DistributionSummary> messageSizeDistribution;
+    private MeterProvider<Timer> messageGap;
+    private MeterProvider<Timer> timeToFirstMessage;
 
     private MetricsServerMeters(Builder builder) {
         this.serverCallCounter = builder.serverCallCounter;
         this.sentMessageSizeDistribution = builder.sentMessageSizeDistribution;
         this.receivedMessageSizeDistribution = builder.receivedMessageSizeDistribution;
         this.serverCallDuration = builder.serverCallDuration;
+        this.serverCallCompletedCounter = builder.serverCallCompletedCounter;
+        this.legacyRequestCounter = builder.legacyRequestCounter;
+        this.legacyResponseCounter = builder.legacyResponseCounter;
+        this.legacyProcessingDuration = builder.legacyProcessingDuration;
+        this.messageCounter = builder.messageCounter;
+        this.messageSizeDistribution = builder.messageSizeDistribution;
+        this.messageGap = builder.messageGap;
+        this.timeToFirstMessage = builder.timeToFirstMessage;
+    }
+
+    /*
+     * Whether the A66 metrics are recorded.
+     */
+    public boolean isA66Enabled() {
+        return this.serverCallCounter != null;
+    }
+
+    /*
+     * Whether the metrics with the names of micrometer's MetricCollectingServerInterceptor are recorded.
+     */
+    public boolean isLegacyEnabled() {
+        return this.legacyRequestCounter != null;
     }
 
     public MeterProvider<Counter> getServerCallCounter() {
@@ -54,6 +85,42 @@ public MeterProvider<Timer> getServerCallDuration() {
         return this.serverCallDuration;
     }
 
+    /*
+     * The counter of the completed calls per status, that is recorded for all calls regardless of the sampling of the
+     * histograms. May be null.
+     */
+    public MeterProvider<Counter> getServerCallCompletedCounter() {
+        return this.serverCallCompletedCounter;
+    }
+
+    public MeterProvider<Counter> getLegacyRequestCounter() {
+        return this.legacyRequestCounter;
+    }
+
+    public MeterProvider<Counter> getLegacyResponseCounter() {
+        return this.legacyResponseCounter;
+    }
+
+    public MeterProvider<Timer> getLegacyProcessingDuration() {
+        return this.legacyProcessingDuration;
+    }
+
+    public MeterProvider<Counter> getMessageCounter() {
+        return this.messageCounter;
+    }
+
+    public MeterProvider<DistributionSummary> getMessageSizeDistribution() {
+        return this.messageSizeDistribution;
+    }
+
+    public MeterProvider<Timer> getMessageGap() {
+        return this.messageGap;
+    }
+
+    public MeterProvider<Timer> getTimeToFirstMessage() {
+        return this.timeToFirstMessage;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -64,6 +131,14 @@ static class Builder {
         private MeterProvider<DistributionSummary> sentMessageSizeDistribution;
         private MeterProvider<DistributionSummary> receivedMessageSizeDistribution;
         private MeterProvider<Timer> serverCallDuration;
+        private MeterProvider<Counter> serverCallCompletedCounter;
+        private MeterProvider<Counter> legacyRequestCounter;
+        private MeterProvider<Counter> legacyResponseCounter;
+        private MeterProvider<Timer> legacyProcessingDuration;
+        private MeterProvider<Counter> messageCounter;
+        private MeterProvider<DistributionSummary> messageSizeDistribution;
+        private MeterProvider<Timer> messageGap;
+        private MeterProvider<Timer> timeToFirstMessage;
 
         private Builder() {}
 
@@ -87,6 +162,46 @@ public Builder setServerCallDuration(MeterProvider<Timer> timer) {
             return this;
         }
 
+        public Builder setServerCallCompletedCounter(MeterProvider<Counter> counter) {
+            this.serverCallCompletedCounter = counter;
+            return this;
+        }
+
+        public Builder setLegacyRequestCounter(MeterProvider<Counter> counter) {
+            this.legacyRequestCounter = counter;
+            return this;
+        }
+
+        public Builder setLegacyResponseCounter(MeterProvider<Counter> counter) {
+            this.legacyResponseCounter = counter;
+            return this;
+        }
+
+        public Builder setLegacyProcessingDuration(MeterProvider<Timer> timer) {
+            this.legacyProcessingDuration = timer;
+            return this;
+        }
+
+        public Builder setMessageCounter(MeterProvider<Counter> counter) {
+            this.messageCounter = counter;
+            return this;
+        }
+
+        public Builder setMessageSizeDistribution(MeterProvider<DistributionSummary> distribution) {
+            this.messageSizeDistribution = distribution;
+            return this;
+        }
+
+        public Builder setMessageGap(MeterProvider<Timer> timer) {
+            this.messageGap = timer;
+            return this;
+        }
+
+        public Builder setTimeToFirstMessage(MeterProvider<Timer> timer) {
+            this.timeToFirstMessage = timer;
+            return this;
+        }
+
         public MetricsServerMeters build() {
             return new MetricsServerMeters(this);
         }
@@ -18,18 +18,29 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import com.google.common.base.Stopwatch;
 
 import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
 import io.grpc.ServerStreamTracer;
+import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.common.metrics.MethodMetricsPolicy;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 import net.devh.boot.grpc.common.util.Constants;
 
 /**
@@ -40,21 +51,48 @@
  * ServerCall. Therefore, only one tracer is created per stream/call and it's the tracer that reports the metrics
  * summary.
  *
+ * <p>
+ * The tracer records the metrics of all conventions configured in the {@link MetricsServerMeters}, so that the legacy
+ * metrics of micrometer's {@code MetricCollectingServerInterceptor} and the A66 metrics can be recorded without
+ * instrumenting each call twice.
+ * </p>
+ *
+ * <p>
+ * If enabled by the {@link MetricsPolicy}, the tracer also measures the individual messages of each call while it is
+ * still open, so that long-lived streams can be observed before they end.
+ * </p>
+ *
  * <b>Note:</b> This class uses experimental grpc-java-API features.
  */
 public final class MetricsServerStreamTracers {
 
     private static final Supplier<Stopwatch> STOPWATCH_SUPPLIER = Stopwatch::createUnstarted;
+    private static final ServerStreamTracer NOOP_TRACER = new ServerStreamTracer() {};
     private final Supplier<Stopwatch> stopwatchSupplier;
+    private final MetricsPolicy policy;
     private static final String INSTRUMENTATION_SOURCE_TAG_KEY = "instrumentation_source";
     private static final String INSTRUMENTATION_VERSION_TAG_KEY = "instrumentation_version";
+    private static final String DIRECTION_TAG_KEY = "grpc.direction";
+    private static final int MAX_CACHED_METHODS = 1000;
 
     public MetricsServerStreamTracers() {
         this(STOPWATCH_SUPPLIER);
     }
 
     public MetricsServerStreamTracers(Supplier<Stopwatch> stopwatchSupplier) {
+        this(stopwatchSupplier, MetricsPolicy.FULL);
+    }
+
+    /**
+     * Creates a new MetricsServerStreamTracers instance, that only records the metrics of the calls selected by the
+     * given policy.
+     *
+     * @param stopwatchSupplier The supplier used to create the stopwatches that measure the calls.
+     * @param policy The policy that decides which calls are measured and in how much detail.
+     */
+    public MetricsServerStreamTracers(Supplier<Stopwatch> stopwatchSupplier, MetricsPolicy policy) {
         this.stopwatchSupplier = checkNotNull(stopwatchSupplier, "stopwatchSupplier");
+        this.policy = checkNotNull(policy, "policy");
     }
 
     /**
@@ -76,10 +114,33 @@ public ServerStreamTracer.Factory getMetricsServerTracerFactory(MetricsServerMet
         return new MetricsServerTracerFactory(meters);
     }
 
+    /**
+     * Registers the legacy request and response counters for all methods of the given service, so that they are
+     * reported before the first call has been received.
+     *
+     * @param meters The MetricsServerMeters used to create the counters.
+     * @param service The service whose methods should be registered.
+     */
+    public void preregisterService(MetricsServerMeters meters, ServiceDescriptor service) {
+        if (!meters.isLegacyEnabled()) {
+            return;
+        }
+        for (final MethodDescriptor<?, ?> method : service.getMethods()) {
+            if (this.policy.forMethod(method.getFullMethodName()).isEnabled()) {
+                final Tags tags = LegacyMeters.tags(method);
+                meters.getLegacyRequestCounter().withTags(tags);
+                meters.getLegacyResponseCounter().withTags(tags);
+            }
+        }
+    }
+
     private static final class ServerTracer extends ServerStreamTracer {
+        private static final long NO_MESSAGE = Long.MIN_VALUE;
         private final MetricsServerStreamTracers tracer;
-        private final String fullMethodName;
-        private final MetricsServerMeters metricsServerMeters;
+        private final MethodMeters methodMeters;
+        // Whether the histograms of the call are recorded
+        private final boolean sampled;
+        // Null, if neither the histograms nor the legacy processing duration are recorded
         private final Stopwatch stopwatch;
         private static final AtomicLongFieldUpdater<ServerTracer> outboundWireSizeUpdater =
                 AtomicLongFieldUpdater.newUpdater(ServerTracer.class, "outboundWireSize");
@@ -87,26 +148,104 @@ private static final class ServerTracer extends ServerStreamTracer {
                 AtomicLongFieldUpdater.newUpdater(ServerTracer.class, "inboundWireSize");
         private static final AtomicIntegerFieldUpdater<ServerTracer> streamClosedUpdater =
                 AtomicIntegerFieldUpdater.newUpdater(ServerTracer.class, "streamClosed");
+        private static final AtomicIntegerFieldUpdater<ServerTracer> pendingRequestsUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(ServerTracer.class, "pendingRequests");
         private volatile long outboundWireSize;
         private volatile long inboundWireSize;
         private volatile int streamClosed;
+        // The requests received before the legacy meters were resolved
+        private volatile int pendingRequests;
+        // Null, until the call has been started or if the legacy metrics aren't recorded
+        private volatile LegacyMeters legacyMeters;
+        // The elapsed time of the last message per direction, messages of one direction are never reported concurrently
+        private volatile long lastOutboundMessageNanos = NO_MESSAGE;
+        private volatile long lastInboundMessageNanos = NO_MESSAGE;
 
-
-        ServerTracer(MetricsServerStreamTracers tracer, String fullMethodName, MetricsServerMeters meters) {
+        ServerTracer(MetricsServerStreamTracers tracer, MethodMeters methodMeters) {
             this.tracer = checkNotNull(tracer, "tracer");
-            this.fullMethodName = fullMethodName;
-            this.metricsServerMeters = meters;
-            // start stopwatch
-            this.stopwatch = tracer.stopwatchSupplier.get().start();
+            this.methodMeters = methodMeters;
+            this.sampled = methodMeters.policy.sampleHistograms();
+            // The legacy processing duration is recorded for all calls, regardless of the sampling
+            this.stopwatch = this.sampled || methodMeters.legacyEnabled ? tracer.stopwatchSupplier.get().start() : null;
         }
 
         @Override
         public void serverCallStarted(ServerCallInfo<?, ?> callInfo) {
-            this.metricsServerMeters.getServerCallCounter()
-                    .withTags(Tags.of("grpc.method", this.fullMethodName,
-                            INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                            INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION))
-                    .increment();
+            if (this.methodMeters.a66Enabled) {
+                this.methodMeters.callCounter().increment();
+            }
+            if (this.methodMeters.legacyEnabled) {
+                final LegacyMeters legacy = this.methodMeters.legacyMeters(callInfo.getMethodDescriptor());
+                this.legacyMeters = legacy;
+                flushPendingRequests(legacy);
+            }
+        }
+
+        @Override
+        public void inboundMessage(int seqNo) {
+            LegacyMeters legacy = this.legacyMeters;
+            if (legacy != null) {
+                legacy.requestCounter.increment();
+            } else if (this.methodMeters.legacyEnabled) {
+                // The transport may deliver the first messages before the call has been started
+                pendingRequestsUpdater.incrementAndGet(this);
+                legacy = this.legacyMeters;
+                if (legacy != null) {
+                    flushPendingRequests(legacy);
+                }
+            }
+        }
+
+        @Override
+        public void outboundMessage(int seqNo) {
+            final LegacyMeters legacy = this.legacyMeters;
+            if (legacy != null) {
+                legacy.responseCounter.increment();
+            }
+        }
+
+        @Override
+        public void outboundMessageSent(int seqNo, long optionalWireSize, long optionalUncompressedSize) {
+            if (this.methodMeters.messageMetrics) {
+                this.lastOutboundMessageNanos = recordMessage(this.methodMeters.sentMessages(),
+                        this.lastOutboundMessageNanos, optionalWireSize);
+            }
+        }
+
+        @Override
+        public void inboundMessageRead(int seqNo, long optionalWireSize, long optionalUncompressedSize) {
+            if (this.methodMeters.messageMetrics) {
+                this.lastInboundMessageNanos = recordMessage(this.methodMeters.receivedMessages(),
+                        this.lastInboundMessageNanos, optionalWireSize);
+            }
+        }
+
+        /**
+         * Records a single message and returns its elapsed time, which has to be passed in for the next message of the
+         * same direction.
+         */
+        private long recordMessage(MessageMeters meters, long lastMessageNanos, long wireSize) {
+            meters.messages.increment();
+            if (!this.sampled) {
+                return NO_MESSAGE;
+            }
+            final long messageNanos = this.stopwatch.elapsed(TimeUnit.NANOSECONDS);
+            if (lastMessageNanos == NO_MESSAGE) {
+                meters.timeToFirstMessage.record(messageNanos, TimeUnit.NANOSECONDS);
+            } else {
+                meters.messageGap.record(messageNanos - lastMessageNanos, TimeUnit.NANOSECONDS);
+            }
+            if (wireSize >= 0) {
+                meters.messageSize.record(wireSize);
+            }
+            return messageNanos;
+        }
+
+        private void flushPendingRequests(LegacyMeters legacy) {
+            final int pending = pendingRequestsUpdater.getAndSet(this, 0);
+            if (pending > 0) {
+                legacy.requestCounter.increment(pending);
+            }
         }
 
         @Override
@@ -124,28 +263,196 @@ public void streamClosed(Status status) {
             if (streamClosedUpdater.getAndSet(this, 1) != 0) {
                 return;
             }
-            long callLatencyNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
-
-            Tags serverMetricTags =
-                    Tags.of("grpc.method", this.fullMethodName,
-                            "grpc.status", status.getCode().toString(),
-                            INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
-                            INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION);
-            this.metricsServerMeters.getServerCallDuration()
-                    .withTags(serverMetricTags)
-                    .record(callLatencyNanos, TimeUnit.NANOSECONDS);
-            this.metricsServerMeters.getSentMessageSizeDistribution()
-                    .withTags(serverMetricTags)
-                    .record(outboundWireSize);
-            this.metricsServerMeters.getReceivedMessageSizeDistribution()
-                    .withTags(serverMetricTags)
-                    .record(inboundWireSize);
+            final long callLatencyNanos = stopwatch == null ? 0 : stopwatch.elapsed(TimeUnit.NANOSECONDS);
+
+            if (this.methodMeters.a66Enabled) {
+                final Counter completedCounter = this.methodMeters.completedCounter(status.getCode());
+                if (completedCounter != null) {
+                    completedCounter.increment();
+                }
+                if (this.sampled) {
+                    final StatusMeters statusMeters = this.methodMeters.forStatus(status.getCode());
+                    statusMeters.callDuration.record(callLatencyNanos, TimeUnit.NANOSECONDS);
+                    statusMeters.sentMessageSize.record(outboundWireSize);
+                    statusMeters.receivedMessageSize.record(inboundWireSize);
+                }
+            }
+            final LegacyMeters legacy = this.legacyMeters;
+            if (legacy != null) {
+                legacy.processingDuration(status.getCode()).record(callLatencyNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * The meters of a single method. The tags of the method are resolved once, and its meters are resolved on first
+     * use, so that recording a call doesn't allocate once all meters have been resolved.
+     */
+    private static final class MethodMeters {
+        private static final Status.Code[] CODES = Status.Code.values();
+
+        private final MetricsServerMeters metricsServerMeters;
+        private final MethodMetricsPolicy policy;
+        private final boolean a66Enabled;
+        private final boolean legacyEnabled;
+        private final boolean messageMetrics;
+        private final Tags tags;
+        private final AtomicReferenceArray<StatusMeters> statusMeters = new AtomicReferenceArray<>(CODES.length);
+        // The completed calls are counted separately, so that unsampled calls don't register empty histograms
+        private final AtomicReferenceArray<Counter> completedCounters = new AtomicReferenceArray<>(CODES.length);
+        private volatile Counter callCounter;
+        private volatile LegacyMeters legacyMeters;
+        private volatile MessageMeters sentMessages;
+        private volatile MessageMeters receivedMessages;
+
+        MethodMeters(MetricsServerMeters meters, MethodMetricsPolicy policy, String fullMethodName) {
+            this.metricsServerMeters = meters;
+            this.policy = policy;
+            this.a66Enabled = meters.isA66Enabled();
+            this.legacyEnabled = meters.isLegacyEnabled();
+            this.messageMetrics = policy.isMessageMetricsEnabled();
+            this.tags = Tags.of("grpc.method", fullMethodName,
+                    INSTRUMENTATION_SOURCE_TAG_KEY, Constants.LIBRARY_NAME,
+                    INSTRUMENTATION_VERSION_TAG_KEY, Constants.VERSION);
+        }
+
+        Counter callCounter() {
+            Counter counter = this.callCounter;
+            if (counter == null) {
+                counter = this.metricsServerMeters.getServerCallCounter().withTags(this.tags);
+                this.callCounter = counter;
+            }
+            return counter;
+        }
+
+        StatusMeters forStatus(Status.Code code) {
+            StatusMeters meters = this.statusMeters.get(code.ordinal());
+            if (meters == null) {
+                // Racing threads resolve the same meters from the registry, so it doesn't matter which one wins
+                meters = new StatusMeters(this.metricsServerMeters, this.tags.and("grpc.status", code.toString()));
+                this.statusMeters.set(code.ordinal(), meters);
+            }
+            return meters;
+        }
+
+        Counter completedCounter(Status.Code code) {
+            Counter counter = this.completedCounters.get(code.ordinal());
+            if (counter == null) {
+                final MeterProvider<Counter> provider = this.metricsServerMeters.getServerCallCompletedCounter();
+                if (provider == null) {
+                    return null;
+                }
+                counter = provider.withTags(this.tags.and("grpc.status", code.toString()));
+                this.completedCounters.set(code.ordinal(), counter);
+            }
+            return counter;
+        }
+
+        LegacyMeters legacyMeters(MethodDescriptor<?, ?> method) {
+            LegacyMeters meters = this.legacyMeters;
+            if (meters == null) {
+                meters = new LegacyMeters(this.metricsServerMeters, method);
+                this.legacyMeters = meters;
+            }
+            return meters;
+        }
+
+        MessageMeters sentMessages() {
+            MessageMeters meters = this.sentMessages;
+            if (meters == null) {
+                meters = new MessageMeters(this.metricsServerMeters, this.tags.and(DIRECTION_TAG_KEY, "sent"));
+                this.sentMessages = meters;
+            }
+            return meters;
+        }
+
+        MessageMeters receivedMessages() {
+            MessageMeters meters = this.receivedMessages;
+            if (meters == null) {
+                meters = new MessageMeters(this.metricsServerMeters, this.tags.and(DIRECTION_TAG_KEY, "received"));
+                this.receivedMessages = meters;
+            }
+            return meters;
+        }
+
+        boolean isEnabled() {
+            return this.policy.isEnabled() && (this.a66Enabled || this.legacyEnabled);
+        }
+    }
+
+    /**
+     * The meters of the messages of a single method in one direction.
+     */
+    private static final class MessageMeters {
+        private final Counter messages;
+        private final DistributionSummary messageSize;
+        private final Timer messageGap;
+        private final Timer timeToFirstMessage;
+
+        MessageMeters(MetricsServerMeters meters, Tags tags) {
+            this.messages = meters.getMessageCounter().withTags(tags);
+            this.messageSize = meters.getMessageSizeDistribution().withTags(tags);
+            this.messageGap = meters.getMessageGap().withTags(tags);
+            this.timeToFirstMessage = meters.getTimeToFirstMessage().withTags(tags);
+        }
+    }
+
+    /**
+     * The legacy meters of a single method. Their tags require the type of the method, which is only known once the
+     * call has been started.
+     */
+    private static final class LegacyMeters {
+        private static final Status.Code[] CODES = Status.Code.values();
+
+        private final MetricsServerMeters metricsServerMeters;
+        private final Tags tags;
+        private final Counter requestCounter;
+        private final Counter responseCounter;
+        private final AtomicReferenceArray<Timer> processingDurations = new AtomicReferenceArray<>(CODES.length);
+
+        LegacyMeters(MetricsServerMeters meters, MethodDescriptor<?, ?> method) {
+            this.metricsServerMeters = meters;
+            this.tags = tags(method);
+            this.requestCounter = meters.getLegacyRequestCounter().withTags(this.tags);
+            this.responseCounter = meters.getLegacyResponseCounter().withTags(this.tags);
+        }
+
+        static Tags tags(MethodDescriptor<?, ?> method) {
+            return Tags.of("service", method.getServiceName(),
+                    "method", method.getBareMethodName(),
+                    "methodType", method.getType().name());
+        }
+
+        Timer processingDuration(Status.Code code) {
+            Timer timer = this.processingDurations.get(code.ordinal());
+            if (timer == null) {
+                timer = this.metricsServerMeters.getLegacyProcessingDuration()
+                        .withTags(this.tags.and("statusCode", code.name()));
+                this.processingDurations.set(code.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+
+    /**
+     * The meters of a single method and status code.
+     */
+    private static final class StatusMeters {
+        private final Timer callDuration;
+        private final DistributionSummary sentMessageSize;
+        private final DistributionSummary receivedMessageSize;
+
+        StatusMeters(MetricsServerMeters meters, Tags tags) {
+            this.callDuration = meters.getServerCallDuration().withTags(tags);
+            this.sentMessageSize = meters.getSentMessageSizeDistribution().withTags(tags);
+            this.receivedMessageSize = meters.getReceivedMessageSizeDistribution().withTags(tags);
         }
     }
 
     final class MetricsServerTracerFactory extends ServerStreamTracer.Factory {
 
         private final MetricsServerMeters metricsServerMeters;
+        private final Map<String, MethodMeters> methodMeters = new ConcurrentHashMap<>();
 
         MetricsServerTracerFactory(MeterRegistry registry) {
             this(MetricsServerInstruments.newServerMetricsMeters(registry));
@@ -157,7 +464,28 @@ final class MetricsServerTracerFactory extends ServerStreamTracer.Factory {
 
         @Override
         public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
-            return new ServerTracer(MetricsServerStreamTracers.this, fullMethodName, this.metricsServerMeters);
+            final MethodMeters meters = getMethodMeters(fullMethodName);
+            if (!meters.isEnabled()) {
+                return NOOP_TRACER;
+            }
+            return new ServerTracer(MetricsServerStreamTracers.this, meters);
+        }
+
+        private MethodMeters getMethodMeters(String fullMethodName) {
+            final MethodMeters meters = this.methodMeters.get(fullMethodName);
+            if (meters != null) {
+                return meters;
+            }
+            if (this.methodMeters.size() >= MAX_CACHED_METHODS) {
+                // Don't let clients calling arbitrary (unknown) methods grow the cache without bounds
+                return newMethodMeters(fullMethodName);
+            }
+            return this.methodMeters.computeIfAbsent(fullMethodName, this::newMethodMeters);
+        }
+
+        private MethodMeters newMethodMeters(String fullMethodName) {
+            final MethodMetricsPolicy methodPolicy = MetricsServerStreamTracers.this.policy.forMethod(fullMethodName);
+            return new MethodMeters(this.metricsServerMeters, methodPolicy, fullMethodName);
         }
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.orca;
+
+import static java.util.Objects.requireNonNull;
+
+import io.grpc.services.CallMetricRecorder;
+import io.grpc.services.MetricRecorder;
+
+/**
+ * Records the backend metrics of the server, that are reported to clients via ORCA. The utilizations set on this
+ * recorder are reported out-of-band and attached to the trailers of every call, while the per-call utilizations are
+ * only attached to the trailers of the current call.
+ *
+ * <p>
+ * <b>Note:</b> Utilization values are expected to be in the range {@code [0, 1]}; other values are ignored.
+ * </p>
+ */
+public class BackendMetricsRecorder {
+
+    private final MetricRecorder metricRecorder;
+
+    /**
+     * Creates a new BackendMetricsRecorder with a new {@link MetricRecorder}.
+     */
+    public BackendMetricsRecorder() {
+        this(MetricRecorder.newInstance());
+    }
+
+    /**
+     * Creates a new BackendMetricsRecorder.
+     *
+     * @param metricRecorder The metric recorder to store the server-wide metrics in.
+     */
+    public BackendMetricsRecorder(final MetricRecorder metricRecorder) {
+        this.metricRecorder = requireNonNull(metricRecorder, "metricRecorder");
+    }
+
+    /**
+     * Sets the server-wide utilization with the given name.
+     *
+     * @param name The name of the utilization.
+     * @param value The utilization in the range {@code [0, 1]}.
+     */
+    public void setUtilization(final String name, final double value) {
+        this.metricRecorder.putUtilizationMetric(name, value);
+    }
+
+    /**
+     * Removes the server-wide utilization with the given name.
+     *
+     * @param name The name of the utilization to remove.
+     */
+    public void removeUtilization(final String name) {
+        this.metricRecorder.removeUtilizationMetric(name);
+    }
+
+    /**
+     * Records the utilization with the given name for the current call. Calling this method outside of a call has no
+     * effect.
+     *
+     * @param name The name of the utilization.
+     * @param value The utilization in the range {@code [0, 1]}.
+     */
+    public void recordCallUtilization(final String name, final double value) {
+        CallMetricRecorder.getCurrent().recordUtilizationMetric(name, value);
+    }
+
+    /**
+     * Records the cost with the given name for the current call. Calling this method outside of a call has no effect.
+     *
+     * @param name The name of the cost.
+     * @param value The cost of the call.
+     */
+    public void recordCallCost(final String name, final double value) {
+        CallMetricRecorder.getCurrent().recordRequestCostMetric(name, value);
+    }
+
+    /**
+     * Gets the underlying metric recorder, that is used to report the server-wide metrics.
+     *
+     * @return The underlying metric recorder.
+     */
+    public MetricRecorder getMetricRecorder() {
+        return this.metricRecorder;
+    }
+
+}
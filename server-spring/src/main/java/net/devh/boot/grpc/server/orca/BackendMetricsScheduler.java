@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.orca;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import net.devh.boot.grpc.common.util.ExecutorUtils;
+
+/**
+ * Owns the single daemon thread used to send the out-of-band backend metric reports and to update the server-wide
+ * metrics. The thread is stopped when this scheduler is closed.
+ */
+public final class BackendMetricsScheduler implements AutoCloseable {
+
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(ExecutorUtils.newThreadFactory("grpc-orca"));
+
+    /**
+     * Gets the executor used to send the out-of-band reports.
+     *
+     * @return The scheduled executor.
+     */
+    public ScheduledExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Runs the given task periodically, starting immediately.
+     *
+     * @param task The task to run.
+     * @param interval The interval between two runs.
+     */
+    public void scheduleAtFixedRate(final Runnable task, final Duration interval) {
+        this.executor.scheduleAtFixedRate(task, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.orca;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.services.MetricRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically copies the cpu and memory utilization and the rate of received calls from the system meters of a
+ * {@link MeterRegistry} to a {@link MetricRecorder}. Metrics whose meters aren't registered are left untouched.
+ */
+@Slf4j
+public class MicrometerBackendMetricsUpdater implements Runnable {
+
+    private static final String[] CPU_METERS = {"system.cpu.usage", "process.cpu.usage"};
+    /*
+     * Only counts calls. The legacy grpc.server.requests.received counter can't be used as fallback, because it counts
+     * the received messages of all calls, including every message of streaming calls.
+     */
+    private static final String CALL_METER = "grpc.server.call.started";
+    private static final String MEMORY_USED_METER = "jvm.memory.used";
+    private static final String MEMORY_MAX_METER = "jvm.memory.max";
+
+    private final MeterRegistry registry;
+    private final MetricRecorder metricRecorder;
+
+    private double lastCalls = Double.NaN;
+    private long lastTime;
+
+    /**
+     * Creates a new MicrometerBackendMetricsUpdater.
+     *
+     * @param registry The registry to read the system meters from.
+     * @param metricRecorder The metric recorder to update.
+     */
+    public MicrometerBackendMetricsUpdater(final MeterRegistry registry, final MetricRecorder metricRecorder) {
+        this.registry = requireNonNull(registry, "registry");
+        this.metricRecorder = requireNonNull(metricRecorder, "metricRecorder");
+    }
+
+    @Override
+    public synchronized void run() {
+        try {
+            updateCpuUtilization();
+            updateMemoryUtilization();
+            updateQps();
+        } catch (final RuntimeException e) {
+            log.warn("Failed to update the backend metrics", e);
+        }
+    }
+
+    private void updateCpuUtilization() {
+        for (final String name : CPU_METERS) {
+            final Gauge gauge = this.registry.find(name).gauge();
+            if (gauge != null) {
+                final double value = gauge.value();
+                if (value >= 0) {
+                    this.metricRecorder.setCpuUtilizationMetric(value);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void updateMemoryUtilization() {
+        final double used = sum(this.registry.find(MEMORY_USED_METER).tag("area", "heap").gauges());
+        final double max = sum(this.registry.find(MEMORY_MAX_METER).tag("area", "heap").gauges());
+        if (used >= 0 && max > 0) {
+            this.metricRecorder.setMemoryUtilizationMetric(Math.min(1.0, used / max));
+        }
+    }
+
+    private void updateQps() {
+        final Collection<Counter> counters = this.registry.find(CALL_METER).counters();
+        if (counters.isEmpty()) {
+            return;
+        }
+        double calls = 0;
+        for (final Counter counter : counters) {
+            calls += counter.count();
+        }
+        final long now = this.registry.config().clock().monotonicTime();
+        final double seconds = (now - this.lastTime) / (double) TimeUnit.SECONDS.toNanos(1);
+        if (!Double.isNaN(this.lastCalls) && calls >= this.lastCalls && seconds > 0) {
+            this.metricRecorder.setQpsMetric((calls - this.lastCalls) / seconds);
+        }
+        this.lastCalls = calls;
+        this.lastTime = now;
+    }
+
+    /**
+     * Sums the values of the given gauges, ignoring gauges with an undefined (negative) value.
+     *
+     * @param gauges The gauges to sum.
+     * @return The sum of the gauges or {@code -1}, if none of the gauges have a defined value.
+     */
+    private static double sum(final Collection<Gauge> gauges) {
+        double sum = -1;
+        for (final Gauge gauge : gauges) {
+            final double value = gauge.value();
+            if (value >= 0) {
+                sum = Math.max(sum, 0) + value;
+            }
+        }
+        return sum;
+    }
+
+}
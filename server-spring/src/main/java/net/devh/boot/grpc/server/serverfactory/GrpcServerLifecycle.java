@@ -21,13 +21,21 @@
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.SmartLifecycle;
 
 import io.grpc.Server;
 import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.common.util.ExecutorUtils;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent.Phase;
 import net.devh.boot.grpc.server.event.GrpcServerShutdownEvent;
 import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
 import net.devh.boot.grpc.server.event.GrpcServerTerminatedEvent;
@@ -35,18 +43,31 @@
 /**
  * Lifecycle bean that automatically starts and stops the grpc server.
  *
+ * <p>
+ * If the server is started asynchronously, the server is created on a dedicated startup pool as soon as all singletons
+ * have been instantiated, so that building the server overlaps with the remaining startup of the application context,
+ * such as other {@link SmartInitializingSingleton}s and lifecycle beans with a lower phase. The lifecycle then only
+ * waits for the created server, binds it and publishes the {@link GrpcServerStartedEvent}, so that creation and bind
+ * failures still abort the application context's startup.
+ * </p>
+ *
  * @author Michael (yidongnan@gmail.com)
  */
 @Slf4j
-public class GrpcServerLifecycle implements SmartLifecycle {
+public class GrpcServerLifecycle implements SmartLifecycle, SmartInitializingSingleton {
 
     private static AtomicInteger serverCounter = new AtomicInteger(-1);
 
     private final GrpcServerFactory factory;
+    private final boolean asyncStartup;
+    private final Duration propagationDelay;
     private final Duration shutdownGracePeriod;
+    private final Duration terminationTimeout;
+    private final InFlightCallCounter inFlightCallCounter;
     private final ApplicationEventPublisher eventPublisher;
 
-    private Server server;
+    private volatile Server server;
+    private volatile CompletableFuture<Server> creation;
 
     /**
      * Creates a new GrpcServerLifecycle
@@ -60,15 +81,58 @@ public GrpcServerLifecycle(
             final Duration shutdownGracePeriod,
             final ApplicationEventPublisher eventPublisher) {
 
+        this(factory, false, Duration.ZERO, shutdownGracePeriod, Duration.ZERO, null, eventPublisher);
+    }
+
+    /**
+     * Creates a new GrpcServerLifecycle that drains the server in phases during shutdown.
+     *
+     * @param factory The server factory to use.
+     * @param asyncStartup Whether the server should be created and started asynchronously.
+     * @param propagationDelay The time to wait after the services have been reported as not serving and before the
+     *        server stops accepting new calls.
+     * @param shutdownGracePeriod The time to wait for the server to gracefully shut down.
+     * @param terminationTimeout The time to wait for the server to terminate after the remaining calls have been
+     *        cancelled.
+     * @param inFlightCallCounter The counter used to report the number of calls in flight. May be null.
+     * @param eventPublisher The event publisher to use.
+     */
+    public GrpcServerLifecycle(
+            final GrpcServerFactory factory,
+            final boolean asyncStartup,
+            final Duration propagationDelay,
+            final Duration shutdownGracePeriod,
+            final Duration terminationTimeout,
+            final InFlightCallCounter inFlightCallCounter,
+            final ApplicationEventPublisher eventPublisher) {
+
         this.factory = requireNonNull(factory, "factory");
+        this.asyncStartup = asyncStartup;
+        this.propagationDelay = requireNonNull(propagationDelay, "propagationDelay");
         this.shutdownGracePeriod = requireNonNull(shutdownGracePeriod, "shutdownGracePeriod");
+        this.terminationTimeout = requireNonNull(terminationTimeout, "terminationTimeout");
+        this.inFlightCallCounter = inFlightCallCounter;
         this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Starts creating the grpc server in the background, if the server should be started asynchronously.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (this.asyncStartup) {
+            createGrpcServerAsync();
+        }
+    }
+
     @Override
     public void start() {
         try {
-            createAndStartGrpcServer();
+            if (this.asyncStartup) {
+                startCreatedGrpcServer();
+            } else {
+                createAndStartGrpcServer();
+            }
         } catch (final IOException e) {
             throw new IllegalStateException("Failed to start the grpc server", e);
         }
@@ -87,7 +151,8 @@ public void stop(final Runnable callback) {
 
     @Override
     public boolean isRunning() {
-        return this.server != null && !this.server.isShutdown();
+        final Server localServer = this.server;
+        return localServer != null && !localServer.isShutdown();
     }
 
     @Override
@@ -107,58 +172,182 @@ public boolean isAutoStartup() {
      */
     protected void createAndStartGrpcServer() throws IOException {
         if (this.server == null) {
-            final Server localServer = this.factory.createServer();
-            this.server = localServer;
+            startGrpcServer(this.factory.createServer());
+        }
+    }
+
+    /**
+     * Creates the grpc server asynchronously on a dedicated startup pool. The server is only created, it doesn't bind
+     * its addresses until the lifecycle is started.
+     */
+    protected synchronized void createGrpcServerAsync() {
+        if (this.server == null && this.creation == null) {
+            final ExecutorService startupExecutor =
+                    Executors.newCachedThreadPool(ExecutorUtils.newThreadFactory("grpc-server-startup"));
+            this.creation = this.factory.createServerAsync(startupExecutor)
+                    .whenComplete((result, failure) -> startupExecutor.shutdown());
+        }
+    }
+
+    /**
+     * Waits for the asynchronously created grpc server and starts it. If the creation hasn't been triggered yet, e.g.
+     * because the lifecycle is restarted, it will be triggered now.
+     *
+     * @throws IOException If the server is unable to bind the port.
+     * @throws IllegalStateException If the server could not be created.
+     */
+    protected synchronized void startCreatedGrpcServer() throws IOException {
+        if (this.server != null) {
+            return;
+        }
+        createGrpcServerAsync();
+        final CompletableFuture<Server> localCreation = this.creation;
+        this.creation = null;
+        final Server localServer;
+        try {
+            localServer = localCreation.join();
+        } catch (final CompletionException e) {
+            throw new IllegalStateException("Failed to create the grpc server", e.getCause());
+        }
+        startGrpcServer(localServer);
+    }
+
+    /**
+     * Starts the given grpc server.
+     *
+     * @param localServer The server to start.
+     * @throws IOException If the server is unable to bind the port.
+     */
+    private void startGrpcServer(final Server localServer) throws IOException {
+        this.server = localServer;
+        try {
             localServer.start();
-            final String address = this.factory.getAddress();
-            final int port = this.factory.getPort();
-            log.info("gRPC Server started, listening on address: {}, port: {}", address, port);
-            this.eventPublisher.publishEvent(new GrpcServerStartedEvent(this, localServer, address, port));
-
-            // Prevent the JVM from shutting down while the server is running
-            final Thread awaitThread = new Thread(() -> {
-                try {
-                    localServer.awaitTermination();
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            });
-            awaitThread.setName("grpc-server-container-" + (serverCounter.incrementAndGet()));
-            awaitThread.setDaemon(false);
-            awaitThread.start();
+        } catch (final IOException | RuntimeException e) {
+            this.server = null;
+            localServer.shutdownNow();
+            throw e;
         }
+        final String address = this.factory.getAddress();
+        final int port = this.factory.getPort();
+        log.info("gRPC Server started, listening on address: {}, port: {}", address, port);
+        this.eventPublisher.publishEvent(new GrpcServerStartedEvent(this, localServer, address, port));
+
+        // Prevent the JVM from shutting down while the server is running
+        final Thread awaitThread = new Thread(() -> {
+            try {
+                localServer.awaitTermination();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        awaitThread.setName("grpc-server-container-" + (serverCounter.incrementAndGet()));
+        awaitThread.setDaemon(false);
+        awaitThread.start();
     }
 
     /**
      * Initiates an orderly shutdown of the grpc server and releases the references to the server. This call waits for
      * the server to be completely shut down.
+     *
+     * <p>
+     * The server is drained in phases, each of which is announced using a {@link GrpcServerDrainEvent}:
+     * </p>
+     *
+     * <ol>
+     * <li>{@link Phase#NOT_SERVING NOT_SERVING}: The services are reported as not serving, while the server still
+     * accepts new calls for the duration of the propagation delay.</li>
+     * <li>{@link Phase#GOAWAY GOAWAY}: The server stops accepting new calls and waits for the in-flight calls to
+     * complete within the shutdown grace period.</li>
+     * <li>{@link Phase#FORCE_SHUTDOWN FORCE_SHUTDOWN}: The remaining calls are cancelled and the server waits for its
+     * termination within the termination timeout.</li>
+     * </ol>
      */
     protected void stopAndReleaseGrpcServer() {
+        discardCreatedGrpcServer();
         final Server localServer = this.server;
         if (localServer != null) {
-            final long millis = this.shutdownGracePeriod.toMillis();
             log.debug("Initiating gRPC server shutdown");
-            this.eventPublisher.publishEvent(new GrpcServerShutdownEvent(this, localServer));
-            localServer.shutdown();
-            // Wait for the server to shutdown completely before continuing with destroying the spring context
             try {
-                if (millis > 0) {
-                    localServer.awaitTermination(millis, MILLISECONDS);
-                } else if (millis == 0) {
-                    // Do not wait
-                } else {
-                    // Wait infinitely
-                    localServer.awaitTermination();
-                }
+                publishDrainEvent(localServer, Phase.NOT_SERVING);
+                sleep(this.propagationDelay);
+
+                publishDrainEvent(localServer, Phase.GOAWAY);
+                this.eventPublisher.publishEvent(new GrpcServerShutdownEvent(this, localServer));
+                localServer.shutdown();
+                // Wait for the server to shutdown completely before continuing with destroying the spring context
+                awaitTermination(localServer, this.shutdownGracePeriod);
             } catch (final InterruptedException e) {
                 Thread.currentThread().interrupt();
             } finally {
+                if (!localServer.isTerminated()) {
+                    publishDrainEvent(localServer, Phase.FORCE_SHUTDOWN);
+                }
                 localServer.shutdownNow();
                 this.server = null;
             }
+            try {
+                awaitTermination(localServer, this.terminationTimeout);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
             log.info("Completed gRPC server shutdown");
             this.eventPublisher.publishEvent(new GrpcServerTerminatedEvent(this, localServer));
         }
     }
 
+    /**
+     * Discards an asynchronously created grpc server that has never been started.
+     */
+    private synchronized void discardCreatedGrpcServer() {
+        final CompletableFuture<Server> localCreation = this.creation;
+        if (localCreation != null) {
+            this.creation = null;
+            localCreation.thenAccept(Server::shutdownNow);
+        }
+    }
+
+    /**
+     * Publishes a {@link GrpcServerDrainEvent} for the given phase.
+     *
+     * @param server The server that is drained.
+     * @param phase The phase the server is about to enter.
+     */
+    private void publishDrainEvent(final Server server, final Phase phase) {
+        final int inFlightCalls = this.inFlightCallCounter == null ? -1 : this.inFlightCallCounter.getInFlightCalls();
+        log.debug("Entering gRPC server drain phase {} with {} calls in flight", phase, inFlightCalls);
+        this.eventPublisher.publishEvent(new GrpcServerDrainEvent(this, server, phase, inFlightCalls));
+    }
+
+    /**
+     * Waits for the given duration.
+     *
+     * @param duration The time to wait. Zero or negative values don't wait at all.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    private static void sleep(final Duration duration) throws InterruptedException {
+        final long millis = duration.toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    /**
+     * Waits for the given server to terminate.
+     *
+     * @param server The server to wait for.
+     * @param timeout The time to wait. Zero doesn't wait at all, negative values wait forever.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    private static void awaitTermination(final Server server, final Duration timeout) throws InterruptedException {
+        final long millis = timeout.toMillis();
+        if (millis > 0) {
+            server.awaitTermination(millis, MILLISECONDS);
+        } else if (millis == 0) {
+            // Do not wait
+        } else {
+            // Wait infinitely
+            server.awaitTermination();
+        }
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.serverfactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+import io.grpc.Status;
+
+/**
+ * A stream tracer factory that counts the calls that are currently in flight on the servers it is registered on. It is
+ * used by the {@link GrpcServerLifecycle} to report the progress of the drain during the server's shutdown.
+ */
+public class InFlightCallCounter extends ServerStreamTracer.Factory {
+
+    private final AtomicInteger inFlightCalls = new AtomicInteger();
+
+    @Override
+    public ServerStreamTracer newServerStreamTracer(final String fullMethodName, final Metadata headers) {
+        this.inFlightCalls.incrementAndGet();
+        return new ServerStreamTracer() {
+
+            @Override
+            public void streamClosed(final Status status) {
+                InFlightCallCounter.this.inFlightCalls.decrementAndGet();
+            }
+
+        };
+    }
+
+    /**
+     * Gets the number of calls that have been started, but not yet completed.
+     *
+     * @return The number of calls in flight.
+     */
+    public int getInFlightCalls() {
+        return this.inFlightCalls.get();
+    }
+
+}
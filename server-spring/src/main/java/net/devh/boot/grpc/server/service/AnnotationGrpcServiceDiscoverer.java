@@ -19,6 +19,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.context.ApplicationContext;
@@ -62,7 +63,10 @@ public Collection<GrpcServiceDefinition> findGrpcServices() {
             GrpcService grpcServiceAnnotation = applicationContext.findAnnotationOnBean(beanName, GrpcService.class);
             serviceDefinition =
                     bindInterceptors(serviceDefinition, grpcServiceAnnotation, globalServerInterceptorRegistry);
-            definitions.add(new GrpcServiceDefinition(beanName, bindableService.getClass(), serviceDefinition));
+            final Executor executor = grpcServiceAnnotation.executor().isEmpty() ? null
+                    : this.applicationContext.getBean(grpcServiceAnnotation.executor(), Executor.class);
+            definitions.add(
+                    new GrpcServiceDefinition(beanName, bindableService.getClass(), serviceDefinition, executor));
             log.debug("Found gRPC service: " + serviceDefinition.getServiceDescriptor().getName() + ", bean: "
                     + beanName + ", class: " + bindableService.getClass().getName());
         }
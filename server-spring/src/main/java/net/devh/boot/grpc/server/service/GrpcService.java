@@ -80,4 +80,13 @@
      */
     boolean sortInterceptors() default false;
 
+    /**
+     * The name of an {@link java.util.concurrent.Executor Executor} bean that should be used to run the calls to only
+     * this service. If empty, the server's executor (configured via {@code grpc.server.executor}) will be used. Use this
+     * option to isolate slow or blocking services from the other services of the same server.
+     *
+     * @return The name of the executor bean to use for this service or an empty string to use the server's executor.
+     */
+    String executor() default "";
+
 }
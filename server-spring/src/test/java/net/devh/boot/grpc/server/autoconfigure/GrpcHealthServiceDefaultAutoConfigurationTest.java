@@ -20,6 +20,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
@@ -31,6 +32,7 @@
 import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
 import io.grpc.health.v1.HealthGrpc;
 import io.grpc.health.v1.HealthGrpc.HealthStub;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerLifecycle;
 
 @SpringBootTest(classes = GrpcHealthServiceDefaultAutoConfigurationTest.TestConfig.class)
 @ImportAutoConfiguration({
@@ -42,6 +44,9 @@ class GrpcHealthServiceDefaultAutoConfigurationTest {
 
     private static final HealthCheckRequest HEALTH_CHECK_REQUEST = HealthCheckRequest.getDefaultInstance();
 
+    @Autowired
+    private GrpcServerLifecycle lifecycle;
+
     @Test
     void testHealthService() {
         final ManagedChannel channel = ManagedChannelBuilder.forTarget("localhost:9090").usePlaintext().build();
@@ -56,6 +61,16 @@ void testHealthService() {
         }
     }
 
+    /**
+     * Tests that the services are reported as serving again, after the server has been drained and restarted.
+     */
+    @Test
+    void testHealthServiceAfterRestart() {
+        this.lifecycle.stop();
+        this.lifecycle.start();
+        testHealthService();
+    }
+
     void checkResult(final AwaitableStreamObserver<HealthCheckResponse> resultObserver) {
         final HealthCheckResponse response = assertDoesNotThrow(resultObserver::getSingle);
         assertEquals(ServingStatus.SERVING, response.getStatus());
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.autoconfigure;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+
+import io.grpc.Server;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.devh.boot.grpc.server.config.ExecutorType;
+import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.config.ServerPropertiesConverter;
+import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerLifecycle;
+import net.devh.boot.grpc.server.serverfactory.NettyGrpcServerFactory;
+
+/**
+ * Tests for {@link GrpcServerMetricAutoConfiguration}.
+ */
+class GrpcServerMetricAutoConfigurationTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final NettyGrpcServerFactory factory = newFactory();
+    private final NettyGrpcServerFactory otherFactory = newFactory();
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+        this.otherFactory.close();
+    }
+
+    /**
+     * Tests that the executor metrics are bound once per executor and follow the executor, if it has been recreated.
+     * Each factory has its own meters.
+     */
+    @Test
+    void testExecutorMetricsBinder() {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("grpcServerFactory", this.factory);
+        beanFactory.registerSingleton("otherGrpcServerFactory", this.otherFactory);
+        final ApplicationListener<GrpcServerStartedEvent> binder =
+                new GrpcServerMetricAutoConfiguration().grpcServerExecutorMetricsBinder(this.registry, beanFactory);
+        final GrpcServerStartedEvent event =
+                new GrpcServerStartedEvent(mock(GrpcServerLifecycle.class), mock(Server.class), "test", 0);
+
+        this.factory.getExecutor().execute(() -> {});
+        this.otherFactory.getExecutor().execute(() -> {});
+        binder.onApplicationEvent(event);
+        final int meters = this.registry.getMeters().size();
+        assertThat(meters).isPositive();
+        assertThat(poolSize("grpcServerFactory")).isEqualTo(1);
+        assertThat(poolSize("otherGrpcServerFactory")).isEqualTo(1);
+
+        // Restarting the server doesn't bind the same executor again
+        binder.onApplicationEvent(event);
+        assertThat(this.registry.getMeters()).hasSize(meters);
+
+        // The metrics observe the new executor after the factory has been closed
+        final ExecutorService closed = this.factory.getExecutor();
+        this.factory.close();
+        this.factory.getExecutor().execute(() -> {});
+        this.factory.getExecutor().execute(() -> {});
+        binder.onApplicationEvent(event);
+        assertThat(this.factory.getExecutor()).isNotSameAs(closed);
+        assertThat(this.registry.getMeters()).hasSize(meters);
+        assertThat(poolSize("grpcServerFactory")).isEqualTo(2);
+        // The meters of the other factory are kept
+        assertThat(poolSize("otherGrpcServerFactory")).isEqualTo(1);
+    }
+
+    private double poolSize(final String factoryName) {
+        final Gauge gauge = this.registry.get("executor.pool.size")
+                .tag("name", "grpc-server")
+                .tag("factory", factoryName)
+                .gauge();
+        return gauge.value();
+    }
+
+    private static NettyGrpcServerFactory newFactory() {
+        final GrpcServerProperties properties = new GrpcServerProperties();
+        properties.getExecutor().setType(ExecutorType.FIXED);
+        properties.getExecutor().setThreads(2);
+        return new NettyGrpcServerFactory(ServerPropertiesConverter.toSimple(properties), emptyList());
+    }
+
+}
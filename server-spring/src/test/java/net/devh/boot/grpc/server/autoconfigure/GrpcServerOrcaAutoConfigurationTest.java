@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.xds.orca.OrcaMetricReportingServerInterceptor;
+import io.grpc.xds.shaded.com.github.xds.data.orca.v3.OrcaLoadReport;
+import io.grpc.xds.shaded.com.github.xds.service.orca.v3.OpenRcaServiceGrpc;
+import io.grpc.xds.shaded.com.github.xds.service.orca.v3.OrcaLoadReportRequest;
+import net.devh.boot.grpc.server.interceptor.GlobalServerInterceptorRegistry;
+import net.devh.boot.grpc.server.orca.BackendMetricsRecorder;
+
+/**
+ * Tests that the {@link GrpcServerOrcaAutoConfiguration} attaches the backend metrics to the trailers of the calls and
+ * reports them out-of-band.
+ */
+@SpringBootTest(classes = GrpcServerOrcaAutoConfigurationTest.TestConfig.class,
+        properties = {
+                "grpc.server.port=-1",
+                "grpc.server.in-process-name=orca-test",
+                "grpc.server.orca.enabled=true"})
+@ImportAutoConfiguration({
+        GrpcServerAutoConfiguration.class,
+        GrpcServerFactoryAutoConfiguration.class,
+        GrpcHealthServiceAutoConfiguration.class,
+        GrpcServerOrcaAutoConfiguration.class})
+@DirtiesContext
+class GrpcServerOrcaAutoConfigurationTest {
+
+    private static final Metadata.Key<byte[]> ORCA_TRAILER =
+            Metadata.Key.of("endpoint-load-metrics-bin", Metadata.BINARY_BYTE_MARSHALLER);
+
+    private final ManagedChannel channel = InProcessChannelBuilder.forName("orca-test").build();
+
+    @Autowired
+    private GlobalServerInterceptorRegistry interceptorRegistry;
+
+    @Autowired
+    private OrcaMetricReportingServerInterceptor interceptor;
+
+    @Autowired
+    private BackendMetricsRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        this.channel.shutdownNow();
+    }
+
+    @Test
+    void testMetricsAreAttachedToTrailers() throws InvalidProtocolBufferException {
+        assertThat(this.interceptorRegistry.getServerInterceptors()).contains(this.interceptor);
+        this.recorder.setUtilization("test", 0.5);
+
+        final AtomicReference<Metadata> trailers = new AtomicReference<>();
+        HealthGrpc.newBlockingStub(this.channel)
+                .withInterceptors(MetadataUtils.newCaptureMetadataInterceptor(new AtomicReference<>(), trailers))
+                .withDeadlineAfter(5, TimeUnit.SECONDS)
+                .check(HealthCheckRequest.getDefaultInstance());
+
+        final byte[] report = trailers.get().get(ORCA_TRAILER);
+        assertThat(report).isNotNull();
+        assertThat(OrcaLoadReport.parseFrom(report).getUtilizationMap()).containsEntry("test", 0.5);
+    }
+
+    @Test
+    void testMetricsAreReportedOutOfBand() {
+        this.recorder.setUtilization("test", 0.25);
+
+        final Iterator<OrcaLoadReport> reports = OpenRcaServiceGrpc.newBlockingStub(this.channel)
+                .withDeadlineAfter(5, TimeUnit.SECONDS)
+                .streamCoreMetrics(OrcaLoadReportRequest.getDefaultInstance());
+
+        assertThat(reports.next().getUtilizationMap()).containsEntry("test", 0.25);
+    }
+
+    static class TestConfig {
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import net.devh.boot.grpc.server.config.ConcurrencyLimitPartitioning;
+
+/**
+ * Tests for {@link ConcurrencyLimitingServerInterceptor}.
+ */
+class ConcurrencyLimitingServerInterceptorTest {
+
+    @SuppressWarnings("unchecked")
+    private static final Marshaller<String> MARSHALLER = mock(Marshaller.class);
+    private static final MethodDescriptor<String, String> METHOD = MethodDescriptor.<String, String>newBuilder()
+            .setType(MethodType.UNARY)
+            .setFullMethodName("package1.service1/method1")
+            .setRequestMarshaller(MARSHALLER)
+            .setResponseMarshaller(MARSHALLER)
+            .build();
+
+    private final List<ServerCall<String, String>> startedCalls = new ArrayList<>();
+    private final ServerCallHandler<String, String> next = (call, headers) -> {
+        this.startedCalls.add(call);
+        return new ServerCall.Listener<String>() {};
+    };
+
+    @BeforeEach
+    void beforeEach() {
+        this.startedCalls.clear();
+    }
+
+    @Test
+    void testRejectsCallsAboveLimit() {
+        final ConcurrencyLimitingServerInterceptor interceptor = new ConcurrencyLimitingServerInterceptor(
+                ConcurrencyLimitPartitioning.SERVER, () -> new AimdLimit(1, 1, 1), Duration.ofMillis(250));
+        final List<ConcurrencyLimiter> limiters = new ArrayList<>();
+        interceptor.addLimiterListener(limiters::add);
+
+        final ServerCall<String, String> first = newCall();
+        interceptor.interceptCall(first, new Metadata(), this.next);
+        assertThat(this.startedCalls).hasSize(1);
+        assertThat(limiters).hasSize(1);
+        assertThat(limiters.get(0).getInFlight()).isEqualTo(1);
+
+        // The second call exceeds the limit
+        final ServerCall<String, String> second = newCall();
+        interceptor.interceptCall(second, new Metadata(), this.next);
+        assertThat(this.startedCalls).hasSize(1);
+        final ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        final ArgumentCaptor<Metadata> trailers = ArgumentCaptor.forClass(Metadata.class);
+        verify(second).close(status.capture(), trailers.capture());
+        assertThat(status.getValue().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(trailers.getValue().get(ConcurrencyLimitingServerInterceptor.RETRY_PUSHBACK_KEY))
+                .isEqualTo("250");
+        assertThat(limiters.get(0).getRejected()).isEqualTo(1);
+
+        // Closing the first call frees its slot
+        this.startedCalls.get(0).close(Status.OK, new Metadata());
+        assertThat(limiters.get(0).getInFlight()).isZero();
+
+        final ServerCall<String, String> third = newCall();
+        interceptor.interceptCall(third, new Metadata(), this.next);
+        assertThat(this.startedCalls).hasSize(2);
+        verify(third, never()).close(any(), any());
+    }
+
+    @Test
+    void testPartitionsByMethod() {
+        final ConcurrencyLimitingServerInterceptor interceptor = new ConcurrencyLimitingServerInterceptor(
+                ConcurrencyLimitPartitioning.METHOD, () -> new AimdLimit(1, 1, 1), null);
+        final List<ConcurrencyLimiter> limiters = new ArrayList<>();
+        interceptor.addLimiterListener(limiters::add);
+
+        interceptor.interceptCall(newCall(), new Metadata(), this.next);
+        assertThat(limiters).extracting(ConcurrencyLimiter::getName).containsExactly(METHOD.getFullMethodName());
+    }
+
+    @Test
+    void testStreamingCallsAreNotLimited() {
+        final ConcurrencyLimitingServerInterceptor interceptor = new ConcurrencyLimitingServerInterceptor(
+                ConcurrencyLimitPartitioning.SERVER, () -> new AimdLimit(1, 1, 1), null);
+        final List<ConcurrencyLimiter> limiters = new ArrayList<>();
+        interceptor.addLimiterListener(limiters::add);
+        final MethodDescriptor<String, String> streaming = METHOD.toBuilder()
+                .setType(MethodType.BIDI_STREAMING)
+                .setFullMethodName("package1.service1/stream1")
+                .build();
+
+        final ServerCall<String, String> first = newCall(streaming);
+        final ServerCall<String, String> second = newCall(streaming);
+        interceptor.interceptCall(first, new Metadata(), this.next);
+        interceptor.interceptCall(second, new Metadata(), this.next);
+
+        // Long-lived streams neither occupy nor sample the limit
+        assertThat(this.startedCalls).containsExactly(first, second);
+        assertThat(limiters).isEmpty();
+        verify(second, never()).close(any(), any());
+
+        // Client streaming calls respond with a single message, so they are limited
+        final MethodDescriptor<String, String> clientStreaming = METHOD.toBuilder()
+                .setType(MethodType.CLIENT_STREAMING)
+                .build();
+        interceptor.interceptCall(newCall(clientStreaming), new Metadata(), this.next);
+        interceptor.interceptCall(newCall(clientStreaming), new Metadata(), this.next);
+        assertThat(this.startedCalls).hasSize(3);
+        assertThat(limiters).singleElement().extracting(ConcurrencyLimiter::getRejected).isEqualTo(1L);
+    }
+
+    @Test
+    void testAimdLimit() {
+        final AimdLimit limit = new AimdLimit(10, 1, 11);
+
+        // Not enough calls in flight to grow
+        limit.onSample(1000, 1, false);
+        assertThat(limit.getLimit()).isEqualTo(10);
+
+        limit.onSample(1000, 10, false);
+        assertThat(limit.getLimit()).isEqualTo(11);
+        limit.onSample(1000, 10, false);
+        assertThat(limit.getLimit()).isEqualTo(11);
+
+        limit.onSample(1000, 10, true);
+        assertThat(limit.getLimit()).isEqualTo(9);
+    }
+
+    private static ServerCall<String, String> newCall() {
+        return newCall(METHOD);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServerCall<String, String> newCall(final MethodDescriptor<String, String> method) {
+        final ServerCall<String, String> call = mock(ServerCall.class);
+        when(call.getMethodDescriptor()).thenReturn(method);
+        return call;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.limit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.grpc.Context;
+import io.grpc.Context.CancellableContext;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+
+/**
+ * Tests for {@link DeadlineCheckingServerInterceptor}.
+ */
+class DeadlineCheckingServerInterceptorTest {
+
+    @SuppressWarnings("unchecked")
+    private static final Marshaller<String> MARSHALLER = mock(Marshaller.class);
+    private static final MethodDescriptor<String, String> METHOD = MethodDescriptor.<String, String>newBuilder()
+            .setType(MethodType.UNARY)
+            .setFullMethodName("package1.service1/method1")
+            .setRequestMarshaller(MARSHALLER)
+            .setResponseMarshaller(MARSHALLER)
+            .build();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger startedCalls = new AtomicInteger();
+    private final ServerCallHandler<String, String> next = (call, headers) -> {
+        this.startedCalls.incrementAndGet();
+        return new ServerCall.Listener<String>() {};
+    };
+
+    @AfterEach
+    void afterEach() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    void testRejectsCallsBelowThreshold() {
+        final DeadlineCheckingServerInterceptor interceptor =
+                new DeadlineCheckingServerInterceptor(Duration.ofMillis(100), false, 0);
+
+        final ServerCall<String, String> call = newCall();
+        runWithDeadline(10, () -> interceptor.interceptCall(call, new Metadata(), this.next));
+
+        final ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any());
+        assertThat(status.getValue().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(this.startedCalls).hasValue(0);
+        assertThat(interceptor.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void testAcceptsCallsAboveThreshold() {
+        final DeadlineCheckingServerInterceptor interceptor =
+                new DeadlineCheckingServerInterceptor(Duration.ofMillis(100), true, 100);
+
+        final ServerCall<String, String> call = newCall();
+        runWithDeadline(10_000, () -> interceptor.interceptCall(call, new Metadata(), this.next));
+        // Calls without a deadline are never rejected
+        interceptor.interceptCall(call, new Metadata(), this.next);
+
+        verify(call, never()).close(any(), any());
+        assertThat(this.startedCalls).hasValue(2);
+        assertThat(interceptor.getRejected()).isZero();
+    }
+
+    private void runWithDeadline(final long millis, final Runnable runnable) {
+        final CancellableContext context =
+                Context.current().withDeadline(Deadline.after(millis, MILLISECONDS), this.scheduler);
+        try {
+            context.run(runnable);
+        } finally {
+            context.cancel(null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServerCall<String, String> newCall() {
+        final ServerCall<String, String> call = mock(ServerCall.class);
+        when(call.getMethodDescriptor()).thenReturn(METHOD);
+        return call;
+    }
+
+}
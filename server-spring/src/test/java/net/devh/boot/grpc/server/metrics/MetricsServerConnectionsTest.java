@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerStreamTracer;
+import io.grpc.ServerStreamTracer.ServerCallInfo;
+import io.grpc.ServerTransportFilter;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link MetricsServerConnections}.
+ */
+class MetricsServerConnectionsTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, this.clock);
+    private final MetricsServerConnections connections = new MetricsServerConnections(this.registry);
+    private final ServerTransportFilter filter = this.connections.getTransportFilter();
+    private final ServerStreamTracer.Factory tracerFactory = this.connections.getStreamTracerFactory();
+
+    @Test
+    void testTracksConnections() {
+        final Attributes first = this.filter.transportReady(Attributes.EMPTY);
+        final Attributes second = this.filter.transportReady(Attributes.EMPTY);
+        assertThat(openConnections()).isEqualTo(2);
+        assertThat(this.registry.get("grpc.server.connections.opened").counter().count()).isEqualTo(2);
+
+        this.clock.add(Duration.ofSeconds(10));
+        this.filter.transportTerminated(first);
+        this.clock.add(Duration.ofSeconds(20));
+        this.filter.transportTerminated(second);
+
+        assertThat(openConnections()).isZero();
+        assertThat(this.registry.get("grpc.server.connections.closed").counter().count()).isEqualTo(2);
+        assertThat(this.registry.get("grpc.server.connection.age").timer().totalTime(TimeUnit.SECONDS))
+                .isEqualTo(40);
+    }
+
+    @Test
+    void testIgnoresTransportsThatWereNeverReady() {
+        this.filter.transportTerminated(Attributes.EMPTY);
+
+        assertThat(openConnections()).isZero();
+        assertThat(this.registry.get("grpc.server.connections.closed").counter().count()).isZero();
+    }
+
+    @Test
+    void testTracksStreamsPerConnection() {
+        final Attributes attributes = this.filter.transportReady(Attributes.EMPTY);
+
+        final ServerStreamTracer stream1 = startStream(attributes);
+        final ServerStreamTracer stream2 = startStream(attributes);
+        stream1.streamClosed(Status.OK);
+        final ServerStreamTracer stream3 = startStream(attributes);
+        stream2.streamClosed(Status.OK);
+        stream3.streamClosed(Status.CANCELLED);
+        this.filter.transportTerminated(attributes);
+
+        // Active streams: 1, 2, 2
+        assertThat(this.registry.get("grpc.server.connection.active.streams").summary().max()).isEqualTo(2);
+        assertThat(this.registry.get("grpc.server.connection.active.streams").summary().totalAmount()).isEqualTo(5);
+        assertThat(this.registry.get("grpc.server.connection.streams").summary().totalAmount()).isEqualTo(3);
+    }
+
+    private double openConnections() {
+        return this.registry.get("grpc.server.connections.open").gauge().value();
+    }
+
+    private ServerStreamTracer startStream(final Attributes attributes) {
+        final ServerStreamTracer tracer = this.tracerFactory.newServerStreamTracer("service/method", new Metadata());
+        tracer.serverCallStarted(new ServerCallInfo<Object, Object>() {
+
+            @Override
+            public MethodDescriptor<Object, Object> getMethodDescriptor() {
+                return null;
+            }
+
+            @Override
+            public Attributes getAttributes() {
+                return attributes;
+            }
+
+            @Override
+            public String getAuthority() {
+                return null;
+            }
+
+        });
+        return tracer;
+    }
+
+}
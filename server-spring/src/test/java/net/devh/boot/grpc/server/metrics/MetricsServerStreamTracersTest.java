@@ -32,12 +32,18 @@
 import io.grpc.MethodDescriptor;
 import io.grpc.ServerStreamTracer;
 import io.grpc.ServerStreamTracer.ServerCallInfo;
+import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.distribution.CountAtBucket;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.devh.boot.grpc.common.metrics.GrpcMetricsProperties;
+import net.devh.boot.grpc.common.metrics.GrpcMetricsProperties.MethodMetrics;
+import net.devh.boot.grpc.common.metrics.MetricsLevel;
+import net.devh.boot.grpc.common.metrics.MetricsPolicy;
 import net.devh.boot.grpc.common.util.Constants;
 
 /**
@@ -52,6 +58,15 @@ class MetricsServerStreamTracersTest {
             "grpc.server.call.rcvd_total_compressed_message_size";
     private static final String SERVER_CALL_DURATION =
             "grpc.server.call.duration";
+    private static final String SERVER_CALL_COMPLETED = "grpc.server.call.completed";
+    private static final String LEGACY_REQUESTS_RECEIVED = "grpc.server.requests.received";
+    private static final String LEGACY_RESPONSES_SENT = "grpc.server.responses.sent";
+    private static final String LEGACY_PROCESSING_DURATION = "grpc.server.processing.duration";
+    private static final String SERVER_CALL_MESSAGES = "grpc.server.call.messages";
+    private static final String SERVER_CALL_MESSAGE_SIZE = "grpc.server.call.message_size";
+    private static final String SERVER_CALL_MESSAGE_GAP = "grpc.server.call.message_gap";
+    private static final String SERVER_CALL_TIME_TO_FIRST_MESSAGE = "grpc.server.call.time_to_first_message";
+    private static final String GRPC_DIRECTION_TAG_KEY = "grpc.direction";
     private static final String FULL_METHOD_NAME = "package1.service1/method1";
     private static final String GRPC_METHOD_TAG_KEY = "grpc.method";
     private static final String GRPC_STATUS_TAG_KEY = "grpc.status";
@@ -126,6 +141,9 @@ public String parse(InputStream stream) {
                     .setResponseMarshaller(MARSHALLER)
                     .setFullMethodName(FULL_METHOD_NAME)
                     .build();
+    private final MethodDescriptor<String, String> method2 = this.method.toBuilder()
+            .setFullMethodName("package1.service2/method2")
+            .build();
 
     private FakeClock fakeClock;
     private MeterRegistry meterRegistry;
@@ -217,4 +235,299 @@ void serverBasicMetrics() {
         assertThat(callDurationSnapshot.total(MILLISECONDS)).isEqualTo(expectedCallDurationHistogram.total());
         assertThat(callDurationSnapshot.histogramCounts()).contains(new CountAtBucket(4.0E7, 1));
     }
+
+    @Test
+    void serverMetricsReuseMetersAcrossCalls() {
+        MetricsServerStreamTracers localServerStreamTracers =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier());
+        ServerStreamTracer.Factory tracerFactory =
+                localServerStreamTracers.getMetricsServerTracerFactory(meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            ServerStreamTracer tracer =
+                    tracerFactory.newServerStreamTracer(method.getFullMethodName(), new Metadata());
+            tracer.serverCallStarted(new CallInfo<>(method, Attributes.EMPTY, null));
+            tracer.outboundWireSize(10);
+            fakeClock.forwardTime(5, MILLISECONDS);
+            tracer.streamClosed(i == 0 ? Status.CANCELLED : Status.OK);
+        }
+
+        assertThat(meterRegistry.get(SERVER_CALL_STARTED)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .counter()
+                .count()).isEqualTo(3);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.OK.toString())
+                .timer()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get(SERVER_SENT_COMPRESSED_MESSAGE_SIZE)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.CANCELLED.toString())
+                .summary()
+                .totalAmount()).isEqualTo(10);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timers()).hasSize(2);
+    }
+
+    @Test
+    void serverMetricsAreOnlyRegisteredForStartedCalls() {
+        MetricsServerStreamTracers localServerStreamTracers =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier());
+        ServerStreamTracer.Factory tracerFactory =
+                localServerStreamTracers.getMetricsServerTracerFactory(meterRegistry);
+
+        tracerFactory.newServerStreamTracer(method.getFullMethodName(), new Metadata());
+
+        assertThat(meterRegistry.find(SERVER_CALL_STARTED).counters()).isEmpty();
+    }
+
+    @Test
+    void serverMetricsSkipExcludedMethods() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.getExclude().add("package1.service1");
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        runCall(tracerFactory, Status.OK);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    void serverMetricsCountersOnly() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        MethodMetrics methodMetrics = new MethodMetrics();
+        methodMetrics.setLevel(MetricsLevel.COUNTERS_ONLY);
+        properties.getMethods().put(FULL_METHOD_NAME, methodMetrics);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        runCall(tracerFactory, Status.OK);
+
+        assertThat(meterRegistry.get(SERVER_CALL_STARTED).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SERVER_CALL_COMPLETED)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.OK.toString())
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find(SERVER_CALL_DURATION).timers()).isEmpty();
+        assertThat(meterRegistry.find(SERVER_SENT_COMPRESSED_MESSAGE_SIZE).summaries()).isEmpty();
+    }
+
+    @Test
+    void serverMetricsSampleHistograms() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.setSampleRate(0.25);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        for (int i = 0; i < 8; i++) {
+            runCall(tracerFactory, i % 2 == 0 ? Status.OK : Status.UNAVAILABLE);
+        }
+
+        assertThat(meterRegistry.get(SERVER_CALL_STARTED).counter().count()).isEqualTo(8);
+        // The completed calls are counted per status, even if they aren't sampled
+        assertThat(meterRegistry.get(SERVER_CALL_COMPLETED)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.OK.toString())
+                .counter()
+                .count()).isEqualTo(4);
+        assertThat(meterRegistry.get(SERVER_CALL_COMPLETED)
+                .tag(GRPC_STATUS_TAG_KEY, Status.Code.UNAVAILABLE.toString())
+                .counter()
+                .count()).isEqualTo(4);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timers().stream().mapToLong(Timer::count).sum())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timers().stream().mapToDouble(t -> t.mean(MILLISECONDS)))
+                .containsOnly(5.0);
+    }
+
+    @Test
+    void serverMetricsSampleHistogramsWithArbitraryRate() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.setSampleRate(0.4);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            runCall(tracerFactory, Status.OK);
+        }
+
+        assertThat(meterRegistry.get(SERVER_CALL_COMPLETED).counter().count()).isEqualTo(100);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timer().count()).isEqualTo(40);
+    }
+
+    @Test
+    void serverLegacyAndA66MetricsFromOneTracer() {
+        MetricsServerMeters meters = MetricsServerInstruments.newServerMetricsMeters(meterRegistry, true, true);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier())
+                        .getMetricsServerTracerFactory(meters);
+
+        ServerStreamTracer tracer = tracerFactory.newServerStreamTracer(method.getFullMethodName(), new Metadata());
+        // The first message may be received before the call has been started
+        tracer.inboundMessage(0);
+        tracer.serverCallStarted(new CallInfo<>(method, Attributes.EMPTY, null));
+        tracer.inboundMessage(1);
+        tracer.outboundMessage(0);
+        fakeClock.forwardTime(10, MILLISECONDS);
+        tracer.streamClosed(Status.OK);
+
+        assertThat(meterRegistry.get(LEGACY_REQUESTS_RECEIVED)
+                .tag("service", "package1.service1")
+                .tag("method", "method1")
+                .tag("methodType", MethodDescriptor.MethodType.UNKNOWN.name())
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get(LEGACY_RESPONSES_SENT).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(LEGACY_PROCESSING_DURATION)
+                .tag("statusCode", Status.Code.OK.name())
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(10);
+        assertThat(meterRegistry.get(SERVER_CALL_STARTED).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timer().totalTime(MILLISECONDS)).isEqualTo(10);
+    }
+
+    @Test
+    void serverLegacyMetricsOnly() {
+        MetricsServerMeters meters = MetricsServerInstruments.newServerMetricsMeters(meterRegistry, false, true);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier())
+                        .getMetricsServerTracerFactory(meters);
+
+        runCall(tracerFactory, Status.CANCELLED);
+
+        assertThat(meterRegistry.get(LEGACY_PROCESSING_DURATION)
+                .tag("statusCode", Status.Code.CANCELLED.name())
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find(SERVER_CALL_STARTED).counters()).isEmpty();
+        assertThat(meterRegistry.find(SERVER_CALL_DURATION).timers()).isEmpty();
+    }
+
+    @Test
+    void serverLegacyMetricsIgnoreSampling() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.setSampleRate(0.5);
+        MethodMetrics methodMetrics = new MethodMetrics();
+        methodMetrics.setLevel(MetricsLevel.COUNTERS_ONLY);
+        properties.getMethods().put("package1.service2", methodMetrics);
+        MetricsServerMeters meters = MetricsServerInstruments.newServerMetricsMeters(meterRegistry, true, true);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meters);
+
+        for (int i = 0; i < 4; i++) {
+            runCall(tracerFactory, Status.OK);
+        }
+        runCall(tracerFactory, method2, Status.OK);
+
+        assertThat(meterRegistry.get(LEGACY_PROCESSING_DURATION)
+                .tag("service", "package1.service1")
+                .timer()
+                .count()).isEqualTo(4);
+        assertThat(meterRegistry.get(LEGACY_PROCESSING_DURATION)
+                .tag("service", "package1.service2")
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(5);
+        assertThat(meterRegistry.get(SERVER_CALL_DURATION).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void serverLegacyMetricsArePreregistered() {
+        MetricsServerMeters meters = MetricsServerInstruments.newServerMetricsMeters(meterRegistry, true, true);
+
+        new MetricsServerStreamTracers().preregisterService(meters, new ServiceDescriptor("package1.service1", method));
+
+        assertThat(meterRegistry.get(LEGACY_REQUESTS_RECEIVED).tag("method", "method1").counter().count())
+                .isEqualTo(0);
+        assertThat(meterRegistry.get(LEGACY_RESPONSES_SENT).tag("method", "method1").counter().count())
+                .isEqualTo(0);
+        assertThat(meterRegistry.find(SERVER_CALL_STARTED).counters()).isEmpty();
+    }
+
+    @Test
+    void serverMessageMetricsAreRecordedWhileStreaming() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.setMessageMetrics(true);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        ServerStreamTracer tracer = tracerFactory.newServerStreamTracer(method.getFullMethodName(), new Metadata());
+        tracer.serverCallStarted(new CallInfo<>(method, Attributes.EMPTY, null));
+        fakeClock.forwardTime(5, MILLISECONDS);
+        tracer.inboundMessageRead(0, 50, 50);
+        fakeClock.forwardTime(20, MILLISECONDS);
+        tracer.outboundMessageSent(0, 1000, 1000);
+        fakeClock.forwardTime(100, MILLISECONDS);
+        tracer.outboundMessageSent(1, 2000, 2000);
+        fakeClock.forwardTime(50, MILLISECONDS);
+        tracer.outboundMessageSent(2, 3000, 3000);
+
+        // Recorded before the stream has been closed
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGES)
+                .tag(GRPC_METHOD_TAG_KEY, FULL_METHOD_NAME)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .counter()
+                .count()).isEqualTo(3);
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGES)
+                .tag(GRPC_DIRECTION_TAG_KEY, "received")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGE_SIZE)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .summary()
+                .max()).isEqualTo(3000);
+        assertThat(meterRegistry.get(SERVER_CALL_TIME_TO_FIRST_MESSAGE)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .timer()
+                .totalTime(MILLISECONDS)).isEqualTo(25);
+        HistogramSnapshot gapSnapshot = meterRegistry.get(SERVER_CALL_MESSAGE_GAP)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .timer()
+                .takeSnapshot();
+        assertThat(gapSnapshot.count()).isEqualTo(2);
+        assertThat(gapSnapshot.total(MILLISECONDS)).isEqualTo(150);
+        assertThat(meterRegistry.find(SERVER_CALL_DURATION).timers()).isEmpty();
+    }
+
+    @Test
+    void serverMessageMetricsOnlyCountUnsampledCalls() {
+        GrpcMetricsProperties properties = new GrpcMetricsProperties();
+        properties.setMessageMetrics(true);
+        properties.setSampleRate(0);
+        ServerStreamTracer.Factory tracerFactory =
+                new MetricsServerStreamTracers(fakeClock.getStopwatchSupplier(), new MetricsPolicy(properties))
+                        .getMetricsServerTracerFactory(meterRegistry);
+
+        ServerStreamTracer tracer = tracerFactory.newServerStreamTracer(method.getFullMethodName(), new Metadata());
+        tracer.serverCallStarted(new CallInfo<>(method, Attributes.EMPTY, null));
+        tracer.outboundMessageSent(0, 1000, 1000);
+        fakeClock.forwardTime(10, MILLISECONDS);
+        tracer.outboundMessageSent(1, 1000, 1000);
+
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGES)
+                .tag(GRPC_DIRECTION_TAG_KEY, "sent")
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGE_GAP).timer().count()).isEqualTo(0);
+        assertThat(meterRegistry.get(SERVER_CALL_MESSAGE_SIZE).summary().count()).isEqualTo(0);
+    }
+
+    private void runCall(ServerStreamTracer.Factory tracerFactory, Status status) {
+        runCall(tracerFactory, this.method, status);
+    }
+
+    private void runCall(ServerStreamTracer.Factory tracerFactory, MethodDescriptor<String, String> calledMethod,
+            Status status) {
+        ServerStreamTracer tracer =
+                tracerFactory.newServerStreamTracer(calledMethod.getFullMethodName(), new Metadata());
+        tracer.serverCallStarted(new CallInfo<>(calledMethod, Attributes.EMPTY, null));
+        tracer.outboundWireSize(10);
+        fakeClock.forwardTime(5, MILLISECONDS);
+        tracer.streamClosed(status);
+    }
 }
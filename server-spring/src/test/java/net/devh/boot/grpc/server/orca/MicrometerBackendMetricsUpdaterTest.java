@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.orca;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.services.MetricRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link MicrometerBackendMetricsUpdater}.
+ */
+class MicrometerBackendMetricsUpdaterTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, this.clock);
+    private final MetricRecorder recorder = mock(MetricRecorder.class);
+    private final MicrometerBackendMetricsUpdater updater =
+            new MicrometerBackendMetricsUpdater(this.registry, this.recorder);
+
+    @Test
+    void testIgnoresMissingMeters() {
+        this.updater.run();
+
+        verify(this.recorder, never()).setCpuUtilizationMetric(anyDouble());
+        verify(this.recorder, never()).setMemoryUtilizationMetric(anyDouble());
+        verify(this.recorder, never()).setQpsMetric(anyDouble());
+    }
+
+    @Test
+    void testCopiesCpuAndMemoryUtilization() {
+        Gauge.builder("process.cpu.usage", () -> 0.25).register(this.registry);
+        Gauge.builder("jvm.memory.used", () -> 100).tag("area", "heap").tag("id", "eden").register(this.registry);
+        Gauge.builder("jvm.memory.used", () -> 200).tag("area", "heap").tag("id", "old").register(this.registry);
+        Gauge.builder("jvm.memory.max", () -> -1).tag("area", "heap").tag("id", "eden").register(this.registry);
+        Gauge.builder("jvm.memory.max", () -> 1000).tag("area", "heap").tag("id", "old").register(this.registry);
+        Gauge.builder("jvm.memory.used", () -> 500).tag("area", "nonheap").register(this.registry);
+
+        this.updater.run();
+
+        verify(this.recorder).setCpuUtilizationMetric(0.25);
+        verify(this.recorder).setMemoryUtilizationMetric(0.3);
+    }
+
+    @Test
+    void testPrefersSystemCpuUsage() {
+        Gauge.builder("system.cpu.usage", () -> 0.5).register(this.registry);
+        Gauge.builder("process.cpu.usage", () -> 0.25).register(this.registry);
+
+        this.updater.run();
+
+        verify(this.recorder).setCpuUtilizationMetric(0.5);
+        verify(this.recorder, never()).setCpuUtilizationMetric(0.25);
+    }
+
+    @Test
+    void testCalculatesQps() {
+        final Counter counter1 = Counter.builder("grpc.server.call.started").tag("method", "a").register(this.registry);
+        final Counter counter2 = Counter.builder("grpc.server.call.started").tag("method", "b").register(this.registry);
+        counter1.increment(10);
+
+        // The first run only establishes the baseline
+        this.updater.run();
+        verify(this.recorder, never()).setQpsMetric(anyDouble());
+
+        counter1.increment(30);
+        counter2.increment(20);
+        this.clock.add(Duration.ofSeconds(5));
+        this.updater.run();
+
+        verify(this.recorder).setQpsMetric(doubleThat(qps -> Math.abs(qps - 10.0) < 1e-9));
+
+        this.clock.add(5, TimeUnit.SECONDS);
+        this.updater.run();
+
+        verify(this.recorder).setQpsMetric(0.0);
+    }
+
+    @Test
+    void testIgnoresMessageCounters() {
+        // Counts messages instead of calls, so it doesn't represent the qps of streaming calls
+        final Counter messages = Counter.builder("grpc.server.requests.received").register(this.registry);
+        this.updater.run();
+        messages.increment(10);
+        this.clock.add(Duration.ofSeconds(5));
+        this.updater.run();
+
+        verify(this.recorder, never()).setQpsMetric(anyDouble());
+    }
+
+}
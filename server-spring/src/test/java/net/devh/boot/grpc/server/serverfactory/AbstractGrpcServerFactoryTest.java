@@ -18,7 +18,17 @@
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.jupiter.api.Test;
 
@@ -26,7 +36,9 @@
 import io.grpc.netty.NettyServerBuilder;
 import io.grpc.protobuf.services.ProtoReflectionService;
 import io.grpc.reflection.v1alpha.ServerReflectionGrpc;
+import net.devh.boot.grpc.server.config.ExecutorType;
 import net.devh.boot.grpc.server.config.GrpcServerProperties;
+import net.devh.boot.grpc.server.config.RejectionPolicy;
 import net.devh.boot.grpc.server.config.ServerPropertiesConverter;
 import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
 
@@ -58,4 +70,41 @@ void testConfigureServices() {
                         .getMessage());
     }
 
+    /**
+     * Tests {@link AbstractGrpcServerFactory#getExecutor()}.
+     */
+    @Test
+    void testGetExecutor() {
+        final GrpcServerProperties properties = new GrpcServerProperties();
+        assertNull(new NettyGrpcServerFactory(ServerPropertiesConverter.toSimple(properties), emptyList())
+                .getExecutor());
+
+        properties.getExecutor().setType(ExecutorType.FIXED);
+        properties.getExecutor().setThreads(3);
+        properties.getExecutor().setQueueCapacity(10);
+        properties.getExecutor().setRejectionPolicy(RejectionPolicy.CALLER_RUNS);
+        final NettyGrpcServerFactory fixedFactory =
+                new NettyGrpcServerFactory(ServerPropertiesConverter.toSimple(properties), emptyList());
+        final ExecutorService fixed = fixedFactory.getExecutor();
+        final ThreadPoolExecutor pool = assertInstanceOf(ThreadPoolExecutor.class, fixed);
+        assertEquals(3, pool.getMaximumPoolSize());
+        assertEquals(10, pool.getQueue().remainingCapacity());
+        assertInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class, pool.getRejectedExecutionHandler());
+        assertSame(fixed, fixedFactory.getExecutor());
+        fixedFactory.close();
+        assertTrue(fixed.isShutdown());
+        // A closed factory doesn't return its shut down executor
+        final ExecutorService recreated = fixedFactory.getExecutor();
+        assertNotSame(fixed, recreated);
+        assertFalse(recreated.isShutdown());
+        fixedFactory.close();
+        assertTrue(recreated.isShutdown());
+
+        properties.getExecutor().setType(ExecutorType.FORKJOIN);
+        final NettyGrpcServerFactory forkJoinFactory =
+                new NettyGrpcServerFactory(ServerPropertiesConverter.toSimple(properties), emptyList());
+        assertEquals(3, assertInstanceOf(ForkJoinPool.class, forkJoinFactory.getExecutor()).getParallelism());
+        forkJoinFactory.close();
+    }
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.serverfactory;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.unix.DomainSocketAddress;
+import io.grpc.protobuf.services.HealthStatusManager;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Listen;
+import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
+
+/**
+ * Tests for {@link CompositeServer} and the servers for additional listen addresses.
+ */
+class CompositeServerTest {
+
+    private final List<ManagedChannel> channels = new ArrayList<>();
+    private final List<Server> servers = new ArrayList<>();
+    private final List<AbstractGrpcServerFactory<?>> factories = new ArrayList<>();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (final ManagedChannel channel : this.channels) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        for (final Server server : this.servers) {
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        for (final AbstractGrpcServerFactory<?> factory : this.factories) {
+            factory.close();
+        }
+    }
+
+    /**
+     * Tests that the server serves the same services on the primary and all additional addresses.
+     */
+    @Test
+    void testServesAllAddresses() throws IOException {
+        final SimpleGrpcServerProperties properties = newProperties();
+        properties.getListen().add(listen("in-process:composite-test", null));
+        properties.getListen().add(listen("127.0.0.1", 0));
+        final File socket = this.tempDir.resolve("composite.sock").toFile();
+        if (Epoll.isAvailable()) {
+            properties.getListen().add(listen("unix:" + socket.getAbsolutePath(), null));
+        }
+
+        final Server server = start(newFactory(properties));
+
+        final List<? extends SocketAddress> sockets = server.getListenSockets();
+        assertThat(sockets).hasSize(Epoll.isAvailable() ? 4 : 3);
+        assertServing(NettyChannelBuilder.forAddress(sockets.get(0)).usePlaintext().build());
+        assertServing(InProcessChannelBuilder.forName("composite-test").build());
+        assertServing(NettyChannelBuilder.forAddress(sockets.get(2)).usePlaintext().build());
+        assertThat(sockets.get(0)).isNotEqualTo(sockets.get(2));
+        if (Epoll.isAvailable()) {
+            final EventLoopGroup eventLoopGroup = new EpollEventLoopGroup(1);
+            try {
+                assertServing(NettyChannelBuilder.forAddress(new DomainSocketAddress(socket))
+                        .eventLoopGroup(eventLoopGroup)
+                        .channelType(EpollDomainSocketChannel.class)
+                        .usePlaintext()
+                        .build());
+            } finally {
+                eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+            }
+        }
+
+        server.shutdown();
+        assertThat(server.isShutdown()).isTrue();
+    }
+
+    /**
+     * Tests that the already started servers are shut down again, if one of the addresses can't be bound.
+     */
+    @Test
+    void testRollbackOnBindFailure() throws IOException {
+        try (ServerSocket blocker = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final SimpleGrpcServerProperties properties = newProperties();
+            properties.getListen().add(listen("in-process:composite-rollback", null));
+            properties.getListen().add(listen("127.0.0.1", blocker.getLocalPort()));
+
+            final Server server = newFactory(properties).createServer();
+            assertThrows(IOException.class, server::start);
+
+            // The in-process name has been released again
+            final Server replacement =
+                    start(newFactory(newProperties(), listen("in-process:composite-rollback", null)));
+            assertServing(InProcessChannelBuilder.forName("composite-rollback").build());
+            replacement.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the servers that have been started before a failing server are shut down again.
+     */
+    @Test
+    void testStartRollback() throws IOException {
+        final Server first = mock(Server.class);
+        final Server second = mock(Server.class);
+        final Server third = mock(Server.class);
+        when(second.start()).thenThrow(new IOException("Address already in use"));
+
+        final CompositeServer server = new CompositeServer(List.of(first, second, third));
+        assertThrows(IOException.class, server::start);
+
+        verify(first).shutdownNow();
+        verify(second, never()).shutdownNow();
+        verify(third, never()).start();
+    }
+
+    /**
+     * Tests that in-process addresses reject the options they don't support.
+     */
+    @Test
+    void testInProcessListenRejectsUnsupportedOptions() {
+        final Listen secured = listen("in-process:secured", null);
+        secured.getSecurity().setEnabled(true);
+        assertThrows(IllegalStateException.class, () -> newFactory(newProperties(), secured).createServer());
+
+        final Listen limited = listen("in-process:limited", null);
+        limited.setMaxConcurrentCallsPerConnection(10);
+        assertThrows(IllegalStateException.class, () -> newFactory(newProperties(), limited).createServer());
+    }
+
+    private SimpleGrpcServerProperties newProperties() {
+        final SimpleGrpcServerProperties properties = new SimpleGrpcServerProperties();
+        properties.setAddress("127.0.0.1");
+        properties.setPort(0);
+        return properties;
+    }
+
+    private static Listen listen(final String address, final Integer port) {
+        final Listen listen = new Listen();
+        listen.setAddress(address);
+        listen.setPort(port);
+        return listen;
+    }
+
+    private ShadedNettyGrpcServerFactory newFactory(final SimpleGrpcServerProperties properties,
+            final Listen... listens) {
+        properties.getListen().addAll(List.of(listens));
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(properties, emptyList());
+        final HealthStatusManager health = new HealthStatusManager();
+        factory.addService(new GrpcServiceDefinition("health", HealthStatusManager.class,
+                health.getHealthService().bindService()));
+        this.factories.add(factory);
+        return factory;
+    }
+
+    private Server start(final AbstractGrpcServerFactory<?> factory) throws IOException {
+        final Server server = factory.createServer();
+        this.servers.add(server);
+        return server.start();
+    }
+
+    private void assertServing(final ManagedChannel channel) {
+        this.channels.add(channel);
+        assertThat(HealthGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(5, TimeUnit.SECONDS)
+                .check(HealthCheckRequest.getDefaultInstance())
+                .getStatus())
+                .isEqualTo(ServingStatus.SERVING);
+    }
+
+}
@@ -21,25 +21,39 @@
 import static java.time.Duration.ofSeconds;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.support.GenericApplicationContext;
 
 import io.grpc.Server;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent;
+import net.devh.boot.grpc.server.event.GrpcServerDrainEvent.Phase;
 import net.devh.boot.grpc.server.event.GrpcServerShutdownEvent;
 import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
 import net.devh.boot.grpc.server.event.GrpcServerTerminatedEvent;
@@ -141,6 +155,187 @@ void testAwaitShutdown() {
 
     }
 
+    @Test
+    void testPhasedDrain() {
+
+        // The server takes 100ms to shutdown
+        final TestServer server = new TestServer(100);
+        when(this.factory.createServer()).thenReturn(server);
+
+        // And we wait 500ms for the health status to propagate
+        final GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(this.factory, false, ofMillis(500),
+                ofMillis(5000), ofMillis(1000), new InFlightCallCounter(), this.eventPublisher);
+
+        lifecycle.start();
+
+        final long start = System.currentTimeMillis();
+        lifecycle.stop();
+        final long duration = System.currentTimeMillis() - start;
+        // At least the propagation delay and the shutdown, but not the full grace period
+        assertThat(duration).isGreaterThanOrEqualTo(600L).isLessThan(5000L);
+
+        final ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(this.eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        final List<Phase> phases = events.getAllValues().stream()
+                .filter(GrpcServerDrainEvent.class::isInstance)
+                .map(GrpcServerDrainEvent.class::cast)
+                .peek(event -> assertThat(event.getInFlightCalls()).isZero())
+                .map(GrpcServerDrainEvent::getPhase)
+                .toList();
+        // The server terminated within the grace period, so it didn't need to be forced
+        assertThat(phases).containsExactly(Phase.NOT_SERVING, Phase.GOAWAY);
+
+        assertTrue(server.isShutdown());
+        assertTrue(server.isTerminated());
+
+    }
+
+    @Test
+    void testAsyncStartup() {
+
+        final TestServer server = new TestServer(0);
+        final CompletableFuture<Server> creation = new CompletableFuture<>();
+        when(this.factory.createServerAsync(ArgumentMatchers.any())).thenReturn(creation);
+
+        final GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(this.factory, true, ZERO, ofMillis(5000), ZERO,
+                null, this.eventPublisher);
+
+        // The creation starts before the lifecycle is started
+        lifecycle.afterSingletonsInstantiated();
+        verify(this.factory).createServerAsync(ArgumentMatchers.any());
+        assertFalse(lifecycle.isRunning());
+
+        creation.complete(server);
+
+        // The start only waits for the created server
+        lifecycle.start();
+        verify(this.factory).createServerAsync(ArgumentMatchers.any());
+        verify(this.eventPublisher).publishEvent(ArgumentMatchers.any(GrpcServerStartedEvent.class));
+        assertTrue(lifecycle.isRunning());
+
+        lifecycle.stop();
+        verify(this.eventPublisher).publishEvent(ArgumentMatchers.any(GrpcServerTerminatedEvent.class));
+
+        assertFalse(lifecycle.isRunning());
+        assertTrue(server.isShutdown());
+        assertTrue(server.isTerminated());
+
+    }
+
+    @Test
+    void testAsyncStartupFailure() throws IOException {
+
+        final Server server = mock(Server.class);
+        when(server.start()).thenThrow(new IOException("Address already in use"));
+        when(this.factory.createServerAsync(ArgumentMatchers.any()))
+                .thenReturn(CompletableFuture.completedFuture(server));
+
+        final GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(this.factory, true, ZERO, ofMillis(5000), ZERO,
+                null, this.eventPublisher);
+
+        lifecycle.afterSingletonsInstantiated();
+
+        // The bind failure aborts the context's startup
+        assertThrows(IllegalStateException.class, lifecycle::start);
+        verify(server).shutdownNow();
+        verify(this.eventPublisher, never()).publishEvent(ArgumentMatchers.any(GrpcServerStartedEvent.class));
+        assertFalse(lifecycle.isRunning());
+
+        lifecycle.stop();
+        verify(this.eventPublisher, never()).publishEvent(ArgumentMatchers.any(GrpcServerTerminatedEvent.class));
+
+    }
+
+    @Test
+    void testAsyncCreationFailure() {
+
+        when(this.factory.createServerAsync(ArgumentMatchers.any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid certificate")));
+
+        final GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(this.factory, true, ZERO, ofMillis(5000), ZERO,
+                null, this.eventPublisher);
+
+        lifecycle.afterSingletonsInstantiated();
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class, lifecycle::start);
+        assertThat(e).hasRootCauseInstanceOf(IllegalArgumentException.class);
+        assertFalse(lifecycle.isRunning());
+
+    }
+
+    /**
+     * Tests that the server is created while the application context still starts the lifecycle beans with a lower
+     * phase.
+     */
+    @Test
+    void testAsyncStartupOverlapsContextStartup() {
+
+        final CountDownLatch creating = new CountDownLatch(1);
+        final List<String> creatingThreads = new CopyOnWriteArrayList<>();
+        final GrpcServerConfigurer configurer = builder -> {
+            creatingThreads.add(Thread.currentThread().getName());
+            creating.countDown();
+        };
+        final InProcessGrpcServerFactory serverFactory = new InProcessGrpcServerFactory("async-startup",
+                new SimpleGrpcServerProperties(), List.of(configurer));
+        final AtomicBoolean overlapped = new AtomicBoolean();
+
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.registerBean(GrpcServerLifecycle.class, () -> new GrpcServerLifecycle(serverFactory, true, ZERO,
+                    ofMillis(5000), ZERO, null, context));
+            context.registerBean("slowLifecycle", SmartLifecycle.class, () -> new SlowLifecycle(() -> {
+                try {
+                    overlapped.set(creating.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            context.refresh();
+
+            assertTrue(overlapped.get());
+            assertThat(creatingThreads).singleElement().asString().startsWith("grpc-server-startup");
+            assertTrue(context.getBean(GrpcServerLifecycle.class).isRunning());
+        } finally {
+            serverFactory.close();
+        }
+
+    }
+
+    /**
+     * A lifecycle that starts before the grpc server and runs the given action during its start.
+     */
+    private static class SlowLifecycle implements SmartLifecycle {
+
+        private final Runnable action;
+        private volatile boolean running;
+
+        SlowLifecycle(final Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void start() {
+            this.action.run();
+            this.running = true;
+        }
+
+        @Override
+        public void stop() {
+            this.running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return this.running;
+        }
+
+        @Override
+        public int getPhase() {
+            return 0;
+        }
+
+    }
+
     public class TestServer extends Server {
 
         private final long shutdownDelayMillis;
@@ -199,12 +394,16 @@ public boolean isTerminated() {
 
         @Override
         public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
-            return this.countDown.await(timeout, unit);
+            final CountDownLatch localCountDown = this.countDown;
+            return localCountDown == null || localCountDown.await(timeout, unit);
         }
 
         @Override
         public void awaitTermination() throws InterruptedException {
-            this.countDown.await();
+            final CountDownLatch localCountDown = this.countDown;
+            if (localCountDown != null) {
+                localCountDown.await();
+            }
         }
 
     }
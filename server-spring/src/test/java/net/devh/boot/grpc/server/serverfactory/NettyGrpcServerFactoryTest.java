@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.serverfactory;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.TransportType;
+
+/**
+ * Tests for the transport selection of the {@link NettyGrpcServerFactory}.
+ */
+class NettyGrpcServerFactoryTest {
+
+    private final SimpleGrpcServerProperties properties = new SimpleGrpcServerProperties();
+    private final NettyGrpcServerFactory factory = new NettyGrpcServerFactory(this.properties, emptyList());
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+    }
+
+    /**
+     * Tests that the server uses grpc's default event loops, if the nio transport has not been customized.
+     */
+    @Test
+    void testNioWithoutCustomization() {
+        final NettyServerBuilder builder = spy(NettyServerBuilder.forPort(0));
+
+        this.factory.configureEventLoops(builder, "127.0.0.1");
+
+        assertEquals(TransportType.NIO, this.factory.getTransportType());
+        verify(builder, never()).channelType(any());
+        verify(builder, never()).bossEventLoopGroup(any());
+        verify(builder, never()).workerEventLoopGroup(any());
+        assertThat(eventLoopGroups()).isEmpty();
+    }
+
+    /**
+     * Tests that customized nio transports use dedicated event loops with the configured threads and names.
+     */
+    @Test
+    void testNioWithCustomization() throws Exception {
+        this.properties.getTransport().setWorkerThreads(3);
+        this.properties.getTransport().setWorkerThreadNamePrefix("custom-worker");
+        final NettyServerBuilder builder = spy(NettyServerBuilder.forPort(0));
+
+        this.factory.configureEventLoops(builder, "127.0.0.1");
+
+        verify(builder).channelType(NioServerSocketChannel.class);
+        final Map<String, EventLoopGroup> groups = eventLoopGroups();
+        assertThat(groups).containsOnlyKeys("boss", "worker");
+        final EventLoopGroup boss = groups.get("boss");
+        final EventLoopGroup worker = groups.get("worker");
+        verify(builder).bossEventLoopGroup(boss);
+        verify(builder).workerEventLoopGroup(worker);
+        assertEquals(1, assertInstanceOf(NioEventLoopGroup.class, boss).executorCount());
+        assertEquals(3, assertInstanceOf(NioEventLoopGroup.class, worker).executorCount());
+        assertThat(threadName(boss)).startsWith("grpc-server-boss");
+        assertThat(threadName(worker)).startsWith("custom-worker");
+
+        // Additional addresses share the same event loops
+        final NettyServerBuilder other = spy(NettyServerBuilder.forPort(0));
+        this.factory.configureEventLoops(other, "127.0.0.2");
+        verify(other).bossEventLoopGroup(boss);
+        verify(other).workerEventLoopGroup(worker);
+    }
+
+    @Test
+    void testAuto() {
+        this.properties.getTransport().setType(TransportType.AUTO);
+        assertEquals(Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO, this.factory.getTransportType());
+
+        this.properties.getTransport().setType(null);
+        assertEquals(Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO, this.factory.getTransportType());
+    }
+
+    @Test
+    void testEpoll() {
+        this.properties.getTransport().setType(TransportType.EPOLL);
+        if (Epoll.isAvailable()) {
+            assertEquals(TransportType.EPOLL, this.factory.getTransportType());
+        } else {
+            assertThrows(IllegalStateException.class, this.factory::getTransportType);
+        }
+
+        // Domain sockets always use epoll
+        this.properties.getTransport().setType(TransportType.NIO);
+        this.properties.setAddress("unix:/tmp/test.sock");
+        if (Epoll.isAvailable()) {
+            assertEquals(TransportType.EPOLL, this.factory.getTransportType());
+        } else {
+            assertThrows(IllegalStateException.class, this.factory::getTransportType);
+        }
+    }
+
+    /**
+     * Tests that the io_uring transport fails with a helpful message, if it is not on the classpath.
+     */
+    @Test
+    void testIOUringWithoutTransport() {
+        this.properties.getTransport().setType(TransportType.IO_URING);
+        assertEquals(TransportType.IO_URING, this.factory.getTransportType());
+
+        final NettyServerBuilder builder = NettyServerBuilder.forPort(0);
+        assertThat(assertThrows(IllegalStateException.class,
+                () -> this.factory.configureEventLoops(builder, "127.0.0.1")))
+                .hasMessageContaining("netty-incubator-transport-native-io_uring");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, EventLoopGroup> eventLoopGroups() {
+        synchronized (this.factory) {
+            return Map.copyOf((Map<String, EventLoopGroup>) ReflectionTestUtils.getField(this.factory,
+                    "eventLoopGroups"));
+        }
+    }
+
+    private static String threadName(final EventLoopGroup group) throws Exception {
+        return group.submit(() -> Thread.currentThread().getName()).get();
+    }
+
+}
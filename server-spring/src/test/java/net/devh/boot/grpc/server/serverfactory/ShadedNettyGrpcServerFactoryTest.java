@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.devh.boot.grpc.server.serverfactory;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerSocketChannel;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Listen;
+import net.devh.boot.grpc.server.config.TransportType;
+
+/**
+ * Tests for {@link ShadedNettyGrpcServerFactory}.
+ */
+class ShadedNettyGrpcServerFactoryTest {
+
+    private final SimpleGrpcServerProperties properties = new SimpleGrpcServerProperties();
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that the server uses grpc's default event loops, if the nio transport has not been customized.
+     */
+    @Test
+    void testNioWithoutCustomization() {
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(this.properties, emptyList());
+        final NettyServerBuilder builder = spy(NettyServerBuilder.forPort(0));
+
+        factory.configureEventLoops(builder, "127.0.0.1");
+
+        assertEquals(TransportType.NIO, factory.getTransportType());
+        verify(builder, never()).channelType(any());
+        verify(builder, never()).bossEventLoopGroup(any());
+        verify(builder, never()).workerEventLoopGroup(any());
+        assertTrue(eventLoopGroups(factory).isEmpty());
+        factory.close();
+    }
+
+    /**
+     * Tests that the epoll transport uses dedicated event loops with the configured threads and names.
+     */
+    @Test
+    void testEpollWithCustomization() throws Exception {
+        assumeTrue(Epoll.isAvailable(), "The epoll transport is not available");
+        this.properties.getTransport().setType(TransportType.EPOLL);
+        this.properties.getTransport().setBossThreads(2);
+        this.properties.getTransport().setBossThreadNamePrefix("custom-boss");
+        this.properties.getTransport().setWorkerThreads(4);
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(this.properties, emptyList());
+        final NettyServerBuilder builder = spy(NettyServerBuilder.forPort(0));
+
+        try {
+            factory.configureEventLoops(builder, "127.0.0.1");
+
+            assertEquals(TransportType.EPOLL, factory.getTransportType());
+            verify(builder).channelType(EpollServerSocketChannel.class);
+            final Map<String, EventLoopGroup> groups = eventLoopGroups(factory);
+            final EventLoopGroup boss = groups.get("boss");
+            final EventLoopGroup worker = groups.get("worker");
+            verify(builder).bossEventLoopGroup(boss);
+            verify(builder).workerEventLoopGroup(worker);
+            assertEquals(2, assertInstanceOf(EpollEventLoopGroup.class, boss).executorCount());
+            assertEquals(4, assertInstanceOf(EpollEventLoopGroup.class, worker).executorCount());
+            assertTrue(threadName(boss).startsWith("custom-boss"));
+            assertTrue(threadName(worker).startsWith("grpc-server-worker"));
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    void testAuto() {
+        this.properties.getTransport().setType(TransportType.AUTO);
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(this.properties, emptyList());
+        assertEquals(Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO, factory.getTransportType());
+    }
+
+    /**
+     * Tests that the io_uring transport is rejected, since grpc-netty-shaded doesn't support it.
+     */
+    @Test
+    void testIOUringIsNotSupported() {
+        this.properties.getTransport().setType(TransportType.IO_URING);
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(this.properties, emptyList());
+        final NettyServerBuilder builder = NettyServerBuilder.forPort(0);
+        assertThrows(IllegalStateException.class, () -> factory.configureEventLoops(builder, "127.0.0.1"));
+    }
+
+    /**
+     * Tests that the additional domain socket addresses share a single event loop group per factory, which lives as
+     * long as the factory and is shut down once the factory is closed.
+     */
+    @Test
+    void testDomainSocketAddressesShareEventLoopGroup() throws IOException, InterruptedException {
+        assumeTrue(Epoll.isAvailable(), "Domain sockets require epoll");
+        this.properties.setAddress("127.0.0.1");
+        this.properties.setPort(0);
+        this.properties.getListen().add(listen("unix:" + this.tempDir.resolve("first.sock")));
+        this.properties.getListen().add(listen("unix:" + this.tempDir.resolve("second.sock")));
+        final ShadedNettyGrpcServerFactory factory = new ShadedNettyGrpcServerFactory(this.properties, emptyList());
+        try {
+            final Server server = factory.createServer().start();
+            final Map<String, EventLoopGroup> groups = eventLoopGroups(factory);
+            // The primary address uses grpc's default event loops
+            assertEquals(1, groups.size());
+            final EventLoopGroup group = groups.values().iterator().next();
+
+            // Restarting the server reuses the event loop group
+            server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            assertFalse(group.isShuttingDown());
+            final Server restarted = factory.createServer().start();
+            assertEquals(Map.of("domain-socket", group), eventLoopGroups(factory));
+            restarted.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+
+            factory.close();
+            assertTrue(group.isShuttingDown());
+            assertTrue(eventLoopGroups(factory).isEmpty());
+
+            // A closed factory creates a new group on demand
+            factory.createServer().shutdownNow();
+            assertNotSame(group, eventLoopGroups(factory).get("domain-socket"));
+        } finally {
+            factory.close();
+        }
+    }
+
+    private static Listen listen(final String address) {
+        final Listen listen = new Listen();
+        listen.setAddress(address);
+        return listen;
+    }
+
+    private static String threadName(final EventLoopGroup group) throws Exception {
+        return group.submit(() -> Thread.currentThread().getName()).get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, EventLoopGroup> eventLoopGroups(final ShadedNettyGrpcServerFactory factory) {
+        synchronized (factory) {
+            return Map.copyOf((Map<String, EventLoopGroup>) ReflectionTestUtils.getField(factory, "eventLoopGroups"));
+        }
+    }
+
+}
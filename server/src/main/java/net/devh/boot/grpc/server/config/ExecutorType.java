@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The type of executor that is used to run the application code (service implementations and interceptors) of a
+ * server.
+ */
+public enum ExecutorType {
+
+    /**
+     * Use grpc-java's default executor, which is an unbounded cached thread pool that is shared between all servers and
+     * channels.
+     */
+    DEFAULT,
+
+    /**
+     * Run the application code directly on the transport threads. This offers the lowest overhead, but may only be used
+     * if none of the services ever block.
+     */
+    DIRECT,
+
+    /**
+     * Use a dedicated thread pool with a fixed number of threads and an optionally bounded queue.
+     */
+    FIXED,
+
+    /**
+     * Use a dedicated work-stealing {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.
+     */
+    FORKJOIN,
+
+    /**
+     * Use a new virtual thread for each task. Requires Java 21 or later.
+     */
+    VIRTUAL;
+
+}
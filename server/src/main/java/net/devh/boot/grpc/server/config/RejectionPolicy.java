@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The policy that is used if a bounded executor is saturated and can no longer accept new tasks.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Reject the task with a {@link java.util.concurrent.RejectedExecutionException RejectedExecutionException}, which
+     * causes the affected call to fail.
+     */
+    ABORT,
+
+    /**
+     * Run the task on the calling thread, which is usually one of the transport's event loop threads. This slows down
+     * the transport and thus acts as back pressure, but also delays other calls handled by the same event loop.
+     */
+    CALLER_RUNS;
+
+}
@@ -21,6 +21,7 @@
 import java.security.KeyStore;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -100,6 +101,18 @@ public class SimpleGrpcServerProperties {
      */
     private Duration shutdownGracePeriod = Duration.of(30, ChronoUnit.SECONDS);
 
+    /**
+     * Whether the server should be created asynchronously. If enabled, the transport security and the servers for the
+     * additional listen addresses are prepared in parallel on a dedicated startup pool as soon as all singletons have
+     * been instantiated, while the remaining singletons are initialized and the lifecycle beans with a lower phase are
+     * started. The server still binds its addresses when its lifecycle is started and failures abort the context's
+     * startup. Defaults to {@code false}.
+     *
+     * @param asyncStartup Whether the server should be started asynchronously.
+     * @return True, if the server should be started asynchronously. False otherwise.
+     */
+    private boolean asyncStartup = false;
+
     /**
      * Setting to enable keepAlive. Default to {@code false}.
      *
@@ -201,6 +214,41 @@ public class SimpleGrpcServerProperties {
      */
     private Integer maxInboundMetadataSize = null;
 
+    /**
+     * The maximum number of concurrent calls permitted for each incoming connection. If not set ({@code null}) then
+     * there is no limit.
+     *
+     * @see NettyServerBuilder#maxConcurrentCallsPerConnection(int)
+     *
+     * @param maxConcurrentCallsPerConnection The maximum number of concurrent calls per connection.
+     * @return The maximum number of concurrent calls per connection.
+     */
+    private Integer maxConcurrentCallsPerConnection = null;
+
+    /**
+     * A fixed HTTP/2 flow control window in bytes. Setting this disables the BDP based auto-tuning of the flow control
+     * window and takes precedence over the {@link #initialFlowControlWindow initial flow control window}. If not set
+     * ({@code null}) the window will be tuned automatically.
+     *
+     * @see NettyServerBuilder#flowControlWindow(int)
+     *
+     * @param flowControlWindow The fixed flow control window or null to use auto-tuning.
+     * @return The fixed flow control window or null if the window is tuned automatically.
+     */
+    private Integer flowControlWindow = null;
+
+    /**
+     * The initial HTTP/2 flow control window in bytes. The window will be tuned automatically based on the
+     * bandwidth-delay product (BDP) of the connection, unless a fixed {@link #flowControlWindow flow control window}
+     * is set. Only used by netty based servers. Defaults to {@code 1 MiB}.
+     *
+     * @see NettyServerBuilder#initialFlowControlWindow(int)
+     *
+     * @param initialFlowControlWindow The initial flow control window.
+     * @return The initial flow control window.
+     */
+    private Integer initialFlowControlWindow = 1024 * 1024;
+
     /**
      * Whether gRPC health service is enabled or not. Defaults to {@code true}.
      *
@@ -224,6 +272,36 @@ public class SimpleGrpcServerProperties {
      */
     private final Security security = new Security();
 
+    /**
+     * Options for the server's transport such as the event loops used by netty based servers.
+     *
+     * @return The options for the server's transport.
+     */
+    private final Transport transport = new Transport();
+
+    /**
+     * Options for the executor that runs the application code such as the service implementations and interceptors.
+     *
+     * @return The options for the server's executor.
+     */
+    private final Executor executor = new Executor();
+
+    /**
+     * Additional addresses the server should listen on, for example a domain socket for local callers in addition to
+     * the TCP port for remote callers. All addresses are served by the same services and executor, but each address
+     * can use its own transport security and connection limits.
+     *
+     * @return The additional addresses the server should listen on.
+     */
+    private final List<Listen> listen = new ArrayList<>();
+
+    /**
+     * Options for the phased drain of the server during shutdown.
+     *
+     * @return The options for the server's drain.
+     */
+    private final Drain drain = new Drain();
+
     /**
      * The security configuration for the gRPC server.
      */
@@ -389,6 +467,217 @@ public static class Security {
 
     }
 
+    /**
+     * The transport configuration for the gRPC server.
+     */
+    @Data
+    public static class Transport {
+
+        /**
+         * The netty transport used for the server's event loops. Defaults to {@link TransportType#NIO NIO}. If the
+         * transport is {@code NIO} and neither thread counts nor thread name prefixes are configured, then grpc-java's
+         * shared default event loops will be used. Domain socket ({@code unix:}) addresses always use
+         * {@link TransportType#EPOLL EPOLL}.
+         *
+         * @param type The netty transport to use.
+         * @return The netty transport to use.
+         */
+        private TransportType type = TransportType.NIO;
+
+        /**
+         * The number of threads of the boss event loop that accepts new connections. If not set ({@code null}) then a
+         * single thread will be used.
+         *
+         * @param bossThreads The number of boss threads or null to use the default.
+         * @return The number of boss threads or null to use the default.
+         */
+        private Integer bossThreads = null;
+
+        /**
+         * The number of threads of the worker event loop that handles the accepted connections. If not set
+         * ({@code null}) or set to {@code 0}, then netty's default (twice the number of available processors) will be
+         * used.
+         *
+         * @param workerThreads The number of worker threads or null to use the default.
+         * @return The number of worker threads or null to use the default.
+         */
+        private Integer workerThreads = null;
+
+        /**
+         * The name prefix for the threads of the boss event loop. If not set ({@code null}) then
+         * {@code grpc-server-boss} will be used.
+         *
+         * @param bossThreadNamePrefix The name prefix for the boss threads.
+         * @return The name prefix for the boss threads or null to use the default.
+         */
+        private String bossThreadNamePrefix = null;
+
+        /**
+         * The name prefix for the threads of the worker event loop. If not set ({@code null}) then
+         * {@code grpc-server-worker} will be used.
+         *
+         * @param workerThreadNamePrefix The name prefix for the worker threads.
+         * @return The name prefix for the worker threads or null to use the default.
+         */
+        private String workerThreadNamePrefix = null;
+
+    }
+
+    /**
+     * The executor configuration for the gRPC server.
+     */
+    @Data
+    public static class Executor {
+
+        /**
+         * The type of executor used to run the application code. Defaults to {@link ExecutorType#DEFAULT DEFAULT},
+         * which uses grpc-java's shared and unbounded cached thread pool.
+         *
+         * @param type The type of executor to use.
+         * @return The type of executor to use.
+         */
+        private ExecutorType type = ExecutorType.DEFAULT;
+
+        /**
+         * The number of threads of {@link ExecutorType#FIXED FIXED} executors or the parallelism of
+         * {@link ExecutorType#FORKJOIN FORKJOIN} executors. If not set ({@code null}) then the number of available
+         * processors will be used.
+         *
+         * @param threads The number of threads or null to use the default.
+         * @return The number of threads or null to use the default.
+         */
+        private Integer threads = null;
+
+        /**
+         * The maximum number of tasks that may wait for execution in a {@link ExecutorType#FIXED FIXED} executor. If
+         * not set ({@code null}) or set to {@code 0}, then the queue is unbounded.
+         *
+         * @param queueCapacity The capacity of the queue or null for an unbounded queue.
+         * @return The capacity of the queue or null for an unbounded queue.
+         */
+        private Integer queueCapacity = null;
+
+        /**
+         * The policy used if the queue of a {@link ExecutorType#FIXED FIXED} executor is full. Defaults to
+         * {@link RejectionPolicy#ABORT ABORT}.
+         *
+         * @param rejectionPolicy The policy to use for rejected tasks.
+         * @return The policy to use for rejected tasks.
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+        /**
+         * The name prefix for the threads of the executor. If not set ({@code null}) then {@code grpc-server-executor}
+         * will be used.
+         *
+         * @param threadNamePrefix The name prefix for the executor threads.
+         * @return The name prefix for the executor threads or null to use the default.
+         */
+        private String threadNamePrefix = null;
+
+    }
+
+    /**
+     * An additional address the gRPC server should listen on.
+     */
+    @Data
+    public static class Listen {
+
+        /**
+         * The address to listen on. Supports the same formats as the server's address, including domain socket
+         * addresses with the {@link GrpcUtils#DOMAIN_SOCKET_ADDRESS_PREFIX unix:} prefix. Additionally, in-process
+         * servers can be started using the {@link GrpcUtils#IN_PROCESS_ADDRESS_PREFIX in-process:} prefix.
+         *
+         * @param address The address to listen on.
+         * @return The address to listen on.
+         */
+        private String address;
+
+        /**
+         * The port to listen on. Only used for IP addresses. If not set ({@code null}) then the server's port will be
+         * used.
+         *
+         * @param port The port to listen on or null to use the server's port.
+         * @return The port to listen on or null to use the server's port.
+         */
+        private Integer port = null;
+
+        /**
+         * The transport security for this address. Defaults to disabled, regardless of the server's security.
+         *
+         * @return The security options for this address.
+         */
+        private final Security security = new Security();
+
+        /**
+         * The maximum time a connection may stay idle. If not set ({@code null}) then the server's setting will be
+         * used.
+         *
+         * @param maxConnectionIdle The connection idle time or null to use the server's setting.
+         * @return The connection idle time or null to use the server's setting.
+         */
+        private Duration maxConnectionIdle = null;
+
+        /**
+         * The maximum time a connection may exist. If not set ({@code null}) then the server's setting will be used.
+         *
+         * @param maxConnectionAge The max connection age or null to use the server's setting.
+         * @return The max connection age or null to use the server's setting.
+         */
+        private Duration maxConnectionAge = null;
+
+        /**
+         * The grace time for the graceful connection termination. If not set ({@code null}) then the server's setting
+         * will be used.
+         *
+         * @param maxConnectionAgeGrace The max connection age grace time or null to use the server's setting.
+         * @return The max connection age grace time or null to use the server's setting.
+         */
+        private Duration maxConnectionAgeGrace = null;
+
+        /**
+         * The maximum number of concurrent calls permitted for each incoming connection. If not set ({@code null})
+         * then the server's setting will be used.
+         *
+         * @param maxConcurrentCallsPerConnection The maximum number of calls or null to use the server's setting.
+         * @return The maximum number of calls or null to use the server's setting.
+         */
+        private Integer maxConcurrentCallsPerConnection = null;
+
+    }
+
+    /**
+     * The drain configuration for the gRPC server. The server is drained in phases: First the health service reports
+     * {@code NOT_SERVING} for all services, then the server waits for the {@link Drain#getPropagationDelay()
+     * propagation delay}, before it stops accepting new calls (sending GOAWAY) and waits for the in-flight calls to
+     * complete within the {@link #getShutdownGracePeriod() shutdown grace period}. Finally, all remaining calls are
+     * cancelled.
+     */
+    @Data
+    public static class Drain {
+
+        /**
+         * The time to wait after the health service reported {@code NOT_SERVING} and before the server stops
+         * accepting new calls. This gives load balancers and health checking clients the chance to route new calls to
+         * other instances. Defaults to {@code 0s}. Default unit {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param propagationDelay The time to wait for the health status to propagate.
+         * @return The time to wait for the health status to propagate.
+         */
+        private Duration propagationDelay = Duration.ZERO;
+
+        /**
+         * The time to wait for the server to terminate after the remaining calls have been cancelled. If set to a
+         * negative value, the server waits forever. Defaults to {@code 0s}, which does not wait at all. Default unit
+         * {@link ChronoUnit#SECONDS SECONDS}.
+         *
+         * @param terminationTimeout The time to wait for the server's termination.
+         * @return The time to wait for the server's termination.
+         */
+        private Duration terminationTimeout = Duration.ZERO;
+
+    }
+
     /**
      * Gets the port the server should listen on. Defaults to {@code 9090}. If set to {@code 0} a random available port
      * will be selected and used.
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.config;
+
+/**
+ * The netty transport that should be used for the event loops of netty based servers. Domain socket ({@code unix:})
+ * addresses always use {@link #EPOLL}.
+ */
+public enum TransportType {
+
+    /**
+     * Use the native epoll transport if it is available, otherwise fall back to {@link #NIO}.
+     */
+    AUTO,
+
+    /**
+     * Use java's NIO based transport, which is available on all platforms.
+     */
+    NIO,
+
+    /**
+     * Use the native epoll transport, which is only available on Linux.
+     */
+    EPOLL,
+
+    /**
+     * Use the native io_uring transport, which is only available on recent Linux kernels. Requires
+     * {@code netty-incubator-transport-native-io_uring} and is not supported by {@code grpc-netty-shaded}.
+     */
+    IO_URING;
+
+}
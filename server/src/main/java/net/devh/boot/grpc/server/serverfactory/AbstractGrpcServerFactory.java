@@ -17,17 +17,33 @@
 package net.devh.boot.grpc.server.serverfactory;
 
 import static java.util.Objects.requireNonNull;
+import static net.devh.boot.grpc.common.util.GrpcUtils.IN_PROCESS_ADDRESS_PREFIX;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import com.google.common.collect.Lists;
 
+import io.grpc.Metadata;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallExecutorSupplier;
 import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.common.util.ExecutorUtils;
+import net.devh.boot.grpc.server.config.ExecutorType;
+import net.devh.boot.grpc.server.config.RejectionPolicy;
 import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Listen;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Security;
 import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
 
 /**
@@ -46,6 +62,11 @@
     protected final SimpleGrpcServerProperties properties;
     protected final List<GrpcServerConfigurer> serverConfigurers;
 
+    /**
+     * The executor that is shared between all servers of this factory, if one is managed by this factory.
+     */
+    private ExecutorService executor;
+
     /**
      * Creates a new server factory with the given properties.
      *
@@ -60,11 +81,111 @@ protected AbstractGrpcServerFactory(final SimpleGrpcServerProperties properties,
 
     @Override
     public Server createServer() {
+        final Server server = createPrimaryServer();
+        final List<Listen> listens = getListenAddresses();
+        if (listens.isEmpty()) {
+            return server;
+        }
+        final List<Server> servers = new ArrayList<>(listens.size() + 1);
+        servers.add(server);
+        for (final Listen listen : listens) {
+            servers.add(createServer(listen));
+        }
+        return new CompositeServer(servers);
+    }
+
+    /**
+     * Creates the servers for the primary and the additional listen addresses in parallel using the given executor.
+     * This allows the expensive parts such as building the ssl contexts to overlap.
+     */
+    @Override
+    public CompletableFuture<Server> createServerAsync(final Executor executor) {
+        final List<Listen> listens = getListenAddresses();
+        final List<CompletableFuture<Server>> futures = new ArrayList<>(listens.size() + 1);
+        futures.add(CompletableFuture.supplyAsync(this::createPrimaryServer, executor));
+        if (listens.isEmpty()) {
+            return futures.get(0);
+        }
+        for (final Listen listen : listens) {
+            futures.add(CompletableFuture.supplyAsync(() -> createServer(listen), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    final List<Server> servers = new ArrayList<>(futures.size());
+                    for (final CompletableFuture<Server> future : futures) {
+                        servers.add(future.join());
+                    }
+                    return new CompositeServer(servers);
+                });
+    }
+
+    /**
+     * Creates the server for the primary address.
+     *
+     * @return The newly created server.
+     */
+    protected Server createPrimaryServer() {
         final T builder = newServerBuilder();
         configure(builder);
         return builder.build();
     }
 
+    /**
+     * Gets the additional addresses the servers of this factory should listen on.
+     *
+     * @return The additional listen addresses.
+     */
+    protected List<Listen> getListenAddresses() {
+        return this.properties.getListen();
+    }
+
+    /**
+     * Creates a server for the given additional listen address. The server shares the services and the executor with
+     * the primary server.
+     *
+     * @param listen The listen address to create the server for.
+     * @return The newly created server.
+     */
+    protected Server createServer(final Listen listen) {
+        final String address = requireNonNull(listen.getAddress(), "listen.address");
+        log.info("Additionally listening on address: {}", address);
+        if (address.startsWith(IN_PROCESS_ADDRESS_PREFIX)) {
+            checkInProcessListen(listen);
+            final ServerBuilder<?> builder = InProcessGrpcServerFactory
+                    .newInProcessServerBuilder(address.substring(IN_PROCESS_ADDRESS_PREFIX.length()));
+            addServices(builder);
+            applyLimits(builder);
+            applyExecutor(builder);
+            for (final GrpcServerConfigurer serverConfigurer : this.serverConfigurers) {
+                serverConfigurer.accept(builder);
+            }
+            return builder.build();
+        }
+        final T builder = newServerBuilder(listen);
+        configure(builder, listen);
+        return builder.build();
+    }
+
+    /**
+     * Checks that the given in-process listen address doesn't use any options that in-process servers don't support.
+     *
+     * @param listen The in-process listen address to check.
+     * @throws IllegalStateException If the transport security or connection limits are set.
+     */
+    private static void checkInProcessListen(final Listen listen) {
+        if (listen.getSecurity().isEnabled()) {
+            throw new IllegalStateException("Security is enabled for " + listen.getAddress()
+                    + " but in-process servers do not support security!");
+        }
+        if (listen.getMaxConnectionIdle() != null
+                || listen.getMaxConnectionAge() != null
+                || listen.getMaxConnectionAgeGrace() != null
+                || listen.getMaxConcurrentCallsPerConnection() != null) {
+            throw new IllegalStateException("Connection limits are set for " + listen.getAddress()
+                    + " but in-process servers do not support connection limits!");
+        }
+    }
+
     /**
      * Creates a new server builder.
      *
@@ -72,6 +193,19 @@ public Server createServer() {
      */
     protected abstract T newServerBuilder();
 
+    /**
+     * Creates a new server builder for the given additional listen address. In-process addresses are handled by the
+     * factory itself and won't be passed to this method.
+     *
+     * @param listen The listen address to create the builder for.
+     * @return The newly created server builder.
+     * @throws IllegalStateException If this implementation does not support the given address.
+     */
+    protected T newServerBuilder(final Listen listen) {
+        throw new IllegalStateException(
+                "This implementation does not support listening on additional addresses: " + listen.getAddress());
+    }
+
     /**
      * Configures the given server builder. This method can be overwritten to add features that are not yet supported by
      * this library or use a {@link GrpcServerConfigurer} instead.
@@ -84,6 +218,27 @@ protected void configure(final T builder) {
         configureConnectionLimits(builder);
         configureSecurity(builder);
         configureLimits(builder);
+        configureExecutor(builder);
+        for (final GrpcServerConfigurer serverConfigurer : this.serverConfigurers) {
+            serverConfigurer.accept(builder);
+        }
+    }
+
+    /**
+     * Configures the given server builder for an additional listen address. The address uses the same options as the
+     * primary server except for the transport security and the connection limits of the address.
+     *
+     * @param builder The server builder to configure.
+     * @param listen The listen address to configure the builder for.
+     */
+    protected void configure(final T builder, final Listen listen) {
+        addServices(builder);
+        configureKeepAlive(builder);
+        configureConnectionLimits(builder);
+        configureConnectionLimits(builder, listen);
+        configureSecurity(builder, listen.getSecurity());
+        configureLimits(builder);
+        configureExecutor(builder);
         for (final GrpcServerConfigurer serverConfigurer : this.serverConfigurers) {
             serverConfigurer.accept(builder);
         }
@@ -108,6 +263,17 @@ protected void configureServices(final T builder) {
         }
     }
 
+    /**
+     * Adds the services to the given builder without checking them again.
+     *
+     * @param builder The server builder to add the services to.
+     */
+    private void addServices(final ServerBuilder<?> builder) {
+        for (final GrpcServiceDefinition service : this.serviceList) {
+            builder.addService(service.getDefinition());
+        }
+    }
+
     /**
      * Configures the keep alive options that should be used by the server.
      *
@@ -137,6 +303,30 @@ protected void configureConnectionLimits(final T builder) {
             throw new IllegalStateException(
                     "MaxConnectionAgeGrace is set but this implementation does not support maxConnectionAgeGrace!");
         }
+        if (this.properties.getMaxConcurrentCallsPerConnection() != null) {
+            throw new IllegalStateException("MaxConcurrentCallsPerConnection is set but this implementation does not "
+                    + "support maxConcurrentCallsPerConnection!");
+        }
+        if (this.properties.getFlowControlWindow() != null) {
+            throw new IllegalStateException(
+                    "FlowControlWindow is set but this implementation does not support flowControlWindow!");
+        }
+    }
+
+    /**
+     * Configures the connection limits of an additional listen address, that override the server's connection limits.
+     *
+     * @param builder The server builder to configure.
+     * @param listen The listen address with the connection limits to use.
+     */
+    protected void configureConnectionLimits(final T builder, final Listen listen) {
+        if (listen.getMaxConnectionIdle() != null
+                || listen.getMaxConnectionAge() != null
+                || listen.getMaxConnectionAgeGrace() != null
+                || listen.getMaxConcurrentCallsPerConnection() != null) {
+            throw new IllegalStateException(
+                    "Connection limits are set but this implementation does not support connection limits!");
+        }
     }
 
     /**
@@ -145,7 +335,17 @@ protected void configureConnectionLimits(final T builder) {
      * @param builder The server builder to configure.
      */
     protected void configureSecurity(final T builder) {
-        if (this.properties.getSecurity().isEnabled()) {
+        configureSecurity(builder, this.properties.getSecurity());
+    }
+
+    /**
+     * Configures the given security options on the server builder.
+     *
+     * @param builder The server builder to configure.
+     * @param security The security options to use.
+     */
+    protected void configureSecurity(final T builder, final Security security) {
+        if (security.isEnabled()) {
             throw new IllegalStateException("Security is enabled but this implementation does not support security!");
         }
     }
@@ -156,6 +356,10 @@ protected void configureSecurity(final T builder) {
      * @param builder The server builder to configure.
      */
     protected void configureLimits(final T builder) {
+        applyLimits(builder);
+    }
+
+    private void applyLimits(final ServerBuilder<?> builder) {
         final Integer maxInboundMessageSize = this.properties.getMaxInboundMessageSize();
         if (maxInboundMessageSize != null) {
             builder.maxInboundMessageSize((int) maxInboundMessageSize);
@@ -166,6 +370,99 @@ protected void configureLimits(final T builder) {
         }
     }
 
+    /**
+     * Configures the executors that should be used to run the application code of the server. Services with a
+     * dedicated executor will use that instead of the server's executor.
+     *
+     * @param builder The server builder to configure.
+     */
+    protected void configureExecutor(final T builder) {
+        applyExecutor(builder);
+    }
+
+    private void applyExecutor(final ServerBuilder<?> builder) {
+        if (this.properties.getExecutor().getType() == ExecutorType.DIRECT) {
+            builder.directExecutor();
+        } else {
+            final Executor serverExecutor = getExecutor();
+            if (serverExecutor != null) {
+                builder.executor(serverExecutor);
+            }
+        }
+
+        final Map<String, Executor> serviceExecutors = new HashMap<>();
+        for (final GrpcServiceDefinition service : this.serviceList) {
+            if (service.getExecutor() != null) {
+                serviceExecutors.put(service.getDefinition().getServiceDescriptor().getName(), service.getExecutor());
+            }
+        }
+        if (!serviceExecutors.isEmpty()) {
+            builder.callExecutor(new ServerCallExecutorSupplier() {
+
+                @Override
+                public <ReqT, RespT> Executor getExecutor(final ServerCall<ReqT, RespT> call,
+                        final Metadata metadata) {
+                    return serviceExecutors.get(call.getMethodDescriptor().getServiceName());
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Gets the executor that is managed by this factory and shared between all servers created by it. The executor
+     * will be created on first use and created again, if it is used after the factory has been closed.
+     *
+     * @return The executor managed by this factory or null, if grpc's default executor or the transport threads are
+     *         used.
+     */
+    public synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = newExecutor(this.properties.getExecutor());
+        }
+        return this.executor;
+    }
+
+    /**
+     * Creates a new executor for the given executor options.
+     *
+     * @param options The options used to configure the executor.
+     * @return The newly created executor or null, if grpc's default executor or the transport threads should be used.
+     */
+    protected ExecutorService newExecutor(final SimpleGrpcServerProperties.Executor options) {
+        final Integer configuredThreads = options.getThreads();
+        final int threads =
+                configuredThreads == null ? Runtime.getRuntime().availableProcessors() : configuredThreads;
+        final String threadNamePrefix =
+                options.getThreadNamePrefix() == null ? "grpc-server-executor" : options.getThreadNamePrefix();
+        switch (options.getType()) {
+            case FIXED:
+                final Integer queueCapacity = options.getQueueCapacity();
+                return ExecutorUtils.newFixedThreadPool(threads, queueCapacity == null ? 0 : queueCapacity,
+                        options.getRejectionPolicy() == RejectionPolicy.CALLER_RUNS
+                                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                                : new ThreadPoolExecutor.AbortPolicy(),
+                        threadNamePrefix);
+            case FORKJOIN:
+                return ExecutorUtils.newForkJoinPool(threads, threadNamePrefix);
+            case VIRTUAL:
+                return ExecutorUtils.newVirtualThreadPerTaskExecutor();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Shuts down the executor managed by this factory, if any.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+
     @Override
     public String getAddress() {
         return this.properties.getAddress();
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016-2023 The gRPC-Spring Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.devh.boot.grpc.server.serverfactory;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+
+/**
+ * A server that consists of multiple servers listening on different addresses, but serving the same services. All
+ * operations are applied to all servers, while the first server is considered the primary server, that provides the
+ * {@link #getPort() port} and the services.
+ */
+final class CompositeServer extends Server {
+
+    private final List<Server> servers;
+
+    /**
+     * Creates a new CompositeServer.
+     *
+     * @param servers The servers to combine. The first server is the primary server.
+     */
+    CompositeServer(final List<Server> servers) {
+        requireNonNull(servers, "servers");
+        if (servers.isEmpty()) {
+            throw new IllegalArgumentException("At least one server is required");
+        }
+        this.servers = ImmutableList.copyOf(servers);
+    }
+
+    /**
+     * Starts all servers. If one of the servers fails to start, the servers that have already been started will be
+     * shut down again.
+     */
+    @Override
+    public CompositeServer start() throws IOException {
+        final List<Server> started = new ArrayList<>(this.servers.size());
+        try {
+            for (final Server server : this.servers) {
+                server.start();
+                started.add(server);
+            }
+        } catch (final IOException | RuntimeException e) {
+            for (final Server server : started) {
+                server.shutdownNow();
+            }
+            throw e;
+        }
+        return this;
+    }
+
+    @Override
+    public List<? extends SocketAddress> getListenSockets() {
+        final List<SocketAddress> sockets = new ArrayList<>();
+        for (final Server server : this.servers) {
+            sockets.addAll(server.getListenSockets());
+        }
+        return sockets;
+    }
+
+    @Override
+    public int getPort() {
+        return this.servers.get(0).getPort();
+    }
+
+    @Override
+    public List<ServerServiceDefinition> getServices() {
+        return this.servers.get(0).getServices();
+    }
+
+    @Override
+    public List<ServerServiceDefinition> getImmutableServices() {
+        return this.servers.get(0).getImmutableServices();
+    }
+
+    @Override
+    public List<ServerServiceDefinition> getMutableServices() {
+        return this.servers.get(0).getMutableServices();
+    }
+
+    @Override
+    public CompositeServer shutdown() {
+        for (final Server server : this.servers) {
+            server.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeServer shutdownNow() {
+        for (final Server server : this.servers) {
+            server.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (final Server server : this.servers) {
+            if (!server.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (final Server server : this.servers) {
+            if (!server.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits for all servers to terminate. All servers share the given timeout, since they are shut down at the same
+     * time.
+     */
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (final Server server : this.servers) {
+            if (!server.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void awaitTermination() throws InterruptedException {
+        for (final Server server : this.servers) {
+            server.awaitTermination();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeServer" + this.servers;
+    }
+
+}
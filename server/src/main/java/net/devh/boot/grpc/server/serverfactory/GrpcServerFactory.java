@@ -16,6 +16,9 @@
 
 package net.devh.boot.grpc.server.serverfactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import io.grpc.Server;
 import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
 
@@ -25,7 +28,7 @@
  * @author Michael (yidongnan@gmail.com)
  * @since 5/17/16
  */
-public interface GrpcServerFactory {
+public interface GrpcServerFactory extends AutoCloseable {
 
     /**
      * Creates a new grpc server with the stored options. The entire lifecycle management of the server should be
@@ -35,6 +38,18 @@ public interface GrpcServerFactory {
      */
     Server createServer();
 
+    /**
+     * Creates a new grpc server with the stored options using the given executor. Implementations may use the
+     * executor to prepare independent parts of the server such as the transport security in parallel. The server
+     * won't be started.
+     *
+     * @param executor The executor used to create the server.
+     * @return A future that completes with the newly created grpc server.
+     */
+    default CompletableFuture<Server> createServerAsync(final Executor executor) {
+        return CompletableFuture.supplyAsync(this::createServer, executor);
+    }
+
     /**
      * Gets the IP address the created server will be bound to.
      *
@@ -61,4 +76,13 @@ public interface GrpcServerFactory {
      */
     void addService(GrpcServiceDefinition service);
 
+    /**
+     * Releases the resources such as event loops that are shared between the servers created by this factory. This
+     * method should only be called after all created servers have been shut down.
+     */
+    @Override
+    default void close() {
+        // Nothing to do
+    }
+
 }
@@ -17,12 +17,15 @@
 package net.devh.boot.grpc.server.serverfactory;
 
 import static java.util.Objects.requireNonNull;
+import static net.devh.boot.grpc.common.util.GrpcUtils.IN_PROCESS_ADDRESS_PREFIX;
 
 import java.util.Collections;
 import java.util.List;
 
+import io.grpc.ServerBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
 import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Listen;
 
 /**
  * Factory for in process grpc servers.
@@ -76,11 +79,31 @@ public InProcessGrpcServerFactory(final String name, final SimpleGrpcServerPrope
         this.name = requireNonNull(name, "name");
     }
 
+    /**
+     * Gets the additional listen addresses, which are always empty for the in process server, because they are served
+     * by the primary (inter-process) server factory.
+     */
+    @Override
+    protected List<Listen> getListenAddresses() {
+        return Collections.emptyList();
+    }
+
     @Override
     protected InProcessServerBuilder newServerBuilder() {
         return InProcessServerBuilder.forName(this.name);
     }
 
+    /**
+     * Creates a new in process server builder. This method is used by the other server factories, so that they don't
+     * depend on the optional in-process transport unless an in-process listen address is configured.
+     *
+     * @param name The name of the in process server.
+     * @return The newly created server builder.
+     */
+    static ServerBuilder<?> newInProcessServerBuilder(final String name) {
+        return InProcessServerBuilder.forName(name);
+    }
+
     @Override
     protected void configureSecurity(final InProcessServerBuilder builder) {
         // No need to configure security as we are in process only.
@@ -89,7 +112,7 @@ protected void configureSecurity(final InProcessServerBuilder builder) {
 
     @Override
     public String getAddress() {
-        return "in-process:" + this.name;
+        return IN_PROCESS_ADDRESS_PREFIX + this.name;
     }
 
     @Override
@@ -23,8 +23,13 @@
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLException;
@@ -34,15 +39,24 @@
 
 import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
 import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
 import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.grpc.netty.shaded.io.netty.channel.unix.DomainSocketAddress;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
 import net.devh.boot.grpc.common.security.KeyStoreUtils;
 import net.devh.boot.grpc.common.util.GrpcUtils;
 import net.devh.boot.grpc.server.config.ClientAuth;
 import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Listen;
 import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Security;
+import net.devh.boot.grpc.server.config.SimpleGrpcServerProperties.Transport;
+import net.devh.boot.grpc.server.config.TransportType;
 
 /**
  * Factory for shaded netty based grpc servers.
@@ -52,31 +66,185 @@
 public class ShadedNettyGrpcServerFactory
         extends AbstractGrpcServerFactory<io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder> {
 
+    private static final String BOSS_EVENT_LOOP = "boss";
+    private static final String WORKER_EVENT_LOOP = "worker";
+    private static final String DOMAIN_SOCKET_EVENT_LOOP = "domain-socket";
+
+    /**
+     * The event loops that are shared between all servers of this factory by their role. They are created on first
+     * use and shut down once the factory is closed, because the servers don't shut down event loops that have been
+     * passed to them.
+     */
+    private final Map<String, EventLoopGroup> eventLoopGroups = new HashMap<>();
+
     /**
      * Creates a new shaded netty server factory with the given properties.
      *
      * @param properties The properties used to configure the server.
      * @param serverConfigurers The server configurers to use. Can be empty.
      */
+    // Keep this in sync with NettyGrpcServerFactory#NettyGrpcServerFactory
     public ShadedNettyGrpcServerFactory(final SimpleGrpcServerProperties properties,
             final List<GrpcServerConfigurer> serverConfigurers) {
         super(properties, serverConfigurers);
     }
 
     @Override
+    // Keep this in sync with NettyGrpcServerFactory#newServerBuilder
     protected NettyServerBuilder newServerBuilder() {
-        final String address = getAddress();
-        final int port = getPort();
+        return newServerBuilder(getAddress(), getPort());
+    }
+
+    @Override
+    // Keep this in sync with NettyGrpcServerFactory#newServerBuilder
+    protected NettyServerBuilder newServerBuilder(final Listen listen) {
+        return newServerBuilder(listen.getAddress(), listen.getPort() == null ? getPort() : listen.getPort());
+    }
+
+    /**
+     * Creates a new server builder for the given address and configures its event loops.
+     *
+     * @param address The address the server should listen on.
+     * @param port The port the server should listen on.
+     * @return The newly created server builder.
+     */
+    // Keep this in sync with NettyGrpcServerFactory#newServerBuilder
+    private NettyServerBuilder newServerBuilder(final String address, final int port) {
+        final NettyServerBuilder builder;
         if (address.startsWith(DOMAIN_SOCKET_ADDRESS_PREFIX)) {
             final String path = GrpcUtils.extractDomainSocketAddressPath(address);
-            return NettyServerBuilder.forAddress(new DomainSocketAddress(path))
-                    .channelType(EpollServerDomainSocketChannel.class)
-                    .bossEventLoopGroup(new EpollEventLoopGroup(1))
-                    .workerEventLoopGroup(new EpollEventLoopGroup());
+            builder = NettyServerBuilder.forAddress(new DomainSocketAddress(path));
         } else if (SimpleGrpcServerProperties.ANY_IP_ADDRESS.equals(address)) {
-            return NettyServerBuilder.forPort(port);
+            builder = NettyServerBuilder.forPort(port);
+        } else {
+            builder = NettyServerBuilder.forAddress(new InetSocketAddress(InetAddresses.forString(address), port));
+        }
+        configureEventLoops(builder, address);
+        return builder;
+    }
+
+    /**
+     * Configures the channel type and the boss and worker event loops that should be used by the server. If the
+     * transport has not been customized, then grpc's shared default event loops will be used. Additional domain socket
+     * addresses use a dedicated epoll event loop, if the server's transport isn't epoll based.
+     *
+     * @param builder The server builder to configure.
+     * @param address The address the server will listen on.
+     */
+    // Keep this in sync with NettyGrpcServerFactory#configureEventLoops
+    protected void configureEventLoops(final NettyServerBuilder builder, final String address) {
+        final TransportType type = getTransportType();
+        final boolean domainSocket = address.startsWith(DOMAIN_SOCKET_ADDRESS_PREFIX);
+        if (domainSocket && type != TransportType.EPOLL) {
+            final EventLoopGroup eventLoopGroup = getEventLoopGroup(DOMAIN_SOCKET_EVENT_LOOP,
+                    () -> newEventLoopGroup(TransportType.EPOLL, 0, "grpc-server-uds"));
+            builder.channelType(EpollServerDomainSocketChannel.class)
+                    .bossEventLoopGroup(eventLoopGroup)
+                    .workerEventLoopGroup(eventLoopGroup);
+            return;
+        }
+        if (type == TransportType.NIO && !isCustomized(this.properties.getTransport())) {
+            return;
+        }
+        if (domainSocket) {
+            builder.channelType(EpollServerDomainSocketChannel.class);
+        } else if (type == TransportType.EPOLL) {
+            builder.channelType(EpollServerSocketChannel.class);
+        } else if (type == TransportType.IO_URING) {
+            throw new IllegalStateException(
+                    "The io_uring transport is not supported by grpc-netty-shaded, use grpc-netty instead");
         } else {
-            return NettyServerBuilder.forAddress(new InetSocketAddress(InetAddresses.forString(address), port));
+            builder.channelType(NioServerSocketChannel.class);
+        }
+        final Transport transport = this.properties.getTransport();
+        builder.bossEventLoopGroup(getEventLoopGroup(BOSS_EVENT_LOOP, () -> newEventLoopGroup(type,
+                transport.getBossThreads() == null ? 1 : transport.getBossThreads(),
+                transport.getBossThreadNamePrefix() == null ? "grpc-server-boss"
+                        : transport.getBossThreadNamePrefix())));
+        builder.workerEventLoopGroup(getEventLoopGroup(WORKER_EVENT_LOOP, () -> newEventLoopGroup(type,
+                transport.getWorkerThreads() == null ? 0 : transport.getWorkerThreads(),
+                transport.getWorkerThreadNamePrefix() == null ? "grpc-server-worker"
+                        : transport.getWorkerThreadNamePrefix())));
+    }
+
+    /**
+     * Gets the event loop group with the given role, that is shared between all servers of this factory. If it does
+     * not exist yet, it will be created.
+     *
+     * @param role The role of the event loop group.
+     * @param factory The factory used to create the event loop group on first use.
+     * @return The shared event loop group.
+     */
+    private synchronized EventLoopGroup getEventLoopGroup(final String role,
+            final Supplier<EventLoopGroup> factory) {
+        return this.eventLoopGroups.computeIfAbsent(role, key -> factory.get());
+    }
+
+    /**
+     * Gets the transport that is actually used by the server. Domain socket addresses always use epoll and
+     * {@link TransportType#AUTO auto} chooses epoll whenever it is available.
+     *
+     * @return The effective transport type.
+     * @throws IllegalStateException If epoll is required but not available.
+     */
+    // Keep this in sync with NettyGrpcServerFactory#getTransportType
+    protected TransportType getTransportType() {
+        TransportType type = this.properties.getTransport().getType();
+        if (getAddress().startsWith(DOMAIN_SOCKET_ADDRESS_PREFIX)) {
+            type = TransportType.EPOLL;
+        } else if (type == null || type == TransportType.AUTO) {
+            return Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO;
+        }
+        if (type == TransportType.EPOLL && !Epoll.isAvailable()) {
+            throw new IllegalStateException("The epoll transport is not available", Epoll.unavailabilityCause());
+        }
+        return type;
+    }
+
+    private static boolean isCustomized(final Transport transport) {
+        return transport.getBossThreads() != null
+                || transport.getWorkerThreads() != null
+                || transport.getBossThreadNamePrefix() != null
+                || transport.getWorkerThreadNamePrefix() != null;
+    }
+
+    /**
+     * Creates a new event loop group for the given transport.
+     *
+     * @param type The effective transport type.
+     * @param threads The number of threads to use or 0 to use netty's default.
+     * @param threadNamePrefix The prefix for the thread names.
+     * @return The newly created event loop group.
+     */
+    // Keep this in sync with NettyGrpcServerFactory#newEventLoopGroup
+    private static EventLoopGroup newEventLoopGroup(final TransportType type, final int threads,
+            final String threadNamePrefix) {
+        final ThreadFactory threadFactory = new DefaultThreadFactory(threadNamePrefix, true);
+        switch (type) {
+            case EPOLL:
+                return new EpollEventLoopGroup(threads, threadFactory);
+            case IO_URING:
+                throw new IllegalStateException(
+                        "The io_uring transport is not supported by grpc-netty-shaded, use grpc-netty instead");
+            default:
+                return new NioEventLoopGroup(threads, threadFactory);
+        }
+    }
+
+    @Override
+    // Keep this in sync with NettyGrpcServerFactory#close
+    public void close() {
+        try {
+            super.close();
+        } finally {
+            final List<EventLoopGroup> groups;
+            synchronized (this) {
+                groups = new ArrayList<>(this.eventLoopGroups.values());
+                this.eventLoopGroups.clear();
+            }
+            for (final EventLoopGroup group : groups) {
+                group.shutdownGracefully();
+            }
         }
     }
 
@@ -92,6 +260,32 @@ protected void configureConnectionLimits(final NettyServerBuilder builder) {
         if (this.properties.getMaxConnectionAgeGrace() != null) {
             builder.maxConnectionAgeGrace(this.properties.getMaxConnectionAgeGrace().toNanos(), TimeUnit.NANOSECONDS);
         }
+        if (this.properties.getMaxConcurrentCallsPerConnection() != null) {
+            builder.maxConcurrentCallsPerConnection(this.properties.getMaxConcurrentCallsPerConnection());
+        }
+        if (this.properties.getFlowControlWindow() != null) {
+            builder.flowControlWindow(this.properties.getFlowControlWindow());
+        } else if (this.properties.getInitialFlowControlWindow() != null) {
+            // Enables the BDP based auto-tuning
+            builder.initialFlowControlWindow(this.properties.getInitialFlowControlWindow());
+        }
+    }
+
+    @Override
+    // Keep this in sync with NettyGrpcServerFactory#configureConnectionLimits
+    protected void configureConnectionLimits(final NettyServerBuilder builder, final Listen listen) {
+        if (listen.getMaxConnectionIdle() != null) {
+            builder.maxConnectionIdle(listen.getMaxConnectionIdle().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (listen.getMaxConnectionAge() != null) {
+            builder.maxConnectionAge(listen.getMaxConnectionAge().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (listen.getMaxConnectionAgeGrace() != null) {
+            builder.maxConnectionAgeGrace(listen.getMaxConnectionAgeGrace().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (listen.getMaxConcurrentCallsPerConnection() != null) {
+            builder.maxConcurrentCallsPerConnection(listen.getMaxConcurrentCallsPerConnection());
+        }
     }
 
     @Override
@@ -107,8 +301,7 @@ protected void configureKeepAlive(final NettyServerBuilder builder) {
 
     @Override
     // Keep this in sync with NettyGrpcServerFactory#configureSecurity
-    protected void configureSecurity(final NettyServerBuilder builder) {
-        final Security security = this.properties.getSecurity();
+    protected void configureSecurity(final NettyServerBuilder builder, final Security security) {
         if (security.isEnabled()) {
             // Provided server certificates
             final SslContextBuilder sslContextBuilder = newServerSslContextBuilder(security);
@@ -16,6 +16,8 @@
 
 package net.devh.boot.grpc.server.service;
 
+import java.util.concurrent.Executor;
+
 import io.grpc.ServerServiceDefinition;
 
 /**
@@ -29,6 +31,7 @@ public class GrpcServiceDefinition {
     private final String beanName;
     private final Class<?> beanClazz;
     private final ServerServiceDefinition definition;
+    private final Executor executor;
 
     /**
      * Creates a new GrpcServiceDefinition.
@@ -39,9 +42,23 @@ public class GrpcServiceDefinition {
      */
     public GrpcServiceDefinition(final String beanName, final Class<?> beanClazz,
             final ServerServiceDefinition definition) {
+        this(beanName, beanClazz, definition, null);
+    }
+
+    /**
+     * Creates a new GrpcServiceDefinition with a dedicated executor.
+     *
+     * @param beanName The name of the grpc service bean in the spring context.
+     * @param beanClazz The class of the grpc service bean.
+     * @param definition The grpc service definition.
+     * @param executor The executor that should be used for calls to this service or null to use the server's executor.
+     */
+    public GrpcServiceDefinition(final String beanName, final Class<?> beanClazz,
+            final ServerServiceDefinition definition, final Executor executor) {
         this.beanName = beanName;
         this.beanClazz = beanClazz;
         this.definition = definition;
+        this.executor = executor;
     }
 
     /**
@@ -71,4 +88,13 @@ public ServerServiceDefinition getDefinition() {
         return this.definition;
     }
 
+    /**
+     * Gets the executor that should be used for calls to this service.
+     *
+     * @return The dedicated executor of this service or null, if the server's executor should be used.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
 }